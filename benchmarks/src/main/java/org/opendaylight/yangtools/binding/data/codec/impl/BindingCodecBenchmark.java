@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.binding.data.codec.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import javassist.ClassPool;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.TopBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.top.level.list.NestedList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.top.level.list.NestedListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.top.level.list.NestedListKey;
+import org.opendaylight.yangtools.binding.data.codec.gen.impl.StreamWriterGenerator;
+import org.opendaylight.yangtools.sal.binding.generator.impl.ModuleInfoBackedContext;
+import org.opendaylight.yangtools.sal.binding.generator.util.BindingRuntimeContext;
+import org.opendaylight.yangtools.sal.binding.generator.util.JavassistUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.util.BindingReflections;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of Binding to DOM and DOM to Binding conversion performance of
+ * {@link BindingNormalizedNodeCodecRegistry}.
+ *
+ * DOM to Binding conversion produces lazily-evaluated objects, hence that benchmark walks all
+ * list entries to account for their materialization cost.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class BindingCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 20;
+
+    private static final InstanceIdentifier<Top> TOP_PATH = InstanceIdentifier.create(Top.class);
+    private static final InstanceIdentifier<NestedList> NESTED_LIST_PATH = TOP_PATH
+        .child(TopLevelList.class, new TopLevelListKey("top-0")).child(NestedList.class, new NestedListKey("nested-0"));
+
+    @Param({ "10", "1000" })
+    public int topLevelListCount;
+
+    @Param({ "1", "10" })
+    public int nestedListCount;
+
+    private BindingNormalizedNodeCodecRegistry registry;
+    private Top bindingData;
+    private YangInstanceIdentifier domPath;
+    private NormalizedNode<?, ?> domData;
+    private YangInstanceIdentifier domNestedListPath;
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + BindingCodecBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final ModuleInfoBackedContext ctx = ModuleInfoBackedContext.create();
+        ctx.addModuleInfos(BindingReflections.loadModuleInfos());
+        final SchemaContext schemaContext = ctx.tryToCreateSchemaContext().get();
+
+        registry = new BindingNormalizedNodeCodecRegistry(StreamWriterGenerator.create(
+            JavassistUtils.forClassPool(ClassPool.getDefault())));
+        registry.onBindingRuntimeContextUpdated(BindingRuntimeContext.create(ctx, schemaContext));
+
+        bindingData = createTop(topLevelListCount, nestedListCount);
+        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> dom = registry.toNormalizedNode(TOP_PATH,
+            bindingData);
+        domPath = dom.getKey();
+        domData = dom.getValue();
+        domNestedListPath = registry.toYangInstanceIdentifier(NESTED_LIST_PATH);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry = null;
+        bindingData = null;
+        domPath = null;
+        domData = null;
+        domNestedListPath = null;
+    }
+
+    private static Top createTop(final int topLevelListCount, final int nestedListCount) {
+        final List<NestedList> nested = new ArrayList<>(nestedListCount);
+        for (int i = 0; i < nestedListCount; ++i) {
+            nested.add(new NestedListBuilder().setKey(new NestedListKey("nested-" + i)).setType("type-" + i)
+                .build());
+        }
+
+        final List<TopLevelList> topLevel = new ArrayList<>(topLevelListCount);
+        for (int i = 0; i < topLevelListCount; ++i) {
+            topLevel.add(new TopLevelListBuilder().setKey(new TopLevelListKey("top-" + i)).setNestedList(nested)
+                .build());
+        }
+        return new TopBuilder().setTopLevelList(topLevel).build();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> bindingToDomBenchmark() {
+        return registry.toNormalizedNode(TOP_PATH, bindingData);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public int domToBindingBenchmark() {
+        final Entry<InstanceIdentifier<?>, DataObject> binding = registry.fromNormalizedNode(domPath, domData);
+        int count = 0;
+        for (TopLevelList item : ((Top) binding.getValue()).getTopLevelList()) {
+            count += item.getNestedList().size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public YangInstanceIdentifier bindingToDomPathBenchmark() {
+        return registry.toYangInstanceIdentifier(NESTED_LIST_PATH);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public InstanceIdentifier<?> domToBindingPathBenchmark() {
+        return registry.fromYangInstanceIdentifier(domNestedListPath);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api;
+
+import com.google.common.base.Optional;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.impl.tree.BenchmarkModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link YangInstanceIdentifier} construction, hashing and relative path computation.
+ *
+ * Identifiers are built the same way data tree users build them, i.e. a keyed outer list entry with
+ * a nested keyed inner list entry.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class YangInstanceIdentifierBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 20;
+    private static final int PATH_COUNT = 1000;
+
+    private final YangInstanceIdentifier[] paths = new YangInstanceIdentifier[PATH_COUNT];
+    private final Map<YangInstanceIdentifier, Integer> pathMap = new HashMap<>();
+    private int counter;
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + YangInstanceIdentifierBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < PATH_COUNT; ++i) {
+            paths[i] = createPath(i);
+            pathMap.put(paths[i], i);
+        }
+    }
+
+    private static YangInstanceIdentifier createPath(final int key) {
+        return YangInstanceIdentifier.builder(BenchmarkModel.OUTER_LIST_PATH)
+            .nodeWithKey(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, key)
+            .node(BenchmarkModel.INNER_LIST_QNAME)
+            .nodeWithKey(BenchmarkModel.INNER_LIST_QNAME, BenchmarkModel.NAME_QNAME, key)
+            .build();
+    }
+
+    private int nextKey() {
+        counter = (counter + 1) % PATH_COUNT;
+        return counter;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public YangInstanceIdentifier builderBenchmark() {
+        return createPath(nextKey());
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public YangInstanceIdentifier nodeBenchmark() {
+        return paths[nextKey()].node(BenchmarkModel.VALUE_QNAME);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public int hashCodeBenchmark() {
+        return YangInstanceIdentifier.create(paths[nextKey()].getPathArguments()).hashCode();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public Integer hashMapLookupBenchmark() {
+        // Equal, but not identical, key forces a full equals() comparison
+        return pathMap.get(createPath(nextKey()));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public Optional<YangInstanceIdentifier> relativeToBenchmark() {
+        return paths[nextKey()].relativeTo(BenchmarkModel.OUTER_LIST_PATH);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public boolean containsBenchmark() {
+        return BenchmarkModel.OUTER_LIST_PATH.contains(paths[nextKey()]);
+    }
+}
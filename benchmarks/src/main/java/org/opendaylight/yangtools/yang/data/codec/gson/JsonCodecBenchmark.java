@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.tree.BenchmarkModel;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of JSON parsing and serialization performance, covering both buffering and streaming
+ * {@link JsonParserStream} modes and {@link JSONNormalizedNodeStreamWriter}.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 20;
+
+    @Param({ "10", "1000" })
+    public int outerListCount;
+
+    @Param({ "1", "10" })
+    public int innerListCount;
+
+    private SchemaContext schemaContext;
+    private ContainerNode data;
+    private String json;
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + JsonCodecBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        schemaContext = BenchmarkModel.createTestContext();
+        data = BenchmarkModel.createTestData(outerListCount, innerListCount);
+        json = serialize();
+    }
+
+    @TearDown
+    public void tearDown() {
+        schemaContext = null;
+        data = null;
+        json = null;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public NormalizedNode<?, ?> parseBenchmark() {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), schemaContext)
+            .parse(new JsonReader(new StringReader(json)));
+        return result.getResult();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public NormalizedNode<?, ?> parseStreamingBenchmark() {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.createStreaming(ImmutableNormalizedNodeStreamWriter.from(result), schemaContext)
+            .parse(new JsonReader(new StringReader(json)));
+        return result.getResult();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public String serializeBenchmark() throws IOException {
+        return serialize();
+    }
+
+    private String serialize() throws IOException {
+        final StringWriter writer = new StringWriter();
+        final NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(
+            JSONNormalizedNodeStreamWriter.create(schemaContext, writer));
+        nodeWriter.write(data);
+        nodeWriter.close();
+        return writer.toString();
+    }
+}
@@ -5,6 +5,12 @@ import java.util.Collections;
 import java.util.Set;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
@@ -41,4 +47,30 @@ public class BenchmarkModel {
             getDatastoreBenchmarkInputStream()));
         return parser.resolveSchemaContext(modules);
     }
+
+    /**
+     * Create a test container populated with outer list entries, each of which holds an inner list.
+     *
+     * @param outerListCount number of outer list entries
+     * @param innerListCount number of inner list entries in each outer list entry
+     * @return Populated test container
+     */
+    public static ContainerNode createTestData(final int outerListCount, final int innerListCount) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> innerList = ImmutableNodes.mapNodeBuilder(INNER_LIST_QNAME);
+        for (int i = 0; i < innerListCount; ++i) {
+            innerList.withChild(ImmutableNodes.mapEntryBuilder(INNER_LIST_QNAME, NAME_QNAME, i)
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "value-" + i)).build());
+        }
+        final MapNode innerListNode = innerList.build();
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerList = ImmutableNodes.mapNodeBuilder(OUTER_LIST_QNAME);
+        for (int i = 0; i < outerListCount; ++i) {
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(OUTER_LIST_QNAME, ID_QNAME, i)
+                .withChild(innerListNode).build());
+        }
+
+        return ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TEST_QNAME))
+            .withChild(outerList.build()).build();
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
+import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
+import org.opendaylight.yangtools.yang.parser.util.TextToASTTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link SharedSchemaContextFactory} assembly time for a large set of models.
+ *
+ * Models are generated, each importing and augmenting its predecessor. Sources are parsed into
+ * {@link ASTSchemaSource}s once, hence each invocation measures only dependency resolution and
+ * assembly of a fresh {@link SharedSchemaRepository}, which does not have any cached contexts.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class SchemaAssemblyBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 20;
+    private static final String REVISION = "2015-01-01";
+
+    @Param({ "50", "250" })
+    public int moduleCount;
+
+    private final Map<SourceIdentifier, ASTSchemaSource> sources = new HashMap<>();
+    private final List<SourceIdentifier> sourceIds = new ArrayList<>();
+    private SharedSchemaRepository repository;
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + SchemaAssemblyBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        for (int i = 0; i < moduleCount; ++i) {
+            final SourceIdentifier id = new SourceIdentifier(moduleName(i), REVISION);
+            final ByteSource text = ByteSource.wrap(moduleText(i).getBytes(Charsets.UTF_8));
+            final ASTSchemaSource ast = TextToASTTransformer.TRANSFORMATION.apply(
+                YangTextSchemaSource.delegateForByteSource(id, text)).checkedGet();
+
+            sources.put(id, ast);
+            sourceIds.add(id);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupRepository() {
+        repository = new SharedSchemaRepository("benchmark");
+
+        final SchemaSourceProvider<ASTSchemaSource> provider = new SchemaSourceProvider<ASTSchemaSource>() {
+            @Override
+            public CheckedFuture<ASTSchemaSource, SchemaSourceException> getSource(final SourceIdentifier id) {
+                return Futures.immediateCheckedFuture(sources.get(id));
+            }
+        };
+        for (SourceIdentifier id : sourceIds) {
+            repository.registerSchemaSource(provider, PotentialSchemaSource.create(id, ASTSchemaSource.class,
+                PotentialSchemaSource.Costs.IMMEDIATE.getValue()));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownRepository() {
+        repository = null;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public SchemaContext assemblyBenchmark() throws SchemaResolutionException {
+        return repository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT)
+            .createSchemaContext(sourceIds).checkedGet();
+    }
+
+    private static String moduleName(final int index) {
+        return "benchmark-module-" + index;
+    }
+
+    private static String moduleText(final int index) {
+        final String name = moduleName(index);
+        final StringBuilder sb = new StringBuilder();
+        sb.append("module ").append(name).append(" {\n");
+        sb.append("    namespace \"urn:opendaylight:benchmark:").append(index).append("\";\n");
+        sb.append("    prefix m").append(index).append(";\n");
+        if (index > 0) {
+            sb.append("    import ").append(moduleName(index - 1)).append(" { prefix p; revision-date ")
+                .append(REVISION).append("; }\n");
+        }
+        sb.append("    revision ").append(REVISION).append(";\n");
+        sb.append("    typedef counter { type uint32 { range \"0..1000000\"; } }\n");
+        sb.append("    grouping entry { leaf name { type string; } leaf value { type counter; } }\n");
+        sb.append("    container root {\n");
+        sb.append("        list item { key name; uses entry;\n");
+        sb.append("            choice kind { case a { leaf a { type string; } } case b { leaf b { type int32; } } }\n");
+        sb.append("        }\n");
+        sb.append("        leaf-list tags { type string; }\n");
+        sb.append("    }\n");
+        if (index > 0) {
+            sb.append("    augment \"/p:root\" { container ext").append(index).append(" { uses entry; } }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+}
@@ -98,6 +98,11 @@ final class BindingCodecContext implements CodecContextFactory, BindingCodecTree
         return registry.getSerializer((Class) type);
     }
 
+    @Override
+    public Class<?> getDataObjectClass(final Class<?> type) {
+        return registry.getDataObjectClass(type);
+    }
+
     public Entry<YangInstanceIdentifier, BindingStreamEventWriter> newWriter(final InstanceIdentifier<?> path,
             final NormalizedNodeStreamWriter domWriter) {
         final LinkedList<YangInstanceIdentifier.PathArgument> yangArgs = new LinkedList<>();
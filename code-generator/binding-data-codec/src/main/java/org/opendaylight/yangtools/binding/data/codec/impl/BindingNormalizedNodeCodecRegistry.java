@@ -14,17 +14,25 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import javassist.ClassPool;
 import org.opendaylight.yangtools.binding.data.codec.api.BindingCodecTreeFactory;
 import org.opendaylight.yangtools.binding.data.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.yangtools.binding.data.codec.api.BindingNormalizedNodeWriterFactory;
 import org.opendaylight.yangtools.binding.data.codec.gen.impl.DataObjectSerializerGenerator;
+import org.opendaylight.yangtools.binding.data.codec.util.AugmentationReader;
 import org.opendaylight.yangtools.concepts.Delegator;
 import org.opendaylight.yangtools.sal.binding.generator.impl.ModuleInfoBackedContext;
 import org.opendaylight.yangtools.sal.binding.generator.util.BindingRuntimeContext;
+import org.opendaylight.yangtools.sal.binding.generator.util.JavassistUtils;
+import org.opendaylight.yangtools.yang.binding.Augmentable;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
 import org.opendaylight.yangtools.yang.binding.BindingStreamEventWriter;
 import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -54,15 +62,28 @@ import org.slf4j.LoggerFactory;
 
 public class BindingNormalizedNodeCodecRegistry implements DataObjectSerializerRegistry,
         BindingCodecTreeFactory, BindingNormalizedNodeWriterFactory,
-        BindingNormalizedNodeSerializer {
+        BindingNormalizedNodeSerializer, AugmentationReader {
     private static final Logger LOG = LoggerFactory.getLogger(BindingNormalizedNodeCodecRegistry.class);
 
     private final DataObjectSerializerGenerator generator;
+    private final LazyDataObjectGenerator dataObjectGenerator;
     private final LoadingCache<Class<? extends DataObject>, DataObjectSerializer> serializers;
     private volatile BindingCodecContext codecContext;
 
     public BindingNormalizedNodeCodecRegistry(final DataObjectSerializerGenerator generator) {
+        this(generator, JavassistUtils.forClassPool(ClassPool.getDefault()));
+    }
+
+    /**
+     * Create a new registry.
+     *
+     * @param generator Generator of serializers
+     * @param javassist Javassist utilities used to generate classes of deserialized binding objects
+     */
+    public BindingNormalizedNodeCodecRegistry(final DataObjectSerializerGenerator generator,
+            final JavassistUtils javassist) {
         this.generator = Preconditions.checkNotNull(generator);
+        this.dataObjectGenerator = new LazyDataObjectGenerator(javassist);
         this.serializers = CacheBuilder.newBuilder().weakKeys().build(new GeneratorLoader());
     }
 
@@ -71,6 +92,25 @@ public class BindingNormalizedNodeCodecRegistry implements DataObjectSerializerR
         return serializers.getUnchecked(type);
     }
 
+    @Override
+    public Map<Class<? extends Augmentation<?>>, Augmentation<?>> getAugmentations(final Object obj) {
+        final LazyDataObject<?> handler = LazyDataObject.getHandler(obj);
+        if (handler != null) {
+            return handler.getAugmentations(obj);
+        }
+        if (Proxy.isProxyClass(obj.getClass())) {
+            final InvocationHandler proxyHandler = Proxy.getInvocationHandler(obj);
+            if (proxyHandler instanceof AugmentationReader) {
+                return ((AugmentationReader) proxyHandler).getAugmentations(obj);
+            }
+        }
+        return BindingReflections.getAugmentations((Augmentable<?>) obj);
+    }
+
+    Class<?> getDataObjectClass(final Class<?> type) {
+        return dataObjectGenerator.getImplementationClass(type);
+    }
+
     public BindingCodecContext getCodecContext() {
         return codecContext;
     }
@@ -59,7 +59,7 @@ final class ChoiceNodeCodecContext<D extends DataObject> extends DataContainerCo
                 }
                 // Updates collection of YANG instance identifier to case
                 for (DataSchemaNode cazeChild : cazeDef.getSchema().getChildNodes()) {
-                    byYangCaseChildBuilder.put(new NodeIdentifier(cazeChild.getQName()), cazeDef);
+                    byYangCaseChildBuilder.put(NodeIdentifier.create(cazeChild.getQName()), cazeDef);
                 }
             } else {
                 /*
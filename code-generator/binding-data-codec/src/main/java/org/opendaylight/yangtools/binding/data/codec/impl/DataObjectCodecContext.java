@@ -18,7 +18,6 @@ import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -116,7 +115,7 @@ abstract class DataObjectCodecContext<D extends DataObject,T extends DataNodeCon
         byBindingArgClassBuilder.putAll(byStreamClass);
         this.byBindingArgClass = ImmutableMap.copyOf(byBindingArgClassBuilder);
 
-        final Class<?> proxyClass = Proxy.getProxyClass(getBindingClass().getClassLoader(),  new Class[] { getBindingClass() });
+        final Class<?> proxyClass = factory().getDataObjectClass(getBindingClass());
         try {
             proxyConstructor = LOOKUP.findConstructor(proxyClass, CONSTRUCTOR_TYPE).asType(DATAOBJECT_TYPE);
         } catch (NoSuchMethodException | IllegalAccessException e) {
@@ -198,7 +197,7 @@ abstract class DataObjectCodecContext<D extends DataObject,T extends DataNodeCon
     @Override
     public NodeCodecContext<D> yangPathArgumentChild(YangInstanceIdentifier.PathArgument arg) {
         if(arg instanceof NodeIdentifierWithPredicates) {
-            arg = new NodeIdentifier(arg.getNodeType());
+            arg = NodeIdentifier.create(arg.getNodeType());
         }
         final NodeContextSupplier childSupplier = byYang.get(arg);
         Preconditions.checkArgument(childSupplier != null, "Argument %s is not valid child of %s", arg, schema());
@@ -20,11 +20,11 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import org.opendaylight.yangtools.concepts.Codec;
 import org.opendaylight.yangtools.yang.binding.Identifier;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.IdentifiableItem;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.ListKeyLayout;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 
@@ -38,14 +38,14 @@ final class IdentifiableItemCodec implements Codec<NodeIdentifierWithPredicates,
     private static final Lookup LOOKUP = MethodHandles.publicLookup();
     private final Map<QName, ValueContext> keyValueContexts;
     private final List<QName> keysInBindingOrder;
-    private final ListSchemaNode schema;
+    private final ListKeyLayout layout;
     private final Class<?> identifiable;
     private final MethodHandle ctorInvoker;
     private final MethodHandle ctor;
 
     public IdentifiableItemCodec(final ListSchemaNode schema, final Class<? extends Identifier<?>> keyClass,
             final Class<?> identifiable, final Map<QName, ValueContext> keyValueContexts) {
-        this.schema = schema;
+        this.layout = ListKeyLayout.of(schema);
         this.identifiable = identifiable;
 
         try {
@@ -96,10 +96,11 @@ final class IdentifiableItemCodec implements Codec<NodeIdentifierWithPredicates,
     @Override
     public IdentifiableItem<?, ?> deserialize(final NodeIdentifierWithPredicates input) {
         final Object[] bindingValues = new Object[keysInBindingOrder.size()];
+        final Map<QName, Object> keyValues = input.getKeyValues();
         int offset = 0;
 
         for (final QName key : keysInBindingOrder) {
-            final Object yangValue = input.getKeyValues().get(key);
+            final Object yangValue = keyValues.get(key);
             bindingValues[offset++] = keyValueContexts.get(key).deserialize(yangValue);
         }
 
@@ -119,11 +120,13 @@ final class IdentifiableItemCodec implements Codec<NodeIdentifierWithPredicates,
     public NodeIdentifierWithPredicates serialize(final IdentifiableItem<?, ?> input) {
         final Object value = input.getKey();
 
-        final Map<QName, Object> values = new LinkedHashMap<>();
-        for (final Entry<QName, ValueContext> valueCtx : keyValueContexts.entrySet()) {
-            values.put(valueCtx.getKey(), valueCtx.getValue().getAndSerialize(value));
+        // keyValueContexts are in schema order, which matches the layout
+        final Object[] values = new Object[keyValueContexts.size()];
+        int offset = 0;
+        for (final ValueContext valueCtx : keyValueContexts.values()) {
+            values[offset++] = valueCtx.getAndSerialize(value);
         }
-        return new NodeIdentifierWithPredicates(schema.getQName(), values);
+        return layout.createIdentifier(values);
     }
 
 
@@ -11,14 +11,16 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.yangtools.binding.data.codec.util.AugmentationReader;
 import org.opendaylight.yangtools.yang.binding.Augmentable;
 import org.opendaylight.yangtools.yang.binding.Augmentation;
@@ -29,6 +31,12 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Invocation handler backing binding objects created by {@link LazyDataObjectGenerator}. Values of getters
+ * are cached by the generated class, hence each of them is decoded at most once per object.
+ *
+ * @param <D> Binding type
+ */
 class LazyDataObject<D extends DataObject> implements InvocationHandler, AugmentationReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(LazyDataObject.class);
@@ -37,9 +45,25 @@ class LazyDataObject<D extends DataObject> implements InvocationHandler, Augment
     private static final String EQUALS = "equals";
     private static final String GET_AUGMENTATION = "getAugmentation";
     private static final String HASHCODE = "hashCode";
-    private static final Object NULL_VALUE = new Object();
+    private static final LoadingCache<Class<?>, Optional<Field>> HANDLER_FIELDS =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<Class<?>, Optional<Field>>() {
+                @Override
+                public Optional<Field> load(final Class<?> key) {
+                    final Field field;
+                    try {
+                        field = key.getDeclaredField(LazyDataObjectGenerator.HANDLER_FIELD);
+                    } catch (final NoSuchFieldException e) {
+                        return Optional.absent();
+                    }
+                    if (!InvocationHandler.class.equals(field.getType())) {
+                        return Optional.absent();
+                    }
+
+                    field.setAccessible(true);
+                    return Optional.of(field);
+                }
+            });
 
-    private final ConcurrentHashMap<Method, Object> cachedData = new ConcurrentHashMap<>();
     private final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> data;
     private final DataObjectCodecContext<D,?> context;
 
@@ -59,20 +83,41 @@ class LazyDataObject<D extends DataObject> implements InvocationHandler, Augment
             if (GET_IMPLEMENTED_INTERFACE.equals(name)) {
                 return context.getBindingClass();
             } else if (TO_STRING.equals(name)) {
-                return bindingToString();
+                return bindingToString(proxy);
             } else if (HASHCODE.equals(name)) {
-                return bindingHashCode();
+                return bindingHashCode(proxy);
             }
-            return getBindingData(method);
+            return context.getBindingChildValue(method, data);
         } else if (GET_AUGMENTATION.equals(method.getName())) {
             return getAugmentationImpl((Class<?>) args[0]);
         } else if (EQUALS.equals(method.getName())) {
-            return bindingEquals(args[0]);
+            return bindingEquals(proxy, args[0]);
         }
         throw new UnsupportedOperationException("Unsupported method " + method);
     }
 
-    private boolean bindingEquals(final Object other) {
+    /**
+     * Return the handler backing an object created by {@link LazyDataObjectGenerator}.
+     *
+     * @param obj Object to examine
+     * @return Backing handler, or null if the object is not backed by a LazyDataObject
+     */
+    static LazyDataObject<?> getHandler(final Object obj) {
+        final Optional<Field> field = HANDLER_FIELDS.getUnchecked(obj.getClass());
+        if (!field.isPresent()) {
+            return null;
+        }
+
+        final Object handler;
+        try {
+            handler = field.get().get(obj);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access handler of " + obj.getClass(), e);
+        }
+        return handler instanceof LazyDataObject ? (LazyDataObject<?>) handler : null;
+    }
+
+    private boolean bindingEquals(final Object proxy, final Object other) {
         if (other == null) {
             return false;
         }
@@ -81,7 +126,7 @@ class LazyDataObject<D extends DataObject> implements InvocationHandler, Augment
         }
         try {
             for (final Method m : context.getHashCodeAndEqualsMethods()) {
-                final Object thisValue = getBindingData(m);
+                final Object thisValue = m.invoke(proxy);
                 final Object otherValue = m.invoke(other);
                 if(!Objects.equals(thisValue, otherValue)) {
                     return false;
@@ -94,7 +139,7 @@ class LazyDataObject<D extends DataObject> implements InvocationHandler, Augment
         return true;
     }
 
-    private Integer bindingHashCode() {
+    private Integer bindingHashCode(final Object proxy) {
         final Integer ret = cachedHashcode;
         if (ret != null) {
             return ret;
@@ -103,29 +148,23 @@ class LazyDataObject<D extends DataObject> implements InvocationHandler, Augment
         final int prime = 31;
         int result = 1;
         for (final Method m : context.getHashCodeAndEqualsMethods()) {
-            final Object value = getBindingData(m);
+            final Object value = getBindingData(proxy, m);
             result += prime * result + ((value == null) ? 0 : value.hashCode());
         }
         if (Augmentation.class.isAssignableFrom(context.getBindingClass())) {
-            result += prime * result + (getAugmentations(this).hashCode());
+            result += prime * result + (getAugmentationsImpl().hashCode());
         }
         cachedHashcode = result;
         return result;
     }
 
-    private Object getBindingData(final Method method) {
-        Object cached = cachedData.get(method);
-        if (cached == null) {
-            final Object readedValue = context.getBindingChildValue(method, data);
-            if (readedValue == null) {
-                cached = NULL_VALUE;
-            } else {
-                cached = readedValue;
-            }
-            cachedData.putIfAbsent(method, cached);
+    private static Object getBindingData(final Object proxy, final Method method) {
+        // Go through the proxy, so the value is cached there
+        try {
+            return method.invoke(proxy);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to invoke " + method, e);
         }
-
-        return cached == NULL_VALUE ? null : cached;
     }
 
     private Map<Class<? extends Augmentation<?>>, Augmentation<?>> getAugmentationsImpl() {
@@ -145,7 +184,7 @@ class LazyDataObject<D extends DataObject> implements InvocationHandler, Augment
 
     @Override
     public Map<Class<? extends Augmentation<?>>, Augmentation<?>> getAugmentations(final Object obj) {
-        Preconditions.checkArgument(this == Proxy.getInvocationHandler(obj),
+        Preconditions.checkArgument(this == getHandler(obj),
                 "Supplied object is not associated with this proxy handler");
 
         return getAugmentationsImpl();
@@ -169,11 +208,11 @@ class LazyDataObject<D extends DataObject> implements InvocationHandler, Augment
         return null;
     }
 
-    public String bindingToString() {
+    private String bindingToString(final Object proxy) {
         final ToStringHelper helper = MoreObjects.toStringHelper(context.getBindingClass()).omitNullValues();
 
         for (final Method m :context.getHashCodeAndEqualsMethods()) {
-            helper.add(m.getName(), getBindingData(m));
+            helper.add(m.getName(), getBindingData(proxy, m));
         }
         if (Augmentable.class.isAssignableFrom(context.getBindingClass())) {
             helper.add("augmentations", getAugmentationsImpl());
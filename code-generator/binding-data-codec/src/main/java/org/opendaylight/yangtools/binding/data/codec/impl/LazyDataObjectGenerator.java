@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.binding.data.codec.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.primitives.Primitives;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewMethod;
+import javassist.Modifier;
+import org.opendaylight.yangtools.sal.binding.generator.util.ClassGenerator;
+import org.opendaylight.yangtools.sal.binding.generator.util.JavassistUtils;
+import org.opendaylight.yangtools.util.ClassLoaderUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generator of classes implementing binding interfaces on top of {@link LazyDataObject}. The generated class
+ * has a constructor taking an {@link InvocationHandler} and a volatile field for each getter, which is filled
+ * by the handler on first invocation. Subsequent invocations are served from the field, without going through
+ * the handler. All other methods are dispatched to the handler, just as a {@link java.lang.reflect.Proxy} would.
+ *
+ * Generated classes are defined in the class loader of the binding interface, hence they can reference only
+ * JDK and binding classes. Method objects passed to the handler are held in static fields, which are resolved
+ * by the static initializer of the generated class, so that the class is fully usable as soon as it is loaded,
+ * even if it was defined by another generator sharing the class loader. As with a {@link java.lang.reflect.Proxy},
+ * checked exceptions thrown by the handler which the invoked method does not declare are wrapped in an
+ * {@link java.lang.reflect.UndeclaredThrowableException}.
+ */
+final class LazyDataObjectGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(LazyDataObjectGenerator.class);
+    private static final String CLASS_SUFFIX = "$LazyDataObject";
+    private static final String METHOD_FIELD_PREFIX = "METHOD";
+    private static final String NULL_VALUE_FIELD = "NULL_VALUE";
+    static final String HANDLER_FIELD = "handler";
+
+    private final LoadingCache<Class<?>, Class<?>> implementations;
+    private final JavassistUtils javassist;
+
+    LazyDataObjectGenerator(final JavassistUtils javassist) {
+        this.javassist = Preconditions.checkNotNull(javassist);
+        this.implementations = CacheBuilder.newBuilder().weakKeys().build(new ImplementationLoader());
+    }
+
+    /**
+     * Return the class implementing specified binding interface.
+     *
+     * @param bindingClass Binding interface
+     * @return Implementation class, with a public constructor taking a single {@link InvocationHandler}
+     */
+    Class<?> getImplementationClass(final Class<?> bindingClass) {
+        return implementations.getUnchecked(bindingClass);
+    }
+
+    private final class ImplementationLoader extends CacheLoader<Class<?>, Class<?>> {
+        @Override
+        public Class<?> load(final Class<?> type) throws Exception {
+            Preconditions.checkArgument(type.isInterface(), "%s is not an interface", type);
+            Preconditions.checkArgument(DataObject.class.isAssignableFrom(type), "%s is not a DataObject", type);
+
+            final String name = type.getName() + CLASS_SUFFIX;
+
+            // Generators sharing the class pool share the generated classes, make sure only one defines each
+            synchronized (javassist) {
+                try {
+                    return ClassLoaderUtils.loadClass(type.getClassLoader(), name);
+                } catch (final ClassNotFoundException e) {
+                    return generateImplementation(type, name);
+                }
+            }
+        }
+    }
+
+    private Class<?> generateImplementation(final Class<?> type, final String name) throws CannotCompileException {
+        javassist.appendClassLoaderIfMissing(type.getClassLoader());
+
+        final CtClass poolClass = javassist.createClass(name, javassist.asCtClass(type), new ClassGenerator() {
+            @Override
+            public void process(final CtClass cls) throws CannotCompileException {
+                implementClass(cls, type);
+            }
+        });
+
+        final Class<?> cls = poolClass.toClass(type.getClassLoader(), type.getProtectionDomain());
+        LOG.debug("Generated class {} for {}", cls, type);
+        return cls;
+    }
+
+    private void implementClass(final CtClass cls, final Class<?> type) throws CannotCompileException {
+        // Methods referenced from the generated class, indexed by the name of the static field holding them
+        final Map<String, Method> constants = new LinkedHashMap<>();
+
+        cls.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+
+        final CtField handler = new CtField(javassist.asCtClass(InvocationHandler.class), HANDLER_FIELD, cls);
+        handler.setModifiers(Modifier.PRIVATE | Modifier.FINAL);
+        cls.addField(handler);
+        cls.addField(CtField.make("private static final Object " + NULL_VALUE_FIELD + " = new Object();", cls));
+
+        final CtConstructor constructor = new CtConstructor(
+            new CtClass[] { javassist.asCtClass(InvocationHandler.class) }, cls);
+        constructor.setModifiers(Modifier.PUBLIC);
+        constructor.setBody("{ this." + HANDLER_FIELD + " = $1; }");
+        cls.addConstructor(constructor);
+
+        // Covariant overrides of a getter share the value field
+        final Map<String, String> valueFields = new HashMap<>();
+        final Set<String> signatures = new HashSet<>();
+        for (final Method method : type.getMethods()) {
+            if (!signatures.add(signature(method))) {
+                continue;
+            }
+
+            final String constant = addMethodConstant(cls, method, constants);
+            final String body;
+            if (isCachedGetter(method)) {
+                String valueField = valueFields.get(method.getName());
+                if (valueField == null) {
+                    valueField = method.getName();
+                    final CtField field = new CtField(javassist.asCtClass(Object.class), valueField, cls);
+                    field.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+                    cls.addField(field);
+                    valueFields.put(method.getName(), valueField);
+                }
+                body = getterBody(valueField, constant);
+            } else {
+                body = delegatingBody(constant);
+            }
+            addMethod(cls, method, body);
+        }
+
+        for (final String objectMethod : new String[] { "equals", "hashCode", "toString" }) {
+            final Method method;
+            try {
+                method = objectMethod.equals("equals") ? Object.class.getMethod(objectMethod, Object.class)
+                        : Object.class.getMethod(objectMethod);
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalStateException("Failed to find method " + objectMethod, e);
+            }
+            addMethod(cls, method, delegatingBody(addMethodConstant(cls, method, constants)));
+        }
+
+        cls.makeClassInitializer().setBody(initializerBody(constants));
+    }
+
+    private String addMethodConstant(final CtClass cls, final Method method, final Map<String, Method> constants)
+            throws CannotCompileException {
+        final String name = METHOD_FIELD_PREFIX + constants.size();
+        final CtField field = new CtField(javassist.asCtClass(Method.class), name, cls);
+        field.setModifiers(Modifier.PRIVATE | Modifier.STATIC);
+        cls.addField(field);
+        constants.put(name, method);
+        return name;
+    }
+
+    private void addMethod(final CtClass cls, final Method method, final String body) throws CannotCompileException {
+        final Class<?>[] params = method.getParameterTypes();
+        final CtClass[] ctParams = new CtClass[params.length];
+        for (int i = 0; i < params.length; ++i) {
+            ctParams[i] = javassist.asCtClass(params[i]);
+        }
+
+        final Class<?>[] exceptions = method.getExceptionTypes();
+        final CtClass[] ctExceptions = new CtClass[exceptions.length];
+        for (int i = 0; i < exceptions.length; ++i) {
+            ctExceptions[i] = javassist.asCtClass(exceptions[i]);
+        }
+
+        final CtMethod ctMethod = CtNewMethod.make(Modifier.PUBLIC | Modifier.FINAL,
+            javassist.asCtClass(method.getReturnType()), method.getName(), ctParams, ctExceptions,
+            body(method, body), cls);
+        cls.addMethod(ctMethod);
+    }
+
+    private static boolean isCachedGetter(final Method method) {
+        return method.getParameterTypes().length == 0 && !method.getReturnType().isPrimitive()
+                && !"getImplementedInterface".equals(method.getName());
+    }
+
+    private static String signature(final Method method) {
+        final StringBuilder sb = new StringBuilder(method.getName()).append('(');
+        for (final Class<?> param : method.getParameterTypes()) {
+            sb.append(param.getName()).append(';');
+        }
+        return sb.append(')').append(method.getReturnType().getName()).toString();
+    }
+
+    /**
+     * Wrap statements in a method body, which rethrows unchecked exceptions and exceptions declared by the method
+     * and wraps all other exceptions in an {@link java.lang.reflect.UndeclaredThrowableException}, as a
+     * {@link java.lang.reflect.Proxy} does.
+     */
+    private static String body(final Method method, final String statements) {
+        final StringBuilder sb = new StringBuilder("{\n")
+            .append("try {\n")
+            .append(statements)
+            .append("} catch (RuntimeException re) {\n")
+            .append("    throw re;\n")
+            .append("} catch (Error err) {\n")
+            .append("    throw err;\n");
+        final Class<?>[] exceptions = method.getExceptionTypes();
+        for (int i = 0; i < exceptions.length; ++i) {
+            sb.append("} catch (").append(exceptions[i].getName()).append(" e").append(i).append(") {\n")
+              .append("    throw e").append(i).append(";\n");
+        }
+        return sb.append("} catch (Throwable t) {\n")
+            .append("    throw new java.lang.reflect.UndeclaredThrowableException(t);\n")
+            .append("}\n")
+            .append("}").toString();
+    }
+
+    private static String getterBody(final String valueField, final String methodField) {
+        return new StringBuilder()
+            .append("Object v = this.").append(valueField).append(";\n")
+            .append("if (v == null) {\n")
+            .append("    v = this.").append(HANDLER_FIELD).append(".invoke(this, ").append(methodField).append(", null);\n")
+            .append("    if (v == null) {\n")
+            .append("        v = ").append(NULL_VALUE_FIELD).append(";\n")
+            .append("    }\n")
+            .append("    this.").append(valueField).append(" = v;\n")
+            .append("}\n")
+            .append("if (v == ").append(NULL_VALUE_FIELD).append(") {\n")
+            .append("    return null;\n")
+            .append("}\n")
+            .append("return ($r) v;\n").toString();
+    }
+
+    private static String delegatingBody(final String methodField) {
+        return "return ($r) this." + HANDLER_FIELD + ".invoke(this, " + methodField + ", $args);\n";
+    }
+
+    /**
+     * Static initializer resolving the Method constants. Classes are looked up through the generated class's
+     * own class loader, which is the class loader of the binding interface.
+     */
+    private static String initializerBody(final Map<String, Method> constants) {
+        final StringBuilder sb = new StringBuilder("{\n")
+            .append("try {\n")
+            .append("    Class[] params;\n");
+        for (final Entry<String, Method> constant : constants.entrySet()) {
+            final Method method = constant.getValue();
+            final Class<?>[] params = method.getParameterTypes();
+            sb.append("    params = new Class[").append(params.length).append("];\n");
+            for (int i = 0; i < params.length; ++i) {
+                sb.append("    params[").append(i).append("] = ").append(classExpression(params[i])).append(";\n");
+            }
+            sb.append("    ").append(constant.getKey()).append(" = ")
+              .append(classExpression(method.getDeclaringClass())).append(".getMethod(\"")
+              .append(method.getName()).append("\", params);\n");
+        }
+        return sb.append("} catch (Exception e) {\n")
+            .append("    throw new ExceptionInInitializerError(e);\n")
+            .append("}\n")
+            .append("}").toString();
+    }
+
+    private static String classExpression(final Class<?> cls) {
+        if (cls.isPrimitive()) {
+            return Primitives.wrap(cls).getName() + ".TYPE";
+        }
+        return "Class.forName(\"" + cls.getName() + "\")";
+    }
+}
@@ -33,7 +33,7 @@ final class LeafNodeCodecContext<D extends DataObject> extends NodeCodecContext<
     private final Method getter;
 
     public LeafNodeCodecContext(final DataSchemaNode schema, final Codec<Object, Object> codec, final Method getter) {
-        this.yangIdentifier = new YangInstanceIdentifier.NodeIdentifier(schema.getQName());
+        this.yangIdentifier = YangInstanceIdentifier.NodeIdentifier.create(schema.getQName());
         this.valueCodec = codec;
         this.getter = getter;
     }
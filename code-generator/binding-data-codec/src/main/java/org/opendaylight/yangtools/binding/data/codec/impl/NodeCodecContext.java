@@ -83,6 +83,15 @@ abstract class NodeCodecContext<D extends DataObject> implements BindingCodecTre
                 ListSchemaNode schema);
 
         DataObjectSerializer getEventStreamSerializer(Class<?> type);
+
+        /**
+         * Returns the class implementing supplied binding interface, whose instances are backed
+         * by the {@link java.lang.reflect.InvocationHandler} passed to its single constructor.
+         *
+         * @param type Binding interface
+         * @return Implementation class
+         */
+        Class<?> getDataObjectClass(Class<?> type);
     }
 
     /**
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.binding.data.codec.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javassist.ClassPool;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.augment.rev140709.TreeLeafOnlyAugment;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.augment.rev140709.TreeLeafOnlyAugmentBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.top.level.list.NestedList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.top.level.list.NestedListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.binding.rev140701.two.level.list.top.level.list.NestedListKey;
+import org.opendaylight.yangtools.binding.data.codec.gen.impl.StreamWriterGenerator;
+import org.opendaylight.yangtools.binding.data.codec.impl.BindingNormalizedNodeCodecRegistry;
+import org.opendaylight.yangtools.sal.binding.generator.util.JavassistUtils;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Tests of binding objects created by deserialization, which are backed by generated classes.
+ */
+public class LazyDataObjectTest extends AbstractBindingRuntimeTest {
+    private static final TopLevelListKey TOP_FOO_KEY = new TopLevelListKey("foo");
+    private static final InstanceIdentifier<TopLevelList> BA_TOP_LEVEL_LIST = InstanceIdentifier.builder(Top.class)
+            .child(TopLevelList.class, TOP_FOO_KEY).build();
+
+    private BindingNormalizedNodeCodecRegistry registry;
+
+    @Override
+    public void setup() {
+        super.setup();
+        registry = createRegistry();
+    }
+
+    private BindingNormalizedNodeCodecRegistry createRegistry() {
+        final JavassistUtils utils = JavassistUtils.forClassPool(ClassPool.getDefault());
+        final BindingNormalizedNodeCodecRegistry ret = new BindingNormalizedNodeCodecRegistry(
+            StreamWriterGenerator.create(utils));
+        ret.onBindingRuntimeContextUpdated(getRuntimeContext());
+        return ret;
+    }
+
+    private static TopLevelList createTopLevelList() {
+        final List<NestedList> nested = new ArrayList<>();
+        nested.add(new NestedListBuilder().setKey(new NestedListKey("one")).build());
+        nested.add(new NestedListBuilder().setKey(new NestedListKey("two")).build());
+
+        return new TopLevelListBuilder().setKey(TOP_FOO_KEY).setNestedList(nested)
+                .addAugmentation(TreeLeafOnlyAugment.class,
+                    new TreeLeafOnlyAugmentBuilder().setSimpleValue("simpleValue").build())
+                .build();
+    }
+
+    private static TopLevelList roundTrip(final BindingNormalizedNodeCodecRegistry registry,
+            final TopLevelList input) {
+        final Map.Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> dom =
+                registry.toNormalizedNode(BA_TOP_LEVEL_LIST, input);
+        final Map.Entry<InstanceIdentifier<?>, DataObject> binding =
+                registry.fromNormalizedNode(dom.getKey(), dom.getValue());
+        return (TopLevelList) binding.getValue();
+    }
+
+    @Test
+    public void testGetterCaching() {
+        final TopLevelList lazy = roundTrip(registry, createTopLevelList());
+        final List<NestedList> nested = lazy.getNestedList();
+        assertEquals(2, nested.size());
+        assertSame(nested, lazy.getNestedList());
+        assertSame(lazy.getKey(), lazy.getKey());
+        assertEquals(TopLevelList.class, lazy.getImplementedInterface());
+    }
+
+    @Test
+    public void testEqualsHashCodeToString() {
+        final TopLevelList expected = createTopLevelList();
+        final TopLevelList lazy = roundTrip(registry, expected);
+
+        assertFalse(expected.getClass().equals(lazy.getClass()));
+        assertEquals(expected, lazy);
+        assertEquals(lazy, expected);
+        assertEquals(lazy, roundTrip(registry, expected));
+        assertEquals(expected.hashCode(), lazy.hashCode());
+        assertEquals(lazy.hashCode(), lazy.hashCode());
+        assertNotEquals(lazy, new TopLevelListBuilder().setKey(TOP_FOO_KEY).build());
+        assertFalse(lazy.equals(null));
+
+        final String str = lazy.toString();
+        assertTrue(str, str.startsWith(TopLevelList.class.getSimpleName()));
+        assertTrue(str, str.contains("foo"));
+        assertTrue(str, str.contains("simpleValue"));
+    }
+
+    @Test
+    public void testAugmentations() {
+        final TopLevelList lazy = roundTrip(registry, createTopLevelList());
+
+        final TreeLeafOnlyAugment augment = lazy.getAugmentation(TreeLeafOnlyAugment.class);
+        assertNotNull(augment);
+        assertEquals("simpleValue", augment.getSimpleValue());
+
+        final Map<Class<? extends Augmentation<?>>, Augmentation<?>> augmentations = registry.getAugmentations(lazy);
+        assertEquals(Collections.<Class<?>>singleton(TreeLeafOnlyAugment.class), augmentations.keySet());
+        assertEquals(augment, augmentations.get(TreeLeafOnlyAugment.class));
+    }
+
+    @Test
+    public void testConcurrentGeneration() throws Exception {
+        final TopLevelList expected = createTopLevelList();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Callable<TopLevelList>> tasks = new ArrayList<>(threads);
+        for (int i = 0; i < threads; ++i) {
+            tasks.add(new Callable<TopLevelList>() {
+                @Override
+                public TopLevelList call() throws InterruptedException {
+                    final BindingNormalizedNodeCodecRegistry registry = createRegistry();
+                    start.await();
+                    final TopLevelList ret = roundTrip(registry, expected);
+                    // Exercise the generated class right away, while other threads may still be generating it
+                    ret.getNestedList();
+                    ret.hashCode();
+                    return ret;
+                }
+            });
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<TopLevelList>> futures = new ArrayList<>(threads);
+            for (final Callable<TopLevelList> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            final Class<?> cls = futures.get(0).get().getClass();
+            for (final Future<TopLevelList> future : futures) {
+                final TopLevelList lazy = future.get();
+                assertSame(cls, lazy.getClass());
+                assertEquals(expected, lazy);
+                assertEquals(2, lazy.getNestedList().size());
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.EventListener;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.opendaylight.yangtools.concepts.AbstractObjectRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.Invoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ListenerRegistry} which keeps its registrations in an immutable list, which is replaced atomically
+ * whenever a listener is registered or unregistered. This makes registration changes more expensive, but
+ * iteration does not need to traverse any concurrent data structures and {@link #dispatch(Invoker, Object)}
+ * does not allocate any objects. It is suitable for cases where notifications are much more frequent than
+ * registration changes.
+ * <p>
+ * Instances can optionally track the time taken by each listener to process events dispatched through
+ * {@link #dispatch(Invoker, Object)}. Times are recorded in a {@link HistogramDurationStatisticsTracker}, which
+ * does not allocate any objects either once warmed up. It takes up roughly 8 kilobytes for each registration
+ * dispatched to from a single thread, growing up to 16 times that when dispatched to from many threads.
+ *
+ * @param <T> the listener type
+ */
+@Beta
+public final class CopyOnWriteListenerRegistry<T extends EventListener> extends ListenerRegistry<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(CopyOnWriteListenerRegistry.class);
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CopyOnWriteListenerRegistry, ImmutableList> REGISTRATIONS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(CopyOnWriteListenerRegistry.class, ImmutableList.class, "registrations");
+
+    private final boolean trackDispatchTime;
+    private volatile ImmutableList<ListenerRegistration<T>> registrations = ImmutableList.of();
+
+    CopyOnWriteListenerRegistry(final boolean trackDispatchTime) {
+        super(null);
+        this.trackDispatchTime = trackDispatchTime;
+    }
+
+    @Override
+    public Iterable<ListenerRegistration<T>> getListeners() {
+        return registrations;
+    }
+
+    @Override
+    public Iterator<ListenerRegistration<T>> iterator() {
+        return registrations.iterator();
+    }
+
+    @Override
+    public ListenerRegistration<T> register(final T listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null.");
+        }
+        return registerWithType(listener);
+    }
+
+    @Override
+    public <L extends T> ListenerRegistration<L> registerWithType(final L listener) {
+        final RegistrationImpl<L> ret = new RegistrationImpl<>(listener,
+            trackDispatchTime ? DurationStatisticsTracker.createHistogram() : null);
+        add(ret);
+        return ret;
+    }
+
+    /**
+     * Invoke all currently-registered listeners with an event. Exceptions thrown by a listener are logged and do not
+     * prevent the event from being delivered to other listeners. This method does not allocate any objects unless
+     * a listener fails.
+     *
+     * @param invoker the {@link Invoker} to use for invoking listeners
+     * @param event the event to deliver
+     */
+    @SuppressWarnings("unchecked")
+    public <E> void dispatch(final Invoker<? super T, ? super E> invoker, final E event) {
+        Preconditions.checkNotNull(invoker);
+
+        // Index-based iteration does not allocate an iterator
+        final ImmutableList<ListenerRegistration<T>> current = registrations;
+        for (int i = 0; i < current.size(); ++i) {
+            final RegistrationImpl<? extends T> reg = (RegistrationImpl<? extends T>) current.get(i);
+            final long start = reg.dispatchTime != null ? System.nanoTime() : 0;
+
+            try {
+                invoker.invokeListener(reg.getInstance(), event);
+            } catch (RuntimeException e) {
+                LOG.warn("Listener {} failed to process event {}", reg.getInstance(), event, e);
+            }
+
+            if (reg.dispatchTime != null) {
+                reg.dispatchTime.addDuration(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Return the dispatch time statistics of a particular registration. Statistics are available only if this
+     * registry was created with dispatch time tracking enabled and the registration belongs to it. The returned
+     * tracker is a {@link HistogramDurationStatisticsTracker}, hence it can also report percentiles.
+     *
+     * @param registration Listener registration
+     * @return Optional dispatch time statistics
+     */
+    public Optional<DurationStatisticsTracker> getDispatchStatistics(final ListenerRegistration<?> registration) {
+        if (registration instanceof RegistrationImpl) {
+            final RegistrationImpl<?> reg = (RegistrationImpl<?>) registration;
+            if (reg.getRegistry() == this) {
+                return Optional.fromNullable(reg.dispatchTime);
+            }
+        }
+        return Optional.absent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(final RegistrationImpl<? extends T> registration) {
+        while (true) {
+            final ImmutableList<ListenerRegistration<T>> current = registrations;
+            final ImmutableList<ListenerRegistration<T>> next = ImmutableList.<ListenerRegistration<T>>builder()
+                    .addAll(current).add((ListenerRegistration<T>) registration).build();
+            if (REGISTRATIONS_UPDATER.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private void remove(final RegistrationImpl<? extends T> registration) {
+        while (true) {
+            final ImmutableList<ListenerRegistration<T>> current = registrations;
+            final ImmutableList.Builder<ListenerRegistration<T>> builder = ImmutableList.builder();
+            for (ListenerRegistration<T> reg : current) {
+                if (reg != registration) {
+                    builder.add(reg);
+                }
+            }
+
+            if (REGISTRATIONS_UPDATER.compareAndSet(this, current, builder.build())) {
+                return;
+            }
+        }
+    }
+
+    private final class RegistrationImpl<P extends T> extends AbstractObjectRegistration<P>
+            implements ListenerRegistration<P> {
+        final HistogramDurationStatisticsTracker dispatchTime;
+
+        RegistrationImpl(final P instance, final HistogramDurationStatisticsTracker dispatchTime) {
+            super(instance);
+            this.dispatchTime = dispatchTime;
+        }
+
+        CopyOnWriteListenerRegistry<T> getRegistry() {
+            return CopyOnWriteListenerRegistry.this;
+        }
+
+        @Override
+        protected void removeRegistration() {
+            remove(this);
+        }
+    }
+}
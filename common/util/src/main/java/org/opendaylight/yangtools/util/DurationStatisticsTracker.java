@@ -56,6 +56,28 @@ public abstract class DurationStatisticsTracker {
         return new SynchronizedDurationStatsTracker();
     }
 
+    /**
+     * Create a {@link HistogramDurationStatisticsTracker} with default precision, which performs well
+     * in very contended environments and can report percentiles.
+     *
+     * @return A new instance.
+     */
+    public static HistogramDurationStatisticsTracker createHistogram() {
+        return createHistogram(HistogramDurationStatisticsTracker.DEFAULT_SIGNIFICANT_BITS);
+    }
+
+    /**
+     * Create a {@link HistogramDurationStatisticsTracker} with specified precision.
+     *
+     * @param significantBits number of bits of precision, determining the relative error of reported percentiles.
+     * @return A new instance.
+     * @throws IllegalArgumentException if significantBits is not in range
+     *         [1, {@value HistogramDurationStatisticsTracker#MAX_SIGNIFICANT_BITS}]
+     */
+    public static HistogramDurationStatisticsTracker createHistogram(final int significantBits) {
+        return new HistogramDurationStatisticsTracker(significantBits);
+    }
+
     /**
      * Add a duration to track.
      *
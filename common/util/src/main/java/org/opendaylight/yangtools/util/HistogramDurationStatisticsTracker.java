@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.UnsignedLong;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link DurationStatisticsTracker} which, in addition to the basic statistics, maintains a log-linear
+ * histogram of the tracked durations, so that percentiles can be queried.
+ * <p>
+ * Each power-of-two range of durations is split into 2^significantBits equally-sized buckets, hence reported
+ * percentiles are within a relative error of 2^-significantBits of the actual value.
+ * <p>
+ * Counters are striped by thread, so that concurrent threads recording durations do not contend on the same
+ * cache lines. A stripe takes up roughly 8 kilobytes with default precision and is allocated when a thread mapping
+ * to it records its first duration, hence a tracker updated by a single thread occupies a single stripe, while one
+ * updated by many threads grows up to one stripe per processor, but no more than 16. Once its stripe exists, recording
+ * a duration does not allocate any objects. Reads sum up all stripes and are therefore more expensive. {@link #reset()} is not atomic with respect to concurrent recording, hence users interested in
+ * periodic statistics should use {@link #takeIntervalSnapshot()} instead.
+ */
+@Beta
+public final class HistogramDurationStatisticsTracker extends DurationStatisticsTracker {
+    /**
+     * Default number of significant bits, resulting in a relative error of ~6%.
+     */
+    public static final int DEFAULT_SIGNIFICANT_BITS = 4;
+
+    /**
+     * Maximum number of significant bits, resulting in a relative error of ~0.4%.
+     */
+    public static final int MAX_SIGNIFICANT_BITS = 8;
+
+    private static final int MAX_STRIPES = 16;
+
+    // One cache line worth of longs
+    private static final int PADDING = 8;
+
+    // Per-stripe header slots, followed by the buckets, all preceded by a line of padding
+    private static final int SUM = PADDING;
+    private static final int LONGEST = PADDING + 1;
+    private static final int LONGEST_TIME = PADDING + 2;
+    private static final int SHORTEST = PADDING + 3;
+    private static final int SHORTEST_TIME = PADDING + 4;
+    private static final int BUCKETS = PADDING + 5;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    private final int significantBits;
+    private final int bucketCount;
+    private final int stripeMask;
+    private final int stripeSize;
+
+    private Snapshot lastInterval;
+
+    HistogramDurationStatisticsTracker(final int significantBits) {
+        Preconditions.checkArgument(significantBits > 0 && significantBits <= MAX_SIGNIFICANT_BITS,
+            "Significant bits %s is not in range [1, %s]", significantBits, MAX_SIGNIFICANT_BITS);
+        this.significantBits = significantBits;
+        this.bucketCount = (64 - significantBits) << significantBits;
+
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors());
+        if (stripeCount > MAX_STRIPES) {
+            stripeCount = MAX_STRIPES;
+        }
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+
+        // Round each stripe to a multiple of cache line size and pad it by an additional line on both ends
+        this.stripeSize = ((BUCKETS + bucketCount + PADDING - 1) / PADDING + 1) * PADDING;
+
+        lastInterval = emptySnapshot();
+    }
+
+    @Override
+    public void addDuration(final long duration) {
+        Preconditions.checkArgument(duration >= 0, "Duration must not be negative");
+
+        final AtomicLongArray stripe = getStripe((int) (Thread.currentThread().getId() & stripeMask));
+        stripe.getAndIncrement(BUCKETS + bucketIndex(duration));
+        stripe.getAndAdd(SUM, duration);
+
+        long current = stripe.get(LONGEST);
+        while (duration > current) {
+            if (stripe.compareAndSet(LONGEST, current, duration)) {
+                // The time is updated separately, hence it can be slightly off under contention
+                stripe.lazySet(LONGEST_TIME, System.currentTimeMillis());
+                break;
+            }
+            current = stripe.get(LONGEST);
+        }
+
+        current = stripe.get(SHORTEST);
+        while (duration < current) {
+            if (stripe.compareAndSet(SHORTEST, current, duration)) {
+                stripe.lazySet(SHORTEST_TIME, System.currentTimeMillis());
+                break;
+            }
+            current = stripe.get(SHORTEST);
+        }
+    }
+
+    @Override
+    public double getAverageDuration() {
+        return takeSnapshot().getAverageDuration();
+    }
+
+    @Override
+    public long getTotalDurations() {
+        long ret = 0;
+        for (int s = 0; s < stripes.length(); ++s) {
+            final AtomicLongArray stripe = stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < bucketCount; ++i) {
+                    ret += stripe.get(BUCKETS + i);
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the duration in nanoseconds, below which the specified percentage of tracked durations falls.
+     *
+     * @param percentile Percentile, in range [0, 100]
+     * @return Duration in nanoseconds, or 0 if no durations have been tracked.
+     */
+    public long getDurationAtPercentile(final double percentile) {
+        return takeSnapshot().getDurationAtPercentile(percentile);
+    }
+
+    @Override
+    public synchronized void reset() {
+        // Stripes are retained, as a thread which has used one is likely to record more durations
+        for (int s = 0; s < stripes.length(); ++s) {
+            final AtomicLongArray stripe = stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < stripe.length(); ++i) {
+                    stripe.set(i, 0);
+                }
+                stripe.set(SHORTEST, Long.MAX_VALUE);
+            }
+        }
+        lastInterval = emptySnapshot();
+    }
+
+    /**
+     * Take a snapshot of the statistics accumulated since construction or last {@link #reset()}.
+     *
+     * @return A new snapshot.
+     */
+    public Snapshot takeSnapshot() {
+        final long[] buckets = new long[bucketCount];
+        long sum = 0;
+        long longest = 0;
+        long longestTime = 0;
+        long shortest = Long.MAX_VALUE;
+        long shortestTime = 0;
+
+        for (int s = 0; s < stripes.length(); ++s) {
+            final AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+
+            sum += stripe.get(SUM);
+
+            final long stripeLongest = stripe.get(LONGEST);
+            if (stripeLongest > longest) {
+                longest = stripeLongest;
+                longestTime = stripe.get(LONGEST_TIME);
+            }
+            final long stripeShortest = stripe.get(SHORTEST);
+            if (stripeShortest < shortest) {
+                shortest = stripeShortest;
+                shortestTime = stripe.get(SHORTEST_TIME);
+            }
+
+            for (int i = 0; i < bucketCount; ++i) {
+                buckets[i] += stripe.get(BUCKETS + i);
+            }
+        }
+
+        return new Snapshot(significantBits, buckets, sum, longest, longestTime, shortest, shortestTime);
+    }
+
+    /**
+     * Take a snapshot of the statistics accumulated since the previous invocation of this method, or since
+     * construction or last {@link #reset()}, whichever happened last. The longest and shortest durations in the
+     * returned snapshot are estimated from the histogram and do not have a timestamp.
+     *
+     * @return A new snapshot.
+     */
+    public synchronized Snapshot takeIntervalSnapshot() {
+        final Snapshot current = takeSnapshot();
+        final Snapshot ret = current.since(lastInterval);
+        lastInterval = current;
+        return ret;
+    }
+
+    @Override
+    protected DurationWithTime getLongest() {
+        return takeSnapshot().getLongest();
+    }
+
+    @Override
+    protected DurationWithTime getShortest() {
+        return takeSnapshot().getShortest();
+    }
+
+    /**
+     * Returns the number of stripes allocated so far.
+     */
+    int allocatedStripes() {
+        int ret = 0;
+        for (int s = 0; s < stripes.length(); ++s) {
+            if (stripes.get(s) != null) {
+                ++ret;
+            }
+        }
+        return ret;
+    }
+
+    private AtomicLongArray getStripe(final int index) {
+        final AtomicLongArray existing = stripes.get(index);
+        if (existing != null) {
+            return existing;
+        }
+
+        final AtomicLongArray created = new AtomicLongArray(stripeSize);
+        created.set(SHORTEST, Long.MAX_VALUE);
+        return stripes.compareAndSet(index, null, created) ? created : stripes.get(index);
+    }
+
+    private Snapshot emptySnapshot() {
+        return new Snapshot(significantBits, new long[bucketCount], 0, 0, 0, Long.MAX_VALUE, 0);
+    }
+
+    private int bucketIndex(final long value) {
+        return bucketIndex(significantBits, value);
+    }
+
+    static int bucketIndex(final int significantBits, final long value) {
+        if (value < (1L << significantBits)) {
+            return (int) value;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - significantBits)) & ((1 << significantBits) - 1);
+        return ((exponent - significantBits + 1) << significantBits) + subBucket;
+    }
+
+    static long bucketLowerBound(final int significantBits, final int index) {
+        final int group = index >>> significantBits;
+        if (group == 0) {
+            return index;
+        }
+
+        final long subBucket = index & ((1 << significantBits) - 1);
+        return ((1L << significantBits) + subBucket) << (group - 1);
+    }
+
+    static long bucketUpperBound(final int significantBits, final int index) {
+        final int group = index >>> significantBits;
+        if (group == 0) {
+            return index;
+        }
+
+        final long next = bucketLowerBound(significantBits, index) + (1L << (group - 1));
+        return next < 0 ? Long.MAX_VALUE : next - 1;
+    }
+
+    /**
+     * An immutable snapshot of the statistics tracked by a {@link HistogramDurationStatisticsTracker}.
+     */
+    @Beta
+    public static final class Snapshot {
+        private final int significantBits;
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long longest;
+        private final long longestTime;
+        private final long shortest;
+        private final long shortestTime;
+
+        Snapshot(final int significantBits, final long[] buckets, final long sum, final long longest,
+                final long longestTime, final long shortest, final long shortestTime) {
+            this.significantBits = significantBits;
+            this.buckets = buckets;
+            this.sum = sum;
+            this.longest = longest;
+            this.longestTime = longestTime;
+            this.shortest = shortest;
+            this.shortestTime = shortestTime;
+
+            long c = 0;
+            for (long b : buckets) {
+                c += b;
+            }
+            this.count = c;
+        }
+
+        Snapshot since(final Snapshot previous) {
+            final long[] diff = Arrays.copyOf(buckets, buckets.length);
+            int lowest = -1;
+            int highest = -1;
+            for (int i = 0; i < diff.length; ++i) {
+                diff[i] -= previous.buckets[i];
+                if (diff[i] != 0) {
+                    if (lowest == -1) {
+                        lowest = i;
+                    }
+                    highest = i;
+                }
+            }
+
+            if (lowest == -1) {
+                return new Snapshot(significantBits, diff, 0, 0, 0, Long.MAX_VALUE, 0);
+            }
+
+            return new Snapshot(significantBits, diff, sum - previous.sum,
+                Math.min(bucketUpperBound(significantBits, highest), longest), 0,
+                Math.max(bucketLowerBound(significantBits, lowest), shortest), 0);
+        }
+
+        /**
+         * Returns the number of tracked durations.
+         */
+        public long getTotalDurations() {
+            return count;
+        }
+
+        /**
+         * Returns the average duration in nanoseconds.
+         */
+        public double getAverageDuration() {
+            return count == 0 ? 0 : UnsignedLong.fromLongBits(sum).doubleValue() / count;
+        }
+
+        /**
+         * Returns the longest duration in nanoseconds.
+         */
+        public long getLongestDuration() {
+            return count == 0 ? 0 : longest;
+        }
+
+        /**
+         * Returns the shortest duration in nanoseconds.
+         */
+        public long getShortestDuration() {
+            return count == 0 ? 0 : shortest;
+        }
+
+        /**
+         * Returns the duration in nanoseconds, below which the specified percentage of tracked durations falls.
+         *
+         * @param percentile Percentile, in range [0, 100]
+         * @return Duration in nanoseconds, or 0 if no durations have been tracked.
+         */
+        public long getDurationAtPercentile(final double percentile) {
+            Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Percentile %s is not in range [0, 100]",
+                percentile);
+            if (count == 0) {
+                return 0;
+            }
+
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; ++i) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    final long value = bucketUpperBound(significantBits, i);
+                    return Math.max(shortest, Math.min(value, longest));
+                }
+            }
+
+            return longest;
+        }
+
+        DurationWithTime getLongest() {
+            return count == 0 ? null : new DurationWithTime(longest, longestTime);
+        }
+
+        DurationWithTime getShortest() {
+            return count == 0 ? null : new DurationWithTime(shortest, shortestTime);
+        }
+    }
+}
@@ -30,6 +30,12 @@ public class ListenerRegistry<T extends EventListener> implements Iterable<Liste
         unmodifiableView = rawSet;
     }
 
+    // Used by CopyOnWriteListenerRegistry, which does not use the map
+    ListenerRegistry(final Void dummy) {
+        listeners = null;
+        unmodifiableView = null;
+    }
+
     public Iterable<ListenerRegistration<T>> getListeners() {
         return unmodifiableView;
     }
@@ -76,4 +82,24 @@ public class ListenerRegistry<T extends EventListener> implements Iterable<Liste
     public static <T extends EventListener> ListenerRegistry<T> create() {
         return new ListenerRegistry<>();
     }
+
+    /**
+     * Create a {@link CopyOnWriteListenerRegistry}, which is optimized for frequent iteration
+     * and infrequent registration changes.
+     *
+     * @return A new instance.
+     */
+    public static <T extends EventListener> CopyOnWriteListenerRegistry<T> createCopyOnWrite() {
+        return new CopyOnWriteListenerRegistry<>(false);
+    }
+
+    /**
+     * Create a {@link CopyOnWriteListenerRegistry}, which additionally tracks the time each
+     * listener takes to process dispatched events.
+     *
+     * @return A new instance.
+     */
+    public static <T extends EventListener> CopyOnWriteListenerRegistry<T> createCopyOnWriteWithStatistics() {
+        return new CopyOnWriteListenerRegistry<>(true);
+    }
 }
@@ -78,6 +78,16 @@ public final class MapAdaptor {
         return DEFAULT_INSTANCE;
     }
 
+    /**
+     * Return the maximum number of items this instance keeps in a copied HashMap. Larger maps are stored
+     * as snapshot-capable tries.
+     *
+     * @return the configured copy cutoff
+     */
+    public int getCopyMaxItems() {
+        return copyMaxItems;
+    }
+
     public static MapAdaptor getInstance(final boolean useSingleton, final int copyMaxItems, final int persistMinItems) {
         Preconditions.checkArgument(copyMaxItems >= 0, "copyMaxItems has to be a non-negative integer");
         Preconditions.checkArgument(persistMinItems >= 0, "persistMinItems has to be a positive integer");
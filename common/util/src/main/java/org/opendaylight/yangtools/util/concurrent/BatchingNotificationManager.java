@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link NotificationManager} which, like {@link QueuedNotificationManager}, queues notifications on a per-listener
+ * basis and dispatches them serially to each listener via an {@link Executor}, but does not take any locks on the
+ * submission path and hands notifications to listeners in batches.
+ * <p>
+ * Each listener with pending notifications has a lock-free queue and a counter of notifications which have been
+ * submitted but not dispatched yet. Submitters reserve space in the counter and then append to the queue. The
+ * submitter which moves the counter away from zero submits the dispatch task, which drains the queue in batches of
+ * up to a configured size until it has dispatched all of them. Releasing the last notifications retires the queue in
+ * the same atomic step, so the counter never returns to zero while the task runs, and the queue is removed, so
+ * that idle listeners retain only their dispatch statistics, which are dropped once the listener itself is garbage
+ * collected. Notification ordering for a particular listener is preserved as long
+ * as notifications for that listener are not submitted concurrently, which is the same requirement
+ * {@link QueuedNotificationManager} has.
+ * <p>
+ * Submitting a notification when the listener's queue holds {@code maxQueueCapacity} notifications blocks until
+ * the listener catches up. If the executor rejects the dispatch task, every submitter whose notifications were
+ * accepted into the affected queue receives a {@link RejectedExecutionException}, not just the one which attempted
+ * to submit the task.
+ *
+ * @param <L> the listener type
+ * @param <N> the notification type
+ */
+@Beta
+public class BatchingNotificationManager<L, N> implements NotificationManager<L, N> {
+
+    /**
+     * Interface implemented by clients that does the work of invoking listeners with batches of notifications.
+     *
+     * @param <L> the listener type
+     * @param <N> the notification type
+     */
+    public interface BatchedInvoker<L, N> {
+
+        /**
+         * Called to invoke a listener with a batch of notifications, in the order in which they were submitted.
+         * The list is not used by the manager once this method returns.
+         *
+         * @param listener the listener to invoke
+         * @param notifications the notifications to send, never empty
+         */
+        void invokeListener( L listener, List<N> notifications );
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger( BatchingNotificationManager.class );
+
+    /**
+     * Counter value of a queue which has retired and cannot accept any more notifications.
+     */
+    private static final int RETIRED = -1;
+
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos( 100 );
+    private static final long WARN_NANOS = TimeUnit.MINUTES.toNanos( 1 );
+
+    // Weak keys are not needed as such, but they make the map compare listeners by identity, without us having
+    // to allocate a key object on each submission. Queues retire when drained, so entries do not outlive activity.
+    private final ConcurrentMap<L, ListenerQueue> listenerQueues = new MapMaker().weakKeys().makeMap();
+
+    // Statistics outlive the queues, so that they accumulate across bursts of activity. They are looked up only
+    // when a queue is activated and go away with the listener.
+    private final ConcurrentMap<L, ListenerStats> listenerStats = new MapMaker().weakKeys().makeMap();
+
+    private final Executor executor;
+    private final BatchedInvoker<L, N> listenerInvoker;
+    private final int maxQueueCapacity;
+    private final int maxBatchSize;
+    private final String name;
+
+    /**
+     * Constructor.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link BatchedInvoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param maxBatchSize the maximum number of notifications handed to a listener at once
+     * @param name the name of this instance for logging info
+     */
+    public BatchingNotificationManager( final Executor executor, final BatchedInvoker<L, N> listenerInvoker,
+            final int maxQueueCapacity, final int maxBatchSize, final String name ) {
+        this.executor = Preconditions.checkNotNull( executor );
+        this.listenerInvoker = Preconditions.checkNotNull( listenerInvoker );
+        Preconditions.checkArgument( maxQueueCapacity > 0, "maxQueueCapacity must be > 0 " );
+        Preconditions.checkArgument( maxBatchSize > 0, "maxBatchSize must be > 0 " );
+        this.maxQueueCapacity = maxQueueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.name = Preconditions.checkNotNull( name );
+    }
+
+    /**
+     * Constructor for use with an {@link QueuedNotificationManager.Invoker}, which is called for each notification
+     * in a batch.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link QueuedNotificationManager.Invoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param maxBatchSize the maximum number of notifications dispatched by a single task iteration
+     * @param name the name of this instance for logging info
+     */
+    public BatchingNotificationManager( final Executor executor,
+            final QueuedNotificationManager.Invoker<L, N> listenerInvoker, final int maxQueueCapacity,
+            final int maxBatchSize, final String name ) {
+        this( executor, new SingleInvokerAdapter<>( listenerInvoker, name ), maxQueueCapacity, maxBatchSize, name );
+    }
+
+    @Override
+    public void submitNotification( final L listener, final N notification ) throws RejectedExecutionException {
+        if( notification == null || listener == null ) {
+            return;
+        }
+
+        ListenerQueue queue = listenerQueues.get( listener );
+        while( queue == null || !queue.submit( notification ) ) {
+            queue = activateQueue( listener, queue );
+        }
+    }
+
+    @Override
+    public void submitNotifications( final L listener, final Iterable<N> notifications )
+            throws RejectedExecutionException {
+        if( notifications == null || listener == null ) {
+            return;
+        }
+
+        final Collection<N> batch;
+        if( notifications instanceof Collection ) {
+            batch = (Collection<N>) notifications;
+        } else {
+            batch = new ArrayList<>();
+            for( N notification: notifications ) {
+                batch.add( notification );
+            }
+        }
+        if( batch.isEmpty() ) {
+            return;
+        }
+
+        ListenerQueue queue = listenerQueues.get( listener );
+        while( queue == null || !queue.submit( batch ) ) {
+            queue = activateQueue( listener, queue );
+        }
+    }
+
+    /**
+     * Install a fresh queue for a listener whose queue is either missing or retired.
+     */
+    private ListenerQueue activateQueue( final L listener, final ListenerQueue retired ) {
+        if( retired != null ) {
+            // The retiring task removes the queue right after retiring it, but we may get here first
+            listenerQueues.remove( listener, retired );
+        }
+
+        ListenerStats stats = listenerStats.get( listener );
+        if( stats == null ) {
+            final ListenerStats newStats = new ListenerStats();
+            stats = listenerStats.putIfAbsent( listener, newStats );
+            if( stats == null ) {
+                stats = newStats;
+            }
+        }
+
+        final ListenerQueue queue = new ListenerQueue( listener, stats );
+        final ListenerQueue existing = listenerQueues.putIfAbsent( listener, queue );
+        if( existing != null ) {
+            return existing;
+        }
+
+        LOG.debug( "{}: Activated notification queue for listener {}", name, listener );
+        return queue;
+    }
+
+    /**
+     * Returns {@link ListenerNotificationQueueStats} instances for each listener which has been submitted
+     * notifications and has not been garbage-collected yet. Dispatch counters and times are cumulative, the
+     * queue size is zero for listeners which do not have any pending notifications.
+     */
+    public List<ListenerNotificationQueueStats> getListenerNotificationQueueStats() {
+        final List<ListenerNotificationQueueStats> statsList = new ArrayList<>( listenerStats.size() );
+        for( Entry<L, ListenerStats> e: listenerStats.entrySet() ) {
+            final ListenerQueue queue = listenerQueues.get( e.getKey() );
+            final int queueSize = queue == null ? 0 : queue.pendingCount();
+            statsList.add( e.getValue().toStats( e.getKey(), queueSize ) );
+        }
+        return statsList;
+    }
+
+    /**
+     * Returns the maximum listener queue capacity.
+     */
+    public int getMaxQueueCapacity() {
+        return maxQueueCapacity;
+    }
+
+    /**
+     * Returns the maximum number of notifications handed to a listener at once.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Returns the {@link Executor} to used for notification tasks.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * State of the dispatch task of a {@link ListenerQueue}. Each queue submits its task exactly once.
+     */
+    private enum TaskState {
+        /**
+         * The task is being submitted to the executor.
+         */
+        PENDING,
+        /**
+         * The task has been accepted by the executor.
+         */
+        ACCEPTED,
+        /**
+         * The task has been rejected by the executor, the queue will never be drained.
+         */
+        REJECTED,
+    }
+
+    /**
+     * Dispatch statistics of a single listener. They are written only by the thread running the dispatch task of
+     * the listener's current queue, as a queue retires only after its task has finished dispatching.
+     */
+    private static final class ListenerStats {
+        volatile long maxScheduleDelayNanos;
+        volatile long dispatchedNotifications;
+        volatile long dispatchedBatches;
+        volatile long dispatchNanos;
+        volatile long maxDispatchNanos;
+
+        ListenerNotificationQueueStats toStats( final Object listener, final int queueSize ) {
+            return new ListenerNotificationQueueStats( listener.toString(), queueSize, dispatchedNotifications,
+                    dispatchedBatches, dispatchNanos, maxDispatchNanos, maxScheduleDelayNanos );
+        }
+    }
+
+    /**
+     * Notification queue of a single listener and its dispatch task. Any number of threads may submit notifications,
+     * but only one runs the task at any given time.
+     */
+    private final class ListenerQueue implements Runnable {
+        private final Queue<N> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final ListenerStats stats;
+        private final L listener;
+
+        private volatile TaskState taskState = TaskState.PENDING;
+        private volatile long scheduledNanos;
+
+        ListenerQueue( final L listener, final ListenerStats stats ) {
+            this.listener = listener;
+            this.stats = stats;
+        }
+
+        int pendingCount() {
+            return Math.max( pending.get(), 0 );
+        }
+
+        boolean submit( final N notification ) {
+            final int prev = reserve( 1 );
+            if( prev == RETIRED ) {
+                return false;
+            }
+
+            queue.offer( notification );
+            submitted( prev, 1 );
+            return true;
+        }
+
+        boolean submit( final Collection<N> notifications ) {
+            final int prev = reserve( notifications.size() );
+            if( prev == RETIRED ) {
+                return false;
+            }
+
+            for( N notification: notifications ) {
+                queue.offer( notification );
+            }
+            submitted( prev, notifications.size() );
+            return true;
+        }
+
+        /**
+         * Complete a submission by either scheduling the task or making sure the task the notifications have been
+         * queued for has been accepted by the executor.
+         */
+        private void submitted( final int prev, final int count ) {
+            if( prev == 0 ) {
+                schedule();
+                return;
+            }
+
+            // The task is normally accepted by the time we get here. If it is not, its submission is in progress,
+            // which does not take long unless the executor applies back-pressure.
+            TaskState state;
+            while( ( state = taskState ) == TaskState.PENDING ) {
+                Thread.yield();
+            }
+            if( state == TaskState.REJECTED ) {
+                throw new RejectedExecutionException( String.format(
+                        "%s: notification task for listener %s was rejected, %s notifications were not delivered",
+                        name, listener, count ) );
+            }
+        }
+
+        /**
+         * Reserve space for notifications, waiting for the listener to catch up if the queue is full.
+         *
+         * @return the previous number of pending notifications, or {@link #RETIRED}
+         */
+        private int reserve( final int count ) {
+            long waitStart = 0;
+            while( true ) {
+                final int current = pending.get();
+                if( current == RETIRED ) {
+                    return RETIRED;
+                }
+
+                // An empty queue always accepts notifications, so that oversized batches do not wait forever
+                if( current == 0 || current + count <= maxQueueCapacity ) {
+                    if( pending.compareAndSet( current, current + count ) ) {
+                        return current;
+                    }
+                    continue;
+                }
+
+                final long now = System.nanoTime();
+                if( waitStart == 0 ) {
+                    waitStart = now;
+                } else if( now - waitStart >= WARN_NANOS ) {
+                    LOG.warn( "{}: Timed out trying to queue notifications for listener {}. " +
+                              "The queue has reached its capacity of {}", name, listener, maxQueueCapacity );
+                    waitStart = now;
+                }
+                LockSupport.parkNanos( BACKOFF_NANOS );
+            }
+        }
+
+        private void schedule() {
+            scheduledNanos = System.nanoTime();
+            LOG.debug( "{}: Submitting notification task for listener {}", name, listener );
+
+            try {
+                executor.execute( this );
+            } catch( RejectedExecutionException e ) {
+                // Nobody is going to drain this queue, retire it and let the caller know. Concurrent submitters
+                // which have reserved space in this queue are waiting for the outcome and will fail as well.
+                retire();
+                taskState = TaskState.REJECTED;
+                throw e;
+            }
+
+            if( taskState == TaskState.PENDING ) {
+                taskState = TaskState.ACCEPTED;
+            }
+        }
+
+        private void retire() {
+            pending.set( RETIRED );
+            listenerQueues.remove( listener, this );
+        }
+
+        @Override
+        public void run() {
+            // The task may run before execute() returns, for example with a caller-runs policy, which must not
+            // leave concurrent submitters waiting for the outcome.
+            taskState = TaskState.ACCEPTED;
+
+            final long start = System.nanoTime();
+            final long delay = start - scheduledNanos;
+            if( delay > stats.maxScheduleDelayNanos ) {
+                stats.maxScheduleDelayNanos = delay;
+            }
+
+            while( true ) {
+                final int available = pending.get();
+                if( available == RETIRED ) {
+                    return;
+                }
+
+                final List<N> batch = new ArrayList<>( Math.min( available, maxBatchSize ) );
+                while( batch.size() < maxBatchSize ) {
+                    final N notification = queue.poll();
+                    if( notification == null ) {
+                        break;
+                    }
+                    batch.add( notification );
+                }
+
+                if( batch.isEmpty() ) {
+                    // A submitter has reserved space but has not appended its notifications yet
+                    Thread.yield();
+                    continue;
+                }
+
+                dispatch( batch );
+
+                // Retire in the same step which releases the last dispatched notifications. The counter must not
+                // pass through zero while we are running, as a submitter would take that as a cue to schedule
+                // another instance of this task.
+                int current, next;
+                do {
+                    current = pending.get();
+                    next = current == batch.size() ? RETIRED : current - batch.size();
+                } while( !pending.compareAndSet( current, next ) );
+
+                if( next == RETIRED ) {
+                    listenerQueues.remove( listener, this );
+                    return;
+                }
+            }
+        }
+
+        private void dispatch( final List<N> batch ) {
+            if( LOG.isDebugEnabled() ) {
+                LOG.debug( "{}: Invoking listener {} with {} notifications", name, listener, batch.size() );
+            }
+
+            final long start = System.nanoTime();
+            try {
+                listenerInvoker.invokeListener( listener, batch );
+            } catch( RuntimeException e ) {
+                // We'll let a RuntimeException from the listener slide and keep sending any
+                // remaining notifications.
+                LOG.error( String.format( "%1$s: Error notifying listener %2$s", name, listener ), e );
+            } catch( Error e ) {
+                // A JVM Error is severe - best practice is to throw them up the chain. Retire the queue,
+                // dropping any notifications still in it, so that a fresh one gets used from now on.
+                retire();
+                throw e;
+            }
+
+            final long elapsed = System.nanoTime() - start;
+            stats.dispatchedNotifications += batch.size();
+            stats.dispatchedBatches++;
+            stats.dispatchNanos += elapsed;
+            if( elapsed > stats.maxDispatchNanos ) {
+                stats.maxDispatchNanos = elapsed;
+            }
+        }
+    }
+
+    /**
+     * Adapts an {@link QueuedNotificationManager.Invoker} to a {@link BatchedInvoker}, isolating failures of
+     * individual notifications the same way {@link QueuedNotificationManager} does.
+     */
+    private static final class SingleInvokerAdapter<L, N> implements BatchedInvoker<L, N> {
+        private final QueuedNotificationManager.Invoker<L, N> delegate;
+        private final String name;
+
+        SingleInvokerAdapter( final QueuedNotificationManager.Invoker<L, N> delegate, final String name ) {
+            this.delegate = Preconditions.checkNotNull( delegate );
+            this.name = name;
+        }
+
+        @Override
+        public void invokeListener( final L listener, final List<N> notifications ) {
+            for( N notification: notifications ) {
+                try {
+                    delegate.invokeListener( listener, notification );
+                } catch( RuntimeException e ) {
+                    LOG.error( String.format( "%1$s: Error notifying listener %2$s", name, listener ), e );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * An ExecutorService backed by a work-stealing {@link ForkJoinPool}, with a specified bounded
+ * capacity for tasks which have been submitted but have not started executing yet.
+ * <p>
+ * See {@link SpecialExecutors#newBoundedForkJoinPool} for more details.
+ */
+public class BoundedForkJoinExecutor extends AbstractExecutorService {
+    private static final AtomicIntegerFieldUpdater<BoundedForkJoinExecutor> QUEUE_SIZE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater( BoundedForkJoinExecutor.class, "queueSize" );
+    private static final AtomicIntegerFieldUpdater<BoundedForkJoinExecutor> LARGEST_QUEUE_SIZE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater( BoundedForkJoinExecutor.class, "largestQueueSize" );
+    private static final AtomicLongFieldUpdater<BoundedForkJoinExecutor> REJECTED_TASK_UPDATER =
+            AtomicLongFieldUpdater.newUpdater( BoundedForkJoinExecutor.class, "rejectedTaskCount" );
+
+    private final ForkJoinPool pool;
+    private final String threadPrefix;
+    private final int maximumQueueSize;
+    private final boolean callerRuns;
+
+    private volatile int queueSize = 0;
+    private volatile int largestQueueSize = 0;
+    private volatile long rejectedTaskCount = 0;
+
+    /**
+     * Constructs an instance.
+     *
+     * @param parallelism
+     *            the target number of threads actively executing tasks.
+     * @param maximumQueueSize
+     *            the maximum number of tasks waiting to be executed.
+     * @param callerRuns
+     *            if true, tasks which do not fit into the queue are run in the thread calling
+     *            execute, otherwise they are rejected with a RejectedExecutionException.
+     * @param threadPrefix
+     *            the name prefix for threads created by this executor.
+     */
+    public BoundedForkJoinExecutor( int parallelism, int maximumQueueSize, boolean callerRuns,
+            String threadPrefix ) {
+        Preconditions.checkArgument( maximumQueueSize > 0, "maximumQueueSize must be > 0" );
+        this.threadPrefix = Preconditions.checkNotNull( threadPrefix );
+        this.maximumQueueSize = maximumQueueSize;
+        this.callerRuns = callerRuns;
+
+        // Tasks submitted via execute() are independent, hence we use asynchronous (FIFO) mode,
+        // which is better suited for event-style tasks which are never joined.
+        pool = new ForkJoinPool( parallelism, new PrefixedThreadFactory( threadPrefix ), null, true );
+    }
+
+    @Override
+    public void execute( final Runnable task ) {
+        Preconditions.checkNotNull( task );
+        if( pool.isShutdown() ) {
+            throw new RejectedExecutionException( "Executor has been shutdown." );
+        }
+
+        if( !reserveSlot() ) {
+            REJECTED_TASK_UPDATER.incrementAndGet( this );
+            if( !callerRuns ) {
+                throw new RejectedExecutionException( "Task " + task + " rejected from " + this );
+            }
+
+            task.run();
+            return;
+        }
+
+        try {
+            pool.execute( new Runnable() {
+                @Override
+                public void run() {
+                    QUEUE_SIZE_UPDATER.decrementAndGet( BoundedForkJoinExecutor.this );
+                    task.run();
+                }
+            } );
+        } catch( RejectedExecutionException e ) {
+            QUEUE_SIZE_UPDATER.decrementAndGet( this );
+            throw e;
+        }
+    }
+
+    private boolean reserveSlot() {
+        while( true ) {
+            final int current = queueSize;
+            if( current >= maximumQueueSize ) {
+                return false;
+            }
+
+            if( QUEUE_SIZE_UPDATER.compareAndSet( this, current, current + 1 ) ) {
+                final int size = current + 1;
+                int largest;
+                do {
+                    largest = largestQueueSize;
+                } while( size > largest && !LARGEST_QUEUE_SIZE_UPDATER.compareAndSet( this, largest, size ) );
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return pool.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return pool.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination( long timeout, TimeUnit unit ) throws InterruptedException {
+        return pool.awaitTermination( timeout, unit );
+    }
+
+    /**
+     * Returns the number of tasks which have been submitted, but have not started executing yet.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Returns the largest number of tasks which were waiting to be executed at any given time.
+     */
+    public long getLargestQueueSize() {
+        return largestQueueSize;
+    }
+
+    /**
+     * Returns the maximum number of tasks which may be waiting to be executed.
+     */
+    public int getMaximumQueueSize() {
+        return maximumQueueSize;
+    }
+
+    /**
+     * Returns the number of tasks which did not fit into the queue, whether they were rejected
+     * or run by the caller.
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount;
+    }
+
+    protected ToStringHelper addToStringAttributes( ToStringHelper toStringHelper ) {
+        return toStringHelper;
+    }
+
+    @Override
+    public final String toString() {
+        return addToStringAttributes( MoreObjects.toStringHelper( this )
+                .add( "Thread Prefix", threadPrefix )
+                .add( "Current Thread Pool Size", pool.getPoolSize() )
+                .add( "Parallelism", pool.getParallelism() )
+                .add( "Current Queue Size", queueSize )
+                .add( "Largest Queue Size", largestQueueSize )
+                .add( "Max Queue Size", maximumQueueSize )
+                .add( "Active Thread Count", pool.getActiveThreadCount() )
+                .add( "Steal Count", pool.getStealCount() )
+                .add( "Rejected Task Count", rejectedTaskCount ) ).toString();
+    }
+
+    private static final class PrefixedThreadFactory implements ForkJoinWorkerThreadFactory {
+        private final AtomicLong threadCounter = new AtomicLong();
+        private final String threadPrefix;
+
+        PrefixedThreadFactory( final String threadPrefix ) {
+            this.threadPrefix = threadPrefix;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread( final ForkJoinPool pool ) {
+            final ForkJoinWorkerThread thread = new ForkJoinWorkerThread( pool ) { };
+            thread.setName( threadPrefix + "-" + threadCounter.getAndIncrement() );
+            thread.setDaemon( true );
+            return thread;
+        }
+    }
+}
@@ -11,21 +11,41 @@ package org.opendaylight.yangtools.util.concurrent;
 import java.beans.ConstructorProperties;
 
 /**
- * Class used by the {@link QueuedNotificationManager} that contains a snapshot of notification
- * queue statistics for a listener.
+ * Class used by the {@link QueuedNotificationManager} and {@link BatchingNotificationManager} that contains
+ * a snapshot of notification queue statistics for a listener. Dispatch statistics are only tracked by
+ * {@link BatchingNotificationManager} and are reported as zero otherwise.
  *
  * @author Thomas Pantelis
  * @see QueuedNotificationManager
+ * @see BatchingNotificationManager
  */
 public class ListenerNotificationQueueStats {
 
     private final String listenerClassName;
     private final int currentQueueSize;
+    private final long dispatchedNotifications;
+    private final long dispatchedBatches;
+    private final long totalDispatchNanos;
+    private final long maxDispatchNanos;
+    private final long maxScheduleDelayNanos;
 
     @ConstructorProperties({"listenerClassName","currentQueueSize"})
     public ListenerNotificationQueueStats( String listenerClassName, int currentQueueSize ) {
+        this( listenerClassName, currentQueueSize, 0, 0, 0, 0, 0 );
+    }
+
+    @ConstructorProperties({"listenerClassName","currentQueueSize","dispatchedNotifications","dispatchedBatches",
+        "totalDispatchNanos","maxDispatchNanos","maxScheduleDelayNanos"})
+    public ListenerNotificationQueueStats( String listenerClassName, int currentQueueSize,
+            long dispatchedNotifications, long dispatchedBatches, long totalDispatchNanos, long maxDispatchNanos,
+            long maxScheduleDelayNanos ) {
         this.listenerClassName = listenerClassName;
         this.currentQueueSize = currentQueueSize;
+        this.dispatchedNotifications = dispatchedNotifications;
+        this.dispatchedBatches = dispatchedBatches;
+        this.totalDispatchNanos = totalDispatchNanos;
+        this.maxDispatchNanos = maxDispatchNanos;
+        this.maxScheduleDelayNanos = maxScheduleDelayNanos;
     }
 
     /**
@@ -41,4 +61,40 @@ public class ListenerNotificationQueueStats {
     public int getCurrentQueueSize(){
         return currentQueueSize;
     }
+
+    /**
+     * Returns the number of notifications handed to the listener.
+     */
+    public long getDispatchedNotifications(){
+        return dispatchedNotifications;
+    }
+
+    /**
+     * Returns the number of times the listener was invoked.
+     */
+    public long getDispatchedBatches(){
+        return dispatchedBatches;
+    }
+
+    /**
+     * Returns the total time spent invoking the listener, in nanoseconds.
+     */
+    public long getTotalDispatchNanos(){
+        return totalDispatchNanos;
+    }
+
+    /**
+     * Returns the longest time spent in a single listener invocation, in nanoseconds.
+     */
+    public long getMaxDispatchNanos(){
+        return maxDispatchNanos;
+    }
+
+    /**
+     * Returns the longest time between the notification task being submitted to the executor
+     * and it starting to run, in nanoseconds.
+     */
+    public long getMaxScheduleDelayNanos(){
+        return maxScheduleDelayNanos;
+    }
 }
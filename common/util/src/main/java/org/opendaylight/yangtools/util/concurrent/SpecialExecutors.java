@@ -150,4 +150,46 @@ public final class SpecialExecutors {
         return new FastThreadPoolExecutor( 1, maximumQueueSize, Long.MAX_VALUE, TimeUnit.SECONDS,
                 threadPrefix );
     }
+
+    /**
+     * Creates an ExecutorService backed by a work-stealing {@link java.util.concurrent.ForkJoinPool}
+     * with a specified bounded queue capacity. Idle threads steal queued tasks from busy ones, which
+     * makes this executor well suited for large numbers of short-lived tasks submitted from many
+     * threads. If the maximum queue capacity is reached, subsequent tasks will be rejected.
+     * <p>
+     * Tasks which need to block should do so via
+     * {@link java.util.concurrent.ForkJoinPool#managedBlock}, which allows the pool to compensate
+     * by activating spare threads, so that blocked tasks do not starve the others.
+     *
+     * @param parallelism
+     *            the target number of threads actively executing tasks.
+     * @param maximumQueueSize
+     *            the capacity of the queue.
+     * @param threadPrefix
+     *            the name prefix for threads created by this executor.
+     * @return a new ExecutorService with the specified configuration.
+     */
+    public static ExecutorService newBoundedForkJoinPool( int parallelism, int maximumQueueSize,
+            String threadPrefix ) {
+        return new BoundedForkJoinExecutor( parallelism, maximumQueueSize, false, threadPrefix );
+    }
+
+    /**
+     * Creates an ExecutorService similar to {@link #newBoundedForkJoinPool } except that it
+     * handles rejected tasks by running them in the same thread as the caller. Therefore if the
+     * queue is full, the caller submitting the task will be blocked until the task completes. In
+     * this manner, tasks are never rejected.
+     *
+     * @param parallelism
+     *            the target number of threads actively executing tasks.
+     * @param maximumQueueSize
+     *            the capacity of the queue.
+     * @param threadPrefix
+     *            the name prefix for threads created by this executor.
+     * @return a new ExecutorService with the specified configuration.
+     */
+    public static ExecutorService newBlockingBoundedForkJoinPool( int parallelism,
+            int maximumQueueSize, String threadPrefix ) {
+        return new BoundedForkJoinExecutor( parallelism, maximumQueueSize, true, threadPrefix );
+    }
 }
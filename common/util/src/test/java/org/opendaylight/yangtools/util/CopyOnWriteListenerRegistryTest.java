@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.EventListener;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.Invoker;
+
+public class CopyOnWriteListenerRegistryTest {
+
+    private static final class TestListener implements EventListener {
+        final List<String> events = new ArrayList<>();
+        boolean fail;
+
+        void onEvent(final String event) {
+            events.add(event);
+            if (fail) {
+                throw new IllegalStateException("mock");
+            }
+        }
+    }
+
+    private static final Invoker<TestListener, String> INVOKER = new Invoker<TestListener, String>() {
+        @Override
+        public void invokeListener(final TestListener listener, final String event) {
+            listener.onEvent(event);
+        }
+    };
+
+    @Test
+    public void testRegisterUnregister() {
+        final CopyOnWriteListenerRegistry<TestListener> registry = ListenerRegistry.createCopyOnWrite();
+        assertTrue(Iterables.isEmpty(registry.getListeners()));
+
+        final TestListener first = new TestListener();
+        final TestListener second = new TestListener();
+        final ListenerRegistration<TestListener> firstReg = registry.register(first);
+        final ListenerRegistration<TestListener> secondReg = registry.register(second);
+        assertEquals(2, Iterables.size(registry));
+
+        firstReg.close();
+        assertEquals(1, Iterables.size(registry));
+        assertEquals(second, Iterables.getOnlyElement(registry.getListeners()).getInstance());
+
+        secondReg.close();
+        assertTrue(Iterables.isEmpty(registry.getListeners()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterNull() {
+        ListenerRegistry.<TestListener>createCopyOnWrite().register(null);
+    }
+
+    @Test
+    public void testDispatch() {
+        final CopyOnWriteListenerRegistry<TestListener> registry = ListenerRegistry.createCopyOnWrite();
+        final TestListener failing = new TestListener();
+        failing.fail = true;
+        final TestListener listener = new TestListener();
+        registry.register(failing);
+        final ListenerRegistration<TestListener> reg = registry.register(listener);
+
+        registry.dispatch(INVOKER, "one");
+        reg.close();
+        registry.dispatch(INVOKER, "two");
+
+        assertEquals(2, failing.events.size());
+        assertEquals(1, listener.events.size());
+        assertEquals("one", listener.events.get(0));
+        assertFalse(registry.getDispatchStatistics(reg).isPresent());
+    }
+
+    @Test
+    public void testDispatchStatistics() {
+        final CopyOnWriteListenerRegistry<TestListener> registry = ListenerRegistry.createCopyOnWriteWithStatistics();
+        final ListenerRegistration<TestListener> reg = registry.register(new TestListener());
+
+        // Statistics storage is allocated only once the listener is dispatched to
+        assertEquals(0, ((HistogramDurationStatisticsTracker) registry.getDispatchStatistics(reg).get())
+            .allocatedStripes());
+
+        registry.dispatch(INVOKER, "one");
+        registry.dispatch(INVOKER, "two");
+
+        final DurationStatisticsTracker stats = registry.getDispatchStatistics(reg).get();
+        assertTrue(stats instanceof HistogramDurationStatisticsTracker);
+        assertEquals(2, stats.getTotalDurations());
+        assertEquals(1, ((HistogramDurationStatisticsTracker) stats).allocatedStripes());
+        assertFalse(ListenerRegistry.<TestListener>createCopyOnWriteWithStatistics().getDispatchStatistics(reg)
+            .isPresent());
+    }
+}
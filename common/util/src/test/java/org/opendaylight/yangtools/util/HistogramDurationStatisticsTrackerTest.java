@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.util.HistogramDurationStatisticsTracker.Snapshot;
+
+/**
+ * Unit tests for HistogramDurationStatisticsTracker.
+ */
+public class HistogramDurationStatisticsTrackerTest {
+
+    @Test
+    public void testBasicStatistics() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+
+        tracker.addDuration(10000);
+        assertEquals("getTotalDurations", 1, tracker.getTotalDurations());
+        assertEquals("getAverageDuration", 10000.0, tracker.getAverageDuration(), 0.1);
+        assertEquals("getLongestDuration", 10000, tracker.getLongestDuration());
+        assertEquals("getShortestDuration", 10000, tracker.getShortestDuration());
+
+        tracker.addDuration(30000);
+        tracker.addDuration(5000);
+        assertEquals("getTotalDurations", 3, tracker.getTotalDurations());
+        assertEquals("getAverageDuration", 15000.0, tracker.getAverageDuration(), 0.1);
+        assertEquals("getLongestDuration", 30000, tracker.getLongestDuration());
+        assertEquals("getShortestDuration", 5000, tracker.getShortestDuration());
+        assertTrue(tracker.getDisplayableLongestDuration().startsWith("30.0"));
+
+        tracker.reset();
+        assertEquals("getTotalDurations", 0, tracker.getTotalDurations());
+        assertEquals("getAverageDuration", 0.0, tracker.getAverageDuration(), 0.1);
+        assertEquals("getLongestDuration", 0, tracker.getLongestDuration());
+        assertEquals("getShortestDuration", 0, tracker.getShortestDuration());
+        assertEquals(0, tracker.getDurationAtPercentile(99));
+    }
+
+    @Test
+    public void testLazyStripes() throws InterruptedException {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        assertEquals(0, tracker.allocatedStripes());
+        assertEquals(0, tracker.getTotalDurations());
+        assertEquals(0, tracker.getShortestDuration());
+
+        tracker.addDuration(1000);
+        tracker.addDuration(2000);
+        assertEquals(1, tracker.allocatedStripes());
+
+        final Thread other = new Thread() {
+            @Override
+            public void run() {
+                tracker.addDuration(500);
+            }
+        };
+        other.start();
+        other.join();
+
+        final int stripes = tracker.allocatedStripes();
+        assertTrue(stripes == 1 || stripes == 2);
+        assertEquals(3, tracker.getTotalDurations());
+        assertEquals(500, tracker.getShortestDuration());
+        assertEquals(2000, tracker.getLongestDuration());
+
+        // Reset keeps the stripes, but clears them
+        tracker.reset();
+        assertEquals(stripes, tracker.allocatedStripes());
+        assertEquals(0, tracker.getTotalDurations());
+        tracker.addDuration(3000);
+        assertEquals(3000, tracker.getShortestDuration());
+    }
+
+    @Test
+    public void testPercentiles() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        for (int i = 1; i <= 1000; ++i) {
+            tracker.addDuration(i * 1000L);
+        }
+
+        assertWithinError(500000, tracker.getDurationAtPercentile(50));
+        assertWithinError(990000, tracker.getDurationAtPercentile(99));
+        assertWithinError(999000, tracker.getDurationAtPercentile(99.9));
+        assertEquals(1000000, tracker.getDurationAtPercentile(100));
+        assertWithinError(1000, tracker.getDurationAtPercentile(0));
+    }
+
+    @Test
+    public void testIntervalSnapshots() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        tracker.addDuration(1000);
+        tracker.addDuration(2000);
+
+        Snapshot interval = tracker.takeIntervalSnapshot();
+        assertEquals(2, interval.getTotalDurations());
+        assertEquals(1500.0, interval.getAverageDuration(), 0.1);
+
+        tracker.addDuration(1000000);
+        interval = tracker.takeIntervalSnapshot();
+        assertEquals(1, interval.getTotalDurations());
+        assertEquals(1000000.0, interval.getAverageDuration(), 0.1);
+        assertWithinError(1000000, interval.getDurationAtPercentile(50));
+
+        assertEquals(0, tracker.takeIntervalSnapshot().getTotalDurations());
+
+        final Snapshot total = tracker.takeSnapshot();
+        assertEquals(3, total.getTotalDurations());
+        assertEquals(1000000, total.getLongestDuration());
+        assertEquals(1000, total.getShortestDuration());
+    }
+
+    @Test
+    public void testBuckets() {
+        for (int bits = 1; bits <= HistogramDurationStatisticsTracker.MAX_SIGNIFICANT_BITS; ++bits) {
+            final int bucketCount = (64 - bits) << bits;
+            assertEquals(bucketCount - 1, HistogramDurationStatisticsTracker.bucketIndex(bits, Long.MAX_VALUE));
+            assertEquals(Long.MAX_VALUE, HistogramDurationStatisticsTracker.bucketUpperBound(bits, bucketCount - 1));
+
+            for (long value : new long[] { 0, 1, 7, 100, 1023, 1024, 123456789L, Long.MAX_VALUE / 3 }) {
+                final int index = HistogramDurationStatisticsTracker.bucketIndex(bits, value);
+                assertTrue(HistogramDurationStatisticsTracker.bucketLowerBound(bits, index) <= value);
+                assertTrue(HistogramDurationStatisticsTracker.bucketUpperBound(bits, index) >= value);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDuration() {
+        DurationStatisticsTracker.createHistogram().addDuration(-1);
+    }
+
+    private static void assertWithinError(final long expected, final long actual) {
+        final double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue("Expected " + expected + ", actual " + actual, error <= 1.0
+            / (1 << HistogramDurationStatisticsTracker.DEFAULT_SIGNIFICANT_BITS));
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManagerTest.TestListener;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManagerTest.TestNotifier;
+
+/**
+ * Unit tests for BatchingNotificationManager.
+ */
+public class BatchingNotificationManagerTest {
+
+    static class BatchRecordingNotifier<N> implements BatchingNotificationManager.BatchedInvoker<TestListener<N>, N> {
+        final List<Integer> batchSizes = Collections.synchronizedList( Lists.<Integer>newArrayList() );
+
+        @Override
+        public void invokeListener( TestListener<N> listener, List<N> notifications ) {
+            batchSizes.add( notifications.size() );
+            for( N notification: notifications ) {
+                listener.onNotification( notification );
+            }
+        }
+    }
+
+    private ExecutorService queueExecutor;
+
+    @After
+    public void tearDown() {
+        if( queueExecutor != null ) {
+            queueExecutor.shutdownNow();
+        }
+    }
+
+    @Test(timeout=10000)
+    public void testNotificationsWithSingleListener() {
+
+        queueExecutor = Executors.newFixedThreadPool( 2 );
+        NotificationManager<TestListener<Integer>, Integer> manager =
+                new BatchingNotificationManager<>( queueExecutor, new TestNotifier<Integer>(),
+                10, 4, "TestMgr" );
+
+        int initialCount = 6;
+        int nNotifications = 100;
+
+        TestListener<Integer> listener = new TestListener<>( nNotifications, 1 );
+        listener.sleepTime = 20;
+
+        manager.submitNotifications( listener, Arrays.asList( 1, 2 ) );
+        manager.submitNotification( listener, 3 );
+        manager.submitNotifications( listener, Arrays.asList( 4, 5 ) );
+        manager.submitNotification( listener, 6 );
+
+        manager.submitNotifications( null, Collections.<Integer>emptyList() );
+        manager.submitNotifications( listener, null );
+        manager.submitNotification( listener, null );
+
+        Uninterruptibles.sleepUninterruptibly( 100, TimeUnit.MILLISECONDS );
+
+        listener.sleepTime = 0;
+
+        List<Integer> expNotifications = Lists.newArrayListWithCapacity( nNotifications );
+        expNotifications.addAll( Arrays.asList( 1, 2, 3, 4, 5, 6 ) );
+        for( int i = 1; i <= nNotifications - initialCount; i++ ) {
+            Integer v = Integer.valueOf( initialCount + i );
+            expNotifications.add( v );
+            manager.submitNotification( listener, v );
+        }
+
+        listener.verifyNotifications( expNotifications );
+    }
+
+    @Test(timeout=10000)
+    public void testBatchSizeLimit() {
+
+        queueExecutor = Executors.newFixedThreadPool( 1 );
+        BatchRecordingNotifier<Integer> notifier = new BatchRecordingNotifier<>();
+        BatchingNotificationManager<TestListener<Integer>, Integer> manager =
+                new BatchingNotificationManager<>( queueExecutor, notifier, 100, 3, "TestMgr" );
+
+        int nNotifications = 20;
+        TestListener<Integer> listener = new TestListener<>( nNotifications, 1 );
+        listener.sleepTime = 10;
+
+        List<Integer> expNotifications = Lists.newArrayListWithCapacity( nNotifications );
+        for( int i = 1; i <= nNotifications; i++ ) {
+            expNotifications.add( i );
+        }
+        manager.submitNotifications( listener, expNotifications );
+
+        listener.verifyNotifications( expNotifications );
+
+        int total = 0;
+        for( Integer size: notifier.batchSizes ) {
+            assertTrue( "Batch size " + size, size > 0 && size <= 3 );
+            total += size;
+        }
+        assertEquals( nNotifications, total );
+    }
+
+    @Test(timeout=10000)
+    public void testQueueStats() {
+
+        queueExecutor = Executors.newFixedThreadPool( 1 );
+        BatchingNotificationManager<TestListener<Integer>, Integer> manager =
+                new BatchingNotificationManager<>( queueExecutor, new TestNotifier<Integer>(), 10, 5, "TestMgr" );
+
+        final CountDownLatch blockLatch = new CountDownLatch( 1 );
+        TestListener<Integer> listener = new TestListener<Integer>( 4, 1 ) {
+            @Override
+            void onNotification( Integer data ) {
+                Uninterruptibles.awaitUninterruptibly( blockLatch );
+                super.onNotification( data );
+            }
+        };
+
+        manager.submitNotifications( listener, Arrays.asList( 1, 2, 3, 4 ) );
+
+        List<ListenerNotificationQueueStats> stats = manager.getListenerNotificationQueueStats();
+        assertEquals( 1, stats.size() );
+        assertEquals( 4, stats.get( 0 ).getCurrentQueueSize() );
+        assertEquals( 0, stats.get( 0 ).getDispatchedNotifications() );
+
+        blockLatch.countDown();
+        listener.verifyNotifications( Arrays.asList( 1, 2, 3, 4 ) );
+
+        // The queue retires once drained, but the statistics are retained and keep accumulating
+        for( int i = 0; i < 100 &&
+                manager.getListenerNotificationQueueStats().get( 0 ).getCurrentQueueSize() > 0; i++ ) {
+            Uninterruptibles.sleepUninterruptibly( 10, TimeUnit.MILLISECONDS );
+        }
+        stats = manager.getListenerNotificationQueueStats();
+        assertEquals( 1, stats.size() );
+        assertEquals( 0, stats.get( 0 ).getCurrentQueueSize() );
+        assertEquals( 4, stats.get( 0 ).getDispatchedNotifications() );
+
+        listener.reset( 2 );
+        manager.submitNotifications( listener, Arrays.asList( 5, 6 ) );
+        listener.verifyNotifications( Arrays.asList( 5, 6 ) );
+
+        for( int i = 0; i < 100 &&
+                manager.getListenerNotificationQueueStats().get( 0 ).getDispatchedNotifications() < 6; i++ ) {
+            Uninterruptibles.sleepUninterruptibly( 10, TimeUnit.MILLISECONDS );
+        }
+        stats = manager.getListenerNotificationQueueStats();
+        assertEquals( 1, stats.size() );
+        assertEquals( 6, stats.get( 0 ).getDispatchedNotifications() );
+    }
+
+    @Test(timeout=10000)
+    public void testRejectedTask() throws Exception {
+
+        final CountDownLatch executeLatch = new CountDownLatch( 1 );
+        final CountDownLatch rejectLatch = new CountDownLatch( 1 );
+        final AtomicBoolean reject = new AtomicBoolean( true );
+        final ExecutorService delegate = Executors.newFixedThreadPool( 1 );
+        queueExecutor = delegate;
+        final Executor executor = new Executor() {
+            @Override
+            public void execute( final Runnable command ) {
+                if( reject.get() ) {
+                    executeLatch.countDown();
+                    Uninterruptibles.awaitUninterruptibly( rejectLatch );
+                    throw new RejectedExecutionException( "mock" );
+                }
+                delegate.execute( command );
+            }
+        };
+
+        final BatchingNotificationManager<TestListener<Integer>, Integer> manager =
+                new BatchingNotificationManager<>( executor, new TestNotifier<Integer>(), 10, 10, "TestMgr" );
+        final TestListener<Integer> listener = new TestListener<>( 1, 1 );
+
+        // The first submitter attempts to schedule the task and blocks in the executor
+        final ExecutorService submitExecutor = Executors.newFixedThreadPool( 2 );
+        try {
+            final Future<?> first = submitExecutor.submit( new Runnable() {
+                @Override
+                public void run() {
+                    manager.submitNotification( listener, 1 );
+                }
+            } );
+            assertTrue( executeLatch.await( 5, TimeUnit.SECONDS ) );
+
+            // The second submitter queues its notification behind the pending task
+            final Future<?> second = submitExecutor.submit( new Runnable() {
+                @Override
+                public void run() {
+                    manager.submitNotifications( listener, Arrays.asList( 2, 3 ) );
+                }
+            } );
+            for( int i = 0; i < 100 &&
+                    manager.getListenerNotificationQueueStats().get( 0 ).getCurrentQueueSize() < 3; i++ ) {
+                Uninterruptibles.sleepUninterruptibly( 10, TimeUnit.MILLISECONDS );
+            }
+            assertEquals( 3, manager.getListenerNotificationQueueStats().get( 0 ).getCurrentQueueSize() );
+
+            // Both of them have to learn about the rejection
+            rejectLatch.countDown();
+            assertRejected( first );
+            assertRejected( second );
+        } finally {
+            submitExecutor.shutdownNow();
+        }
+        assertEquals( 0, manager.getListenerNotificationQueueStats().get( 0 ).getCurrentQueueSize() );
+
+        // Once the executor recovers, notifications flow again
+        reject.set( false );
+        manager.submitNotification( listener, 4 );
+        listener.verifyNotifications( Arrays.asList( 4 ) );
+    }
+
+    @Test(timeout=60000)
+    public void testConcurrentSubmittersDoNotOverlapDispatch() throws Exception {
+
+        final int nSubmitters = 8;
+        final int nNotifications = 20000;
+        queueExecutor = Executors.newFixedThreadPool( nSubmitters );
+
+        final AtomicBoolean inListener = new AtomicBoolean();
+        final AtomicInteger overlaps = new AtomicInteger();
+        final AtomicInteger reorders = new AtomicInteger();
+        final int[] lastSeen = new int[nSubmitters];
+        Arrays.fill( lastSeen, -1 );
+        final CountDownLatch done = new CountDownLatch( nSubmitters * nNotifications );
+
+        final BatchingNotificationManager<Object, Integer> manager = new BatchingNotificationManager<>( queueExecutor,
+            new BatchingNotificationManager.BatchedInvoker<Object, Integer>() {
+                @Override
+                public void invokeListener( final Object listener, final List<Integer> notifications ) {
+                    if( !inListener.compareAndSet( false, true ) ) {
+                        overlaps.incrementAndGet();
+                    }
+                    for( Integer n: notifications ) {
+                        final int submitter = n / nNotifications;
+                        final int seq = n % nNotifications;
+                        // Unsynchronized on purpose, dispatch to a single listener is expected to be serial
+                        if( seq != lastSeen[submitter] + 1 ) {
+                            reorders.incrementAndGet();
+                        }
+                        lastSeen[submitter] = seq;
+                        done.countDown();
+                    }
+                    inListener.set( false );
+                }
+            }, 1000, 4, "TestMgr" );
+
+        final Object listener = new Object();
+        final CountDownLatch start = new CountDownLatch( 1 );
+        final ExecutorService submitExecutor = Executors.newFixedThreadPool( nSubmitters );
+        try {
+            for( int i = 0; i < nSubmitters; i++ ) {
+                final int submitter = i;
+                submitExecutor.execute( new Runnable() {
+                    @Override
+                    public void run() {
+                        Uninterruptibles.awaitUninterruptibly( start );
+                        for( int j = 0; j < nNotifications; j++ ) {
+                            manager.submitNotification( listener, submitter * nNotifications + j );
+                            // Let the queue drain frequently, so that it retires and reactivates a lot
+                            Thread.yield();
+                        }
+                    }
+                } );
+            }
+            start.countDown();
+
+            assertTrue( "Notifications not delivered", done.await( 50, TimeUnit.SECONDS ) );
+        } finally {
+            submitExecutor.shutdownNow();
+        }
+
+        assertEquals( "Concurrent listener invocations", 0, overlaps.get() );
+        assertEquals( "Out-of-order notifications", 0, reorders.get() );
+        for( int last: lastSeen ) {
+            assertEquals( nNotifications - 1, last );
+        }
+    }
+
+    private static void assertRejected( final Future<?> future ) throws InterruptedException, TimeoutException {
+        try {
+            future.get( 5, TimeUnit.SECONDS );
+            fail( "Expected RejectedExecutionException" );
+        } catch( ExecutionException e ) {
+            assertTrue( e.getCause().toString(), e.getCause() instanceof RejectedExecutionException );
+        }
+    }
+
+    @Test
+    public void testNotificationsWithMultipleListeners() {
+
+        int nListeners = 10;
+        queueExecutor = Executors.newFixedThreadPool( nListeners );
+        final ExecutorService stagingExecutor = Executors.newFixedThreadPool( nListeners );
+        final NotificationManager<TestListener<Integer>, Integer> manager =
+                new BatchingNotificationManager<>( queueExecutor, new BatchRecordingNotifier<Integer>(),
+                5000, 100, "TestMgr" );
+
+        final int nNotifications = 100000;
+
+        final Integer[] notifications = new Integer[nNotifications];
+        for( int i = 1; i <= nNotifications; i++ ) {
+            notifications[i-1] = Integer.valueOf( i );
+        }
+
+        List<TestListener<Integer>> listeners = Lists.newArrayList();
+        for( int i = 1; i <= nListeners; i++ ) {
+            final TestListener<Integer> listener = new TestListener<>( nNotifications, i );
+            listener.cacheNotifications = false;
+            listeners.add( listener );
+
+            stagingExecutor.execute( new Runnable() {
+                @Override
+                public void run() {
+                    for( int j = 1; j <= nNotifications; j++ ) {
+                        manager.submitNotification( listener, notifications[j-1] );
+                    }
+                }
+            } );
+        }
+
+        try {
+            for( TestListener<Integer> listener: listeners ) {
+                listener.verifyNotifications();
+            }
+        } finally {
+            stagingExecutor.shutdownNow();
+        }
+    }
+
+    @Test(timeout=10000)
+    public void testNotificationsWithListenerRuntimeEx() {
+
+        queueExecutor = Executors.newFixedThreadPool( 1 );
+        NotificationManager<TestListener<Integer>, Integer> manager =
+                new BatchingNotificationManager<>( queueExecutor, new TestNotifier<Integer>(),
+                10, 10, "TestMgr" );
+
+        TestListener<Integer> listener = new TestListener<>( 2, 1 );
+        listener.runtimeEx = new RuntimeException( "mock" );
+
+        manager.submitNotification( listener, 1 );
+        manager.submitNotification( listener, 2 );
+
+        listener.verifyNotifications();
+    }
+
+    @Test(timeout=10000)
+    public void testNotificationsWithListenerJVMError() {
+
+        final CountDownLatch errorCaughtLatch = new CountDownLatch( 1 );
+        queueExecutor = new ThreadPoolExecutor( 1, 1, 0, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<Runnable>() ) {
+             @Override
+             public void execute( final Runnable command ) {
+                 super.execute( new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            command.run();
+                        } catch( Error e ) {
+                            errorCaughtLatch.countDown();
+                        }
+                    }
+                });
+             }
+        };
+
+        NotificationManager<TestListener<Integer>, Integer> manager =
+                new BatchingNotificationManager<>( queueExecutor, new BatchRecordingNotifier<Integer>(),
+                10, 10, "TestMgr" );
+
+        TestListener<Integer> listener = new TestListener<>( 2, 1 );
+        listener.jvmError = new Error( "mock" );
+
+        manager.submitNotification( listener, 1 );
+
+        assertEquals( "JVM Error caught", true, Uninterruptibles.awaitUninterruptibly(
+                                                       errorCaughtLatch, 5, TimeUnit.SECONDS ) );
+
+        manager.submitNotification( listener, 2 );
+
+        listener.verifyNotifications();
+    }
+}
@@ -96,6 +96,33 @@ public class ThreadPoolExecutorTest {
                 1000, null, 10 );
     }
 
+    @Test
+    public void testForkJoinPoolExecution() throws Exception {
+
+        testThreadPoolExecution(
+                SpecialExecutors.newBoundedForkJoinPool( 10, 100000, "TestPool" ),
+                100000, "TestPool", 0 );
+    }
+
+    @Test(expected=RejectedExecutionException.class)
+    public void testForkJoinPoolRejectingTask() throws Exception {
+
+        executor = SpecialExecutors.newBoundedForkJoinPool( 1, 1, "TestPool" );
+
+        for( int i = 0; i < 5; i++ ) {
+            executor.execute( new Task( null, null, null, null,
+                    TimeUnit.MICROSECONDS.convert( 5, TimeUnit.SECONDS ) ) );
+        }
+    }
+
+    @Test
+    public void testBlockingForkJoinPoolExecution() throws Exception {
+
+        testThreadPoolExecution(
+                SpecialExecutors.newBlockingBoundedForkJoinPool( 2, 1, "TestPool" ),
+                1000, null, 10 );
+    }
+
     void testThreadPoolExecution( final ExecutorService executor,
             final int numTasksToRun, final String expThreadPrefix, final long taskDelay ) throws Exception {
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.io.Serializable;
+import java.util.Collection;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+
+/**
+ * Layout of keys of a list, shared by all {@link NodeIdentifierWithPredicates} of that list. Identifiers store
+ * only their key values, in the order given by the layout. Layouts are interned, so identifiers created from
+ * the same list and key names share a single layout instance.
+ */
+@Beta
+public final class ListKeyLayout implements Immutable, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Interner<ListKeyLayout> INTERNER = Interners.newWeakInterner();
+    private static final LoadingCache<ListSchemaNode, ListKeyLayout> SCHEMA_LAYOUTS =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<ListSchemaNode, ListKeyLayout>() {
+                @Override
+                public ListKeyLayout load(final ListSchemaNode key) {
+                    Preconditions.checkArgument(!key.getKeyDefinition().isEmpty(), "List %s does not have keys",
+                        key.getQName());
+                    return of(key.getQName(), key.getKeyDefinition());
+                }
+            });
+
+    private final QName nodeType;
+    private final ImmutableList<QName> keys;
+
+    private ListKeyLayout(final QName nodeType, final ImmutableList<QName> keys) {
+        this.nodeType = Preconditions.checkNotNull(nodeType);
+        this.keys = Preconditions.checkNotNull(keys);
+    }
+
+    /**
+     * Return the layout of a list with specified key names.
+     *
+     * @param nodeType List QName
+     * @param keys Key QNames, in the order in which identifiers hold their values
+     * @return Shared layout
+     */
+    public static ListKeyLayout of(final QName nodeType, final Collection<QName> keys) {
+        return INTERNER.intern(new ListKeyLayout(QName.cachedReference(nodeType), ImmutableList.copyOf(keys)));
+    }
+
+    /**
+     * Return the layout of a keyed list, with keys in schema order. The layout is cached for the lifetime
+     * of the schema node, hence callers do not need to keep a reference to it.
+     *
+     * @param schema List schema
+     * @return Shared layout
+     * @throws IllegalArgumentException if the list does not have any keys
+     */
+    public static ListKeyLayout of(final ListSchemaNode schema) {
+        return SCHEMA_LAYOUTS.getUnchecked(schema);
+    }
+
+    /**
+     * Create an identifier of a list entry with specified key values.
+     *
+     * @param values Key values, in the order of {@link #getKeys()}
+     * @return A NodeIdentifierWithPredicates
+     * @throws IllegalArgumentException if the number of values does not match the number of keys
+     */
+    public NodeIdentifierWithPredicates createIdentifier(final Object... values) {
+        return NodeIdentifierWithPredicates.create(this, values);
+    }
+
+    public QName getNodeType() {
+        return nodeType;
+    }
+
+    public ImmutableList<QName> getKeys() {
+        return keys;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    QName getKey(final int index) {
+        return keys.get(index);
+    }
+
+    int indexOf(final QName key) {
+        return keys.indexOf(key);
+    }
+
+    private Object readResolve() {
+        return INTERNER.intern(this);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * nodeType.hashCode() + keys.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ListKeyLayout)) {
+            return false;
+        }
+        final ListKeyLayout other = (ListKeyLayout) obj;
+        return nodeType.equals(other.nodeType) && keys.equals(other.keys);
+    }
+
+    @Override
+    public String toString() {
+        return nodeType + "" + keys;
+    }
+}
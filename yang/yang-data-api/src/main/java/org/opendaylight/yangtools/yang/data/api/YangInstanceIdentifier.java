@@ -13,13 +13,14 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.UnmodifiableIterator;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,12 +28,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.concepts.Path;
+import org.opendaylight.yangtools.objcache.ObjectCache;
+import org.opendaylight.yangtools.objcache.ObjectCacheFactory;
 import org.opendaylight.yangtools.util.HashCodeBuilder;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -74,28 +78,36 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<YangInstanceIdentifier, ImmutableList> LEGACYPATH_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(YangInstanceIdentifier.class, ImmutableList.class, "legacyPath");
+    private static final AtomicReferenceFieldUpdater<YangInstanceIdentifier, YangInstanceIdentifier> PARENT_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(YangInstanceIdentifier.class, YangInstanceIdentifier.class, "parent");
     private static final AtomicReferenceFieldUpdater<YangInstanceIdentifier, String> TOSTRINGCACHE_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(YangInstanceIdentifier.class, String.class, "toStringCache");
-    private static final YangInstanceIdentifier EMPTY = trustedCreate(Collections.<PathArgument>emptyList());
-    private static final Field PATHARGUMENTS_FIELD;
+    private static final YangInstanceIdentifier EMPTY = new YangInstanceIdentifier(null, null, 0,
+        new HashCodeBuilder<PathArgument>().build(), ImmutableList.<PathArgument>of());
 
     private static final long serialVersionUID = 3L;
-    private transient final Iterable<PathArgument> pathArguments;
+
+    /*
+     * Instances are either stacked on top of their parent, as created by node(), or fixed, backed by a list
+     * of path arguments, as created by create() and builders. Stacked instances have their parent set
+     * at construction time and materialize legacyPath only when asked to. Fixed instances have legacyPath
+     * set at construction time and instantiate their parent lazily.
+     */
+    private transient volatile YangInstanceIdentifier parent;
+    private transient final PathArgument lastArgument;
+    private transient final int depth;
     private final int hash;
 
     private volatile ImmutableList<PathArgument> legacyPath = null;
     private transient volatile String toStringCache = null;
 
-    static {
-        final Field f;
-        try {
-            f = YangInstanceIdentifier.class.getDeclaredField("pathArguments");
-        } catch (NoSuchFieldException | SecurityException e) {
-            throw new ExceptionInInitializerError(e);
-        }
-        f.setAccessible(true);
-
-        PATHARGUMENTS_FIELD = f;
+    private YangInstanceIdentifier(final YangInstanceIdentifier parent, final PathArgument lastArgument,
+            final int depth, final int hash, final ImmutableList<PathArgument> legacyPath) {
+        this.parent = parent;
+        this.lastArgument = lastArgument;
+        this.depth = depth;
+        this.hash = hash;
+        this.legacyPath = legacyPath;
     }
 
     private final ImmutableList<PathArgument> getLegacyPath() {
@@ -104,7 +116,23 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
         if (ret == null) {
             // We could have used a synchronized block, but the window is quite
             // small and worst that can happen is duplicate object construction.
-            ret = ImmutableList.copyOf(pathArguments);
+            final PathArgument[] args = new PathArgument[depth];
+            YangInstanceIdentifier current = this;
+            for (int i = depth - 1; i >= 0; --i) {
+                final ImmutableList<PathArgument> currentPath = current.legacyPath;
+                if (currentPath != null) {
+                    // Reuse the ancestor's materialized path
+                    for (int j = 0; j <= i; ++j) {
+                        args[j] = currentPath.get(j);
+                    }
+                    break;
+                }
+
+                args[i] = current.lastArgument;
+                current = current.parent;
+            }
+
+            ret = ImmutableList.copyOf(args);
             LEGACYPATH_UPDATER.lazySet(this, ret);
         }
 
@@ -128,7 +156,7 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      * @return Immutable iteration of path arguments.
      */
     public Iterable<PathArgument> getPathArguments() {
-        return pathArguments;
+        return getLegacyPath();
     }
 
     /**
@@ -148,21 +176,74 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      * @return The last past argument, or null if there are no PathArguments.
      */
     public PathArgument getLastPathArgument() {
-        return Iterables.getFirst(getReversePathArguments(), null);
+        return lastArgument;
     }
 
-    private YangInstanceIdentifier(final Iterable<PathArgument> path, final int hash) {
-        this.pathArguments = Preconditions.checkNotNull(path, "path must not be null.");
-        this.hash = hash;
+    /**
+     * Returns the number of path arguments in this identifier.
+     *
+     * @return Number of path arguments, 0 for the empty identifier.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the identifier of the parent node, which is this identifier without its last path argument.
+     *
+     * @return Parent identifier, or null if this is the empty identifier.
+     */
+    public YangInstanceIdentifier getParent() {
+        if (depth == 0) {
+            return null;
+        }
+
+        YangInstanceIdentifier ret = parent;
+        if (ret == null) {
+            ret = trustedCreate(legacyPath.subList(0, depth - 1));
+            PARENT_UPDATER.lazySet(this, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the ancestor of this identifier at specified depth.
+     *
+     * @param depth Depth of the ancestor, must be in range [0, {@link #getDepth()}]
+     * @return Ancestor identifier, this identifier if depth is equal to {@link #getDepth()}.
+     * @throws IllegalArgumentException if depth is out of range
+     */
+    public YangInstanceIdentifier getAncestor(final int depth) {
+        Preconditions.checkArgument(depth >= 0 && depth <= this.depth, "Depth %s is not in range [0, %s]", depth,
+            this.depth);
+
+        YangInstanceIdentifier ret = this;
+        while (ret.depth > depth) {
+            final YangInstanceIdentifier p = ret.parent;
+            if (p == null) {
+                // Fixed instance, do not instantiate the intermediate parents
+                return trustedCreate(ret.legacyPath.subList(0, depth));
+            }
+            ret = p;
+        }
+        return ret;
     }
 
-    private static final YangInstanceIdentifier trustedCreate(final Iterable<PathArgument> path) {
+    private static YangInstanceIdentifier trustedCreate(final ImmutableList<PathArgument> path) {
         final HashCodeBuilder<PathArgument> hash = new HashCodeBuilder<>();
-        for (PathArgument a : path) {
-            hash.addArgument(a);
+        for (int i = 0; i < path.size(); ++i) {
+            hash.addArgument(path.get(i));
+        }
+
+        return trustedCreate(path, hash.build());
+    }
+
+    private static YangInstanceIdentifier trustedCreate(final ImmutableList<PathArgument> path, final int hash) {
+        if (path.isEmpty()) {
+            return EMPTY;
         }
 
-        return new YangInstanceIdentifier(path, hash.build());
+        return new YangInstanceIdentifier(null, path.get(path.size() - 1), path.size(), hash, path);
     }
 
     public static final YangInstanceIdentifier create(final Iterable<? extends PathArgument> path) {
@@ -170,7 +251,7 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
             return EMPTY;
         }
 
-        return trustedCreate(ImmutableList.copyOf(path));
+        return trustedCreate(ImmutableList.<PathArgument>copyOf(path));
     }
 
     public static final YangInstanceIdentifier create(final PathArgument... path) {
@@ -195,17 +276,45 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
+        if (!(obj instanceof YangInstanceIdentifier)) {
             return false;
         }
-        if (getClass() != obj.getClass()) {
+        final YangInstanceIdentifier other = (YangInstanceIdentifier) obj;
+        if (hash != other.hash || depth != other.depth) {
             return false;
         }
-        YangInstanceIdentifier other = (YangInstanceIdentifier) obj;
-        if (this.hashCode() != obj.hashCode()) {
-            return false;
+
+        // Walk up stacked instances until we find a common ancestor, comparing prefix hashes as we go
+        YangInstanceIdentifier a = this;
+        YangInstanceIdentifier b = other;
+        while (a != b) {
+            if (a.hash != b.hash) {
+                return false;
+            }
+
+            final YangInstanceIdentifier ap = a.parent;
+            final YangInstanceIdentifier bp = b.parent;
+            if (ap == null || bp == null) {
+                return pathEquals(a.getLegacyPath(), b.getLegacyPath());
+            }
+            if (!a.lastArgument.equals(b.lastArgument)) {
+                return false;
+            }
+
+            a = ap;
+            b = bp;
+        }
+
+        return true;
+    }
+
+    private static boolean pathEquals(final List<PathArgument> a, final List<PathArgument> b) {
+        for (int i = a.size() - 1; i >= 0; --i) {
+            if (!a.get(i).equals(b.get(i))) {
+                return false;
+            }
         }
-        return Iterables.elementsEqual(pathArguments, other.pathArguments);
+        return true;
     }
 
     /**
@@ -215,7 +324,7 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      * @return Instance Identifier with additional path argument added to the end.
      */
     public YangInstanceIdentifier node(final QName name) {
-        return node(new NodeIdentifier(name));
+        return node(NodeIdentifier.create(name));
     }
 
     /**
@@ -226,7 +335,8 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      * @return Instance Identifier with additional path argument added to the end.
      */
     public YangInstanceIdentifier node(final PathArgument arg) {
-        return new YangInstanceIdentifier(Iterables.concat(pathArguments, Collections.singleton(arg)), HashCodeBuilder.nextHashCode(hash, arg));
+        Preconditions.checkNotNull(arg);
+        return new YangInstanceIdentifier(this, arg, depth + 1, HashCodeBuilder.nextHashCode(hash, arg), null);
     }
 
     /**
@@ -239,26 +349,18 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      *         the specified parent is not in fact an ancestor of this object.
      */
     public Optional<YangInstanceIdentifier> relativeTo(final YangInstanceIdentifier ancestor) {
-        final Iterator<?> lit = pathArguments.iterator();
-        final Iterator<?> oit = ancestor.pathArguments.iterator();
-        int common = 0;
-
-        while (oit.hasNext()) {
+        if (ancestor.depth > depth || !ancestor.equals(getAncestor(ancestor.depth))) {
             // Ancestor is not really an ancestor
-            if (!lit.hasNext() || !lit.next().equals(oit.next())) {
-                return Optional.absent();
-            }
-
-            ++common;
+            return Optional.absent();
         }
 
-        if (common == 0) {
+        if (ancestor.depth == 0) {
             return Optional.of(this);
         }
-        if (!lit.hasNext()) {
+        if (ancestor.depth == depth) {
             return Optional.of(EMPTY);
         }
-        return Optional.of(trustedCreate(Iterables.skip(pathArguments, common)));
+        return Optional.of(trustedCreate(getLegacyPath().subList(ancestor.depth, depth)));
     }
 
     private static int hashCode(final Object value) {
@@ -293,7 +395,7 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      * @return Instance Identifier with only one path argument of type {@link NodeIdentifier}
      */
     public static YangInstanceIdentifier of(final QName name) {
-        return create(new NodeIdentifier(name));
+        return create(NodeIdentifier.create(name));
     }
 
     /**
@@ -480,10 +582,26 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      */
     public static final class NodeIdentifier extends AbstractPathArgument {
         private static final long serialVersionUID = -2255888212390871347L;
+        private static final ObjectCache CACHE = ObjectCacheFactory.getObjectCache(NodeIdentifier.class);
 
         public NodeIdentifier(final QName node) {
             super(node);
         }
+
+        /**
+         * Return a NodeIdentifier for a particular QName. Unlike the constructor, this method consults
+         * the global cache and returns a shared reference, according to {@link ObjectCache} policy.
+         *
+         * @param node Node's QName
+         * @return A NodeIdentifier
+         */
+        public static NodeIdentifier create(final QName node) {
+            return CACHE.getReference(new NodeIdentifier(QName.cachedReference(node)));
+        }
+
+        private Object readResolve() {
+            return CACHE.getReference(this);
+        }
     }
 
     /**
@@ -491,21 +609,118 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
      * overall data tree.
      */
     public static final class NodeIdentifierWithPredicates extends AbstractPathArgument {
-        private static final long serialVersionUID = -4787195606494761540L;
+        private static final long serialVersionUID = -2195839398519453154L;
+        private static final ObjectCache CACHE = ObjectCacheFactory.getObjectCache(NodeIdentifierWithPredicates.class);
+        private static final Object[] EMPTY_VALUES = new Object[0];
+
+        private final ListKeyLayout layout;
 
-        private final Map<QName, Object> keyValues;
+        /*
+         * Key values in the order defined by layout. To save an array in the common case of a single key,
+         * its value is stored directly.
+         */
+        private final Object values;
 
         public NodeIdentifierWithPredicates(final QName node, final Map<QName, Object> keyValues) {
             super(node);
-            this.keyValues = ImmutableMap.copyOf(keyValues);
+            this.layout = ListKeyLayout.of(node, keyValues.keySet());
+            this.values = keyValues.size() == 1 ? keyValues.values().iterator().next()
+                    : keyValues.values().toArray();
         }
 
         public NodeIdentifierWithPredicates(final QName node, final QName key, final Object value) {
             this(node, ImmutableMap.of(key, value));
         }
 
+        private NodeIdentifierWithPredicates(final ListKeyLayout layout, final Object values) {
+            super(layout.getNodeType());
+            this.layout = layout;
+            this.values = values;
+        }
+
+        /**
+         * Return a NodeIdentifierWithPredicates for a particular QName and key values. Unlike the constructor,
+         * this method consults the global cache and returns a shared reference, according to {@link ObjectCache}
+         * policy.
+         *
+         * @param node Node's QName
+         * @param keyValues Key values
+         * @return A NodeIdentifierWithPredicates
+         */
+        public static NodeIdentifierWithPredicates create(final QName node, final Map<QName, Object> keyValues) {
+            return CACHE.getReference(new NodeIdentifierWithPredicates(QName.cachedReference(node), keyValues));
+        }
+
+        /**
+         * Return a NodeIdentifierWithPredicates for a particular QName and a single key value. Unlike
+         * the constructor, this method consults the global cache and returns a shared reference, according
+         * to {@link ObjectCache} policy.
+         *
+         * @param node Node's QName
+         * @param key Key QName
+         * @param value Key value
+         * @return A NodeIdentifierWithPredicates
+         */
+        public static NodeIdentifierWithPredicates create(final QName node, final QName key, final Object value) {
+            return create(node, ImmutableMap.of(key, value));
+        }
+
+        /**
+         * Return a NodeIdentifierWithPredicates for a particular key layout and key values. This is the most
+         * efficient way of creating identifiers, as the key names are shared with all other identifiers of
+         * the same layout. This method consults the global cache, according to {@link ObjectCache} policy.
+         *
+         * @param layout Key layout
+         * @param values Key values, in the order of {@link ListKeyLayout#getKeys()}
+         * @return A NodeIdentifierWithPredicates
+         * @throws IllegalArgumentException if the number of values does not match the layout
+         */
+        public static NodeIdentifierWithPredicates create(final ListKeyLayout layout, final Object... values) {
+            Preconditions.checkArgument(layout.size() == values.length, "Layout %s requires %s values, %s supplied",
+                layout, layout.size(), values.length);
+
+            final Object v;
+            switch (values.length) {
+            case 0:
+                v = EMPTY_VALUES;
+                break;
+            case 1:
+                v = values[0];
+                break;
+            default:
+                v = values.clone();
+            }
+            return CACHE.getReference(new NodeIdentifierWithPredicates(layout, v));
+        }
+
+        private Object readResolve() {
+            return CACHE.getReference(this);
+        }
+
+        /**
+         * Return the key layout of this identifier.
+         *
+         * @return Key layout
+         */
+        public ListKeyLayout getLayout() {
+            return layout;
+        }
+
+        /**
+         * Return key values as a map. The map is a view created on each invocation, callers performing multiple
+         * lookups should retain it.
+         *
+         * @return Key values
+         */
         public Map<QName, Object> getKeyValues() {
-            return keyValues;
+            if (layout.size() == 1) {
+                return Collections.singletonMap(layout.getKey(0), values);
+            }
+            return new KeyValuesMap(layout, (Object[]) values);
+        }
+
+        private Object getValue(final int index) {
+            return layout.size() == 1 ? values : ((Object[]) values)[index];
         }
 
         @Override
@@ -514,8 +729,8 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
             int result = super.hashCodeImpl();
             result = prime * result;
 
-            for (Entry<QName, Object> entry : keyValues.entrySet()) {
-                result += Objects.hashCode(entry.getKey()) + YangInstanceIdentifier.hashCode(entry.getValue());
+            for (int i = 0; i < layout.size(); ++i) {
+                result += Objects.hashCode(layout.getKey(i)) + YangInstanceIdentifier.hashCode(getValue(i));
             }
             return result;
         }
@@ -526,30 +741,101 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
                 return false;
             }
 
-            final Map<QName, Object> otherKeyValues = ((NodeIdentifierWithPredicates) obj).keyValues;
-            if (keyValues.size() != otherKeyValues.size()) {
-                return false;
+            final NodeIdentifierWithPredicates other = (NodeIdentifierWithPredicates) obj;
+            final int size = layout.size();
+            if (layout == other.layout) {
+                for (int i = 0; i < size; ++i) {
+                    if (!Objects.deepEquals(getValue(i), other.getValue(i))) {
+                        return false;
+                    }
+                }
+                return true;
             }
 
-            for (Entry<QName, Object> entry : keyValues.entrySet()) {
-                if (!otherKeyValues.containsKey(entry.getKey())
-                        || !Objects.deepEquals(entry.getValue(), otherKeyValues.get(entry.getKey()))) {
-
+            // Different layouts, e.g. keys in different order, need to be matched by key
+            if (size != other.layout.size()) {
+                return false;
+            }
+            for (int i = 0; i < size; ++i) {
+                final int otherIndex = other.layout.indexOf(layout.getKey(i));
+                if (otherIndex < 0 || !Objects.deepEquals(getValue(i), other.getValue(otherIndex))) {
                     return false;
                 }
             }
-
             return true;
         }
 
         @Override
         public String toString() {
-            return super.toString() + '[' + keyValues + ']';
+            return super.toString() + '[' + getKeyValues() + ']';
         }
 
         @Override
         public String toRelativeString(final PathArgument previous) {
-            return super.toRelativeString(previous) + '[' + keyValues + ']';
+            return super.toRelativeString(previous) + '[' + getKeyValues() + ']';
+        }
+    }
+
+    /**
+     * Read-only map view of key values of a {@link NodeIdentifierWithPredicates} with multiple keys.
+     */
+    private static final class KeyValuesMap extends AbstractMap<QName, Object> {
+        private final ListKeyLayout layout;
+        private final Object[] values;
+
+        KeyValuesMap(final ListKeyLayout layout, final Object[] values) {
+            this.layout = layout;
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof QName && layout.indexOf((QName) key) >= 0;
+        }
+
+        @Override
+        public Object get(final Object key) {
+            if (!(key instanceof QName)) {
+                return null;
+            }
+            final int index = layout.indexOf((QName) key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Set<Entry<QName, Object>> entrySet() {
+            return new AbstractSet<Entry<QName, Object>>() {
+                @Override
+                public Iterator<Entry<QName, Object>> iterator() {
+                    return new UnmodifiableIterator<Entry<QName, Object>>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < values.length;
+                        }
+
+                        @Override
+                        public Entry<QName, Object> next() {
+                            if (next >= values.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final int index = next++;
+                            return new SimpleImmutableEntry<>(layout.getKey(index), values[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
         }
     }
 
@@ -716,7 +1002,7 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
 
         @Override
         public InstanceIdentifierBuilder node(final QName nodeType) {
-            final PathArgument arg = new NodeIdentifier(nodeType);
+            final PathArgument arg = NodeIdentifier.create(nodeType);
             path.add(arg);
             hash.addArgument(arg);
             return this;
@@ -724,7 +1010,7 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
 
         @Override
         public InstanceIdentifierBuilder nodeWithKey(final QName nodeType, final QName key, final Object value) {
-            final PathArgument arg = new NodeIdentifierWithPredicates(nodeType, key, value);
+            final PathArgument arg = NodeIdentifierWithPredicates.create(nodeType, key, value);
             path.add(arg);
             hash.addArgument(arg);
             return this;
@@ -732,7 +1018,7 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
 
         @Override
         public InstanceIdentifierBuilder nodeWithKey(final QName nodeType, final Map<QName, Object> keyValues) {
-            final PathArgument arg = new NodeIdentifierWithPredicates(nodeType, keyValues);
+            final PathArgument arg = NodeIdentifierWithPredicates.create(nodeType, keyValues);
             path.add(arg);
             hash.addArgument(arg);
             return this;
@@ -746,28 +1032,14 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
 
         @Override
         public YangInstanceIdentifier build() {
-            return new YangInstanceIdentifier(ImmutableList.copyOf(path), hash.build());
+            return trustedCreate(ImmutableList.copyOf(path), hash.build());
         }
     }
 
     @Override
     public boolean contains(final YangInstanceIdentifier other) {
         Preconditions.checkArgument(other != null, "other should not be null");
-
-        final Iterator<?> lit = pathArguments.iterator();
-        final Iterator<?> oit = other.pathArguments.iterator();
-
-        while (lit.hasNext()) {
-            if (!oit.hasNext()) {
-                return false;
-            }
-
-            if (!lit.next().equals(oit.next())) {
-                return false;
-            }
-        }
-
-        return true;
+        return depth <= other.depth && equals(other.getAncestor(depth));
     }
 
     @Override
@@ -799,27 +1071,16 @@ public final class YangInstanceIdentifier implements Path<YangInstanceIdentifier
         return ret;
     }
 
-    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
-        inputStream.defaultReadObject();
-
-        try {
-            PATHARGUMENTS_FIELD.set(this, legacyPath);
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new IOException(e);
-        }
-    }
-
     private Object readResolve() throws ObjectStreamException {
-        return legacyPath.isEmpty() ? EMPTY : this;
+        // Only legacyPath and hash are serialized, recreate the transient state
+        return trustedCreate(legacyPath, hash);
     }
 
     private void writeObject(final ObjectOutputStream outputStream) throws IOException {
         /*
          * This may look strange, but what we are doing here is side-stepping the fact
-         * that pathArguments is not generally serializable. We are forcing instantiation
-         * of the legacy path, which is an ImmutableList (thus Serializable) and write
-         * it out. The read path does the opposite -- it reads the legacyPath and then
-         * uses invocation API to set the field.
+         * that legacyPath is instantiated lazily. We are forcing its instantiation
+         * and write it out. The read path then recreates the instance from it.
          */
         getLegacyPath();
         outputStream.defaultWriteObject();
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Exception thrown when a proposed change fails validation because the resulting
+ * data would violate a schema constraint, such as min-elements, max-elements or
+ * mandatory.
+ */
+public class ConstraintViolationException extends DataValidationFailedException {
+    private static final long serialVersionUID = 1L;
+
+    public ConstraintViolationException(final YangInstanceIdentifier path, final String message) {
+        super(path, message);
+    }
+}
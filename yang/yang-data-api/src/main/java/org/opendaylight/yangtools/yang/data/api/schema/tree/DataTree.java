@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import java.util.List;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 /**
@@ -48,4 +49,22 @@ public interface DataTree {
      * @param candidate data tree candidate
      */
     void commit(DataTreeCandidate candidate);
+
+    /**
+     * Validate, prepare and commit a batch of sealed modifications in one go. The modifications must not
+     * overlap, e.g. no node may be written, merged or deleted by more than one of them. They are applied
+     * to the tree in a single pass, hence their common ancestors are copied only once, and the tree
+     * transitions directly to the state reflecting all of them.
+     *
+     * The returned candidates are reported against the states before and after the whole batch, hence
+     * ancestors common to multiple modifications reflect the effects of all of them.
+     *
+     * @param modifications modifications to commit
+     * @return candidate data trees, one for each modification, in the same order
+     * @throws DataValidationFailedException if any of the modifications, or their combined effect, fails to
+     *         validate, in which case none of them are committed
+     * @throws IllegalArgumentException if the modifications overlap
+     */
+    List<DataTreeCandidate> commitBatch(List<? extends DataTreeModification> modifications)
+            throws DataValidationFailedException;
 }
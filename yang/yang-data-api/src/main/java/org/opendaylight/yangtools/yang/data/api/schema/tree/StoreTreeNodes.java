@@ -84,7 +84,7 @@ public final class StoreTreeNodes {
             nesting++;
         }
         if (current.isPresent()) {
-            final YangInstanceIdentifier currentPath = YangInstanceIdentifier.create(Iterables.limit(path.getPathArguments(), nesting));
+            final YangInstanceIdentifier currentPath = path.getAncestor(nesting);
             return new SimpleEntry<YangInstanceIdentifier,T>(currentPath,current.get());
         }
 
@@ -95,7 +95,7 @@ public final class StoreTreeNodes {
          * present. At any rate we check state just to be on the safe side.
          */
         Preconditions.checkState(nesting > 0);
-        final YangInstanceIdentifier parentPath = YangInstanceIdentifier.create(Iterables.limit(path.getPathArguments(), nesting - 1));
+        final YangInstanceIdentifier parentPath = path.getAncestor(nesting - 1);
         return new SimpleEntry<YangInstanceIdentifier,T>(parentPath,parent.get());
     }
 
@@ -8,28 +8,47 @@
 package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
 import com.google.common.base.Optional;
-
-import java.util.HashMap;
+import com.google.common.base.Preconditions;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
-
+import java.util.Set;
+import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 
+/**
+ * A container node which instantiates its children on demand from the backing data. Children which have been
+ * modified since this node was first created are retained in a map, as they carry their own version information.
+ * Any other child has the same version as this node.
+ *
+ * Modifying a child does not require all other children to be instantiated, hence it costs proportionally to the
+ * number of modified children, not to the size of the container. The map of modified children is maintained by
+ * {@link MapAdaptor}, which takes care of switching to a persistent map once it grows large.
+ */
 final class LazyContainerNode extends ContainerNode {
+    private final Map<PathArgument, TreeNode> children;
+
     protected LazyContainerNode(final NormalizedNode<?, ?> data, final Version version) {
-        super(data, version, version);
+        this(data, version, Collections.<PathArgument, TreeNode>emptyMap(), version);
+    }
+
+    private LazyContainerNode(final NormalizedNode<?, ?> data, final Version version,
+            final Map<PathArgument, TreeNode> children, final Version subtreeVersion) {
+        super(data, version, subtreeVersion);
+        this.children = Preconditions.checkNotNull(children);
     }
 
     @Override
     public Optional<TreeNode> getChild(final PathArgument key) {
-        // We do not cache the instantiated node as it is dirt cheap
-        final Optional<NormalizedNode<?, ?>> child = castData().getChild(key);
-        if (child.isPresent()) {
-            return Optional.of(TreeNodeFactory.createTreeNode(child.get(), getVersion()));
+        final TreeNode modified = children.get(key);
+        if (modified != null) {
+            return Optional.of(modified);
         }
 
-        return Optional.absent();
+        // We do not cache the instantiated node as it is dirt cheap
+        return getChild(castData(getData()), key, getVersion());
     }
 
     @Override
@@ -39,20 +58,96 @@ final class LazyContainerNode extends ContainerNode {
          * is going to probably change -- and we need to make sure any unmodified
          * children retain it.
          *
-         * The simplest thing to do is to just flush the amortized work and be done
-         * with it.
+         * Unmodified children are instantiated with this node's version, which the
+         * mutable view retains, hence we only need to track the modified ones.
          */
-        final Map<PathArgument, TreeNode> children = new HashMap<>();
-        for (NormalizedNode<?, ?> child : castData().getValue()) {
-            PathArgument id = child.getIdentifier();
-            children.put(id, TreeNodeFactory.createTreeNode(child, getVersion()));
+        return new LazyMutable(this, MapAdaptor.getDefaultInstance().takeSnapshot(children));
+    }
+
+    private static Optional<TreeNode> getChild(final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> data,
+            final PathArgument key, final Version version) {
+        final Optional<NormalizedNode<?, ?>> child = data.getChild(key);
+        if (child.isPresent()) {
+            return Optional.of(TreeNodeFactory.createTreeNode(child.get(), version));
         }
 
-        return new Mutable(this, children);
+        return Optional.absent();
     }
 
     @SuppressWarnings("unchecked")
-    private final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> castData() {
-        return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) getData();
+    private static NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> castData(final NormalizedNode<?, ?> data) {
+        return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data;
+    }
+
+    private static final class LazyMutable implements MutableTreeNode {
+        private final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> originalData;
+        private final Version version;
+        private Map<PathArgument, TreeNode> children;
+        private Set<PathArgument> removed;
+        private NormalizedNode<?, ?> data;
+        private Version subtreeVersion;
+
+        LazyMutable(final LazyContainerNode parent, final Map<PathArgument, TreeNode> children) {
+            this.data = parent.getData();
+            this.originalData = castData(data);
+            this.version = parent.getVersion();
+            this.subtreeVersion = parent.getSubtreeVersion();
+            this.children = Preconditions.checkNotNull(children);
+        }
+
+        @Override
+        public Optional<TreeNode> getChild(final PathArgument child) {
+            final TreeNode modified = children.get(child);
+            if (modified != null) {
+                return Optional.of(modified);
+            }
+            if (removed != null && removed.contains(child)) {
+                return Optional.absent();
+            }
+
+            return LazyContainerNode.getChild(originalData, child, version);
+        }
+
+        @Override
+        public void setSubtreeVersion(final Version subtreeVersion) {
+            this.subtreeVersion = Preconditions.checkNotNull(subtreeVersion);
+        }
+
+        @Override
+        public void addChild(final TreeNode child) {
+            children.put(child.getIdentifier(), child);
+            if (removed != null) {
+                removed.remove(child.getIdentifier());
+            }
+        }
+
+        @Override
+        public void removeChild(final PathArgument id) {
+            children.remove(id);
+            if (removed == null) {
+                removed = new HashSet<>();
+            }
+            removed.add(id);
+        }
+
+        @Override
+        public TreeNode seal() {
+            /*
+             * The data is expected to reflect all child modifications at this point, hence
+             * removed children will not be found in it.
+             */
+            final TreeNode ret = new LazyContainerNode(data, version, MapAdaptor.getDefaultInstance().optimize(children),
+                subtreeVersion);
+
+            // This forces a NPE if this class is accessed again. Better than corruption.
+            children = null;
+            removed = null;
+            return ret;
+        }
+
+        @Override
+        public void setData(final NormalizedNode<?, ?> data) {
+            this.data = Preconditions.checkNotNull(data);
+        }
     }
 }
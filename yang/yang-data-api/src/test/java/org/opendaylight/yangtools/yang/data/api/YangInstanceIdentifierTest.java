@@ -12,6 +12,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
@@ -22,6 +23,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map.Entry;
@@ -271,6 +273,34 @@ public class YangInstanceIdentifierTest {
                 node1.equals( new NodeIdentifierWithPredicates( nodeName1, key1, new byte[]{1,2,3} ) ) );
     }
 
+    @Test
+    public void testNodeIdentifierWithPredicatesLayout() {
+        final ListKeyLayout layout = ListKeyLayout.of(nodeName1, Lists.newArrayList(key1, key2));
+        assertSame( "of", layout, ListKeyLayout.of(nodeName1, Lists.newArrayList(key1, key2)) );
+
+        final NodeIdentifierWithPredicates node1 = layout.createIdentifier(10, 20);
+        assertSame( "getLayout", layout, node1.getLayout() );
+        assertEquals( "getKeyValues", ImmutableMap.<QName, Object>of( key1, 10, key2, 20 ), node1.getKeyValues() );
+
+        // Legacy constructor with keys in a different order
+        final NodeIdentifierWithPredicates node2 = new NodeIdentifierWithPredicates( nodeName1,
+                ImmutableMap.<QName, Object>of( key2, 20, key1, 10 ) );
+        assertEquals( "hashCode", node1.hashCode(), node2.hashCode() );
+        assertEquals( "equals", node1, node2 );
+        assertEquals( "equals", node2, node1 );
+        assertNotEquals( "equals", node1, layout.createIdentifier(10, 30) );
+
+        final NodeIdentifierWithPredicates node3 = ListKeyLayout.of(nodeName1, Collections.singleton(key1))
+                .createIdentifier("foo");
+        assertEquals( "equals", new NodeIdentifierWithPredicates( nodeName1, key1, "foo" ), node3 );
+        assertEquals( "getKeyValues", Collections.singletonMap(key1, "foo"), node3.getKeyValues() );
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNodeIdentifierWithPredicatesLayoutMismatch() {
+        ListKeyLayout.of(nodeName1, Lists.newArrayList(key1, key2)).createIdentifier("foo");
+    }
+
     @Test
     public void testNodeWithValue() {
 
@@ -322,6 +352,77 @@ public class YangInstanceIdentifierTest {
         assertNotNull( node1.toString() ); // for code coverage
     }
 
+    @Test
+    public void testStackedAndFixed() {
+
+        final YangInstanceIdentifier fixed = YangInstanceIdentifier.create( new NodeIdentifier( nodeName1 ),
+                new NodeIdentifier( nodeName2 ), new NodeIdentifier( nodeName3 ) );
+        final YangInstanceIdentifier stacked = YangInstanceIdentifier.of( nodeName1 ).node( nodeName2 )
+                .node( nodeName3 );
+
+        assertEquals( "getDepth", 3, fixed.getDepth() );
+        assertEquals( "getDepth", 3, stacked.getDepth() );
+        assertEquals( "equals", fixed, stacked );
+        assertEquals( "equals", stacked, fixed );
+        assertEquals( "hashCode", fixed.hashCode(), stacked.hashCode() );
+        assertEquals( "getPathArguments", Lists.newArrayList( fixed.getPathArguments() ),
+                Lists.newArrayList( stacked.getPathArguments() ) );
+        assertEquals( "getLastPathArgument", new NodeIdentifier( nodeName3 ), stacked.getLastPathArgument() );
+
+        assertEquals( "getParent", YangInstanceIdentifier.of( nodeName1 ).node( nodeName2 ), fixed.getParent() );
+        assertEquals( "getParent", fixed.getParent(), stacked.getParent() );
+        assertEquals( "getParent", YangInstanceIdentifier.builder().build(),
+                YangInstanceIdentifier.of( nodeName1 ).getParent() );
+        assertNull( "getParent", YangInstanceIdentifier.builder().build().getParent() );
+
+        assertEquals( "getAncestor", YangInstanceIdentifier.of( nodeName1 ), fixed.getAncestor( 1 ) );
+        assertEquals( "getAncestor", YangInstanceIdentifier.of( nodeName1 ), stacked.getAncestor( 1 ) );
+        assertEquals( "getAncestor", 0, stacked.getAncestor( 0 ).getDepth() );
+        assertSame( "getAncestor", stacked, stacked.getAncestor( 3 ) );
+
+        assertEquals( "contains", true, fixed.getParent().contains( stacked ) );
+        assertEquals( "contains", false, stacked.contains( fixed.getParent() ) );
+        assertEquals( "equals", false, stacked.equals( stacked.getParent().node( nodeName4 ) ) );
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testGetAncestorTooDeep() {
+        YangInstanceIdentifier.of( nodeName1 ).getAncestor( 2 );
+    }
+
+    @Test
+    public void testCachedPathArguments() throws Exception {
+
+        final NodeIdentifier nodeId = NodeIdentifier.create( nodeName1 );
+        assertEquals( "create", new NodeIdentifier( nodeName1 ), nodeId );
+        assertSame( "create", nodeId, NodeIdentifier.create( nodeName1 ) );
+        assertSame( "create", nodeId, NodeIdentifier.create( QName.create( nodeName1.getNamespace(),
+                nodeName1.getRevision(), nodeName1.getLocalName() ) ) );
+
+        final NodeIdentifierWithPredicates singleKey = NodeIdentifierWithPredicates.create( nodeName1, key1, "foo" );
+        assertEquals( "create", new NodeIdentifierWithPredicates( nodeName1, key1, "foo" ), singleKey );
+        assertSame( "create", singleKey, NodeIdentifierWithPredicates.create( nodeName1, key1, "foo" ) );
+        assertSame( "create", singleKey, NodeIdentifierWithPredicates.create( nodeName1,
+                ImmutableMap.<QName, Object>of( key1, "foo" ) ) );
+
+        final NodeIdentifierWithPredicates multiKey = NodeIdentifierWithPredicates.create( nodeName1,
+                ImmutableMap.<QName, Object>of( key1, "foo", key2, 1 ) );
+        assertEquals( "create", new NodeIdentifierWithPredicates( nodeName1, ImmutableMap.<QName, Object>of( key1, "foo",
+                key2, 1 ) ), multiKey );
+        assertSame( "create", multiKey, NodeIdentifierWithPredicates.create( nodeName1,
+                ImmutableMap.<QName, Object>of( key1, "foo", key2, 1 ) ) );
+
+        // Identifiers built through YangInstanceIdentifier and deserialized ones share the cached instances
+        assertEquals( "node", YangInstanceIdentifier.create( new NodeIdentifier( nodeName1 ) ),
+                YangInstanceIdentifier.of( nodeName1 ) );
+        assertSame( "of", nodeId, YangInstanceIdentifier.of( nodeName1 ).getLastPathArgument() );
+        assertSame( "node", singleKey, YangInstanceIdentifier.builder().node( nodeName2 )
+                .nodeWithKey( nodeName1, key1, "foo" ).build().getLastPathArgument() );
+        assertSame( "readResolve", nodeId, serdes( new NodeIdentifier( nodeName1 ) ) );
+        assertSame( "readResolve", multiKey, serdes( new NodeIdentifierWithPredicates( nodeName1,
+                ImmutableMap.<QName, Object>of( key1, "foo", key2, 1 ) ) ) );
+    }
+
     @Test(expected=UnsupportedOperationException.class)
     public void testAugmentationIdentifierNodeType() {
         AugmentationIdentifier node1 = new AugmentationIdentifier( Sets.newHashSet( nodeName1, nodeName2 ) );
@@ -359,20 +460,25 @@ public class YangInstanceIdentifierTest {
     @Test
     public void serializationTest() throws IOException, ClassNotFoundException {
         final YangInstanceIdentifier expected = YangInstanceIdentifier.create(new NodeIdentifier(nodeName1), new NodeIdentifier(nodeName2));
+        assertEquals(expected, serdes(expected));
+        assertEquals(expected, serdes(YangInstanceIdentifier.of(nodeName1).node(nodeName2)));
+    }
 
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> T serdes(final T id) throws IOException, ClassNotFoundException {
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
         final ObjectOutputStream oos = new ObjectOutputStream(bos);
-        oos.writeObject(expected);
+        oos.writeObject(id);
         oos.close();
 
         final byte[] bytes = bos.toByteArray();
         final ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
         final ObjectInputStream ois = new ObjectInputStream(bis);
 
-        final YangInstanceIdentifier read = (YangInstanceIdentifier) ois.readObject();
+        final T read = (T) ois.readObject();
         assertEquals(0, ois.available());
         ois.close();
 
-        assertEquals(expected, read);
+        return read;
     }
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * Buffer for children of an augmentation node which has already been opened on the writer. Children are emitted
+ * directly, without wrapping them in another augmentation node.
+ */
+class AugmentationContentNodeDataWithSchema extends CompositeNodeDataWithSchema {
+
+    public AugmentationContentNodeDataWithSchema(final DataSchemaNode schema) {
+        super(schema);
+    }
+
+    @Override
+    AugmentationSchema findCorrespondingAugment(final DataSchemaNode parent, final DataSchemaNode child) {
+        return null;
+    }
+}
@@ -190,6 +190,14 @@ class CompositeNodeDataWithSchema extends AbstractNodeDataWithSchema {
      * node is found then it is returned, else null.
      */
     AugmentationSchema findCorrespondingAugment(final DataSchemaNode parent, final DataSchemaNode child) {
+        return findAugmentation(parent, child);
+    }
+
+    /**
+     * Static variant of {@link #findCorrespondingAugment(DataSchemaNode, DataSchemaNode)}, used by the streaming
+     * parser, which needs to make the same decision without instantiating a node.
+     */
+    static AugmentationSchema findAugmentation(final DataSchemaNode parent, final DataSchemaNode child) {
         if (parent instanceof AugmentationTarget && !((parent instanceof ChoiceCaseNode) || (parent instanceof ChoiceSchemaNode))) {
             for (AugmentationSchema augmentation : ((AugmentationTarget) parent).getAvailableAugmentations()) {
                 DataSchemaNode childInAugmentation = augmentation.getDataChildByName(child.getQName());
@@ -220,7 +228,7 @@ class CompositeNodeDataWithSchema extends AbstractNodeDataWithSchema {
         }
     }
 
-    private static AugmentationIdentifier toAugmentationIdentifier(final AugmentationSchema schema) {
+    static AugmentationIdentifier toAugmentationIdentifier(final AugmentationSchema schema) {
         final Collection<QName> qnames = Collections2.transform(schema.getChildNodes(), QNAME_FUNCTION);
         return new AugmentationIdentifier(ImmutableSet.copyOf(qnames));
     }
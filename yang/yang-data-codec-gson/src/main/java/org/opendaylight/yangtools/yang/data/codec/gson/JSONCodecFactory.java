@@ -11,13 +11,19 @@ import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
@@ -30,6 +36,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Factory for creating JSON equivalents of codecs. Each instance of this object is bound to
  * a particular {@link SchemaContext}, but can be reused by multiple {@link JSONNormalizedNodeStreamWriter}s.
+ *
+ * Instances obtained via {@link #getShared(SchemaContext)} are shared process-wide and hold codecs for all leaves
+ * and leaf-lists in the context, which are computed when the instance is first requested. Instances obtained via
+ * {@link #create(SchemaContext)} compute codecs on demand and hold them softly.
  */
 @Beta
 public final class JSONCodecFactory {
@@ -57,30 +67,48 @@ public final class JSONCodecFactory {
         }
     };
 
-    private final LoadingCache<DataSchemaNode, JSONCodec<Object>> codecs =
-            CacheBuilder.newBuilder().softValues().build(new CacheLoader<DataSchemaNode, JSONCodec<Object>>() {
-        @Override
-        public JSONCodec<Object> load(final DataSchemaNode key) throws Exception {
-            final TypeDefinition<?> type;
-            if (key instanceof LeafSchemaNode) {
-                type = ((LeafSchemaNode) key).getType();
-            } else if (key instanceof LeafListSchemaNode) {
-                type = ((LeafListSchemaNode) key).getType();
-            } else {
-                throw new IllegalArgumentException("Not supported node type " + key.getClass().getName());
-            }
-            return createCodec(key,type);
-        }
-    });
-
+    /*
+     * Values are held softly, as each factory references its SchemaContext and would otherwise
+     * prevent the weakly-held key from ever being collected.
+     */
+    private static final LoadingCache<SchemaContext, JSONCodecFactory> SHARED_FACTORIES = CacheBuilder.newBuilder()
+            .weakKeys().softValues().build(new CacheLoader<SchemaContext, JSONCodecFactory>() {
+                @Override
+                public JSONCodecFactory load(final SchemaContext key) {
+                    final JSONCodecFactory factory = new JSONCodecFactory(key,
+                        CacheBuilder.newBuilder().recordStats());
+                    factory.precompileCodecs(key.getChildNodes());
+                    for (RpcDefinition rpc : key.getOperations()) {
+                        if (rpc.getInput() != null) {
+                            factory.precompileCodecs(rpc.getInput().getChildNodes());
+                        }
+                        if (rpc.getOutput() != null) {
+                            factory.precompileCodecs(rpc.getOutput().getChildNodes());
+                        }
+                    }
+                    for (NotificationDefinition notification : key.getNotifications()) {
+                        factory.precompileCodecs(notification.getChildNodes());
+                    }
+                    LOG.debug("Precompiled {} codecs for context {}", factory.codecs.size(), key);
+                    return factory;
+                }
+            });
+
+    private final LoadingCache<DataSchemaNode, JSONCodec<Object>> codecs;
     private final SchemaContext schemaContext;
     private final JSONCodec<?> iidCodec;
     private final JSONCodec<?> idrefCodec;
 
-    private JSONCodecFactory(final SchemaContext context) {
+    private JSONCodecFactory(final SchemaContext context, final CacheBuilder<Object, Object> cacheBuilder) {
         this.schemaContext = Preconditions.checkNotNull(context);
         iidCodec = new JSONStringInstanceIdentifierCodec(context);
         idrefCodec = new JSONStringIdentityrefCodec(context);
+        codecs = cacheBuilder.build(new CacheLoader<DataSchemaNode, JSONCodec<Object>>() {
+            @Override
+            public JSONCodec<Object> load(final DataSchemaNode key) throws Exception {
+                return createCodec(key);
+            }
+        });
     }
 
     /**
@@ -90,7 +118,48 @@ public final class JSONCodecFactory {
      * @return A codec factory instance.
      */
     public static JSONCodecFactory create(final SchemaContext context) {
-        return new JSONCodecFactory(context);
+        return new JSONCodecFactory(context, CacheBuilder.newBuilder().softValues());
+    }
+
+    /**
+     * Get a shared codec factory attached to a particular context. The returned instance has codecs for all leaves
+     * and leaf-lists reachable from data, RPC and notification definitions precompiled and holds them strongly.
+     * The same instance is returned for as long as the context is in use.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @return A shared codec factory instance.
+     */
+    public static JSONCodecFactory getShared(final SchemaContext context) {
+        return SHARED_FACTORIES.getUnchecked(context);
+    }
+
+    /**
+     * Return codec lookup statistics of this factory. Factories obtained via {@link #create(SchemaContext)} do not
+     * record statistics and report all counters as zero.
+     *
+     * @return Codec lookup statistics
+     */
+    public CacheStats getCodecStats() {
+        return codecs.stats();
+    }
+
+    private void precompileCodecs(final Iterable<DataSchemaNode> nodes) {
+        for (DataSchemaNode node : nodes) {
+            if (node instanceof LeafSchemaNode || node instanceof LeafListSchemaNode) {
+                try {
+                    codecs.put(node, createCodec(node));
+                } catch (RuntimeException e) {
+                    // Retried and reported on first use
+                    LOG.debug("Failed to precompile codec for {}", node, e);
+                }
+            } else if (node instanceof ChoiceSchemaNode) {
+                for (ChoiceCaseNode caze : ((ChoiceSchemaNode) node).getCases()) {
+                    precompileCodecs(caze.getChildNodes());
+                }
+            } else if (node instanceof DataNodeContainer) {
+                precompileCodecs(((DataNodeContainer) node).getChildNodes());
+            }
+        }
     }
 
     private static TypeDefinition<?> resolveBaseTypeFrom(final TypeDefinition<?> type) {
@@ -101,6 +170,18 @@ public final class JSONCodecFactory {
         return superType;
     }
 
+    private JSONCodec<Object> createCodec(final DataSchemaNode key) {
+        final TypeDefinition<?> type;
+        if (key instanceof LeafSchemaNode) {
+            type = ((LeafSchemaNode) key).getType();
+        } else if (key instanceof LeafListSchemaNode) {
+            type = ((LeafListSchemaNode) key).getType();
+        } else {
+            throw new IllegalArgumentException("Not supported node type " + key.getClass().getName());
+        }
+        return createCodec(key,type);
+    }
+
     private JSONCodec<Object> createCodec(DataSchemaNode key, TypeDefinition<?> type) {
         TypeDefinition<?> baseType = resolveBaseTypeFrom(type);
         if (baseType instanceof LeafrefTypeDefinition) {
@@ -13,6 +13,7 @@ import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.Closeable;
 import java.io.EOFException;
@@ -24,16 +25,27 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.ListKeyLayout;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
 import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -42,6 +54,16 @@ import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 /**
  * This class parses JSON elements from a GSON JsonReader. It disallows multiple elements of the same name unlike the
  * default GSON JsonParser.
+ *
+ * Instances created via {@link #create(NormalizedNodeStreamWriter, SchemaContext, SchemaNode)} first build an
+ * intermediate representation of the entire document and emit events once it has been read. Instances created via
+ * {@link #createStreaming(NormalizedNodeStreamWriter, SchemaContext, SchemaNode)} emit events as soon as the input
+ * allows it, buffering only those parts which cannot be emitted in JSON order. These are:
+ * <ul>
+ * <li>list entry children which precede the last key leaf of that entry,</li>
+ * <li>siblings which follow children of a choice or an augmentation, as that node has to remain open until its
+ *     parent is finished.</li>
+ * </ul>
  */
 @Beta
 public final class JsonParserStream implements Closeable, Flushable {
@@ -50,24 +72,58 @@ public final class JsonParserStream implements Closeable, Flushable {
     private final JSONCodecFactory codecs;
     private final SchemaContext schema;
     private final DataSchemaNode parentNode;
+    private final boolean streaming;
 
-    private JsonParserStream(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext, final DataSchemaNode parentNode) {
+    private JsonParserStream(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
+            final DataSchemaNode parentNode, final boolean streaming) {
         this.schema = Preconditions.checkNotNull(schemaContext);
         this.writer = Preconditions.checkNotNull(writer);
-        this.codecs = JSONCodecFactory.create(schemaContext);
+        this.codecs = JSONCodecFactory.getShared(schemaContext);
         this.parentNode = parentNode;
+        this.streaming = streaming;
     }
 
-    public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext, final SchemaNode parentNode ) {
+    private static DataSchemaNode toParentNode(final SchemaNode parentNode) {
         if(parentNode instanceof RpcDefinition) {
-            return new JsonParserStream(writer, schemaContext, new RpcAsContainer((RpcDefinition) parentNode));
+            return new RpcAsContainer((RpcDefinition) parentNode);
         }
         Preconditions.checkArgument(parentNode instanceof DataSchemaNode, "Instance of DataSchemaNode class awaited.");
-        return new JsonParserStream(writer, schemaContext, (DataSchemaNode) parentNode);
+        return (DataSchemaNode) parentNode;
+    }
+
+    public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext, final SchemaNode parentNode ) {
+        return new JsonParserStream(writer, schemaContext, toParentNode(parentNode), false);
     }
 
     public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext) {
-        return new JsonParserStream(writer, schemaContext, schemaContext);
+        return new JsonParserStream(writer, schemaContext, schemaContext, false);
+    }
+
+    /**
+     * Create a parser which emits events into the writer while the input is being read, as opposed to after
+     * the whole document has been read.
+     *
+     * @param writer Target writer
+     * @param schemaContext Schema context
+     * @param parentNode Schema node corresponding to the parsed document
+     * @return A streaming parser instance
+     */
+    public static JsonParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final SchemaContext schemaContext, final SchemaNode parentNode) {
+        return new JsonParserStream(writer, schemaContext, toParentNode(parentNode), true);
+    }
+
+    /**
+     * Create a parser which emits events into the writer while the input is being read, as opposed to after
+     * the whole document has been read.
+     *
+     * @param writer Target writer
+     * @param schemaContext Schema context, which is also used as the parent node
+     * @return A streaming parser instance
+     */
+    public static JsonParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final SchemaContext schemaContext) {
+        return new JsonParserStream(writer, schemaContext, schemaContext, true);
     }
 
     public JsonParserStream parse(final JsonReader reader) throws JsonIOException, JsonSyntaxException {
@@ -79,9 +135,13 @@ public final class JsonParserStream implements Closeable, Flushable {
         try {
             reader.peek();
             isEmpty = false;
-            final CompositeNodeDataWithSchema compositeNodeDataWithSchema = new CompositeNodeDataWithSchema(parentNode);
-            read(reader, compositeNodeDataWithSchema);
-            compositeNodeDataWithSchema.write(writer);
+            if (streaming) {
+                streamObject(reader, new StreamingFrame(parentNode));
+            } else {
+                final CompositeNodeDataWithSchema compositeNodeDataWithSchema = new CompositeNodeDataWithSchema(parentNode);
+                read(reader, compositeNodeDataWithSchema);
+                compositeNodeDataWithSchema.write(writer);
+            }
 
             return this;
             // return read(reader);
@@ -202,6 +262,117 @@ public final class JsonParserStream implements Closeable, Flushable {
         return newChild;
     }
 
+    private void streamObject(final JsonReader in, final StreamingFrame frame) throws IOException {
+        final Set<String> namesakes = new HashSet<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            final NamespaceAndName namespaceAndName = resolveNamespace(jsonElementName, frame.getSchema());
+            final String localName = namespaceAndName.getName();
+            addNamespace(namespaceAndName.getUri());
+            if (!namesakes.add(jsonElementName)) {
+                throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
+            }
+            final Deque<DataSchemaNode> childDataSchemaNodes = findSchemaNodeByNameAndNamespace(frame.getSchema(),
+                    localName, getCurrentNamespace());
+            if (childDataSchemaNodes.isEmpty()) {
+                throw new IllegalStateException("Schema for node with name " + localName + " and namespace "
+                        + getCurrentNamespace() + " doesn't exist.");
+            }
+
+            frame.dispatch(in, childDataSchemaNodes);
+            removeNamespace();
+        }
+        in.endObject();
+        frame.close();
+    }
+
+    private void streamChild(final JsonReader in, final DataSchemaNode child) throws IOException {
+        final NodeIdentifier identifier = NodeIdentifier.create(child.getQName());
+        if (child instanceof LeafSchemaNode) {
+            writer.leafNode(identifier, readValue(in, child));
+        } else if (child instanceof AnyXmlSchemaNode) {
+            // FIXME: anyxml data is skipped, same as in read()
+            in.skipValue();
+            writer.anyxmlNode(identifier, null);
+        } else if (child instanceof LeafListSchemaNode) {
+            writer.startLeafSet(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            in.beginArray();
+            while (in.hasNext()) {
+                writer.leafSetEntryNode(readValue(in, child));
+            }
+            in.endArray();
+            writer.endNode();
+        } else if (child instanceof ListSchemaNode) {
+            streamList(in, (ListSchemaNode) child, identifier);
+        } else if (child instanceof ContainerSchemaNode) {
+            writer.startContainerNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            streamObject(in, new StreamingFrame(child));
+            writer.endNode();
+        } else {
+            throw new IllegalStateException("Unsupported schema node " + child);
+        }
+    }
+
+    private void streamList(final JsonReader in, final ListSchemaNode list, final NodeIdentifier identifier)
+            throws IOException {
+        final boolean keyed = !list.getKeyDefinition().isEmpty();
+        if (!keyed) {
+            writer.startUnkeyedList(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else if (list.isUserOrdered()) {
+            writer.startOrderedMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            writer.startMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+
+        if (in.peek() == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) {
+                streamListEntry(in, list, identifier, keyed);
+            }
+            in.endArray();
+        } else {
+            // Lists with one value are sometimes serialized without wrapping array, see read()
+            streamListEntry(in, list, identifier, keyed);
+        }
+        writer.endNode();
+    }
+
+    private void streamListEntry(final JsonReader in, final ListSchemaNode list, final NodeIdentifier identifier,
+            final boolean keyed) throws IOException {
+        final StreamingFrame frame;
+        if (keyed) {
+            // Entry start is emitted by the frame once all keys are known
+            frame = new StreamingFrame(list, list.getKeyDefinition());
+        } else {
+            writer.startUnkeyedListItem(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            frame = new StreamingFrame(list);
+        }
+        streamObject(in, frame);
+        writer.endNode();
+    }
+
+    private Object readValue(final JsonReader in, final DataSchemaNode node) throws IOException {
+        final String value;
+        final JsonToken token = in.peek();
+        switch (token) {
+        case STRING:
+        case NUMBER:
+            value = in.nextString();
+            break;
+        case BOOLEAN:
+            value = Boolean.toString(in.nextBoolean());
+            break;
+        case NULL:
+            in.nextNull();
+            value = null;
+            break;
+        default:
+            throw new IllegalStateException("Expected simple value for node " + node.getQName() + ", found " + token);
+        }
+        return translateValueByType(value, node);
+    }
+
     private Object translateValueByType(final String value, final DataSchemaNode node) {
         if (node instanceof AnyXmlSchemaNode) {
             /*
@@ -341,6 +512,168 @@ public final class JsonParserStream implements Closeable, Flushable {
         return result;
     }
 
+    /**
+     * State of a single composite node (container, list entry, case or augmentation) while it is being streamed.
+     *
+     * At most one choice or augmentation child is open on the writer at any time. Once opened, it remains open until
+     * this frame is closed, so that its children appearing later in the input can still be emitted into it. Children
+     * which cannot be emitted in input order, because either the open choice or augmentation is in the way or because
+     * a list entry's keys are not known yet, are collected in a buffer and emitted when the frame is closed.
+     */
+    private final class StreamingFrame {
+        private final DataSchemaNode schema;
+        private final boolean augmentable;
+        private CompositeNodeDataWithSchema deferred;
+        private Set<Object> deferredGroups = Collections.emptySet();
+        private Object liveGroup;
+        private ChoiceCaseNode liveCase;
+        private StreamingFrame liveFrame;
+        private Map<QName, Object> keyValues;
+
+        StreamingFrame(final DataSchemaNode schema) {
+            this(schema, true);
+        }
+
+        StreamingFrame(final ListSchemaNode schema, final List<QName> keys) {
+            this(schema, true);
+            keyValues = new HashMap<>(keys.size());
+        }
+
+        private StreamingFrame(final DataSchemaNode schema, final boolean augmentable) {
+            this.schema = Preconditions.checkNotNull(schema);
+            this.augmentable = augmentable;
+        }
+
+        DataSchemaNode getSchema() {
+            return schema;
+        }
+
+        void dispatch(final JsonReader in, final Deque<DataSchemaNode> schemas) throws IOException {
+            if (keyValues != null) {
+                final DataSchemaNode child = schemas.peek();
+                final List<QName> keys = ((ListSchemaNode) schema).getKeyDefinition();
+                if (schemas.size() == 1 && child instanceof LeafSchemaNode && keys.contains(child.getQName())) {
+                    keyValues.put(child.getQName(), readValue(in, child));
+                    if (keyValues.size() == keys.size()) {
+                        startMapEntry(keys);
+                    }
+                } else {
+                    defer(in, schemas, groupOf(child));
+                }
+                return;
+            }
+
+            final Object group = groupOf(schemas.peek());
+            if (group == null) {
+                if (liveGroup == null) {
+                    streamChild(in, schemas.pop());
+                } else {
+                    defer(in, schemas, null);
+                }
+                return;
+            }
+
+            if (liveGroup == null && !deferredGroups.contains(group)) {
+                openGroup(group, schemas);
+            }
+            if (!group.equals(liveGroup)) {
+                defer(in, schemas, group);
+                return;
+            }
+
+            if (group instanceof ChoiceSchemaNode) {
+                schemas.pop();
+                final DataSchemaNode caseNode = schemas.pop();
+                Preconditions.checkArgument(liveCase.getQName().equals(caseNode.getQName()),
+                    "Data from case %s are specified but other data from case %s were specified erlier. Data aren't from the same case.",
+                    caseNode.getQName(), liveCase.getQName());
+            }
+            liveFrame.dispatch(in, schemas);
+        }
+
+        void close() throws IOException {
+            Preconditions.checkState(keyValues == null, "Input is missing some of the keys of %s", schema.getQName());
+            if (liveFrame != null) {
+                liveFrame.close();
+                writer.endNode();
+            }
+            if (deferred != null) {
+                deferred.write(writer);
+            }
+        }
+
+        private Object groupOf(final DataSchemaNode child) {
+            if (augmentable && child.isAugmenting()) {
+                final AugmentationSchema augSchema = CompositeNodeDataWithSchema.findAugmentation(schema, child);
+                if (augSchema != null) {
+                    return augSchema;
+                }
+            }
+            return child instanceof ChoiceSchemaNode ? child : null;
+        }
+
+        private void openGroup(final Object group, final Deque<DataSchemaNode> schemas) throws IOException {
+            if (group instanceof AugmentationSchema) {
+                writer.startAugmentationNode(
+                    CompositeNodeDataWithSchema.toAugmentationIdentifier((AugmentationSchema) group));
+                liveFrame = new StreamingFrame(schema, false);
+            } else {
+                final Iterator<DataSchemaNode> it = schemas.iterator();
+                final DataSchemaNode choiceNode = it.next();
+                final DataSchemaNode caseNode = it.next();
+                Preconditions.checkArgument(caseNode instanceof ChoiceCaseNode,
+                    "Expected node of type ChoiceCaseNode but was %s", caseNode.getClass().getSimpleName());
+
+                writer.startChoiceNode(NodeIdentifier.create(choiceNode.getQName()),
+                    NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+                liveCase = (ChoiceCaseNode) caseNode;
+                liveFrame = new StreamingFrame(caseNode, false);
+            }
+            liveGroup = group;
+        }
+
+        private void defer(final JsonReader in, final Deque<DataSchemaNode> schemas, final Object group)
+                throws IOException {
+            if (deferred == null) {
+                if (augmentable) {
+                    deferred = new CompositeNodeDataWithSchema(schema);
+                } else if (schema instanceof ChoiceCaseNode) {
+                    deferred = new CaseNodeDataWithSchema((ChoiceCaseNode) schema);
+                } else {
+                    deferred = new AugmentationContentNodeDataWithSchema(schema);
+                }
+            }
+            if (group != null) {
+                if (deferredGroups.isEmpty()) {
+                    deferredGroups = new HashSet<>();
+                }
+                deferredGroups.add(group);
+            }
+
+            final AbstractNodeDataWithSchema newChild = deferred.addChild(schemas);
+            if (newChild instanceof AnyXmlNodeDataWithSchema) {
+                in.skipValue();
+            } else {
+                read(in, newChild);
+            }
+        }
+
+        private void startMapEntry(final List<QName> keys) throws IOException {
+            // Need to restore schema order...
+            final Object[] values = new Object[keys.size()];
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = keyValues.get(keys.get(i));
+            }
+            keyValues = null;
+
+            writer.startMapEntryNode(ListKeyLayout.of((ListSchemaNode) schema).createIdentifier(values),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            for (int i = 0; i < values.length; ++i) {
+                writer.leafNode(NodeIdentifier.create(keys.get(i)), values[i]);
+            }
+        }
+    }
+
     private static class NamespaceAndName {
         private final URI uri;
         private final String name;
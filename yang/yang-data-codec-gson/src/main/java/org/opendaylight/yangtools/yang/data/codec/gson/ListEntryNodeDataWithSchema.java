@@ -12,12 +12,11 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.opendaylight.yangtools.yang.common.QName;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.ListKeyLayout;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
@@ -63,13 +62,13 @@ class ListEntryNodeDataWithSchema extends CompositeNodeDataWithSchema {
         Preconditions.checkState(keyDef.size() == qNameToKeys.size(), "Input is missing some of the keys of %s", getSchema().getQName());
 
         // Need to restore schema order...
-        final Map<QName, Object> predicates = new LinkedHashMap<>();
+        final Object[] values = new Object[keyDef.size()];
+        int i = 0;
         for (QName qname : keyDef) {
-            predicates.put(qname, qNameToKeys.get(qname).getValue());
+            values[i++] = qNameToKeys.get(qname).getValue();
         }
 
-        writer.startMapEntryNode(
-            new NodeIdentifierWithPredicates(getSchema().getQName(), predicates),
+        writer.startMapEntryNode(ListKeyLayout.of((ListSchemaNode) getSchema()).createIdentifier(values),
             childSizeHint());
         super.write(writer);
         writer.endNode();
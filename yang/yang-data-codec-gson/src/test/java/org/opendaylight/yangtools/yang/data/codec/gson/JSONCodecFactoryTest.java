@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadModules;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class JSONCodecFactoryTest {
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void initialization() throws IOException, URISyntaxException {
+        schemaContext = loadModules("/complexjson/yang");
+    }
+
+    @Test
+    public void sharedFactoryIsReused() {
+        final JSONCodecFactory shared = JSONCodecFactory.getShared(schemaContext);
+        assertSame(shared, JSONCodecFactory.getShared(schemaContext));
+        assertNotSame(shared, JSONCodecFactory.create(schemaContext));
+    }
+
+    @Test
+    public void parserUsesSharedFactory() throws IOException, URISyntaxException {
+        final JSONCodecFactory shared = JSONCodecFactory.getShared(schemaContext);
+        final long hits = shared.getCodecStats().hitCount();
+
+        final String inputJson = loadTextFile("/complexjson/leaf-node-in-container.json");
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), schemaContext).parse(
+            new JsonReader(new StringReader(inputJson)));
+
+        assertTrue(shared.getCodecStats().hitCount() > hits);
+    }
+
+    @Test
+    public void privateFactoryDoesNotRecordStats() {
+        assertEquals(0, JSONCodecFactory.create(schemaContext).getCodecStats().requestCount());
+    }
+}
@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.yang.data.codec.gson;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadModules;
@@ -20,6 +21,9 @@ import java.net.URISyntaxException;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
@@ -213,6 +217,27 @@ public class JsonStreamToNormalizedNodeTest {
         assertNotNull(transformedInput);
     }
 
+    /**
+     * Anyxml content is not materialized by the JSON parser, it must be skipped rather than rejected.
+     */
+    @Test
+    public void anyXmlNodesAreSkipped() throws IOException, URISyntaxException {
+        final String inputJson = loadTextFile("/complexjson/complex-json.json");
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final JsonParserStream jsonParser = JsonParserStream.create(streamWriter, schemaContext);
+        jsonParser.parse(new JsonReader(new StringReader(inputJson)));
+
+        final ContainerNode cont1 = (ContainerNode) result.getResult();
+        assertNotNull(cont1);
+        final QName cont1QName = cont1.getNodeType();
+        assertFalse(cont1.getChild(new NodeIdentifier(QName.create(cont1QName, "lf12-any"))).isPresent());
+        assertFalse(cont1.getChild(new NodeIdentifier(QName.create(cont1QName, "lf13-any"))).isPresent());
+        assertFalse(cont1.getChild(new NodeIdentifier(QName.create(cont1QName, "lf14-any"))).isPresent());
+        assertTrue(cont1.getChild(new NodeIdentifier(QName.create(cont1QName, "lf11"))).isPresent());
+    }
+
     private void verifyTransformationToNormalizedNode(final String inputJson,
             final NormalizedNode<?, ?> awaitedStructure) {
         final NormalizedNodeResult result = new NormalizedNodeResult();
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadModules;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+
+/**
+ * Each test verifies that the streaming parser produces the same structure as the buffering one.
+ */
+public class JsonStreamingParserTest {
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void initialization() throws IOException, URISyntaxException {
+        schemaContext = loadModules("/complexjson/yang");
+    }
+
+    @Test
+    public void complexJson() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/complex-json.json");
+    }
+
+    /**
+     * Last key of the list entry is specified after other leaves, hence the entry needs to be buffered.
+     */
+    @Test
+    public void keyedListNodeInContainer() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/keyed-list-node-in-container.json");
+    }
+
+    @Test
+    public void unkeyedNodeInContainer() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/unkeyed-node-in-container.json");
+    }
+
+    @Test
+    public void leafNodeViaAugmentationInContainer() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/leaf-node-via-augmentation-in-container.json");
+    }
+
+    @Test
+    public void choiceNodeAugmentationInContainer() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/choice-node-augmentation-in-container.json");
+    }
+
+    @Test
+    public void caseNodeAugmentationInChoiceInContainer() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/case-node-augmentation-in-choice-in-container.json");
+    }
+
+    @Test
+    public void caseNodeExternalAugmentationInChoiceInContainer() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/case-node-external-augmentation-in-choice-in-container.json");
+    }
+
+    @Test
+    public void listItemWithoutArray() throws IOException, URISyntaxException {
+        verifyStreamingParser("/complexjson/keyed-list-restconf-behaviour.json",
+            schemaContext.getDataChildByName("cont1"));
+    }
+
+    private static void verifyStreamingParser(final String resource) throws IOException, URISyntaxException {
+        verifyStreamingParser(resource, schemaContext);
+    }
+
+    private static void verifyStreamingParser(final String resource, final SchemaNode parentNode)
+            throws IOException, URISyntaxException {
+        final String inputJson = loadTextFile(resource);
+
+        final NormalizedNodeResult buffered = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(buffered), schemaContext, parentNode)
+            .parse(new JsonReader(new StringReader(inputJson)));
+
+        final NormalizedNodeResult streamed = new NormalizedNodeResult();
+        JsonParserStream.createStreaming(ImmutableNormalizedNodeStreamWriter.from(streamed), schemaContext, parentNode)
+            .parse(new JsonReader(new StringReader(inputJson)));
+
+        final NormalizedNode<?, ?> expected = buffered.getResult();
+        assertNotNull(expected);
+        assertEquals("Streaming parser produced a different structure", expected, streamed.getResult());
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.util.EffectiveAugmentationSchema;
+
+/**
+ * Precompiled navigation index of a {@link SchemaContext}. It holds an immutable child lookup table for each
+ * data node container, choice and augmentation reachable from data, RPC and notification definitions.
+ * Choices are flattened, such that any child of any of their cases can be looked up directly, along with
+ * the case which contains it.
+ *
+ * Schema nodes which are not part of the index, such as groupings, are resolved by walking the schema, hence
+ * lookups are always successful if the schema node exists.
+ */
+@Beta
+public final class SchemaNavigationIndex {
+    /*
+     * Values are held softly, as each index references its SchemaContext and would otherwise
+     * prevent the weakly-held key from ever being collected.
+     */
+    private static final LoadingCache<SchemaContext, SchemaNavigationIndex> INDEXES = CacheBuilder.newBuilder()
+            .weakKeys().softValues().build(new CacheLoader<SchemaContext, SchemaNavigationIndex>() {
+                @Override
+                public SchemaNavigationIndex load(final SchemaContext key) {
+                    return new SchemaNavigationIndex(key);
+                }
+            });
+
+    private final Map<Object, NodeIndex> nodes;
+
+    private SchemaNavigationIndex(final SchemaContext context) {
+        final Map<Object, NodeIndex> builder = new IdentityHashMap<>();
+        indexContainer(builder, context);
+        for (RpcDefinition rpc : context.getOperations()) {
+            if (rpc.getInput() != null) {
+                indexContainer(builder, rpc.getInput());
+            }
+            if (rpc.getOutput() != null) {
+                indexContainer(builder, rpc.getOutput());
+            }
+        }
+        for (NotificationDefinition notification : context.getNotifications()) {
+            indexContainer(builder, notification);
+        }
+        nodes = Collections.unmodifiableMap(builder);
+    }
+
+    /**
+     * Return the navigation index of a particular context. Indexes are shared and are computed when first requested.
+     *
+     * @param context Schema context
+     * @return Navigation index
+     */
+    public static SchemaNavigationIndex forContext(final SchemaContext context) {
+        return INDEXES.getUnchecked(Preconditions.checkNotNull(context));
+    }
+
+    /**
+     * Find a child of a schema node. If the parent is a choice, the child is looked up in all its cases.
+     *
+     * @param parent Parent node, a {@link DataNodeContainer} or a {@link ChoiceSchemaNode}
+     * @param qname Child QName
+     * @return Child schema node, or null if the parent does not have such a child
+     */
+    public DataSchemaNode getChild(final Object parent, final QName qname) {
+        final NodeIndex index = nodes.get(parent);
+        if (index != null) {
+            return index.children.get(qname);
+        }
+
+        if (parent instanceof DataNodeContainer) {
+            return ((DataNodeContainer) parent).getDataChildByName(qname);
+        }
+        if (parent instanceof ChoiceSchemaNode) {
+            for (final ChoiceCaseNode caze : ((ChoiceSchemaNode) parent).getCases()) {
+                final DataSchemaNode potential = caze.getDataChildByName(qname);
+                if (potential != null) {
+                    return potential;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the case of a choice which contains a particular child.
+     *
+     * @param choice Choice node
+     * @param qname Child QName
+     * @return Case schema node, or null if no case contains such a child
+     */
+    public ChoiceCaseNode getCaseByChild(final ChoiceSchemaNode choice, final QName qname) {
+        final NodeIndex index = nodes.get(choice);
+        if (index != null) {
+            return index.cases.get(qname);
+        }
+
+        for (final ChoiceCaseNode caze : choice.getCases()) {
+            if (caze.getDataChildByName(qname) != null) {
+                return caze;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the effective augmentation of a schema node identified by an {@link AugmentationIdentifier}. Child
+     * nodes of the returned augmentation are the actual nodes present in the parent.
+     *
+     * @param parent Augmentation target
+     * @param identifier Augmentation identifier
+     * @return Effective augmentation schema
+     * @throws IllegalStateException if the parent does not have such an augmentation
+     */
+    public AugmentationSchema getAugmentation(final DataNodeContainer parent, final AugmentationIdentifier identifier) {
+        final NodeIndex index = nodes.get(parent);
+        if (index != null) {
+            final AugmentationSchema ret = index.augmentations.get(identifier.getPossibleChildNames());
+            Preconditions.checkState(ret != null, "Unknown augmentation node detected, identified by: %s, in: %s",
+                identifier.getPossibleChildNames(), parent);
+            return ret;
+        }
+
+        Preconditions.checkArgument(parent instanceof AugmentationTarget, "Augmentation not allowed under %s", parent);
+        return effectiveAugmentation(parent, SchemaUtils.findSchemaForAugment((AugmentationTarget) parent,
+            identifier.getPossibleChildNames()));
+    }
+
+    private static AugmentationSchema effectiveAugmentation(final DataNodeContainer parent,
+            final AugmentationSchema schema) {
+        final Set<DataSchemaNode> realChildSchemas = new HashSet<>();
+        for (final DataSchemaNode child : schema.getChildNodes()) {
+            final DataSchemaNode realChild = parent.getDataChildByName(child.getQName());
+            if (realChild != null) {
+                realChildSchemas.add(realChild);
+            }
+        }
+        return new EffectiveAugmentationSchema(schema, realChildSchemas);
+    }
+
+    private static void indexContainer(final Map<Object, NodeIndex> builder, final DataNodeContainer container) {
+        if (builder.containsKey(container)) {
+            return;
+        }
+
+        final ImmutableMap.Builder<QName, DataSchemaNode> children = ImmutableMap.builder();
+        for (final DataSchemaNode child : container.getChildNodes()) {
+            children.put(child.getQName(), child);
+            if (child instanceof ChoiceSchemaNode) {
+                indexChoice(builder, (ChoiceSchemaNode) child);
+            } else if (child instanceof DataNodeContainer) {
+                indexContainer(builder, (DataNodeContainer) child);
+            }
+        }
+
+        final ImmutableMap.Builder<Set<QName>, AugmentationSchema> augmentations = ImmutableMap.builder();
+        if (container instanceof AugmentationTarget) {
+            for (final AugmentationSchema augment : ((AugmentationTarget) container).getAvailableAugmentations()) {
+                final AugmentationSchema effective = effectiveAugmentation(container, augment);
+                augmentations.put(ImmutableSet.copyOf(SchemaUtils.getChildQNames(augment)), effective);
+                indexContainer(builder, effective);
+            }
+        }
+
+        builder.put(container, new NodeIndex(children.build(), ImmutableMap.<QName, ChoiceCaseNode>of(),
+            augmentations.build()));
+    }
+
+    private static void indexChoice(final Map<Object, NodeIndex> builder, final ChoiceSchemaNode choice) {
+        final ImmutableMap.Builder<QName, DataSchemaNode> childrenBuilder = ImmutableMap.builder();
+        final ImmutableMap.Builder<QName, ChoiceCaseNode> cases = ImmutableMap.builder();
+        final Set<QName> seen = new HashSet<>();
+
+        for (final ChoiceCaseNode caze : choice.getCases()) {
+            indexContainer(builder, caze);
+            for (final DataSchemaNode child : caze.getChildNodes()) {
+                // First case wins, same as when looking through cases
+                if (seen.add(child.getQName())) {
+                    childrenBuilder.put(child.getQName(), child);
+                    cases.put(child.getQName(), caze);
+                }
+            }
+        }
+
+        builder.put(choice, new NodeIndex(childrenBuilder.build(), cases.build(),
+            ImmutableMap.<Set<QName>, AugmentationSchema>of()));
+    }
+
+    private static final class NodeIndex {
+        final ImmutableMap<QName, DataSchemaNode> children;
+        final ImmutableMap<QName, ChoiceCaseNode> cases;
+        final ImmutableMap<Set<QName>, AugmentationSchema> augmentations;
+
+        NodeIndex(final ImmutableMap<QName, DataSchemaNode> children, final ImmutableMap<QName, ChoiceCaseNode> cases,
+                final ImmutableMap<Set<QName>, AugmentationSchema> augmentations) {
+            this.children = children;
+            this.cases = cases;
+            this.augmentations = augmentations;
+        }
+    }
+}
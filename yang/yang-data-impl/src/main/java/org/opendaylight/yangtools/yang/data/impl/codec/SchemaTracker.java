@@ -15,21 +15,17 @@ import com.google.common.collect.Iterables;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashSet;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
-import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
 import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
-import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
@@ -39,7 +35,6 @@ import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
-import org.opendaylight.yangtools.yang.model.util.EffectiveAugmentationSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,9 +46,11 @@ import org.slf4j.LoggerFactory;
 public final class SchemaTracker {
     private static final Logger LOG = LoggerFactory.getLogger(SchemaTracker.class);
     private final Deque<Object> schemaStack = new ArrayDeque<>();
+    private final SchemaNavigationIndex index;
     private final DataNodeContainer root;
 
     private SchemaTracker(final SchemaContext context, final SchemaPath path) {
+        index = SchemaNavigationIndex.forContext(context);
         SchemaNode current = Preconditions.checkNotNull(context);
         for (final QName qname : path.getPathFromRoot()) {
             SchemaNode child;
@@ -137,7 +134,7 @@ public final class SchemaTracker {
         SchemaNode schema = null;
         final QName qname = name.getNodeType();
         if(parent instanceof DataNodeContainer) {
-            schema = ((DataNodeContainer)parent).getDataChildByName(qname);
+            schema = index.getChild(parent, qname);
 
             if(schema == null && parent instanceof GroupingDefinition) {
                 schema = ((GroupingDefinition) parent);
@@ -147,7 +144,7 @@ public final class SchemaTracker {
                 schema = ((NotificationDefinition) parent);
             }
         } else if(parent instanceof ChoiceSchemaNode) {
-            schema = findChildInCases((ChoiceSchemaNode) parent, qname);
+            schema = index.getChild(parent, qname);
         } else {
             throw new IllegalStateException("Unsupported schema type "+ parent.getClass() +" on stack.");
         }
@@ -155,30 +152,6 @@ public final class SchemaTracker {
         return schema;
     }
 
-    private SchemaNode findChildInCases(final ChoiceSchemaNode parent, final QName qname) {
-        DataSchemaNode schema = null;
-        for(final ChoiceCaseNode caze : parent.getCases()) {
-            final DataSchemaNode potential = caze.getDataChildByName(qname);
-            if(potential != null) {
-                schema = potential;
-                break;
-            }
-        }
-        return schema;
-    }
-
-    private SchemaNode findCaseByChild(final ChoiceSchemaNode parent, final QName qname) {
-        DataSchemaNode schema = null;
-        for(final ChoiceCaseNode caze : parent.getCases()) {
-            final DataSchemaNode potential = caze.getDataChildByName(qname);
-            if(potential != null) {
-                schema = caze;
-                break;
-            }
-        }
-        return schema;
-    }
-
     public void startList(final PathArgument name) {
         final SchemaNode schema = getSchema(name);
         Preconditions.checkArgument(schema instanceof ListSchemaNode, "Node %s is not a list", schema.getPath());
@@ -241,15 +214,10 @@ public final class SchemaTracker {
         Preconditions.checkArgument(parent instanceof AugmentationTarget, "Augmentation not allowed under %s", parent);
         if(parent instanceof ChoiceSchemaNode) {
             final QName name = Iterables.get(identifier.getPossibleChildNames(), 0);
-            parent = findCaseByChild((ChoiceSchemaNode) parent, name);
+            parent = index.getCaseByChild((ChoiceSchemaNode) parent, name);
         }
         Preconditions.checkArgument(parent instanceof DataNodeContainer, "Augmentation allowed only in DataNodeContainer",parent);
-        final AugmentationSchema schema = SchemaUtils.findSchemaForAugment((AugmentationTarget) parent, identifier.getPossibleChildNames());
-        final HashSet<DataSchemaNode> realChildSchemas = new HashSet<>();
-        for(final DataSchemaNode child : schema.getChildNodes()) {
-            realChildSchemas.add(((DataNodeContainer) parent).getDataChildByName(child.getQName()));
-        }
-        final AugmentationSchema resolvedSchema = new EffectiveAugmentationSchema(schema, realChildSchemas);
+        final AugmentationSchema resolvedSchema = index.getAugmentation((DataNodeContainer) parent, identifier);
         schemaStack.push(resolvedSchema);
         return resolvedSchema;
     }
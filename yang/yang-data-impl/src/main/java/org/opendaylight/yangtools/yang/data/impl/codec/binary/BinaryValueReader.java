@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Base class for reading values, identifiers and primitives written by a {@link BinaryValueWriter}. Subclasses
+ * define how QNames are decoded.
+ */
+abstract class BinaryValueReader {
+    private static final DocumentBuilderFactory BUILDER_FACTORY;
+
+    static {
+        final DocumentBuilderFactory f = DocumentBuilderFactory.newInstance();
+        f.setNamespaceAware(true);
+        BUILDER_FACTORY = f;
+    }
+
+    protected final DataInput input;
+
+    BinaryValueReader(final DataInput input) {
+        this.input = Preconditions.checkNotNull(input);
+    }
+
+    abstract QName readQName() throws IOException;
+
+    public PathArgument readPathArgument() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+        case TokenTypes.NODE_IDENTIFIER:
+            return readNodeIdentifier();
+        case TokenTypes.NODE_IDENTIFIER_WITH_PREDICATES:
+            return readNodeIdentifierWithPredicates();
+        case TokenTypes.NODE_WITH_VALUE:
+            final QName qname = readQName();
+            return new NodeWithValue(qname, readObject());
+        case TokenTypes.AUGMENTATION_IDENTIFIER:
+            return readAugmentationIdentifier();
+        default:
+            throw new InvalidNormalizedNodeStreamException("Unknown path argument type " + type);
+        }
+    }
+
+    public YangInstanceIdentifier readYangInstanceIdentifier() throws IOException {
+        final int size = readVarInt();
+        final ImmutableList.Builder<PathArgument> builder = ImmutableList.builder();
+        for (int i = 0; i < size; ++i) {
+            builder.add(readPathArgument());
+        }
+        return YangInstanceIdentifier.create(builder.build());
+    }
+
+    final NodeIdentifier readNodeIdentifier() throws IOException {
+        return NodeIdentifier.create(readQName());
+    }
+
+    final NodeIdentifierWithPredicates readNodeIdentifierWithPredicates() throws IOException {
+        final QName qname = readQName();
+        final int size = readVarInt();
+        if (size == 1) {
+            final QName key = readQName();
+            return NodeIdentifierWithPredicates.create(qname, key, readObject());
+        }
+
+        final ImmutableMap.Builder<QName, Object> builder = ImmutableMap.builder();
+        for (int i = 0; i < size; ++i) {
+            final QName key = readQName();
+            builder.put(key, readObject());
+        }
+        return NodeIdentifierWithPredicates.create(qname, builder.build());
+    }
+
+    final AugmentationIdentifier readAugmentationIdentifier() throws IOException {
+        final int size = readVarInt();
+        final ImmutableSet.Builder<QName> builder = ImmutableSet.builder();
+        for (int i = 0; i < size; ++i) {
+            builder.add(readQName());
+        }
+        return new AugmentationIdentifier(builder.build());
+    }
+
+    final Object readObject() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+        case ValueTypes.NULL_TYPE:
+            return null;
+        case ValueTypes.STRING_TYPE:
+            return readString();
+        case ValueTypes.FALSE_TYPE:
+            return Boolean.FALSE;
+        case ValueTypes.TRUE_TYPE:
+            return Boolean.TRUE;
+        case ValueTypes.BYTE_TYPE:
+            return input.readByte();
+        case ValueTypes.SHORT_TYPE:
+            return input.readShort();
+        case ValueTypes.INT_TYPE:
+            return (int) unZigZag(readVarLong());
+        case ValueTypes.LONG_TYPE:
+            return unZigZag(readVarLong());
+        case ValueTypes.BIG_INTEGER_TYPE:
+            return new BigInteger(readByteArray());
+        case ValueTypes.BIG_DECIMAL_TYPE:
+            final int scale = (int) unZigZag(readVarLong());
+            return new BigDecimal(new BigInteger(readByteArray()), scale);
+        case ValueTypes.BINARY_TYPE:
+            return readByteArray();
+        case ValueTypes.QNAME_TYPE:
+            return readQName();
+        case ValueTypes.BITS_TYPE:
+            final int size = readVarInt();
+            final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+            for (int i = 0; i < size; ++i) {
+                builder.add(readString());
+            }
+            return builder.build();
+        case ValueTypes.YANG_IDENTIFIER_TYPE:
+            return readYangInstanceIdentifier();
+        default:
+            throw new InvalidNormalizedNodeStreamException("Unknown value type " + type);
+        }
+    }
+
+    final DOMSource readDOMSource() throws IOException {
+        final String xml = readString();
+        try {
+            final Document doc = BUILDER_FACTORY.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+            return new DOMSource(doc.getDocumentElement());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new InvalidNormalizedNodeStreamException("Failed to parse anyxml value", e);
+        }
+    }
+
+    final String readString() throws IOException {
+        return new String(readByteArray(), StandardCharsets.UTF_8);
+    }
+
+    final byte[] readByteArray() throws IOException {
+        final byte[] bytes = new byte[readVarInt()];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    final int readVarInt() throws IOException {
+        int ret = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = input.readByte();
+            ret |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (ret < 0) {
+                    throw new InvalidNormalizedNodeStreamException("Negative length " + ret);
+                }
+                return ret;
+            }
+        }
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length integer");
+    }
+
+    final long readVarLong() throws IOException {
+        long ret = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = input.readByte();
+            ret |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ret;
+            }
+        }
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length long");
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
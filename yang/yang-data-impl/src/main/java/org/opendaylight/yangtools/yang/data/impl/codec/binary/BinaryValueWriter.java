@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.base.Preconditions;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * Base class for emitting values, identifiers and primitives shared by the binary formats. Subclasses define how
+ * QNames are encoded.
+ */
+abstract class BinaryValueWriter {
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    protected final DataOutput output;
+
+    BinaryValueWriter(final DataOutput output) {
+        this.output = Preconditions.checkNotNull(output);
+    }
+
+    abstract void writeQName(QName qname) throws IOException;
+
+    public void writePathArgument(final PathArgument pathArgument) throws IOException {
+        if (pathArgument instanceof NodeIdentifierWithPredicates) {
+            output.writeByte(TokenTypes.NODE_IDENTIFIER_WITH_PREDICATES);
+            writeNodeIdentifierWithPredicates((NodeIdentifierWithPredicates) pathArgument);
+        } else if (pathArgument instanceof NodeWithValue) {
+            output.writeByte(TokenTypes.NODE_WITH_VALUE);
+            writeQName(pathArgument.getNodeType());
+            writeObject(((NodeWithValue) pathArgument).getValue());
+        } else if (pathArgument instanceof AugmentationIdentifier) {
+            output.writeByte(TokenTypes.AUGMENTATION_IDENTIFIER);
+            writeAugmentationIdentifier((AugmentationIdentifier) pathArgument);
+        } else if (pathArgument instanceof NodeIdentifier) {
+            output.writeByte(TokenTypes.NODE_IDENTIFIER);
+            writeQName(pathArgument.getNodeType());
+        } else {
+            throw new IllegalArgumentException("Unsupported path argument " + pathArgument);
+        }
+    }
+
+    public void writeYangInstanceIdentifier(final YangInstanceIdentifier identifier) throws IOException {
+        writeVarInt(identifier.getDepth());
+        for (PathArgument arg : identifier.getPathArguments()) {
+            writePathArgument(arg);
+        }
+    }
+
+    final void writeNodeIdentifierWithPredicates(final NodeIdentifierWithPredicates identifier) throws IOException {
+        writeQName(identifier.getNodeType());
+
+        final Map<QName, Object> keyValues = identifier.getKeyValues();
+        writeVarInt(keyValues.size());
+        for (Entry<QName, Object> e : keyValues.entrySet()) {
+            writeQName(e.getKey());
+            writeObject(e.getValue());
+        }
+    }
+
+    final void writeAugmentationIdentifier(final AugmentationIdentifier identifier) throws IOException {
+        final Set<QName> childNames = identifier.getPossibleChildNames();
+        writeVarInt(childNames.size());
+        for (QName qname : childNames) {
+            writeQName(qname);
+        }
+    }
+
+    final void writeObject(final Object value) throws IOException {
+        final byte type = ValueTypes.getSerializableType(value);
+        output.writeByte(type);
+
+        switch (type) {
+        case ValueTypes.NULL_TYPE:
+        case ValueTypes.FALSE_TYPE:
+        case ValueTypes.TRUE_TYPE:
+            break;
+        case ValueTypes.STRING_TYPE:
+            writeString((String) value);
+            break;
+        case ValueTypes.BYTE_TYPE:
+            output.writeByte((Byte) value);
+            break;
+        case ValueTypes.SHORT_TYPE:
+            output.writeShort((Short) value);
+            break;
+        case ValueTypes.INT_TYPE:
+            writeVarLong(zigZag((Integer) value));
+            break;
+        case ValueTypes.LONG_TYPE:
+            writeVarLong(zigZag((Long) value));
+            break;
+        case ValueTypes.BIG_INTEGER_TYPE:
+            writeByteArray(((BigInteger) value).toByteArray());
+            break;
+        case ValueTypes.BIG_DECIMAL_TYPE:
+            final BigDecimal decimal = (BigDecimal) value;
+            writeVarLong(zigZag(decimal.scale()));
+            writeByteArray(decimal.unscaledValue().toByteArray());
+            break;
+        case ValueTypes.BINARY_TYPE:
+            writeByteArray((byte[]) value);
+            break;
+        case ValueTypes.QNAME_TYPE:
+            writeQName((QName) value);
+            break;
+        case ValueTypes.BITS_TYPE:
+            final Set<?> bits = (Set<?>) value;
+            writeVarInt(bits.size());
+            for (Object bit : bits) {
+                Preconditions.checkArgument(bit instanceof String, "Unsupported bits value %s", value);
+                writeString((String) bit);
+            }
+            break;
+        case ValueTypes.YANG_IDENTIFIER_TYPE:
+            writeYangInstanceIdentifier((YangInstanceIdentifier) value);
+            break;
+        default:
+            throw new IllegalStateException("Unhandled value type " + type);
+        }
+    }
+
+    final void writeDOMSource(final Object value) throws IOException {
+        Preconditions.checkArgument(value instanceof DOMSource, "Unsupported anyxml value %s", value);
+
+        final StringWriter writer = new StringWriter();
+        try {
+            final Transformer transformer = TRANSFORMER_FACTORY.newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            transformer.transform((DOMSource) value, new StreamResult(writer));
+        } catch (TransformerException e) {
+            throw new IOException("Failed to serialize anyxml value", e);
+        }
+        writeString(writer.toString());
+    }
+
+    final void writeString(final String str) throws IOException {
+        writeByteArray(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    final void writeByteArray(final byte[] bytes) throws IOException {
+        writeVarInt(bytes.length);
+        output.write(bytes);
+    }
+
+    final void writeVarInt(final int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            output.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        output.writeByte(v);
+    }
+
+    final void writeVarLong(final long value) throws IOException {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            output.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        output.writeByte((int) v);
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
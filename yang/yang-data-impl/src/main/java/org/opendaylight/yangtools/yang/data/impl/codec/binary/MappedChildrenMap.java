@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.UnmodifiableIterator;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Read-only map of children of a node stored in a {@link MappedNormalizedNodeFile}. Children are decoded from the
+ * file on first access and retained afterwards. Lookups by key require an index of child identifiers, which is
+ * built on first lookup by decoding only the identifiers. Iteration order is the order in which the children
+ * were written.
+ *
+ * @param <K> Child identifier type
+ * @param <V> Child node type
+ */
+final class MappedChildrenMap<K, V extends NormalizedNode<? extends K, ?>> extends AbstractMap<K, V> {
+    private final MappedNormalizedNodeFile file;
+    private final long[] offsets;
+    private final AtomicReferenceArray<V> children;
+    private volatile Map<K, Integer> index;
+
+    MappedChildrenMap(final MappedNormalizedNodeFile file, final long[] offsets) {
+        this.file = Preconditions.checkNotNull(file);
+        this.offsets = Preconditions.checkNotNull(offsets);
+        this.children = new AtomicReferenceArray<>(offsets.length);
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return offsets.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return index().containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final Integer i = index().get(key);
+        return i == null ? null : child(i);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return index().keySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ChildIterator<V>() {
+                    @Override
+                    V toElement(final V child) {
+                        return child;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return offsets.length;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new ChildIterator<Entry<K, V>>() {
+                    @Override
+                    Entry<K, V> toElement(final V child) {
+                        return new SimpleImmutableEntry<K, V>(child.getIdentifier(), child);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return offsets.length;
+            }
+        };
+    }
+
+    private V child(final int i) {
+        final V existing = children.get(i);
+        if (existing != null) {
+            return existing;
+        }
+
+        @SuppressWarnings("unchecked")
+        final V decoded = (V) file.readNode(offsets[i]);
+        if (children.compareAndSet(i, null, decoded)) {
+            return decoded;
+        }
+
+        // Lost the race, use the instance which won
+        return children.get(i);
+    }
+
+    private Map<K, Integer> index() {
+        Map<K, Integer> ret = index;
+        if (ret == null) {
+            final ImmutableMap.Builder<K, Integer> builder = ImmutableMap.builder();
+            for (int i = 0; i < offsets.length; ++i) {
+                final V existing = children.get(i);
+                if (existing != null) {
+                    builder.put(existing.getIdentifier(), i);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    final K key = (K) file.readIdentifier(offsets[i]);
+                    builder.put(key, i);
+                }
+            }
+
+            // Benign race, concurrent callers compute the same index
+            ret = builder.build();
+            index = ret;
+        }
+        return ret;
+    }
+
+    private abstract class ChildIterator<E> extends UnmodifiableIterator<E> {
+        private int next = 0;
+
+        @Override
+        public final boolean hasNext() {
+            return next < offsets.length;
+        }
+
+        @Override
+        public final E next() {
+            if (next >= offsets.length) {
+                throw new NoSuchElementException();
+            }
+            return toElement(child(next++));
+        }
+
+        abstract E toElement(V child);
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapBackedNodes;
+
+/**
+ * A snapshot file written by {@link NormalizedNodeFileWriter}, mapped into memory. Nodes are decoded on demand:
+ * nodes with keyed children are backed by a {@link MappedChildrenMap}, so their children remain in the mapped
+ * region until they are accessed. Leaf sets and unkeyed lists are decoded together with their entries.
+ *
+ * The file is mapped in segments, so files larger than 2GB are supported. The mapping is retained until all
+ * nodes decoded from it become unreachable, hence the file must not be modified while they are in use.
+ */
+final class MappedNormalizedNodeFile {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+    // Dictionary offset and root node offset
+    private static final int TRAILER_SIZE = 16;
+
+    private final ByteBuffer[] segments;
+    private final QName[] qnames;
+    private final long size;
+
+    private MappedNormalizedNodeFile(final ByteBuffer[] segments, final long size, final QName[] qnames) {
+        this.segments = segments;
+        this.size = size;
+        this.qnames = qnames;
+    }
+
+    /**
+     * Map a snapshot file and return its root node.
+     *
+     * @param file Snapshot file
+     * @return Root node, decoded lazily
+     * @throws IOException if the file cannot be mapped or is not a valid snapshot file
+     */
+    static NormalizedNode<?, ?> readRoot(final File file) throws IOException {
+        final ByteBuffer[] segments;
+        final long size;
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = raf.getChannel();
+            size = channel.size();
+            if (size < 2 + TRAILER_SIZE) {
+                throw new InvalidNormalizedNodeStreamException("File too short: " + size + " bytes");
+            }
+
+            // The mappings remain valid after the channel is closed
+            segments = new ByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; ++i) {
+                final long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+        }
+
+        final SegmentedInput header = new SegmentedInput(segments, size, 0);
+        final byte marker = header.readByte();
+        if (marker != TokenTypes.FILE_SIGNATURE_MARKER) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid signature marker: %d", marker));
+        }
+        final byte version = header.readByte();
+        if (version != TokenTypes.FILE_VERSION) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Unsupported file version %d", version));
+        }
+
+        final SegmentedInput trailer = new SegmentedInput(segments, size, size - TRAILER_SIZE);
+        final long dictionaryOffset = checkOffset(trailer.readLong(), size);
+        final long rootOffset = checkOffset(trailer.readLong(), size);
+
+        final QName[] qnames = readDictionary(new SegmentedInput(segments, size, dictionaryOffset));
+        return new MappedNormalizedNodeFile(segments, size, qnames).decodeNode(rootOffset);
+    }
+
+    private static long checkOffset(final long offset, final long size) throws InvalidNormalizedNodeStreamException {
+        if (offset < 2 || offset >= size - TRAILER_SIZE) {
+            throw new InvalidNormalizedNodeStreamException("Invalid record offset " + offset);
+        }
+        return offset;
+    }
+
+    private static QName[] readDictionary(final DataInput input) throws IOException {
+        final BinaryValueReader reader = new BinaryValueReader(input) {
+            @Override
+            QName readQName() throws IOException {
+                throw new InvalidNormalizedNodeStreamException("Unexpected QName reference in dictionary");
+            }
+        };
+
+        final QNameModule[] modules = new QNameModule[reader.readVarInt()];
+        for (int i = 0; i < modules.length; ++i) {
+            final String namespace = reader.readString();
+            final String revision = reader.readString();
+            try {
+                modules[i] = QNameModule.cachedReference(QNameModule.create(new URI(namespace),
+                    revision.isEmpty() ? null : QName.parseRevision(revision)));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                throw new InvalidNormalizedNodeStreamException("Invalid module " + namespace + " revision "
+                        + revision, e);
+            }
+        }
+
+        final QName[] ret = new QName[reader.readVarInt()];
+        for (int i = 0; i < ret.length; ++i) {
+            final int module = reader.readVarInt();
+            if (module >= modules.length) {
+                throw new InvalidNormalizedNodeStreamException("Invalid module reference " + module);
+            }
+            ret[i] = QName.cachedReference(QName.create(modules[module], reader.readString()));
+        }
+        return ret;
+    }
+
+    /**
+     * Decode the node stored at specified offset. Invoked by {@link MappedChildrenMap} when a child is accessed.
+     *
+     * @throws IllegalStateException if the record cannot be decoded
+     */
+    NormalizedNode<?, ?> readNode(final long offset) {
+        try {
+            return decodeNode(offset);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode node at offset " + offset, e);
+        }
+    }
+
+    /**
+     * Decode only the identifier of the node stored at specified offset.
+     *
+     * @throws IllegalStateException if the record cannot be decoded
+     */
+    PathArgument readIdentifier(final long offset) {
+        final RecordReader reader = new RecordReader(offset);
+        try {
+            final byte nodeType = reader.input.readByte();
+            switch (nodeType) {
+            case TokenTypes.MAP_ENTRY:
+                return reader.readNodeIdentifierWithPredicates();
+            case TokenTypes.AUGMENTATION:
+                return reader.readAugmentationIdentifier();
+            case TokenTypes.LEAF_SET_ENTRY:
+                final QName qname = reader.readQName();
+                return new NodeWithValue(qname, reader.readObject());
+            default:
+                return reader.readNodeIdentifier();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode identifier at offset " + offset, e);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private NormalizedNode<?, ?> decodeNode(final long offset) throws IOException {
+        final RecordReader reader = new RecordReader(offset);
+        final byte nodeType = reader.input.readByte();
+        switch (nodeType) {
+        case TokenTypes.LEAF_NODE:
+            final NodeIdentifier leafName = reader.readNodeIdentifier();
+            return Builders.leafBuilder().withNodeIdentifier(leafName).withValue(reader.readObject()).build();
+        case TokenTypes.LEAF_SET_ENTRY:
+            final QName entryName = reader.readQName();
+            final Object entryValue = reader.readObject();
+            return Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue(entryName, entryValue))
+                    .withValue(entryValue).build();
+        case TokenTypes.ANYXML:
+            final NodeIdentifier anyxmlName = reader.readNodeIdentifier();
+            return Builders.anyXmlBuilder().withNodeIdentifier(anyxmlName).withValue(reader.readDOMSource()).build();
+        case TokenTypes.CONTAINER:
+            final NodeIdentifier containerName = reader.readNodeIdentifier();
+            return ImmutableMapBackedNodes.containerNode(containerName,
+                this.<PathArgument, DataContainerChild<? extends PathArgument, ?>>readChildren(reader, offset));
+        case TokenTypes.MAP_ENTRY:
+            final NodeIdentifierWithPredicates entryId = reader.readNodeIdentifierWithPredicates();
+            return ImmutableMapBackedNodes.mapEntryNode(entryId,
+                this.<PathArgument, DataContainerChild<? extends PathArgument, ?>>readChildren(reader, offset));
+        case TokenTypes.CHOICE:
+            final NodeIdentifier choiceName = reader.readNodeIdentifier();
+            return ImmutableMapBackedNodes.choiceNode(choiceName,
+                this.<PathArgument, DataContainerChild<? extends PathArgument, ?>>readChildren(reader, offset));
+        case TokenTypes.AUGMENTATION:
+            return ImmutableMapBackedNodes.augmentationNode(reader.readAugmentationIdentifier(),
+                this.<PathArgument, DataContainerChild<? extends PathArgument, ?>>readChildren(reader, offset));
+        case TokenTypes.UNKEYED_LIST_ITEM:
+            final NodeIdentifier itemName = reader.readNodeIdentifier();
+            return ImmutableMapBackedNodes.unkeyedListEntryNode(itemName,
+                this.<PathArgument, DataContainerChild<? extends PathArgument, ?>>readChildren(reader, offset));
+        case TokenTypes.MAP:
+            final NodeIdentifier mapName = reader.readNodeIdentifier();
+            return ImmutableMapBackedNodes.mapNode(mapName,
+                this.<NodeIdentifierWithPredicates, MapEntryNode>readChildren(reader, offset));
+        case TokenTypes.ORDERED_MAP:
+            final NodeIdentifier orderedMapName = reader.readNodeIdentifier();
+            return ImmutableMapBackedNodes.orderedMapNode(orderedMapName,
+                this.<NodeIdentifierWithPredicates, MapEntryNode>readChildren(reader, offset));
+        case TokenTypes.LEAF_SET:
+        case TokenTypes.ORDERED_LEAF_SET:
+            final ListNodeBuilder leafSetBuilder = nodeType == TokenTypes.LEAF_SET ? Builders.leafSetBuilder()
+                    : Builders.orderedLeafSetBuilder();
+            leafSetBuilder.withNodeIdentifier(reader.readNodeIdentifier());
+            for (long childOffset : reader.readChildOffsets(offset)) {
+                leafSetBuilder.withChild((LeafSetEntryNode<?>) decodeNode(childOffset));
+            }
+            return leafSetBuilder.build();
+        case TokenTypes.UNKEYED_LIST:
+            final CollectionNodeBuilder<UnkeyedListEntryNode, UnkeyedListNode> listBuilder =
+                Builders.unkeyedListBuilder();
+            listBuilder.withNodeIdentifier(reader.readNodeIdentifier());
+            for (long childOffset : reader.readChildOffsets(offset)) {
+                listBuilder.withChild((UnkeyedListEntryNode) decodeNode(childOffset));
+            }
+            return listBuilder.build();
+        default:
+            throw new InvalidNormalizedNodeStreamException("Unexpected node type " + nodeType + " at offset "
+                    + offset);
+        }
+    }
+
+    private <K, V extends NormalizedNode<? extends K, ?>> Map<K, V> readChildren(final RecordReader reader,
+            final long offset) throws IOException {
+        final long[] offsets = reader.readChildOffsets(offset);
+        return offsets.length == 0 ? ImmutableMap.<K, V>of() : new MappedChildrenMap<K, V>(this, offsets);
+    }
+
+    /**
+     * Reader of a single record, resolving QNames through the dictionary.
+     */
+    private final class RecordReader extends BinaryValueReader {
+        RecordReader(final long offset) {
+            super(new SegmentedInput(segments, size, offset));
+        }
+
+        long[] readChildOffsets(final long offset) throws IOException {
+            final long[] ret = new long[readVarInt()];
+            for (int i = 0; i < ret.length; ++i) {
+                final long distance = readVarLong();
+                if (distance <= 0 || distance > offset) {
+                    throw new InvalidNormalizedNodeStreamException("Invalid child distance " + distance
+                            + " at offset " + offset);
+                }
+                ret[i] = offset - distance;
+            }
+            return ret;
+        }
+
+        @Override
+        QName readQName() throws IOException {
+            final int index = readVarInt();
+            if (index >= qnames.length) {
+                throw new InvalidNormalizedNodeStreamException("Invalid QName reference " + index);
+            }
+            return qnames[index];
+        }
+    }
+
+    /**
+     * {@link DataInput} reading sequentially from the mapped segments, starting at an absolute position. Only
+     * absolute gets are used, so the shared segment buffers are never modified.
+     */
+    private static final class SegmentedInput implements DataInput {
+        private final ByteBuffer[] segments;
+        private final long size;
+        private long position;
+
+        SegmentedInput(final ByteBuffer[] segments, final long size, final long position) {
+            this.segments = segments;
+            this.size = size;
+            this.position = position;
+        }
+
+        @Override
+        public byte readByte() throws IOException {
+            if (position >= size) {
+                throw new EOFException("Attempted to read past end of file at " + position);
+            }
+
+            final byte ret = segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+            position++;
+            return ret;
+        }
+
+        @Override
+        public void readFully(final byte[] b) throws IOException {
+            readFully(b, 0, b.length);
+        }
+
+        @Override
+        public void readFully(final byte[] b, final int off, final int len) throws IOException {
+            if (position + len > size) {
+                throw new EOFException("Attempted to read " + len + " bytes past end of file at " + position);
+            }
+
+            int done = 0;
+            while (done < len) {
+                final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)].duplicate();
+                segment.position((int) (position & SEGMENT_MASK));
+                final int chunk = Math.min(len - done, segment.remaining());
+                segment.get(b, off + done, chunk);
+                done += chunk;
+                position += chunk;
+            }
+        }
+
+        @Override
+        public int skipBytes(final int n) {
+            final int ret = (int) Math.max(0, Math.min(n, size - position));
+            position += ret;
+            return ret;
+        }
+
+        @Override
+        public boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        @Override
+        public int readUnsignedByte() throws IOException {
+            return readByte() & 0xff;
+        }
+
+        @Override
+        public short readShort() throws IOException {
+            return (short) readUnsignedShort();
+        }
+
+        @Override
+        public int readUnsignedShort() throws IOException {
+            return (readUnsignedByte() << 8) | readUnsignedByte();
+        }
+
+        @Override
+        public char readChar() throws IOException {
+            return (char) readUnsignedShort();
+        }
+
+        @Override
+        public int readInt() throws IOException {
+            return (readUnsignedShort() << 16) | readUnsignedShort();
+        }
+
+        @Override
+        public long readLong() throws IOException {
+            return ((long) readInt() << 32) | (readInt() & 0xffffffffL);
+        }
+
+        @Override
+        public float readFloat() throws IOException {
+            return Float.intBitsToFloat(readInt());
+        }
+
+        @Override
+        public double readDouble() throws IOException {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            if (position >= size) {
+                return null;
+            }
+
+            // Same semantics as DataInputStream.readLine(): bytes are mapped to chars directly
+            final StringBuilder sb = new StringBuilder();
+            while (position < size) {
+                final int c = readUnsignedByte();
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') {
+                    if (position < size && peekByte() == '\n') {
+                        position++;
+                    }
+                    break;
+                }
+                sb.append((char) c);
+            }
+            return sb.toString();
+        }
+
+        private byte peekByte() {
+            return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+        }
+
+        @Override
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(this);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.IOException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+
+/**
+ * Export and import of NormalizedNode snapshot files. Unlike the stream format provided by
+ * {@link NormalizedNodeDataStreams}, a snapshot file is read by mapping it into memory and decoding nodes only
+ * when they are accessed, so importing even a large snapshot takes constant time and subtrees which are never
+ * accessed do not occupy the heap.
+ * <p>
+ * A data tree can be restored from an imported snapshot by passing its root node to
+ * {@link org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory#create(NormalizedNode)}.
+ * Leaf values are subject to the same restrictions as in the stream format.
+ */
+@Beta
+public final class MappedNormalizedNodes {
+    private MappedNormalizedNodes() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Write a NormalizedNode into a snapshot file. Any previous content of the file is atomically replaced, so the
+     * target may be the file the node itself is mapped from.
+     *
+     * @param node Node to write
+     * @param file Target file
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the node contains an unsupported value
+     */
+    public static void writeNormalizedNode(final NormalizedNode<?, ?> node, final File file) throws IOException {
+        NormalizedNodeFileWriter.write(Preconditions.checkNotNull(node), Preconditions.checkNotNull(file));
+    }
+
+    /**
+     * Export the entire content of a data tree snapshot into a snapshot file. Any previous content of the file is
+     * replaced.
+     *
+     * @param snapshot Data tree snapshot
+     * @param file Target file
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the snapshot contains an unsupported value
+     */
+    public static void exportSnapshot(final DataTreeSnapshot snapshot, final File file) throws IOException {
+        final Optional<NormalizedNode<?, ?>> root = snapshot.readNode(YangInstanceIdentifier.builder().build());
+        Preconditions.checkArgument(root.isPresent(), "Snapshot %s does not have a root node", snapshot);
+        writeNormalizedNode(root.get(), file);
+    }
+
+    /**
+     * Map a snapshot file into memory and return the node it contains. The file must not be modified as long as
+     * the returned node, or any node derived from it, is in use.
+     *
+     * @param file Snapshot file
+     * @return Node stored in the file, decoded on demand
+     * @throws IOException if an I/O error occurs
+     * @throws InvalidNormalizedNodeStreamException if the file is not a valid snapshot file
+     */
+    public static NormalizedNode<?, ?> readNormalizedNode(final File file) throws IOException {
+        return MappedNormalizedNodeFile.readRoot(Preconditions.checkNotNull(file));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import java.io.DataInput;
+import java.io.IOException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Interface for reading {@link NormalizedNode}s, {@link YangInstanceIdentifier}s and {@link PathArgument}s
+ * written by a {@link NormalizedNodeDataOutput}. Instances can be obtained from
+ * {@link NormalizedNodeDataStreams#newDataInput(DataInput)}.
+ */
+@Beta
+public interface NormalizedNodeDataInput extends DataInput {
+    /**
+     * Read a normalized node and build an immutable instance of it.
+     *
+     * @return Immutable normalized node
+     * @throws IOException if an error occurs reading the stream
+     * @throws InvalidNormalizedNodeStreamException if the stream is malformed
+     */
+    NormalizedNode<?, ?> readNormalizedNode() throws IOException;
+
+    /**
+     * Read a normalized node and emit it as a series of events to a {@link NormalizedNodeStreamWriter}.
+     *
+     * @param writer Target writer
+     * @throws IOException if an error occurs reading the stream or is reported by the writer
+     * @throws InvalidNormalizedNodeStreamException if the stream is malformed
+     */
+    void streamNormalizedNode(NormalizedNodeStreamWriter writer) throws IOException;
+
+    PathArgument readPathArgument() throws IOException;
+
+    YangInstanceIdentifier readYangInstanceIdentifier() throws IOException;
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Interface for emitting {@link NormalizedNode}s, {@link YangInstanceIdentifier}s and {@link PathArgument}s
+ * in the binary stream format. Instances can be obtained from {@link NormalizedNodeDataStreams#newDataOutput(DataOutput)}
+ * and are read back by a {@link NormalizedNodeDataInput}.
+ * <p>
+ * QNames and their modules are written only once per stream, subsequent occurrences are encoded as references,
+ * hence the objects need to be read back in the same order they were written, using a single
+ * {@link NormalizedNodeDataInput}. Other data can be interleaved using the {@link DataOutput} methods.
+ */
+@Beta
+public interface NormalizedNodeDataOutput extends DataOutput {
+    void writeNormalizedNode(NormalizedNode<?, ?> normalizedNode) throws IOException;
+
+    void writePathArgument(PathArgument pathArgument) throws IOException;
+
+    void writeYangInstanceIdentifier(YangInstanceIdentifier identifier) throws IOException;
+}
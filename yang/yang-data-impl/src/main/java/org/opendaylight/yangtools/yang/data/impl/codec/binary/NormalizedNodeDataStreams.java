@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Factory methods for the binary NormalizedNode stream format. The format is considerably more compact than
+ * the XML and JSON representations: namespaces and QNames are written only once per stream, lengths are encoded
+ * as variable-length integers and leaf values are written in their native binary form.
+ * <p>
+ * Leaf values need to be of one of the types produced by the data codecs: String, Boolean, Byte, Short,
+ * Integer, Long, BigInteger, BigDecimal, byte[], QName, a Set of Strings (bits), YangInstanceIdentifier or null
+ * (empty).
+ */
+@Beta
+public final class NormalizedNodeDataStreams {
+    private NormalizedNodeDataStreams() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Create a new {@link NormalizedNodeDataOutput} writing to a {@link DataOutput}. The stream header is written
+     * immediately.
+     *
+     * @param output Backing output
+     * @return A new {@link NormalizedNodeDataOutput}
+     * @throws IOException if writing the header fails
+     */
+    public static NormalizedNodeDataOutput newDataOutput(final DataOutput output) throws IOException {
+        return NormalizedNodeOutputStreamWriter.create(output);
+    }
+
+    /**
+     * Create a new {@link NormalizedNodeStreamWriter} writing to a {@link DataOutput}, allowing producers to
+     * emit the binary format without instantiating the data tree. The stream header is written immediately.
+     * Each top-level node written to the returned writer can be read back using
+     * {@link NormalizedNodeDataInput#readNormalizedNode()}.
+     *
+     * @param output Backing output
+     * @return A new {@link NormalizedNodeStreamWriter}
+     * @throws IOException if writing the header fails
+     */
+    public static NormalizedNodeStreamWriter newStreamWriter(final DataOutput output) throws IOException {
+        return NormalizedNodeOutputStreamWriter.create(output);
+    }
+
+    /**
+     * Create a new {@link NormalizedNodeDataInput} reading from a {@link DataInput}. The stream header is read and
+     * validated immediately.
+     *
+     * @param input Backing input
+     * @return A new {@link NormalizedNodeDataInput}
+     * @throws IOException if reading the header fails
+     * @throws InvalidNormalizedNodeStreamException if the stream header is invalid or the version is not supported
+     */
+    public static NormalizedNodeDataInput newDataInput(final DataInput input) throws IOException {
+        return NormalizedNodeInputStreamReader.create(input);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.io.CountingOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writer of the snapshot file format read by {@link MappedNormalizedNodeFile}. Nodes are written depth-first, each
+ * record following the records of its children, so that a parent can refer to its children by their offsets.
+ */
+final class NormalizedNodeFileWriter extends BinaryValueWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(NormalizedNodeFileWriter.class);
+
+    private final Map<QNameModule, Integer> moduleIndexes = new HashMap<>();
+    private final Map<QName, Integer> qnameIndexes = new HashMap<>();
+    private final List<QNameModule> modules = new ArrayList<>();
+    private final List<QName> qnames = new ArrayList<>();
+    private final CountingOutputStream counter;
+
+    private NormalizedNodeFileWriter(final CountingOutputStream counter) {
+        super(new DataOutputStream(counter));
+        this.counter = counter;
+    }
+
+    /**
+     * Write a NormalizedNode into a file, replacing its previous content. The content is written into a temporary
+     * file in the same directory, which then atomically replaces the target. This way the target file is never
+     * truncated, so it can safely be the file the node itself is mapped from.
+     *
+     * @param node Root node
+     * @param file Target file
+     * @throws IOException if an I/O error occurs
+     */
+    static void write(final NormalizedNode<?, ?> node, final File file) throws IOException {
+        final File target = file.getAbsoluteFile();
+        final File temp = File.createTempFile(target.getName(), ".tmp", target.getParentFile());
+        boolean success = false;
+        try {
+            try (final FileOutputStream fos = new FileOutputStream(temp);
+                    final CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(fos))) {
+                final NormalizedNodeFileWriter writer = new NormalizedNodeFileWriter(counter);
+                writer.writeFile(node);
+                counter.flush();
+                fos.getFD().sync();
+            }
+
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            success = true;
+        } finally {
+            if (!success && !temp.delete()) {
+                LOG.warn("Failed to remove temporary file {}", temp);
+            }
+        }
+    }
+
+    private void writeFile(final NormalizedNode<?, ?> root) throws IOException {
+        output.writeByte(TokenTypes.FILE_SIGNATURE_MARKER);
+        output.writeByte(TokenTypes.FILE_VERSION);
+
+        final long rootOffset = writeNode(root);
+        final long dictionaryOffset = counter.getCount();
+        writeDictionary();
+
+        // Fixed-size trailer, so the reader can find it from the end of the file
+        output.writeLong(dictionaryOffset);
+        output.writeLong(rootOffset);
+    }
+
+    private long writeNode(final NormalizedNode<?, ?> node) throws IOException {
+        if (node instanceof LeafNode) {
+            final long offset = counter.getCount();
+            output.writeByte(TokenTypes.LEAF_NODE);
+            writeQName(node.getNodeType());
+            writeObject(node.getValue());
+            return offset;
+        }
+        if (node instanceof LeafSetEntryNode) {
+            final long offset = counter.getCount();
+            output.writeByte(TokenTypes.LEAF_SET_ENTRY);
+            writeQName(node.getNodeType());
+            writeObject(node.getValue());
+            return offset;
+        }
+        if (node instanceof AnyXmlNode) {
+            final long offset = counter.getCount();
+            output.writeByte(TokenTypes.ANYXML);
+            writeQName(node.getNodeType());
+            writeDOMSource(node.getValue());
+            return offset;
+        }
+
+        final byte nodeType = getContainerType(node);
+        final Collection<?> children = (Collection<?>) node.getValue();
+        final long[] childOffsets = new long[children.size()];
+        int i = 0;
+        for (Object child : children) {
+            childOffsets[i++] = writeNode((NormalizedNode<?, ?>) child);
+        }
+
+        final long offset = counter.getCount();
+        output.writeByte(nodeType);
+        switch (nodeType) {
+        case TokenTypes.MAP_ENTRY:
+            writeNodeIdentifierWithPredicates((NodeIdentifierWithPredicates) node.getIdentifier());
+            break;
+        case TokenTypes.AUGMENTATION:
+            writeAugmentationIdentifier((AugmentationIdentifier) node.getIdentifier());
+            break;
+        default:
+            writeQName(node.getNodeType());
+            break;
+        }
+
+        // Children are referenced backwards, as they always precede their parent
+        writeVarInt(childOffsets.length);
+        for (long childOffset : childOffsets) {
+            writeVarLong(offset - childOffset);
+        }
+        return offset;
+    }
+
+    private static byte getContainerType(final NormalizedNode<?, ?> node) {
+        if (node instanceof ContainerNode) {
+            return TokenTypes.CONTAINER;
+        }
+        if (node instanceof MapEntryNode) {
+            return TokenTypes.MAP_ENTRY;
+        }
+        if (node instanceof ChoiceNode) {
+            return TokenTypes.CHOICE;
+        }
+        if (node instanceof AugmentationNode) {
+            return TokenTypes.AUGMENTATION;
+        }
+        if (node instanceof UnkeyedListEntryNode) {
+            return TokenTypes.UNKEYED_LIST_ITEM;
+        }
+        if (node instanceof OrderedMapNode) {
+            return TokenTypes.ORDERED_MAP;
+        }
+        if (node instanceof MapNode) {
+            return TokenTypes.MAP;
+        }
+        if (node instanceof OrderedLeafSetNode) {
+            return TokenTypes.ORDERED_LEAF_SET;
+        }
+        if (node instanceof LeafSetNode) {
+            return TokenTypes.LEAF_SET;
+        }
+        if (node instanceof UnkeyedListNode) {
+            return TokenTypes.UNKEYED_LIST;
+        }
+
+        throw new IllegalArgumentException("Unsupported node " + node);
+    }
+
+    private void writeDictionary() throws IOException {
+        writeVarInt(modules.size());
+        for (QNameModule module : modules) {
+            writeString(module.getNamespace().toString());
+            final String revision = module.getFormattedRevision();
+            writeString(revision == null ? "" : revision);
+        }
+
+        writeVarInt(qnames.size());
+        for (QName qname : qnames) {
+            writeVarInt(moduleIndexes.get(qname.getModule()));
+            writeString(qname.getLocalName());
+        }
+    }
+
+    @Override
+    void writeQName(final QName qname) throws IOException {
+        Integer index = qnameIndexes.get(qname);
+        if (index == null) {
+            final QNameModule module = qname.getModule();
+            if (!moduleIndexes.containsKey(module)) {
+                moduleIndexes.put(module, modules.size());
+                modules.add(module);
+            }
+
+            index = qnames.size();
+            qnameIndexes.put(qname, index);
+            qnames.add(qname);
+        }
+
+        writeVarInt(index);
+    }
+}
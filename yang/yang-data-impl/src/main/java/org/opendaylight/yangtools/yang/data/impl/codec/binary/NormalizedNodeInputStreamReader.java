@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInput;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+
+/**
+ * {@link NormalizedNodeDataInput} reading the binary stream format emitted by {@link NormalizedNodeOutputStreamWriter}.
+ * The {@link DataInput} methods are delegated to the backing input.
+ */
+final class NormalizedNodeInputStreamReader extends BinaryValueReader implements NormalizedNodeDataInput {
+    private final List<QNameModule> modules = new ArrayList<>();
+    private final List<QName> qnames = new ArrayList<>();
+
+    private NormalizedNodeInputStreamReader(final DataInput input) {
+        super(input);
+    }
+
+    static NormalizedNodeInputStreamReader create(final DataInput input) throws IOException {
+        final byte marker = input.readByte();
+        if (marker != TokenTypes.SIGNATURE_MARKER) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid signature marker: %d", marker));
+        }
+        final byte version = input.readByte();
+        if (version != TokenTypes.VERSION) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Unsupported stream version %d", version));
+        }
+
+        return new NormalizedNodeInputStreamReader(input);
+    }
+
+    @Override
+    public NormalizedNode<?, ?> readNormalizedNode() throws IOException {
+        final byte nodeType = input.readByte();
+        if (nodeType == TokenTypes.STANDALONE_LEAF_SET_ENTRY) {
+            final QName qname = readQName();
+            final Object value = readObject();
+            return Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue(qname, value))
+                    .withValue(value).build();
+        }
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        streamNode(nodeType, ImmutableNormalizedNodeStreamWriter.from(result));
+        return result.getResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Leaf set entries which were written on their own are emitted as a {@link NormalizedNodeStreamWriter#leafSetEntryNode(Object)}
+     * event, hence the writer has to be positioned inside a leaf set.
+     */
+    @Override
+    public void streamNormalizedNode(final NormalizedNodeStreamWriter writer) throws IOException {
+        Preconditions.checkNotNull(writer);
+
+        final byte nodeType = input.readByte();
+        if (nodeType == TokenTypes.STANDALONE_LEAF_SET_ENTRY) {
+            readQName();
+            writer.leafSetEntryNode(readObject());
+        } else {
+            streamNode(nodeType, writer);
+        }
+    }
+
+    private void streamNode(final byte nodeType, final NormalizedNodeStreamWriter writer) throws IOException {
+        switch (nodeType) {
+        case TokenTypes.LEAF_NODE:
+            final NodeIdentifier leafName = readNodeIdentifier();
+            writer.leafNode(leafName, readObject());
+            return;
+        case TokenTypes.LEAF_SET_ENTRY:
+            writer.leafSetEntryNode(readObject());
+            return;
+        case TokenTypes.ANYXML:
+            final NodeIdentifier anyxmlName = readNodeIdentifier();
+            writer.anyxmlNode(anyxmlName, readDOMSource());
+            return;
+        case TokenTypes.LEAF_SET:
+            writer.startLeafSet(readNodeIdentifier(), readSizeHint());
+            break;
+        case TokenTypes.CONTAINER:
+            writer.startContainerNode(readNodeIdentifier(), readSizeHint());
+            break;
+        case TokenTypes.UNKEYED_LIST:
+            writer.startUnkeyedList(readNodeIdentifier(), readSizeHint());
+            break;
+        case TokenTypes.UNKEYED_LIST_ITEM:
+            writer.startUnkeyedListItem(readNodeIdentifier(), readSizeHint());
+            break;
+        case TokenTypes.MAP:
+            writer.startMapNode(readNodeIdentifier(), readSizeHint());
+            break;
+        case TokenTypes.MAP_ENTRY:
+            final NodeIdentifierWithPredicates entryId = readNodeIdentifierWithPredicates();
+            writer.startMapEntryNode(entryId, readSizeHint());
+            break;
+        case TokenTypes.ORDERED_MAP:
+            writer.startOrderedMapNode(readNodeIdentifier(), readSizeHint());
+            break;
+        case TokenTypes.CHOICE:
+            writer.startChoiceNode(readNodeIdentifier(), readSizeHint());
+            break;
+        case TokenTypes.AUGMENTATION:
+            writer.startAugmentationNode(readAugmentationIdentifier());
+            break;
+        default:
+            throw new InvalidNormalizedNodeStreamException("Unexpected node type " + nodeType);
+        }
+
+        // Children of a container node, terminated by END_NODE
+        while (true) {
+            final byte childType = input.readByte();
+            if (childType == TokenTypes.END_NODE) {
+                writer.endNode();
+                return;
+            }
+            streamNode(childType, writer);
+        }
+    }
+
+    private int readSizeHint() throws IOException {
+        final int hint = readVarInt();
+        return hint == 0 ? NormalizedNodeStreamWriter.UNKNOWN_SIZE : hint - 1;
+    }
+
+    @Override
+    QName readQName() throws IOException {
+        final int index = readVarInt();
+        if (index != TokenTypes.DEFINITION) {
+            if (index > qnames.size()) {
+                throw new InvalidNormalizedNodeStreamException("Invalid QName reference " + index);
+            }
+            return qnames.get(index - 1);
+        }
+
+        final QNameModule module = readModule();
+        final QName qname = QName.cachedReference(QName.create(module, readString()));
+        qnames.add(qname);
+        return qname;
+    }
+
+    private QNameModule readModule() throws IOException {
+        final int index = readVarInt();
+        if (index != TokenTypes.DEFINITION) {
+            if (index > modules.size()) {
+                throw new InvalidNormalizedNodeStreamException("Invalid module reference " + index);
+            }
+            return modules.get(index - 1);
+        }
+
+        final String namespace = readString();
+        final String revision = readString();
+        final QNameModule module;
+        try {
+            module = QNameModule.cachedReference(QNameModule.create(new URI(namespace),
+                revision.isEmpty() ? null : QName.parseRevision(revision)));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new InvalidNormalizedNodeStreamException("Invalid module " + namespace + " revision " + revision, e);
+        }
+        modules.add(module);
+        return module;
+    }
+
+    @Override
+    public void readFully(final byte[] b) throws IOException {
+        input.readFully(b);
+    }
+
+    @Override
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        input.readFully(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(final int n) throws IOException {
+        return input.skipBytes(n);
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return input.readBoolean();
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return input.readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return input.readUnsignedByte();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return input.readShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return input.readUnsignedShort();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return input.readChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return input.readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return input.readLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return input.readFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return input.readDouble();
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        return input.readLine();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return input.readUTF();
+    }
+}
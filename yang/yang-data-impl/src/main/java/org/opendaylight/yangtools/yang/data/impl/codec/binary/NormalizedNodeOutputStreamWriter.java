@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import java.io.DataOutput;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+
+/**
+ * {@link NormalizedNodeStreamWriter} which emits the binary stream format to a {@link DataOutput}. It also implements
+ * {@link NormalizedNodeDataOutput}, delegating the {@link DataOutput} methods to the backing output.
+ */
+final class NormalizedNodeOutputStreamWriter extends BinaryValueWriter
+        implements NormalizedNodeDataOutput, NormalizedNodeStreamWriter {
+    private final Map<QNameModule, Integer> modules = new HashMap<>();
+    private final Map<QName, Integer> qnames = new HashMap<>();
+
+    private NormalizedNodeWriter normalizedNodeWriter;
+
+    private NormalizedNodeOutputStreamWriter(final DataOutput output) {
+        super(output);
+    }
+
+    static NormalizedNodeOutputStreamWriter create(final DataOutput output) throws IOException {
+        final NormalizedNodeOutputStreamWriter ret = new NormalizedNodeOutputStreamWriter(output);
+        output.writeByte(TokenTypes.SIGNATURE_MARKER);
+        output.writeByte(TokenTypes.VERSION);
+        return ret;
+    }
+
+    @Override
+    public void writeNormalizedNode(final NormalizedNode<?, ?> node) throws IOException {
+        if (node instanceof LeafSetEntryNode) {
+            // The stream writer API does not allow emitting a leaf set entry with its identifier
+            final LeafSetEntryNode<?> entry = (LeafSetEntryNode<?>) node;
+            output.writeByte(TokenTypes.STANDALONE_LEAF_SET_ENTRY);
+            writeQName(entry.getNodeType());
+            writeObject(entry.getValue());
+            return;
+        }
+
+        if (normalizedNodeWriter == null) {
+            normalizedNodeWriter = NormalizedNodeWriter.forStreamWriter(this, false);
+        }
+        normalizedNodeWriter.write(node);
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        output.writeByte(TokenTypes.LEAF_NODE);
+        writeQName(name.getNodeType());
+        writeObject(value);
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(TokenTypes.LEAF_SET, name, childSizeHint);
+    }
+
+    @Override
+    public void leafSetEntryNode(final Object value) throws IOException {
+        output.writeByte(TokenTypes.LEAF_SET_ENTRY);
+        writeObject(value);
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(TokenTypes.CONTAINER, name, childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(TokenTypes.UNKEYED_LIST, name, childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(TokenTypes.UNKEYED_LIST_ITEM, name, childSizeHint);
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(TokenTypes.MAP, name, childSizeHint);
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        output.writeByte(TokenTypes.MAP_ENTRY);
+        writeNodeIdentifierWithPredicates(identifier);
+        writeSizeHint(childSizeHint);
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(TokenTypes.ORDERED_MAP, name, childSizeHint);
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(TokenTypes.CHOICE, name, childSizeHint);
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        output.writeByte(TokenTypes.AUGMENTATION);
+        writeAugmentationIdentifier(identifier);
+    }
+
+    @Override
+    public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+        output.writeByte(TokenTypes.ANYXML);
+        writeQName(name.getNodeType());
+        writeDOMSource(value);
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        output.writeByte(TokenTypes.END_NODE);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (output instanceof Flushable) {
+            ((Flushable) output).flush();
+        }
+    }
+
+    /**
+     * Flushes the backing output, but does not close it, as it is owned by the caller.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void startNode(final byte nodeType, final NodeIdentifier name, final int childSizeHint)
+            throws IOException {
+        output.writeByte(nodeType);
+        writeQName(name.getNodeType());
+        writeSizeHint(childSizeHint);
+    }
+
+    private void writeSizeHint(final int childSizeHint) throws IOException {
+        // Zero is reserved for UNKNOWN_SIZE
+        writeVarInt(childSizeHint < 0 ? 0 : childSizeHint + 1);
+    }
+
+    @Override
+    void writeQName(final QName qname) throws IOException {
+        final Integer index = qnames.get(qname);
+        if (index != null) {
+            writeVarInt(index + 1);
+            return;
+        }
+
+        writeVarInt(TokenTypes.DEFINITION);
+        writeModule(qname.getModule());
+        writeString(qname.getLocalName());
+        qnames.put(qname, qnames.size());
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer index = modules.get(module);
+        if (index != null) {
+            writeVarInt(index + 1);
+            return;
+        }
+
+        writeVarInt(TokenTypes.DEFINITION);
+        writeString(module.getNamespace().toString());
+
+        // Revision is written in its string form, so it does not depend on the time zone
+        final String revision = module.getFormattedRevision();
+        writeString(revision == null ? "" : revision);
+        modules.put(module, modules.size());
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        output.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b) throws IOException {
+        output.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        output.write(b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(final boolean v) throws IOException {
+        output.writeBoolean(v);
+    }
+
+    @Override
+    public void writeByte(final int v) throws IOException {
+        output.writeByte(v);
+    }
+
+    @Override
+    public void writeShort(final int v) throws IOException {
+        output.writeShort(v);
+    }
+
+    @Override
+    public void writeChar(final int v) throws IOException {
+        output.writeChar(v);
+    }
+
+    @Override
+    public void writeInt(final int v) throws IOException {
+        output.writeInt(v);
+    }
+
+    @Override
+    public void writeLong(final long v) throws IOException {
+        output.writeLong(v);
+    }
+
+    @Override
+    public void writeFloat(final float v) throws IOException {
+        output.writeFloat(v);
+    }
+
+    @Override
+    public void writeDouble(final double v) throws IOException {
+        output.writeDouble(v);
+    }
+
+    @Override
+    public void writeBytes(final String s) throws IOException {
+        output.writeBytes(s);
+    }
+
+    @Override
+    public void writeChars(final String s) throws IOException {
+        output.writeChars(s);
+    }
+
+    @Override
+    public void writeUTF(final String s) throws IOException {
+        output.writeUTF(s);
+    }
+}
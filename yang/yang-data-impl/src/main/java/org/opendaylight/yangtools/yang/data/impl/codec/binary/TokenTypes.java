@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+/**
+ * Constants used in the binary NormalizedNode stream format.
+ *
+ * The stream starts with {@link #SIGNATURE_MARKER}, followed by {@link #VERSION}. Each node is encoded as a
+ * node type byte, followed by its identifier and, depending on the node type, either its value or its size
+ * hint, children and a terminating {@link #END_NODE}.
+ *
+ * QNames and QNameModules are encoded as a variable-length integer: zero means the definition follows inline
+ * and is assigned the next free index, any other value N is a back-reference to the definition with index
+ * N - 1. Strings and sizes are prefixed by their length encoded as a variable-length integer.
+ *
+ * The snapshot file format starts with {@link #FILE_SIGNATURE_MARKER}, followed by {@link #FILE_VERSION}. It uses
+ * the same node types, but each node is a self-contained record written after all of its children, which refers
+ * to them by their distance from the start of the record. QNames are references into a dictionary stored after
+ * the records. The file ends with the offsets of the dictionary and of the root node record.
+ */
+final class TokenTypes {
+    static final byte SIGNATURE_MARKER = (byte) 0xab;
+    static final byte VERSION = 1;
+    static final byte FILE_SIGNATURE_MARKER = (byte) 0xac;
+    static final byte FILE_VERSION = 1;
+
+    // Node types
+    static final byte END_NODE = 0;
+    static final byte LEAF_NODE = 1;
+    static final byte LEAF_SET = 2;
+    static final byte LEAF_SET_ENTRY = 3;
+    static final byte CONTAINER = 4;
+    static final byte UNKEYED_LIST = 5;
+    static final byte UNKEYED_LIST_ITEM = 6;
+    static final byte MAP = 7;
+    static final byte MAP_ENTRY = 8;
+    static final byte ORDERED_MAP = 9;
+    static final byte CHOICE = 10;
+    static final byte AUGMENTATION = 11;
+    static final byte ANYXML = 12;
+    // A leaf set entry written outside of a leaf set, carrying its own NodeWithValue identifier
+    static final byte STANDALONE_LEAF_SET_ENTRY = 13;
+    // Snapshot file format only, the stream format does not distinguish ordered leaf sets
+    static final byte ORDERED_LEAF_SET = 14;
+
+    // Path argument types
+    static final byte NODE_IDENTIFIER = 1;
+    static final byte NODE_IDENTIFIER_WITH_PREDICATES = 2;
+    static final byte NODE_WITH_VALUE = 3;
+    static final byte AUGMENTATION_IDENTIFIER = 4;
+
+    // Dictionary reference marking an inline definition
+    static final int DEFINITION = 0;
+
+    private TokenTypes() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Type tags of leaf values in the binary NormalizedNode stream format.
+ */
+final class ValueTypes {
+    // Used for type empty, whose value is represented as null
+    static final byte NULL_TYPE = 0;
+    static final byte STRING_TYPE = 1;
+    static final byte FALSE_TYPE = 2;
+    static final byte TRUE_TYPE = 3;
+    static final byte BYTE_TYPE = 4;
+    static final byte SHORT_TYPE = 5;
+    static final byte INT_TYPE = 6;
+    static final byte LONG_TYPE = 7;
+    static final byte BIG_INTEGER_TYPE = 8;
+    static final byte BIG_DECIMAL_TYPE = 9;
+    static final byte BINARY_TYPE = 10;
+    static final byte QNAME_TYPE = 11;
+    static final byte BITS_TYPE = 12;
+    static final byte YANG_IDENTIFIER_TYPE = 13;
+
+    private static final Map<Class<?>, Byte> TYPES = ImmutableMap.<Class<?>, Byte>builder()
+            .put(String.class, STRING_TYPE)
+            .put(Byte.class, BYTE_TYPE)
+            .put(Short.class, SHORT_TYPE)
+            .put(Integer.class, INT_TYPE)
+            .put(Long.class, LONG_TYPE)
+            .put(BigInteger.class, BIG_INTEGER_TYPE)
+            .put(BigDecimal.class, BIG_DECIMAL_TYPE)
+            .put(byte[].class, BINARY_TYPE)
+            .put(QName.class, QNAME_TYPE)
+            .build();
+
+    private ValueTypes() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Determine the type tag of a value.
+     *
+     * @param value Leaf value, may be null
+     * @return Type tag
+     * @throws IllegalArgumentException if the value's type is not supported
+     */
+    static byte getSerializableType(final Object value) {
+        if (value == null) {
+            return NULL_TYPE;
+        }
+
+        final Byte type = TYPES.get(value.getClass());
+        if (type != null) {
+            return type;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? TRUE_TYPE : FALSE_TYPE;
+        }
+        if (value instanceof Set) {
+            return BITS_TYPE;
+        }
+        if (value instanceof YangInstanceIdentifier) {
+            return YANG_IDENTIFIER_TYPE;
+        }
+
+        throw new IllegalArgumentException("Unsupported value type " + value.getClass());
+    }
+}
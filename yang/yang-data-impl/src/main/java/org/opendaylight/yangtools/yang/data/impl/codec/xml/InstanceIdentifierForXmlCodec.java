@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.impl.codec.xml;
 
 import java.net.URI;
 import java.util.Map.Entry;
+import javax.xml.namespace.NamespaceContext;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -24,6 +25,22 @@ public final class InstanceIdentifierForXmlCodec {
         return codec.deserialize(element.getTextContent().trim());
     }
 
+    /**
+     * Deserialize an instance identifier, resolving prefixes in a namespace context, such as that of
+     * a {@link javax.xml.stream.XMLStreamReader}.
+     *
+     * @param str Serialized instance identifier
+     * @param namespaceContext Namespace context in which prefixes are resolved
+     * @param schemaContext Schema context
+     * @return Instance identifier
+     */
+    public static YangInstanceIdentifier deserialize(final String str, final NamespaceContext namespaceContext,
+            final SchemaContext schemaContext) {
+        final NamespaceContextInstanceIdentifierParser codec =
+                new NamespaceContextInstanceIdentifierParser(schemaContext, namespaceContext);
+        return codec.deserialize(str.trim());
+    }
+
     public static Element serialize(final YangInstanceIdentifier id, final Element element, SchemaContext context) {
         final RandomPrefixInstanceIdentifierSerializer codec = new RandomPrefixInstanceIdentifierSerializer(context);
         final String str = codec.serialize(id);
@@ -54,4 +71,20 @@ public final class InstanceIdentifierForXmlCodec {
         return codec.deserialize(getIdAndPrefixAsStr(xPathArgument).trim());
     }
 
+    /**
+     * Deserialize an identity, resolving its prefix in a namespace context, such as that of
+     * a {@link javax.xml.stream.XMLStreamReader}.
+     *
+     * @param xPathArgument Serialized identity
+     * @param namespaceContext Namespace context in which the prefix is resolved
+     * @param schemaContext Schema context
+     * @return Identity QName
+     */
+    public static QName toIdentity(final String xPathArgument, final NamespaceContext namespaceContext,
+            final SchemaContext schemaContext) {
+        final NamespaceContextIdentityrefParser codec =
+                new NamespaceContextIdentityrefParser(schemaContext, namespaceContext);
+        return codec.deserialize(getIdAndPrefixAsStr(xPathArgument).trim());
+    }
+
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.xml;
+
+import com.google.common.base.Preconditions;
+import java.net.URI;
+import javax.xml.namespace.NamespaceContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.util.AbstractStringIdentityrefCodec;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+final class NamespaceContextIdentityrefParser extends AbstractStringIdentityrefCodec {
+    private final SchemaContext schema;
+    private final NamespaceContext context;
+
+    NamespaceContextIdentityrefParser(final SchemaContext schema, final NamespaceContext context) {
+        this.context = Preconditions.checkNotNull(context);
+        this.schema = Preconditions.checkNotNull(schema);
+    }
+
+    @Override
+    protected String prefixForNamespace(final URI namespace) {
+        return context.getPrefix(namespace.toString());
+    }
+
+    @Override
+    protected QName createQName(final String prefix, final String localName) {
+        return NamespaceContextInstanceIdentifierParser.createQName(schema, context, prefix, localName);
+    }
+}
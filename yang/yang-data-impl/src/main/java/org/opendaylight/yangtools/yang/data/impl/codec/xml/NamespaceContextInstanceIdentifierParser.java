@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.xml;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import java.net.URI;
+import javax.xml.namespace.NamespaceContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.util.AbstractStringInstanceIdentifierCodec;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+final class NamespaceContextInstanceIdentifierParser extends AbstractStringInstanceIdentifierCodec {
+    private final SchemaContext schema;
+    private final NamespaceContext context;
+    private final DataSchemaContextTree dataContextTree;
+
+    NamespaceContextInstanceIdentifierParser(final SchemaContext schema, final NamespaceContext context) {
+        this.context = Preconditions.checkNotNull(context);
+        this.schema = Preconditions.checkNotNull(schema);
+        this.dataContextTree = DataSchemaContextTree.from(schema);
+    }
+
+    @Override
+    protected String prefixForNamespace(final URI namespace) {
+        return context.getPrefix(namespace.toString());
+    }
+
+    @Override
+    protected QName createQName(final String prefix, final String localName) {
+        return createQName(schema, context, prefix, localName);
+    }
+
+    @Override
+    protected DataSchemaContextTree getDataContextTree() {
+        return dataContextTree;
+    }
+
+    static QName createQName(final SchemaContext schema, final NamespaceContext context, final String prefix,
+            final String localName) {
+        // Unbound prefixes are reported either as null or as an empty string
+        final String namespace = context.getNamespaceURI(prefix);
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(namespace), "Failed to lookup prefix %s", prefix);
+
+        final URI ns = URI.create(namespace);
+        final Module module = schema.findModuleByNamespaceAndRevision(ns, null);
+        Preconditions.checkArgument(module != null, "Namespace %s is not owned by a module", ns);
+        return QName.create(module.getQNameModule(), localName);
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.xml;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.ListKeyLayout;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamAttributeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
+import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.IdentityrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.EffectiveAugmentationSchema;
+import org.opendaylight.yangtools.yang.model.util.InstanceIdentifierType;
+import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * This class parses XML elements from an {@link XMLStreamReader} and emits them into a
+ * {@link NormalizedNodeStreamWriter} as soon as they are read, without building a DOM representation of the document.
+ * It produces the same structure as the parsers provided by
+ * {@link org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.parser.DomToNormalizedNodeParserFactory},
+ * with only anyxml content being materialized.
+ *
+ * Since events cannot be reordered without buffering, the input has to satisfy the following, which holds for
+ * NETCONF messages and for the output of {@link XMLStreamNormalizedNodeStreamWriter}:
+ * <ul>
+ * <li>list entry keys precede any other child of the entry, as required by RFC6020,</li>
+ * <li>entries of a single list or leaf-list, as well as children of a single choice or augmentation, are not
+ *     interleaved with other siblings.</li>
+ * </ul>
+ * Input which does not satisfy these is reported as an {@link IllegalStateException}.
+ */
+@Beta
+public final class XmlParserStream implements Closeable, Flushable {
+    private final Map<Object, Level> levels = new IdentityHashMap<>();
+    private final Map<DataSchemaNode, TypeDefinition<?>> leafrefTypes = new IdentityHashMap<>();
+    private final NormalizedNodeStreamWriter writer;
+    private final NormalizedNodeStreamAttributeWriter attributeWriter;
+    private final XmlCodecProvider codecProvider;
+    private final SchemaContext schema;
+    private final DataNodeContainer parentNode;
+
+    private XmlParserStream(final NormalizedNodeStreamWriter writer, final XmlCodecProvider codecProvider,
+            final SchemaContext schemaContext, final DataNodeContainer parentNode) {
+        this.writer = Preconditions.checkNotNull(writer);
+        this.attributeWriter = writer instanceof NormalizedNodeStreamAttributeWriter
+                ? (NormalizedNodeStreamAttributeWriter) writer : null;
+        this.codecProvider = Preconditions.checkNotNull(codecProvider);
+        this.schema = Preconditions.checkNotNull(schemaContext);
+        this.parentNode = parentNode;
+    }
+
+    private static DataNodeContainer toParentNode(final SchemaNode parentNode) {
+        Preconditions.checkArgument(parentNode instanceof DataNodeContainer,
+            "Instance of DataNodeContainer class awaited, not %s", parentNode);
+        return (DataNodeContainer) parentNode;
+    }
+
+    public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext) {
+        return new XmlParserStream(writer, XmlUtils.DEFAULT_XML_CODEC_PROVIDER, schemaContext, schemaContext);
+    }
+
+    public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
+            final SchemaNode parentNode) {
+        return new XmlParserStream(writer, XmlUtils.DEFAULT_XML_CODEC_PROVIDER, schemaContext,
+            toParentNode(parentNode));
+    }
+
+    public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final XmlCodecProvider codecProvider,
+            final SchemaContext schemaContext, final SchemaNode parentNode) {
+        return new XmlParserStream(writer, codecProvider, schemaContext, toParentNode(parentNode));
+    }
+
+    /**
+     * Parse the element the reader is positioned at, which corresponds to the parent node this parser was created
+     * for. Its children are emitted into the writer, the element itself is not. The reader has to be positioned at
+     * the beginning of the document or at a start element. It is left positioned at the corresponding end element.
+     *
+     * @param reader Reader to read from
+     * @return This parser
+     * @throws XMLStreamException if the input cannot be read
+     * @throws IOException if the writer reports an error
+     */
+    public XmlParserStream parse(final XMLStreamReader reader) throws XMLStreamException, IOException {
+        if (reader.getEventType() == XMLStreamConstants.START_DOCUMENT) {
+            reader.nextTag();
+        }
+        Preconditions.checkState(reader.isStartElement(), "Reader has to be positioned at a start element, not at %s",
+            reader.getEventType());
+
+        streamChildren(reader, levelFor(parentNode));
+        return this;
+    }
+
+    private void streamChildren(final XMLStreamReader reader, final Level level)
+            throws XMLStreamException, IOException {
+        // Lists, leaf-lists, choices and augmentations currently open on the writer, outermost first
+        final List<PathArgument> open = new ArrayList<>(2);
+        Set<PathArgument> closed = Collections.emptySet();
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            final Resolution child = level.resolve(reader.getName());
+
+            int common = 0;
+            while (common < open.size() && common < child.wrappers.size()
+                    && open.get(common).equals(child.wrappers.get(common).identifier)) {
+                common++;
+            }
+            while (open.size() > common) {
+                if (closed.isEmpty()) {
+                    closed = new HashSet<>();
+                }
+                closed.add(open.remove(open.size() - 1));
+                writer.endNode();
+            }
+            for (int i = common; i < child.wrappers.size(); ++i) {
+                final Wrapper wrapper = child.wrappers.get(i);
+                Preconditions.checkState(!closed.contains(wrapper.identifier),
+                    "Element %s belongs to %s, which was interrupted by other siblings", reader.getName(),
+                    wrapper.identifier);
+                startWrapper(wrapper);
+                open.add(wrapper.identifier);
+            }
+
+            streamChild(reader, child);
+        }
+
+        for (int i = open.size(); i > 0; --i) {
+            writer.endNode();
+        }
+    }
+
+    private void startWrapper(final Wrapper wrapper) throws IOException {
+        final Object wrapperSchema = wrapper.schema;
+        if (wrapperSchema instanceof AugmentationSchema) {
+            writer.startAugmentationNode(SchemaUtils.getNodeIdentifierForAugmentation((AugmentationSchema) wrapperSchema));
+        } else if (wrapperSchema instanceof ChoiceSchemaNode) {
+            writer.startChoiceNode(wrapper.identifier(), NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else if (wrapperSchema instanceof LeafListSchemaNode) {
+            writer.startLeafSet(wrapper.identifier(), NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            final ListSchemaNode list = (ListSchemaNode) wrapperSchema;
+            if (list.getKeyDefinition().isEmpty()) {
+                writer.startUnkeyedList(wrapper.identifier(), NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            } else if (list.isUserOrdered()) {
+                writer.startOrderedMapNode(wrapper.identifier(), NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            } else {
+                writer.startMapNode(wrapper.identifier(), NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            }
+        }
+    }
+
+    private void streamChild(final XMLStreamReader reader, final Resolution child)
+            throws XMLStreamException, IOException {
+        final DataSchemaNode childSchema = child.schema;
+        if (childSchema instanceof LeafSchemaNode) {
+            final Map<QName, String> attributes = attributes(reader);
+            final Object value = readValue(reader, childSchema, ((LeafSchemaNode) childSchema).getType());
+            if (attributes.isEmpty()) {
+                writer.leafNode(child.identifier, value);
+            } else {
+                attributeWriter.leafNode(child.identifier, value, attributes);
+            }
+        } else if (childSchema instanceof LeafListSchemaNode) {
+            final Map<QName, String> attributes = attributes(reader);
+            final Object value = readValue(reader, childSchema, ((LeafListSchemaNode) childSchema).getType());
+            if (attributes.isEmpty()) {
+                writer.leafSetEntryNode(value);
+            } else {
+                attributeWriter.leafSetEntryNode(value, attributes);
+            }
+        } else if (childSchema instanceof ContainerSchemaNode) {
+            final Map<QName, String> attributes = attributes(reader);
+            if (attributes.isEmpty()) {
+                writer.startContainerNode(child.identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            } else {
+                attributeWriter.startContainerNode(child.identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE,
+                    attributes);
+            }
+            streamChildren(reader, levelFor(childSchema));
+            writer.endNode();
+        } else if (childSchema instanceof ListSchemaNode) {
+            final ListSchemaNode list = (ListSchemaNode) childSchema;
+            if (list.getKeyDefinition().isEmpty()) {
+                final Map<QName, String> attributes = attributes(reader);
+                if (attributes.isEmpty()) {
+                    writer.startUnkeyedListItem(child.identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+                } else {
+                    attributeWriter.startUnkeyedListItem(child.identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE,
+                        attributes);
+                }
+                streamChildren(reader, levelFor(list));
+                writer.endNode();
+            } else {
+                streamMapEntry(reader, list);
+            }
+        } else if (childSchema instanceof AnyXmlSchemaNode) {
+            writer.anyxmlNode(child.identifier, readAnyXml(reader));
+        } else {
+            throw new IllegalStateException("Unsupported schema node " + childSchema);
+        }
+    }
+
+    private void streamMapEntry(final XMLStreamReader reader, final ListSchemaNode list)
+            throws XMLStreamException, IOException {
+        final Map<QName, String> attributes = attributes(reader);
+        final Level level = levelFor(list);
+        final List<QName> keys = list.getKeyDefinition();
+        final Object[] values = new Object[keys.size()];
+        final Resolution[] leaves = new Resolution[keys.size()];
+
+        for (int found = 0; found < keys.size(); ++found) {
+            Preconditions.checkState(reader.nextTag() == XMLStreamConstants.START_ELEMENT,
+                "Entry of %s is missing some of its keys", list.getQName());
+            final Resolution key = level.resolve(reader.getName());
+            final int offset = key.wrappers.isEmpty() ? keys.indexOf(key.schema.getQName()) : -1;
+            Preconditions.checkState(offset != -1, "Keys of %s have to precede other children, encountered %s",
+                list.getQName(), reader.getName());
+            Preconditions.checkState(leaves[offset] == null, "Duplicate key %s in entry of %s", reader.getName(),
+                list.getQName());
+
+            leaves[offset] = key;
+            values[offset] = readValue(reader, key.schema, ((LeafSchemaNode) key.schema).getType());
+        }
+
+        final NodeIdentifierWithPredicates identifier = ListKeyLayout.of(list).createIdentifier(values);
+        if (attributes.isEmpty()) {
+            writer.startMapEntryNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            attributeWriter.startMapEntryNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE, attributes);
+        }
+        for (int i = 0; i < values.length; ++i) {
+            writer.leafNode(leaves[i].identifier, values[i]);
+        }
+        streamChildren(reader, level);
+        writer.endNode();
+    }
+
+    private Map<QName, String> attributes(final XMLStreamReader reader) {
+        final int count = reader.getAttributeCount();
+        if (attributeWriter == null || count == 0) {
+            return Collections.emptyMap();
+        }
+
+        final Map<QName, String> attributes = new HashMap<>(count);
+        for (int i = 0; i < count; ++i) {
+            final URI namespace = URI.create(Strings.nullToEmpty(reader.getAttributeNamespace(i)));
+            attributes.put(new QName(namespace, reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private Object readValue(final XMLStreamReader reader, final DataSchemaNode node, final TypeDefinition<?> type)
+            throws XMLStreamException {
+        final String text = reader.getElementText().trim();
+
+        TypeDefinition<?> baseType = XmlUtils.resolveBaseTypeFrom(type);
+        if (baseType instanceof LeafrefTypeDefinition) {
+            baseType = leafrefType(node, (LeafrefTypeDefinition) baseType);
+        }
+
+        // The reader is positioned at the end element, where the element's namespace declarations are still in scope
+        if (baseType instanceof InstanceIdentifierType) {
+            return InstanceIdentifierForXmlCodec.deserialize(text, reader.getNamespaceContext(), schema);
+        }
+        if (baseType instanceof IdentityrefTypeDefinition) {
+            return InstanceIdentifierForXmlCodec.toIdentity(text, reader.getNamespaceContext(), schema);
+        }
+
+        final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = codecProvider.codecFor(type);
+        return codec != null ? codec.deserialize(text) : text;
+    }
+
+    private TypeDefinition<?> leafrefType(final DataSchemaNode node, final LeafrefTypeDefinition type) {
+        TypeDefinition<?> ret = leafrefTypes.get(node);
+        if (ret == null) {
+            ret = SchemaContextUtil.getBaseTypeForLeafRef(type, schema, node);
+            leafrefTypes.put(node, ret);
+        }
+        return ret;
+    }
+
+    private static DOMSource readAnyXml(final XMLStreamReader reader) throws XMLStreamException {
+        final Document doc = XmlDocumentUtils.getDocument();
+        final Element element = readElement(doc, reader);
+        doc.appendChild(element);
+        return new DOMSource(element);
+    }
+
+    private static Element readElement(final Document doc, final XMLStreamReader reader) throws XMLStreamException {
+        final Element element = doc.createElementNS(Strings.emptyToNull(reader.getNamespaceURI()),
+            qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+            final String prefix = reader.getNamespacePrefix(i);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, Strings.isNullOrEmpty(prefix)
+                    ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ':' + prefix,
+                        reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); ++i) {
+            element.setAttributeNS(Strings.emptyToNull(reader.getAttributeNamespace(i)),
+                qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                reader.getAttributeValue(i));
+        }
+
+        while (true) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                element.appendChild(readElement(doc, reader));
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                element.appendChild(doc.createTextNode(reader.getText()));
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                return element;
+            case XMLStreamConstants.END_DOCUMENT:
+                throw new XMLStreamException("Unexpected end of document", reader.getLocation());
+            default:
+                // Comments and processing instructions are not retained
+                break;
+            }
+        }
+    }
+
+    private static String qualifiedName(final String prefix, final String localName) {
+        return Strings.isNullOrEmpty(prefix) ? localName : prefix + ':' + localName;
+    }
+
+    private Level levelFor(final Object levelSchema) {
+        Level ret = levels.get(levelSchema);
+        if (ret == null) {
+            ret = new Level(levelSchema);
+            levels.put(levelSchema, ret);
+        }
+        return ret;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+        writer.close();
+    }
+
+    /**
+     * A list, leaf-list, choice or augmentation node, which is not represented by an element of its own.
+     */
+    private static final class Wrapper {
+        private final PathArgument identifier;
+        private final Object schema;
+
+        Wrapper(final PathArgument identifier, final Object schema) {
+            this.identifier = identifier;
+            this.schema = schema;
+        }
+
+        NodeIdentifier identifier() {
+            return (NodeIdentifier) identifier;
+        }
+    }
+
+    /**
+     * Resolved child element: the schema node it corresponds to and the nodes it has to be wrapped in.
+     */
+    private static final class Resolution {
+        private final List<Wrapper> wrappers;
+        private final DataSchemaNode schema;
+        private final NodeIdentifier identifier;
+
+        private Resolution(final List<Wrapper> wrappers, final DataSchemaNode schema) {
+            this.wrappers = wrappers;
+            this.schema = schema;
+            this.identifier = NodeIdentifier.create(schema.getQName());
+        }
+
+        static Resolution of(final DataSchemaNode schema) {
+            if (schema instanceof ListSchemaNode || schema instanceof LeafListSchemaNode) {
+                return new Resolution(ImmutableList.of(new Wrapper(NodeIdentifier.create(schema.getQName()), schema)),
+                    schema);
+            }
+            return new Resolution(ImmutableList.<Wrapper>of(), schema);
+        }
+
+        Resolution wrappedIn(final Wrapper wrapper) {
+            return new Resolution(ImmutableList.<Wrapper>builder().add(wrapper).addAll(wrappers).build(), schema);
+        }
+    }
+
+    /**
+     * Children of a container, list entry, choice or augmentation, classified the same way
+     * {@link org.opendaylight.yangtools.yang.data.impl.schema.transform.base.parser.BaseDispatcherParser} does.
+     * Resolutions are cached, so each distinct element name is looked up in the schema only once.
+     */
+    private final class Level {
+        private final Map<javax.xml.namespace.QName, Resolution> children = new HashMap<>();
+        private final Map<AugmentationSchema, Level> augmentations = new IdentityHashMap<>();
+        private final Map<QName, AugmentationSchema> augments;
+        private final Map<QName, ChoiceSchemaNode> choices;
+        private final Object schema;
+
+        Level(final Object schema) {
+            this.schema = schema;
+            if (schema instanceof ChoiceSchemaNode) {
+                augments = new HashMap<>();
+                choices = new HashMap<>();
+                for (ChoiceCaseNode caze : ((ChoiceSchemaNode) schema).getCases()) {
+                    augments.putAll(SchemaUtils.mapChildElementsFromAugments(caze));
+                    choices.putAll(SchemaUtils.mapChildElementsFromChoices(caze));
+                }
+            } else {
+                augments = schema instanceof AugmentationTarget
+                        ? SchemaUtils.mapChildElementsFromAugments((AugmentationTarget) schema)
+                                : Collections.<QName, AugmentationSchema>emptyMap();
+                choices = SchemaUtils.mapChildElementsFromChoices((DataNodeContainer) schema);
+            }
+        }
+
+        Resolution resolve(final javax.xml.namespace.QName name) {
+            Resolution ret = children.get(name);
+            if (ret == null) {
+                ret = computeResolution(name);
+                children.put(name, ret);
+            }
+            return ret;
+        }
+
+        private Resolution computeResolution(final javax.xml.namespace.QName name) {
+            final QName qname = new QName(URI.create(name.getNamespaceURI()), name.getLocalPart());
+            final DataSchemaNode child;
+            if (schema instanceof ChoiceSchemaNode) {
+                child = SchemaUtils.findSchemaForChild((ChoiceSchemaNode) schema, qname);
+            } else {
+                child = SchemaUtils.findSchemaForChild((DataNodeContainer) schema, qname);
+            }
+
+            final AugmentationSchema augment = augments.get(child.getQName());
+            if (augment != null) {
+                return augmentationLevel(augment).resolve(name).wrappedIn(
+                    new Wrapper(SchemaUtils.getNodeIdentifierForAugmentation(augment), augment));
+            }
+            final ChoiceSchemaNode choice = choices.get(child.getQName());
+            if (choice != null) {
+                return levelFor(choice).resolve(name).wrappedIn(
+                    new Wrapper(NodeIdentifier.create(choice.getQName()), choice));
+            }
+            return Resolution.of(child);
+        }
+
+        private Level augmentationLevel(final AugmentationSchema augment) {
+            Level ret = augmentations.get(augment);
+            if (ret == null) {
+                final Set<DataSchemaNode> realSchemas;
+                if (schema instanceof ChoiceSchemaNode) {
+                    realSchemas = new HashSet<>(SchemaUtils.getRealSchemasForAugment((AugmentationTarget) schema,
+                        augment));
+                    for (ChoiceCaseNode caze : ((ChoiceSchemaNode) schema).getCases()) {
+                        realSchemas.addAll(SchemaUtils.getRealSchemasForAugment((AugmentationTarget) caze, augment));
+                    }
+                } else {
+                    realSchemas = SchemaUtils.getRealSchemasForAugment((AugmentationTarget) schema, augment);
+                }
+
+                ret = new Level(new EffectiveAugmentationSchema(augment, realSchemas));
+                augmentations.put(augment, ret);
+            }
+            return ret;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.CompactChildrenMaps;
 
 abstract class AbstractImmutableDataContainerNodeBuilder<I extends YangInstanceIdentifier.PathArgument, R extends DataContainerNode<I>> implements DataContainerNodeBuilder<I, R> {
     private static final int DEFAULT_CAPACITY = 4;
@@ -27,7 +28,8 @@ abstract class AbstractImmutableDataContainerNodeBuilder<I extends YangInstanceI
      * Tracks whether the builder is dirty, e.g. whether the value map has been used
      * to construct a child. If it has, we detect this condition before any further
      * modification and create a new value map with same contents. This way we do not
-     * force a map copy if the builder is not reused.
+     * force a map copy if the builder is not reused. Building a node normally copies
+     * the map into a compact immutable representation, which leaves the builder clean.
      */
     private boolean dirty;
 
@@ -67,8 +69,11 @@ abstract class AbstractImmutableDataContainerNodeBuilder<I extends YangInstanceI
     }
 
     protected final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> buildValue() {
-        dirty = true;
-        return value;
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> ret = CompactChildrenMaps.optimize(value);
+        if (ret == value) {
+            dirty = true;
+        }
+        return ret;
     }
 
     private void checkDirty() {
@@ -16,7 +16,7 @@ import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 public final class ImmutableAnyXmlNodeSchemaAwareBuilder extends ImmutableAnyXmlNodeBuilder {
 
     private ImmutableAnyXmlNodeSchemaAwareBuilder(AnyXmlSchemaNode schema) {
-        super.withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(schema.getQName()));
+        super.withNodeIdentifier(YangInstanceIdentifier.NodeIdentifier.create(schema.getQName()));
     }
 
     public static NormalizedNodeAttrBuilder<YangInstanceIdentifier.NodeIdentifier, DOMSource, AnyXmlNode> create(AnyXmlSchemaNode schema) {
@@ -13,6 +13,7 @@ import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedSimpleValueNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedValueAttrNode;
 
 public class ImmutableLeafNodeBuilder<T> extends AbstractImmutableNormalizedNodeBuilder<YangInstanceIdentifier.NodeIdentifier, T, LeafNode<T>> {
@@ -23,13 +24,39 @@ public class ImmutableLeafNodeBuilder<T> extends AbstractImmutableNormalizedNode
 
     @Override
     public LeafNode<T> build() {
-        return new ImmutableLeafNode<>(getNodeIdentifier(), getValue(), getAttributes());
+        final T value = LeafValues.canonicalValue(getValue());
+        final Map<QName, String> attributes = getAttributes();
+        if (attributes.isEmpty()) {
+            return new ImmutableLeafNode<>(getNodeIdentifier(), value);
+        }
+        return new ImmutableAttrLeafNode<>(getNodeIdentifier(), value, attributes);
     }
 
-    private static final class ImmutableLeafNode<T> extends AbstractImmutableNormalizedValueAttrNode<YangInstanceIdentifier.NodeIdentifier, T> implements LeafNode<T> {
+    /*
+     * Leaves with and without attributes are interchangeable, hence both implementations
+     * compare as LeafNodes.
+     */
+    private static final class ImmutableLeafNode<T> extends AbstractImmutableNormalizedSimpleValueNode<YangInstanceIdentifier.NodeIdentifier, T> implements LeafNode<T> {
+
+        ImmutableLeafNode(final YangInstanceIdentifier.NodeIdentifier nodeIdentifier, final T value) {
+            super(nodeIdentifier, value);
+        }
 
-        ImmutableLeafNode(final YangInstanceIdentifier.NodeIdentifier nodeIdentifier, final T value, final Map<QName, String> attributes) {
+        @Override
+        protected Class<?> equalityClass() {
+            return LeafNode.class;
+        }
+    }
+
+    private static final class ImmutableAttrLeafNode<T> extends AbstractImmutableNormalizedValueAttrNode<YangInstanceIdentifier.NodeIdentifier, T> implements LeafNode<T> {
+
+        ImmutableAttrLeafNode(final YangInstanceIdentifier.NodeIdentifier nodeIdentifier, final T value, final Map<QName, String> attributes) {
             super(nodeIdentifier, value, attributes);
         }
+
+        @Override
+        protected Class<?> equalityClass() {
+            return LeafNode.class;
+        }
     }
 }
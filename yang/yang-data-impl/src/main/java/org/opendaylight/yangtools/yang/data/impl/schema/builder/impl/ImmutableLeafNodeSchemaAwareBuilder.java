@@ -15,7 +15,7 @@ import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 public final class ImmutableLeafNodeSchemaAwareBuilder<T> extends ImmutableLeafNodeBuilder<T> {
 
     private ImmutableLeafNodeSchemaAwareBuilder(LeafSchemaNode schema) {
-        super.withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(schema.getQName()));
+        super.withNodeIdentifier(YangInstanceIdentifier.NodeIdentifier.create(schema.getQName()));
     }
 
     public static <T> NormalizedNodeAttrBuilder<YangInstanceIdentifier.NodeIdentifier, T, LeafNode<T>> create(LeafSchemaNode schema) {
@@ -13,6 +13,7 @@ import java.util.Objects;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedSimpleValueNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedValueAttrNode;
 
 public class ImmutableLeafSetEntryNodeBuilder<T> extends AbstractImmutableNormalizedNodeBuilder<YangInstanceIdentifier.NodeWithValue, T, LeafSetEntryNode<T>> {
@@ -23,15 +24,46 @@ public class ImmutableLeafSetEntryNodeBuilder<T> extends AbstractImmutableNormal
 
     @Override
     public LeafSetEntryNode<T> build() {
-        return new ImmutableLeafSetEntryNode<>(getNodeIdentifier(), getValue(), getAttributes());
+        final T value = LeafValues.canonicalValue(getValue());
+        final Map<QName, String> attributes = getAttributes();
+        if (attributes.isEmpty()) {
+            return new ImmutableLeafSetEntryNode<>(getNodeIdentifier(), value);
+        }
+        return new ImmutableAttrLeafSetEntryNode<>(getNodeIdentifier(), value, attributes);
+    }
+
+    private static void checkValue(final YangInstanceIdentifier.NodeWithValue nodeIdentifier, final Object value) {
+        Preconditions.checkArgument(Objects.deepEquals(nodeIdentifier.getValue(), value),
+                "Node identifier contains different value: %s than value itself: %s", nodeIdentifier, value);
     }
 
-    private static final class ImmutableLeafSetEntryNode<T> extends AbstractImmutableNormalizedValueAttrNode<YangInstanceIdentifier.NodeWithValue, T> implements LeafSetEntryNode<T> {
+    /*
+     * Entries with and without attributes are interchangeable, hence both implementations
+     * compare as LeafSetEntryNodes.
+     */
+    private static final class ImmutableLeafSetEntryNode<T> extends AbstractImmutableNormalizedSimpleValueNode<YangInstanceIdentifier.NodeWithValue, T> implements LeafSetEntryNode<T> {
 
-        ImmutableLeafSetEntryNode(final YangInstanceIdentifier.NodeWithValue nodeIdentifier, final T value, final Map<QName, String> attributes) {
+        ImmutableLeafSetEntryNode(final YangInstanceIdentifier.NodeWithValue nodeIdentifier, final T value) {
+            super(nodeIdentifier, value);
+            checkValue(nodeIdentifier, value);
+        }
+
+        @Override
+        protected Class<?> equalityClass() {
+            return LeafSetEntryNode.class;
+        }
+    }
+
+    private static final class ImmutableAttrLeafSetEntryNode<T> extends AbstractImmutableNormalizedValueAttrNode<YangInstanceIdentifier.NodeWithValue, T> implements LeafSetEntryNode<T> {
+
+        ImmutableAttrLeafSetEntryNode(final YangInstanceIdentifier.NodeWithValue nodeIdentifier, final T value, final Map<QName, String> attributes) {
             super(nodeIdentifier, value, attributes);
-            Preconditions.checkArgument(Objects.deepEquals(nodeIdentifier.getValue(), value),
-                    "Node identifier contains different value: %s than value itself: %s", nodeIdentifier, value);
+            checkValue(nodeIdentifier, value);
+        }
+
+        @Override
+        protected Class<?> equalityClass() {
+            return LeafSetEntryNode.class;
         }
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import com.google.common.annotations.Beta;
+import java.util.Collections;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+
+/**
+ * Factory methods for immutable nodes which use a caller-supplied map of children as-is, without copying it.
+ * This allows the children to be materialized on demand, for example when they are backed by a file. Builders
+ * initialized from such nodes copy the map on first modification.
+ *
+ * The supplied maps must not be modified after the node has been created. Nodes created by these methods carry
+ * no attributes.
+ */
+@Beta
+public final class ImmutableMapBackedNodes {
+    private static final Map<QName, String> NO_ATTRIBUTES = Collections.emptyMap();
+
+    private ImmutableMapBackedNodes() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    public static ContainerNode containerNode(final NodeIdentifier identifier,
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+        return new ImmutableContainerNodeBuilder.ImmutableContainerNode(identifier, children, NO_ATTRIBUTES);
+    }
+
+    public static MapEntryNode mapEntryNode(final NodeIdentifierWithPredicates identifier,
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+        return new ImmutableMapEntryNodeBuilder.ImmutableMapEntryNode(identifier, children, NO_ATTRIBUTES);
+    }
+
+    public static ChoiceNode choiceNode(final NodeIdentifier identifier,
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+        return new ImmutableChoiceNodeBuilder.ImmutableChoiceNode(identifier, children);
+    }
+
+    public static AugmentationNode augmentationNode(final AugmentationIdentifier identifier,
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+        return new ImmutableAugmentationNodeBuilder.ImmutableAugmentationNode(identifier, children);
+    }
+
+    public static UnkeyedListEntryNode unkeyedListEntryNode(final NodeIdentifier identifier,
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+        return new ImmutableUnkeyedListEntryNodeBuilder.ImmutableUnkeyedListEntryNode(identifier, children,
+            NO_ATTRIBUTES);
+    }
+
+    public static MapNode mapNode(final NodeIdentifier identifier,
+            final Map<NodeIdentifierWithPredicates, MapEntryNode> children) {
+        return new ImmutableMapNodeBuilder.ImmutableMapNode(identifier, children);
+    }
+
+    /**
+     * Create an ordered map node. The iteration order of the supplied map defines the order of its entries.
+     */
+    public static OrderedMapNode orderedMapNode(final NodeIdentifier identifier,
+            final Map<NodeIdentifierWithPredicates, MapEntryNode> children) {
+        return new ImmutableOrderedMapNodeBuilder.ImmutableOrderedMapNode(identifier, children);
+    }
+}
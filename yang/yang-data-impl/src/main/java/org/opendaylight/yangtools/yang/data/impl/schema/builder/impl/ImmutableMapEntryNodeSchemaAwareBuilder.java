@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.ListKeyLayout;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
@@ -51,11 +52,8 @@ public final class ImmutableMapEntryNodeSchemaAwareBuilder extends ImmutableMapE
      * Build map entry node identifier from schema, and provided children
      */
     private YangInstanceIdentifier.NodeIdentifierWithPredicates constructNodeIdentifier() {
-        Collection<QName> keys = schema.getKeyDefinition();
-
-        if (keys.isEmpty()) {
-            keys = childrenQNamesToPaths.keySet();
-        }
+        final Collection<QName> keyDef = schema.getKeyDefinition();
+        final Collection<QName> keys = keyDef.isEmpty() ? childrenQNamesToPaths.keySet() : keyDef;
 
         final Map<QName, Object> keysToValues = new LinkedHashMap<>();
         for (QName key : keys) {
@@ -65,7 +63,11 @@ public final class ImmutableMapEntryNodeSchemaAwareBuilder extends ImmutableMapE
             keysToValues.put(key, valueForKey.getValue());
         }
 
-        return new YangInstanceIdentifier.NodeIdentifierWithPredicates(schema.getQName(), keysToValues);
+        if (!keyDef.isEmpty()) {
+            // Values are in schema order, hence we can use the shared layout
+            return ListKeyLayout.of(schema).createIdentifier(keysToValues.values().toArray());
+        }
+        return YangInstanceIdentifier.NodeIdentifierWithPredicates.create(schema.getQName(), keysToValues);
     }
 
     public static DataContainerNodeAttrBuilder<YangInstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> create(final ListSchemaNode schema) {
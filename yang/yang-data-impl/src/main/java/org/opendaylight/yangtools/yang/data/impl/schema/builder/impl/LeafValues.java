@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+/**
+ * Utility methods shared by builders of leaf-like nodes.
+ */
+final class LeafValues {
+    private LeafValues() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Return the canonical instance of a value. Booleans and small integral numbers are replaced by the
+     * instances cached by the JDK, so leaves holding equal values of these types share them. Other values
+     * are returned unchanged.
+     *
+     * @param value Value to canonicalize
+     * @return Canonical instance of the value
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T canonicalValue(final T value) {
+        if (value instanceof Boolean) {
+            return (T) Boolean.valueOf((Boolean) value);
+        }
+        if (value instanceof Long) {
+            final long l = (Long) value;
+            return l >= Byte.MIN_VALUE && l <= Byte.MAX_VALUE ? (T) Long.valueOf(l) : value;
+        }
+        if (value instanceof Integer) {
+            final int i = (Integer) value;
+            return i >= Byte.MIN_VALUE && i <= Byte.MAX_VALUE ? (T) Integer.valueOf(i) : value;
+        }
+        if (value instanceof Short) {
+            final short s = (Short) value;
+            return s >= Byte.MIN_VALUE && s <= Byte.MAX_VALUE ? (T) Short.valueOf(s) : value;
+        }
+        if (value instanceof Byte) {
+            return (T) Byte.valueOf((Byte) value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import com.google.common.collect.UnmodifiableIterator;
+import java.util.AbstractCollection;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * Base class for immutable children maps which keep their entries in a single array, with each key followed
+ * by its value. Slots with a null key are unused. Unlike {@link java.util.AbstractMap}, this class does not
+ * retain keySet/values references, thus lowering the memory overhead.
+ */
+abstract class AbstractCompactChildrenMap implements Map<PathArgument, DataContainerChild<? extends PathArgument, ?>>,
+        Immutable {
+    private final Object[] table;
+    private final int size;
+
+    AbstractCompactChildrenMap(final Object[] table, final int size) {
+        this.table = table;
+        this.size = size;
+    }
+
+    final Object[] table() {
+        return table;
+    }
+
+    static boolean keyEquals(final Object key, final Object other) {
+        return key == other || key.equals(other);
+    }
+
+    @Override
+    public abstract DataContainerChild<? extends PathArgument, ?> get(final Object key);
+
+    @Override
+    public final int size() {
+        return size;
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public final boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public final boolean containsValue(final Object value) {
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null && table[i + 1].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public final DataContainerChild<? extends PathArgument, ?> put(final PathArgument key,
+            final DataContainerChild<? extends PathArgument, ?> value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final DataContainerChild<? extends PathArgument, ?> remove(final Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void putAll(final Map<? extends PathArgument, ? extends DataContainerChild<? extends PathArgument, ?>> m) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final Set<PathArgument> keySet() {
+        return new AbstractSet<PathArgument>() {
+            @Override
+            public Iterator<PathArgument> iterator() {
+                return new SlotIterator<PathArgument>() {
+                    @Override
+                    PathArgument element(final int slot) {
+                        return (PathArgument) table[slot];
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public final Collection<DataContainerChild<? extends PathArgument, ?>> values() {
+        return new AbstractCollection<DataContainerChild<? extends PathArgument, ?>>() {
+            @Override
+            public Iterator<DataContainerChild<? extends PathArgument, ?>> iterator() {
+                return new SlotIterator<DataContainerChild<? extends PathArgument, ?>>() {
+                    @Override
+                    DataContainerChild<? extends PathArgument, ?> element(final int slot) {
+                        return value(slot);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public final Set<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> entrySet() {
+        return new AbstractSet<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>>() {
+            @Override
+            public Iterator<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> iterator() {
+                return new SlotIterator<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>>() {
+                    @Override
+                    Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> element(final int slot) {
+                        return new SimpleImmutableEntry<PathArgument, DataContainerChild<? extends PathArgument, ?>>(
+                                (PathArgument) table[slot], value(slot));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    final DataContainerChild<? extends PathArgument, ?> value(final int slot) {
+        return (DataContainerChild<? extends PathArgument, ?>) table[slot + 1];
+    }
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Map)) {
+            return false;
+        }
+
+        final Map<?, ?> other = (Map<?, ?>) o;
+        if (other.size() != size) {
+            return false;
+        }
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null && !table[i + 1].equals(other.get(table[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public final int hashCode() {
+        // Same as java.util.AbstractMap, so we compare equal to other maps
+        int result = 0;
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null) {
+                result += table[i].hashCode() ^ table[i + 1].hashCode();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(table[i]).append('=').append(table[i + 1]);
+                first = false;
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    private abstract class SlotIterator<E> extends UnmodifiableIterator<E> {
+        private int next = nextSlot(0);
+
+        private int nextSlot(final int from) {
+            for (int i = from; i < table.length; i += 2) {
+                if (table[i] != null) {
+                    return i;
+                }
+            }
+            return table.length;
+        }
+
+        @Override
+        public final boolean hasNext() {
+            return next < table.length;
+        }
+
+        @Override
+        public final E next() {
+            if (next >= table.length) {
+                throw new NoSuchElementException();
+            }
+
+            final int slot = next;
+            next = nextSlot(slot + 2);
+            return element(slot);
+        }
+
+        abstract E element(int slot);
+    }
+}
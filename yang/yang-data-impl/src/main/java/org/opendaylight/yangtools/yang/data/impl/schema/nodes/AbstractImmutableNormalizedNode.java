@@ -45,6 +45,17 @@ public abstract class AbstractImmutableNormalizedNode<K extends YangInstanceIden
     protected abstract boolean valueEquals(AbstractImmutableNormalizedNode<?, ?> other);
     protected abstract int valueHashCode();
 
+    /**
+     * Return the class which determines whether two nodes can be equal. Nodes reporting different classes
+     * are never considered equal. Defaults to the implementation class, subclasses with multiple
+     * implementations of the same node type should override this method.
+     *
+     * @return Class used to compare nodes
+     */
+    protected Class<?> equalityClass() {
+        return getClass();
+    }
+
     @Override
     public final boolean equals(final Object obj) {
         if (this == obj) {
@@ -53,11 +64,14 @@ public abstract class AbstractImmutableNormalizedNode<K extends YangInstanceIden
         if (obj == null) {
             return false;
         }
-        if (this.getClass() != obj.getClass()) {
+        if (!(obj instanceof AbstractImmutableNormalizedNode)) {
             return false;
         }
 
         final AbstractImmutableNormalizedNode<?, ?> other = (AbstractImmutableNormalizedNode<?, ?>)obj;
+        if (equalityClass() != other.equalityClass()) {
+            return false;
+        }
         if (!nodeIdentifier.equals(other.nodeIdentifier)) {
             return false;
         }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import java.util.Collections;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.AttributesContainer;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Abstract base class for immutable nodes holding a simple value. This class does not hold any attributes,
+ * see {@link AbstractImmutableNormalizedValueAttrNode} for the variant which does.
+ */
+public abstract class AbstractImmutableNormalizedSimpleValueNode<K extends YangInstanceIdentifier.PathArgument, V>
+        extends AbstractImmutableNormalizedValueNode<K, V>
+        implements AttributesContainer {
+
+    protected AbstractImmutableNormalizedSimpleValueNode(final K nodeIdentifier, final V value) {
+        super(nodeIdentifier, value);
+    }
+
+    @Override
+    public Map<QName, String> getAttributes() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Object getAttributeValue(final QName value) {
+        return null;
+    }
+
+    @Override
+    protected int valueHashCode() {
+        final int result = getValue() != null ? getValue().hashCode() : 1;
+// FIXME: are attributes part of hashCode/equals?
+//        for (final Entry<?, ?> a : attributes.entrySet()) {
+//            result = 31 * result + a.hashCode();
+//        }
+        return result;
+    }
+
+    @Override
+    protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
+        // We can not call directly getValue.equals because of Empty Type
+        // Definition leaves which allways have NULL value
+
+        if (!java.util.Objects.deepEquals(getValue(), other.getValue())) {
+            return false;
+        }
+
+        // FIXME: are attributes part of hashCode/equals?
+        // final Set<Entry<QName, String>> tas = getAttributes().entrySet();
+        // final Set<Entry<QName, String>> oas =
+        // container.getAttributes().entrySet();
+        //
+        // return tas.containsAll(oas) && oas.containsAll(tas);
+        return true;
+    }
+}
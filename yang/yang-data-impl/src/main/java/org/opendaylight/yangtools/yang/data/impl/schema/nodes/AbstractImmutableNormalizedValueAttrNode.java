@@ -11,12 +11,10 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 import org.opendaylight.yangtools.yang.common.QName;
-import org.opendaylight.yangtools.yang.data.api.AttributesContainer;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
 public abstract class AbstractImmutableNormalizedValueAttrNode<K extends YangInstanceIdentifier.PathArgument,V>
-        extends AbstractImmutableNormalizedValueNode<K, V>
-        implements AttributesContainer {
+        extends AbstractImmutableNormalizedSimpleValueNode<K, V> {
 
     private final Map<QName, String> attributes;
 
@@ -39,33 +37,4 @@ public abstract class AbstractImmutableNormalizedValueAttrNode<K extends YangIns
     protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
         return super.addToStringAttributes(toStringHelper).add("attributes", attributes);
     }
-
-    @Override
-    protected int valueHashCode() {
-        final int result = getValue() != null ? getValue().hashCode() : 1;
-// FIXME: are attributes part of hashCode/equals?
-//        for (final Entry<?, ?> a : attributes.entrySet()) {
-//            result = 31 * result + a.hashCode();
-//        }
-        return result;
-    }
-
-    @Override
-    protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
-        // We can not call directly getValue.equals because of Empty Type
-        // Definition leaves which allways have NULL value
-
-        if (!java.util.Objects.deepEquals(getValue(), other.getValue())) {
-            return false;
-        }
-
-        // FIXME: are attributes part of hashCode/equals?
-        // final Set<Entry<QName, String>> tas = getAttributes().entrySet();
-        // final Set<Entry<QName, String>> oas =
-        // container.getAttributes().entrySet();
-        //
-        // return tas.containsAll(oas) && oas.containsAll(tas);
-        return true;
-    }
-
 }
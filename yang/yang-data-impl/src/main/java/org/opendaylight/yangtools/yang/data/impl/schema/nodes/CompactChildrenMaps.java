@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import com.google.common.annotations.Beta;
+import java.util.Collections;
+import java.util.Map;
+import org.opendaylight.yangtools.util.MapAdaptor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * Factory for memory-efficient immutable maps of children of data container nodes. The representation
+ * is selected based on the number of children:
+ * <ul>
+ * <li>up to {@value #LINEAR_MAX_SIZE} children are stored in a dense array and looked up by linear scan,</li>
+ * <li>up to {@link #HASHED_MAX_SIZE} children are stored in an open-addressed hash table,</li>
+ * <li>larger maps are handed to {@link MapAdaptor}, which switches to trie storage.</li>
+ * </ul>
+ * Maps larger than the copy cutoff of the default {@link MapAdaptor} instance always end up in trie storage,
+ * so that the cutoff configured for it applies here, too.
+ */
+@Beta
+public final class CompactChildrenMaps {
+    public static final int LINEAR_MAX_SIZE = 8;
+    public static final int HASHED_MAX_SIZE = MapAdaptor.getDefaultInstance().getCopyMaxItems();
+
+    private CompactChildrenMaps() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Create an immutable copy of a map of children. Maps produced by this method are returned as-is, any other
+     * map is copied, hence the caller is free to continue modifying it.
+     *
+     * @param map Map of children
+     * @return Immutable map with the same content
+     */
+    public static Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> optimize(
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> map) {
+        if (map instanceof AbstractCompactChildrenMap) {
+            return map;
+        }
+
+        final int size = map.size();
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+        if (size > HASHED_MAX_SIZE) {
+            // Above its copy cutoff MapAdaptor always copies into a trie
+            return UnmodifiableChildrenMap.create(MapAdaptor.getDefaultInstance().optimize(map));
+        }
+        if (size <= LINEAR_MAX_SIZE) {
+            return LinearChildrenMap.create(map);
+        }
+        return HashedChildrenMap.create(map);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import java.util.Map;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * Children map for nodes with a moderate number of children. Entries are stored in an open-addressed table
+ * with linear probing, which does not need per-entry objects.
+ */
+final class HashedChildrenMap extends AbstractCompactChildrenMap {
+    private final int mask;
+
+    private HashedChildrenMap(final Object[] table, final int size) {
+        super(table, size);
+        this.mask = table.length / 2 - 1;
+    }
+
+    static HashedChildrenMap create(final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> map) {
+        // Smallest power-of-two capacity above 3/2 of the size, hence the load factor is in [1/3, 2/3)
+        final int capacity = Integer.highestOneBit(map.size() * 3 / 2) << 1;
+        final int mask = capacity - 1;
+        final Object[] table = new Object[capacity * 2];
+
+        for (final Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> e : map.entrySet()) {
+            int i = index(e.getKey(), mask);
+            while (table[i * 2] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i * 2] = e.getKey();
+            table[i * 2 + 1] = e.getValue();
+        }
+        return new HashedChildrenMap(table, map.size());
+    }
+
+    private static int index(final Object key, final int mask) {
+        // Spread the high bits, as HashMap does
+        final int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public DataContainerChild<? extends PathArgument, ?> get(final Object key) {
+        if (key == null) {
+            return null;
+        }
+
+        final Object[] table = table();
+        int i = index(key, mask);
+        while (true) {
+            final Object k = table[i * 2];
+            if (k == null) {
+                return null;
+            }
+            if (keyEquals(k, key)) {
+                return value(i * 2);
+            }
+            i = (i + 1) & mask;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import java.util.Map;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * Children map for nodes with a few children. Entries are stored densely in insertion order and looked up
+ * by a linear scan, which for a handful of keys is faster than hashing them.
+ */
+final class LinearChildrenMap extends AbstractCompactChildrenMap {
+    private LinearChildrenMap(final Object[] table) {
+        super(table, table.length / 2);
+    }
+
+    static LinearChildrenMap create(final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> map) {
+        final Object[] table = new Object[map.size() * 2];
+        int i = 0;
+        for (final Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> e : map.entrySet()) {
+            table[i++] = e.getKey();
+            table[i++] = e.getValue();
+        }
+        return new LinearChildrenMap(table);
+    }
+
+    @Override
+    public DataContainerChild<? extends PathArgument, ?> get(final Object key) {
+        final Object[] table = table();
+        for (int i = 0; i < table.length; i += 2) {
+            if (keyEquals(table[i], key)) {
+                return value(i);
+            }
+        }
+        return null;
+    }
+}
@@ -38,7 +38,7 @@ final class UnmodifiableChildrenMap implements Map<PathArgument, DataContainerCh
      * @return Unmodifiable view
      */
     static Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> create(final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> map) {
-        if (map instanceof UnmodifiableChildrenMap) {
+        if (map instanceof UnmodifiableChildrenMap || map instanceof AbstractCompactChildrenMap) {
             return map;
         }
         if (map instanceof ImmutableMap) {
@@ -25,7 +25,7 @@ final class UnkeyedListEntryNodeDomParser extends ListEntryNodeDomParser<Unkeyed
     @Override
     protected final DataContainerNodeBuilder<YangInstanceIdentifier.NodeIdentifier, UnkeyedListEntryNode> getBuilder(
             ListSchemaNode schema) {
-        return Builders.unkeyedListEntryBuilder().withNodeIdentifier(new NodeIdentifier(schema.getQName()));
+        return Builders.unkeyedListEntryBuilder().withNodeIdentifier(NodeIdentifier.create(schema.getQName()));
     }
 
 }
@@ -46,7 +46,12 @@ abstract class AbstractDataNodeContainerModificationStrategy<T extends DataNodeC
     private final T schema;
 
     protected AbstractDataNodeContainerModificationStrategy(final T schema, final Class<? extends NormalizedNode<?, ?>> nodeClass) {
-        super(nodeClass);
+        this(schema, nodeClass, ChildConstraints.NONE);
+    }
+
+    protected AbstractDataNodeContainerModificationStrategy(final T schema,
+            final Class<? extends NormalizedNode<?, ?>> nodeClass, final ChildConstraints constraints) {
+        super(nodeClass, constraints);
         this.schema = Preconditions.checkNotNull(schema);
     }
 
@@ -11,9 +11,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import java.util.Collection;
+import java.util.Collections;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConstraintViolationException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModifiedNodeDoesNotExistException;
@@ -26,9 +30,16 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNo
 abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareApplyOperation {
 
     private final Class<? extends NormalizedNode<?, ?>> nodeClass;
+    private final ChildConstraints constraints;
 
     protected AbstractNodeContainerModificationStrategy(final Class<? extends NormalizedNode<?, ?>> nodeClass) {
+        this(nodeClass, ChildConstraints.NONE);
+    }
+
+    protected AbstractNodeContainerModificationStrategy(final Class<? extends NormalizedNode<?, ?>> nodeClass,
+            final ChildConstraints constraints) {
         this.nodeClass = Preconditions.checkNotNull(nodeClass);
+        this.constraints = Preconditions.checkNotNull(constraints);
     }
 
     @Override
@@ -176,11 +187,19 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
 
         SchemaAwareApplyOperation.checkConflicting(path, current.isPresent(), "Node was deleted by other transaction.");
         checkChildPreconditions(path, modification, current);
+        checkConstraints(path, modification, current.get().getData());
     }
 
     private void checkChildPreconditions(final YangInstanceIdentifier path, final NodeModification modification, final Optional<TreeNode> current) throws DataValidationFailedException {
         final TreeNode currentMeta = current.get();
-        for (NodeModification childMod : modification.getChildren()) {
+        final Collection<? extends NodeModification> children = modification.getChildren();
+        final ParallelValidation parallel = ParallelValidation.forChildren(children.size());
+        if (parallel != null) {
+            parallel.checkChildren(this, path, children, currentMeta);
+            return;
+        }
+
+        for (NodeModification childMod : children) {
             final YangInstanceIdentifier.PathArgument childId = childMod.getIdentifier();
             final Optional<TreeNode> childMeta = currentMeta.getChild(childId);
 
@@ -194,7 +213,130 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
             final Optional<TreeNode> current) throws DataValidationFailedException {
         if(current.isPresent()) {
             checkChildPreconditions(path, modification,current);
+            checkConstraints(path, modification, current.get().getData());
+        } else {
+            // The merged value will be used as a seed write
+            checkReplacedConstraints(path, modification, modification.getWrittenValue());
+        }
+    }
+
+    @Override
+    protected void checkWriteApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current) throws DataValidationFailedException {
+        super.checkWriteApplicable(path, modification, current);
+        checkReplacedConstraints(path, modification, modification.getWrittenValue());
+    }
+
+    @Override
+    final void checkReplacedConstraints(final YangInstanceIdentifier path, final NodeModification modification,
+            final NormalizedNode<?, ?> data) throws DataValidationFailedException {
+        checkConstraints(path, modification, data);
+
+        // Children of the data which are not modified
+        for (final NormalizedNode<?, ?> child : children(data)) {
+            final PathArgument id = child.getIdentifier();
+            if (isContainer(child) && (modification == null || !modification.getChild(id).isPresent())) {
+                final Optional<ModificationApplyOperation> childOperation = getChild(id);
+                if (childOperation.isPresent()) {
+                    childOperation.get().checkReplacedConstraints(path.node(id), null, child);
+                }
+            }
+        }
+
+        if (modification == null) {
+            return;
+        }
+
+        // Children modifications applied on top of the data, which are not visited by checkApplicable()
+        for (final NodeModification childMod : modification.getChildren()) {
+            final PathArgument id = childMod.getIdentifier();
+            final NormalizedNode<?, ?> childData;
+            switch (childMod.getOperation()) {
+            case WRITE:
+                childData = childMod.getWrittenValue();
+                break;
+            case MERGE:
+                final NormalizedNode<?, ?> existing = child(data, id);
+                childData = existing != null ? existing : childMod.getWrittenValue();
+                break;
+            case TOUCH:
+                childData = child(data, id);
+                break;
+            default:
+                continue;
+            }
+            resolveChildOperation(id).checkReplacedConstraints(path.node(id), childMod, childData);
+        }
+    }
+
+    /**
+     * Checks constraints on children of a node resulting from applying child modifications on top of some
+     * data. The number of elements is derived from the size of that data, hence the cost of this check is
+     * proportional to the number of modified children.
+     *
+     * @param path Path to the node
+     * @param modification Modification applied to the node, may be null
+     * @param data Data to which child modifications are applied, may be null
+     * @throws ConstraintViolationException if the resulting node violates a constraint
+     */
+    private void checkConstraints(final YangInstanceIdentifier path, final NodeModification modification,
+            final NormalizedNode<?, ?> data) throws ConstraintViolationException {
+        if (constraints.isEmpty()) {
+            return;
+        }
+
+        if (constraints.hasElementCount()) {
+            int count = children(data).size();
+            if (modification != null) {
+                for (final NodeModification childMod : modification.getChildren()) {
+                    final boolean existed = child(data, childMod.getIdentifier()) != null;
+                    switch (childMod.getOperation()) {
+                    case DELETE:
+                        count -= existed ? 1 : 0;
+                        break;
+                    case MERGE:
+                    case WRITE:
+                        count += existed ? 0 : 1;
+                        break;
+                    default:
+                        break;
+                    }
+                }
+            }
+            constraints.checkElements(path, count);
+        }
+
+        for (final PathArgument id : constraints.getMandatoryChildren()) {
+            final Optional<? extends NodeModification> childMod = modification != null ? modification.getChild(id)
+                    : Optional.<NodeModification>absent();
+            final boolean present;
+            if (childMod.isPresent() && childMod.get().getOperation() != LogicalOperation.NONE) {
+                present = childMod.get().getOperation() != LogicalOperation.DELETE;
+            } else {
+                present = child(data, id) != null;
+            }
+            constraints.checkMandatory(path, id, present);
+        }
+    }
+
+    private static boolean isContainer(final NormalizedNode<?, ?> node) {
+        return node instanceof NormalizedNodeContainer || node instanceof UnkeyedListNode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<NormalizedNode<?, ?>> children(final NormalizedNode<?, ?> data) {
+        if (data instanceof NormalizedNodeContainer) {
+            return ((NormalizedNodeContainer<?, ?, NormalizedNode<?, ?>>) data).getValue();
+        }
+        return Collections.emptyList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NormalizedNode<?, ?> child(final NormalizedNode<?, ?> data, final PathArgument id) {
+        if (data instanceof NormalizedNodeContainer) {
+            return ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data).getChild(id).orNull();
         }
+        return null;
     }
 
     @SuppressWarnings("rawtypes")
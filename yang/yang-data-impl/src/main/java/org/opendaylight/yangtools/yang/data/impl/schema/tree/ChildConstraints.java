@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConstraintViolationException;
+import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ConstraintDefinition;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+
+/**
+ * Schema constraints on children of a data node, enforced by {@link AbstractNodeContainerModificationStrategy}:
+ * the number of elements of a list or a leaf-list, and the presence of mandatory children of a container or
+ * a list entry.
+ *
+ * A non-presence container is considered mandatory if it has mandatory descendants, as these cannot exist
+ * without it. Nodes introduced by augmentation and nodes subject to a when condition are not enforced, nor are
+ * mandatory nodes inside choice cases, as their presence depends on data.
+ */
+final class ChildConstraints {
+    static final ChildConstraints NONE = new ChildConstraints(0, Integer.MAX_VALUE,
+        ImmutableList.<PathArgument>of());
+
+    private final int minElements;
+    private final int maxElements;
+    private final List<PathArgument> mandatoryChildren;
+
+    private ChildConstraints(final int minElements, final int maxElements,
+            final List<PathArgument> mandatoryChildren) {
+        this.minElements = minElements;
+        this.maxElements = maxElements;
+        this.mandatoryChildren = mandatoryChildren;
+    }
+
+    /**
+     * Return the constraints on number of elements of a list or a leaf-list.
+     *
+     * @param schema List or leaf-list schema
+     * @return Element count constraints
+     */
+    static ChildConstraints forElements(final DataSchemaNode schema) {
+        final int min = minElements(schema.getConstraints());
+        final Integer max = schema.getConstraints().getMaxElements();
+        final int maxElements = max != null && max > 0 ? max : Integer.MAX_VALUE;
+        if (min == 0 && maxElements == Integer.MAX_VALUE) {
+            return NONE;
+        }
+        return new ChildConstraints(min, maxElements, ImmutableList.<PathArgument>of());
+    }
+
+    /**
+     * Return the constraints on mandatory children of a container or a list entry.
+     *
+     * @param schema Container or list schema
+     * @return Mandatory children constraints
+     */
+    static ChildConstraints forChildren(final DataNodeContainer schema) {
+        final ImmutableList.Builder<PathArgument> builder = ImmutableList.builder();
+        for (final DataSchemaNode child : schema.getChildNodes()) {
+            if (isMandatory(child)) {
+                builder.add(NodeIdentifier.create(child.getQName()));
+            }
+        }
+
+        final List<PathArgument> mandatory = builder.build();
+        return mandatory.isEmpty() ? NONE : new ChildConstraints(0, Integer.MAX_VALUE, mandatory);
+    }
+
+    private static int minElements(final ConstraintDefinition constraints) {
+        final Integer min = constraints.getMinElements();
+        return min != null && min > 0 ? min : 0;
+    }
+
+    private static boolean isMandatory(final DataSchemaNode node) {
+        if (node.isAugmenting() || node.getConstraints().getWhenCondition() != null) {
+            return false;
+        }
+        if (node instanceof LeafSchemaNode || node instanceof ChoiceSchemaNode || node instanceof AnyXmlSchemaNode) {
+            return node.getConstraints().isMandatory();
+        }
+        if (node instanceof ListSchemaNode || node instanceof LeafListSchemaNode) {
+            return minElements(node.getConstraints()) > 0;
+        }
+        if (node instanceof ContainerSchemaNode && !((ContainerSchemaNode) node).isPresenceContainer()) {
+            for (final DataSchemaNode child : ((ContainerSchemaNode) node).getChildNodes()) {
+                if (isMandatory(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return this == NONE;
+    }
+
+    boolean hasElementCount() {
+        return minElements != 0 || maxElements != Integer.MAX_VALUE;
+    }
+
+    List<PathArgument> getMandatoryChildren() {
+        return mandatoryChildren;
+    }
+
+    void checkElements(final YangInstanceIdentifier path, final int count) throws ConstraintViolationException {
+        if (count < minElements) {
+            throw new ConstraintViolationException(path, String.format(
+                "%s does not have enough elements (%s), needs at least %s", path, count, minElements));
+        }
+        if (count > maxElements) {
+            throw new ConstraintViolationException(path, String.format(
+                "%s has too many elements (%s), can have at most %s", path, count, maxElements));
+        }
+    }
+
+    void checkMandatory(final YangInstanceIdentifier path, final PathArgument child, final boolean present)
+            throws ConstraintViolationException {
+        if (!present) {
+            throw new ConstraintViolationException(path, String.format("%s is missing mandatory child %s", path,
+                child));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ChildConstraints [min=" + minElements + ", max=" + maxElements + ", mandatory=" + mandatoryChildren
+                + "]";
+    }
+}
@@ -13,10 +13,13 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 final class ContainerModificationStrategy extends AbstractDataNodeContainerModificationStrategy<ContainerSchemaNode> {
     ContainerModificationStrategy(final ContainerSchemaNode schemaNode) {
-        super(schemaNode, ContainerNode.class);
+        // Mandatory top-level nodes are not enforced, as that would make an empty data tree invalid
+        super(schemaNode, ContainerNode.class, schemaNode instanceof SchemaContext ? ChildConstraints.NONE
+                : ChildConstraints.forChildren(schemaNode));
     }
 
     @Override
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.Collection;
+import java.util.EventListener;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+
+/**
+ * Listener registered with a {@link DataTreeCandidateListenerRegistry}, which is notified about changes to the
+ * subtree it has been registered for.
+ */
+@Beta
+public interface DataTreeCandidateListener extends EventListener {
+    /**
+     * Invoked when a published candidate modifies the subtree this listener is registered for. Each candidate is
+     * rooted at a node matching the registered path, or at an ancestor of such node if the published candidate was
+     * rooted below it. A wildcarded registration may receive multiple candidates for a single published candidate.
+     *
+     * @param changes Non-empty collection of candidates, in tree traversal order
+     */
+    void onDataTreeChanged(@Nonnull Collection<DataTreeCandidate> changes);
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of {@link DataTreeCandidateListener}s, which routes changes described by committed candidates to
+ * listeners registered for the modified subtrees. Registrations are indexed by their path in a tree, so publishing
+ * a candidate visits only those modified nodes which lie on a registered path and its cost is proportional to the
+ * size of the change rather than to the number of registered listeners.
+ * <p>
+ * A path can be wildcarded at list entry and leaf-set entry level by using a {@link NodeIdentifier} of the list
+ * in place of the entry identifier, for example /top/list/list/leaf matches the leaf in all entries of the list.
+ * Such a path is indistinguishable from one going through a node nested in a node of the same name, for example
+ * container /top/a/a. Repeated identifiers are therefore matched both as wildcards and as exact children, and the
+ * data determines which interpretation applies, as wildcards match only entries, whereas exact identifiers match only
+ * nodes which are not entries.
+ * <p>
+ * The index is immutable and replaced whenever a listener is registered or unregistered, hence publishing does not
+ * block registration changes and vice versa. It is suitable for cases where candidates are published much more
+ * frequently than registrations change. Listeners are invoked from the thread publishing the candidate, candidates
+ * are expected to be published from a single thread, typically right after {@link InMemoryDataTree#commit}.
+ */
+@Beta
+public final class DataTreeCandidateListenerRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(DataTreeCandidateListenerRegistry.class);
+
+    private volatile RegistrationNode root = RegistrationNode.EMPTY;
+
+    private DataTreeCandidateListenerRegistry() {
+        // Hidden on purpose
+    }
+
+    public static DataTreeCandidateListenerRegistry create() {
+        return new DataTreeCandidateListenerRegistry();
+    }
+
+    /**
+     * Register a listener for changes to a subtree.
+     *
+     * @param path Path of the subtree, potentially wildcarded
+     * @param listener Listener instance
+     * @return Listener registration, which needs to be closed to stop notifications
+     */
+    public <L extends DataTreeCandidateListener> ListenerRegistration<L> registerListener(
+            final YangInstanceIdentifier path, final L listener) {
+        final RegistrationImpl<L> ret = new RegistrationImpl<>(listener, ImmutableList.copyOf(path.getPathArguments()));
+        synchronized (this) {
+            root = update(root, ret, 0, true);
+        }
+        return ret;
+    }
+
+    /**
+     * Deliver changes described by a candidate to all interested listeners. Exceptions thrown by a listener are
+     * logged and do not prevent the changes from being delivered to other listeners.
+     *
+     * @param candidate Candidate which has been committed
+     */
+    public void publishCandidate(final DataTreeCandidate candidate) {
+        final RegistrationNode current = root;
+        if (current.isEmpty()) {
+            return;
+        }
+
+        final Map<RegistrationImpl<?>, List<DataTreeCandidate>> changes = new LinkedHashMap<>();
+        final YangInstanceIdentifier rootPath = candidate.getRootPath();
+        collectAncestors(current, ImmutableList.copyOf(rootPath.getPathArguments()), 0, candidate, changes);
+
+        for (final Entry<RegistrationImpl<?>, List<DataTreeCandidate>> e : changes.entrySet()) {
+            final RegistrationImpl<?> reg = e.getKey();
+            if (reg.isActive()) {
+                try {
+                    reg.getInstance().onDataTreeChanged(e.getValue());
+                } catch (RuntimeException ex) {
+                    LOG.warn("Listener {} failed to process changes {}", reg.getInstance(), e.getValue(), ex);
+                }
+            }
+        }
+    }
+
+    private synchronized void remove(final RegistrationImpl<?> registration) {
+        root = update(root, registration, 0, false);
+    }
+
+    private static RegistrationNode update(final RegistrationNode node, final RegistrationImpl<?> registration,
+            final int offset, final boolean add) {
+        final List<PathArgument> path = registration.path;
+        if (offset == path.size()) {
+            return add ? node.withRegistration(registration) : node.withoutRegistration(registration);
+        }
+
+        final PathArgument arg = path.get(offset);
+        final RegistrationNode ret = node.withChild(arg, update(node.getChild(arg), registration, offset + 1, add));
+        if (isWildcard(path, offset)) {
+            final QName nodeType = arg.getNodeType();
+            return ret.withWildcard(nodeType, update(ret.getWildcard(nodeType), registration, offset + 1, add));
+        }
+        return ret;
+    }
+
+    /*
+     * A list or leaf-set entry is wildcarded by repeating the NodeIdentifier of its parent. This may also be
+     * an exact path to a node nested in a same-named node, hence callers need to index it both ways.
+     */
+    private static boolean isWildcard(final List<PathArgument> path, final int offset) {
+        if (offset == 0) {
+            return false;
+        }
+        final PathArgument arg = path.get(offset);
+        final PathArgument parent = path.get(offset - 1);
+        return arg instanceof NodeIdentifier && parent instanceof NodeIdentifier
+                && arg.getNodeType().equals(parent.getNodeType());
+    }
+
+    private static boolean isEntry(final PathArgument arg) {
+        return arg instanceof NodeIdentifierWithPredicates || arg instanceof NodeWithValue;
+    }
+
+    /*
+     * Listeners registered above the candidate root receive the whole candidate.
+     */
+    private static void collectAncestors(final RegistrationNode node, final List<PathArgument> rootPath,
+            final int offset, final DataTreeCandidate candidate,
+            final Map<RegistrationImpl<?>, List<DataTreeCandidate>> changes) {
+        if (offset == rootPath.size()) {
+            collectSubtree(node, candidate.getRootNode(), candidate.getRootPath(), changes);
+            return;
+        }
+        if (candidate.getRootNode().getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+
+        addChanges(node, candidate, changes);
+        final PathArgument arg = rootPath.get(offset);
+        final RegistrationNode child = node.children.get(arg);
+        if (child != null) {
+            collectAncestors(child, rootPath, offset + 1, candidate, changes);
+        }
+        if (isEntry(arg)) {
+            final RegistrationNode wildcard = node.wildcards.get(arg.getNodeType());
+            if (wildcard != null) {
+                collectAncestors(wildcard, rootPath, offset + 1, candidate, changes);
+            }
+        }
+    }
+
+    private static void collectSubtree(final RegistrationNode node, final DataTreeCandidateNode candidateNode,
+            final YangInstanceIdentifier path, final Map<RegistrationImpl<?>, List<DataTreeCandidate>> changes) {
+        final ModificationType type = candidateNode.getModificationType();
+        if (type == ModificationType.UNMODIFIED) {
+            return;
+        }
+        if (!node.registrations.isEmpty()) {
+            addChanges(node, new DefaultDataTreeCandidate(path, candidateNode), changes);
+        }
+        if (node.children.isEmpty() && node.wildcards.isEmpty()) {
+            return;
+        }
+
+        // Written and deleted nodes do not track their children, we need to look at data to find them
+        final boolean fromData = type == ModificationType.WRITE || type == ModificationType.DELETE;
+        if (node.wildcards.isEmpty() && (fromData || node.children.size() <= candidateNode.getChildNodes().size())) {
+            // Look up registered children in the candidate
+            for (final Entry<PathArgument, RegistrationNode> e : node.children.entrySet()) {
+                final DataTreeCandidateNode child = fromData
+                        ? NormalizedNodeDataTreeCandidateNode.childOf(candidateNode, e.getKey())
+                                : candidateNode.getModifiedChild(e.getKey());
+                if (child != null) {
+                    collectSubtree(e.getValue(), child, path.node(e.getKey()), changes);
+                }
+            }
+            return;
+        }
+
+        // Look up modified children in the index
+        final Collection<DataTreeCandidateNode> candidateChildren = fromData
+                ? NormalizedNodeDataTreeCandidateNode.childrenOf(candidateNode) : candidateNode.getChildNodes();
+        for (final DataTreeCandidateNode child : candidateChildren) {
+            final PathArgument id = child.getIdentifier();
+            final RegistrationNode exact = node.children.get(id);
+            if (exact != null) {
+                collectSubtree(exact, child, path.node(id), changes);
+            }
+            if (isEntry(id)) {
+                final RegistrationNode wildcard = node.wildcards.get(id.getNodeType());
+                if (wildcard != null) {
+                    collectSubtree(wildcard, child, path.node(id), changes);
+                }
+            }
+        }
+    }
+
+    private static void addChanges(final RegistrationNode node, final DataTreeCandidate candidate,
+            final Map<RegistrationImpl<?>, List<DataTreeCandidate>> changes) {
+        for (final RegistrationImpl<?> reg : node.registrations) {
+            List<DataTreeCandidate> list = changes.get(reg);
+            if (list == null) {
+                list = new ArrayList<>(1);
+                changes.put(reg, list);
+            }
+            list.add(candidate);
+        }
+    }
+
+    /*
+     * Immutable node of the registration index. Empty nodes are pruned, so that unregistered paths do not
+     * slow down publishing.
+     */
+    private static final class RegistrationNode {
+        static final RegistrationNode EMPTY = new RegistrationNode(ImmutableMap.<PathArgument, RegistrationNode>of(),
+            ImmutableMap.<QName, RegistrationNode>of(), ImmutableList.<RegistrationImpl<?>>of());
+
+        final ImmutableMap<PathArgument, RegistrationNode> children;
+        final ImmutableMap<QName, RegistrationNode> wildcards;
+        final ImmutableList<RegistrationImpl<?>> registrations;
+
+        private RegistrationNode(final ImmutableMap<PathArgument, RegistrationNode> children,
+                final ImmutableMap<QName, RegistrationNode> wildcards,
+                final ImmutableList<RegistrationImpl<?>> registrations) {
+            this.children = children;
+            this.wildcards = wildcards;
+            this.registrations = registrations;
+        }
+
+        private static RegistrationNode create(final ImmutableMap<PathArgument, RegistrationNode> children,
+                final ImmutableMap<QName, RegistrationNode> wildcards,
+                final ImmutableList<RegistrationImpl<?>> registrations) {
+            if (children.isEmpty() && wildcards.isEmpty() && registrations.isEmpty()) {
+                return EMPTY;
+            }
+            return new RegistrationNode(children, wildcards, registrations);
+        }
+
+        boolean isEmpty() {
+            return this == EMPTY;
+        }
+
+        RegistrationNode getChild(final PathArgument arg) {
+            final RegistrationNode ret = children.get(arg);
+            return ret != null ? ret : EMPTY;
+        }
+
+        RegistrationNode getWildcard(final QName nodeType) {
+            final RegistrationNode ret = wildcards.get(nodeType);
+            return ret != null ? ret : EMPTY;
+        }
+
+        RegistrationNode withChild(final PathArgument arg, final RegistrationNode child) {
+            return create(replace(children, arg, child), wildcards, registrations);
+        }
+
+        RegistrationNode withWildcard(final QName nodeType, final RegistrationNode child) {
+            return create(children, replace(wildcards, nodeType, child), registrations);
+        }
+
+        RegistrationNode withRegistration(final RegistrationImpl<?> registration) {
+            return create(children, wildcards, ImmutableList.<RegistrationImpl<?>>builder().addAll(registrations)
+                .add(registration).build());
+        }
+
+        RegistrationNode withoutRegistration(final RegistrationImpl<?> registration) {
+            final ImmutableList.Builder<RegistrationImpl<?>> builder = ImmutableList.builder();
+            for (final RegistrationImpl<?> reg : registrations) {
+                if (reg != registration) {
+                    builder.add(reg);
+                }
+            }
+            return create(children, wildcards, builder.build());
+        }
+
+        private static <K> ImmutableMap<K, RegistrationNode> replace(final ImmutableMap<K, RegistrationNode> map,
+                final K key, final RegistrationNode value) {
+            final ImmutableMap.Builder<K, RegistrationNode> builder = ImmutableMap.builder();
+            for (final Entry<K, RegistrationNode> e : map.entrySet()) {
+                if (!key.equals(e.getKey())) {
+                    builder.put(e);
+                }
+            }
+            if (!value.isEmpty()) {
+                builder.put(key, value);
+            }
+            return builder.build();
+        }
+    }
+
+    private final class RegistrationImpl<L extends DataTreeCandidateListener> extends AbstractListenerRegistration<L> {
+        final ImmutableList<PathArgument> path;
+
+        RegistrationImpl(final L listener, final ImmutableList<PathArgument> path) {
+            super(Preconditions.checkNotNull(listener));
+            this.path = path;
+        }
+
+        boolean isActive() {
+            return !isClosed();
+        }
+
+        @Override
+        protected void removeRegistration() {
+            remove(this);
+        }
+    }
+}
@@ -10,7 +10,9 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -38,7 +40,18 @@ final class InMemoryDataTree implements DataTree {
      */
     private volatile DataTreeState state;
 
+    /**
+     * Parallel validation configuration, null if validation should happen in the calling thread.
+     */
+    private final ParallelValidation parallelValidation;
+
     public InMemoryDataTree(final TreeNode rootNode, final SchemaContext schemaContext) {
+        this(rootNode, schemaContext, null);
+    }
+
+    InMemoryDataTree(final TreeNode rootNode, final SchemaContext schemaContext,
+            final ParallelValidation parallelValidation) {
+        this.parallelValidation = parallelValidation;
         state = DataTreeState.createInitial(rootNode);
         if (schemaContext != null) {
             setSchemaContext(schemaContext);
@@ -74,7 +87,16 @@ final class InMemoryDataTree implements DataTree {
         Preconditions.checkArgument(modification instanceof InMemoryDataTreeModification, "Invalid modification class %s", modification.getClass());
         final InMemoryDataTreeModification m = (InMemoryDataTreeModification)modification;
 
-        m.getStrategy().checkApplicable(PUBLIC_ROOT_PATH, m.getRootModification(), Optional.<TreeNode>of(state.getRoot()));
+        checkApplicable(m.getStrategy(), m.getRootModification(), state.getRoot());
+    }
+
+    private void checkApplicable(final ModificationApplyOperation strategy, final ModifiedNode root,
+            final TreeNode currentRoot) throws DataValidationFailedException {
+        if (parallelValidation != null) {
+            parallelValidation.checkApplicable(strategy, PUBLIC_ROOT_PATH, root, Optional.of(currentRoot));
+        } else {
+            strategy.checkApplicable(PUBLIC_ROOT_PATH, root, Optional.of(currentRoot));
+        }
     }
 
     @Override
@@ -123,6 +145,82 @@ final class InMemoryDataTree implements DataTree {
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
     }
 
+    @Override
+    public List<DataTreeCandidate> commitBatch(final List<? extends DataTreeModification> modifications)
+            throws DataValidationFailedException {
+        final List<InMemoryDataTreeModification> mods = new ArrayList<>(modifications.size());
+        for (DataTreeModification modification : modifications) {
+            Preconditions.checkArgument(modification instanceof InMemoryDataTreeModification, "Invalid modification class %s", modification.getClass());
+            mods.add((InMemoryDataTreeModification) modification);
+        }
+
+        final DataTreeState currentState = state;
+        final TreeNode currentRoot = currentState.getRoot();
+
+        final List<ModifiedNode> roots = new ArrayList<>(mods.size());
+        ModificationApplyOperation strategy = null;
+        for (InMemoryDataTreeModification m : mods) {
+            final ModifiedNode root = m.getRootModification();
+            if (root.getOperation() != LogicalOperation.NONE) {
+                roots.add(root);
+                if (strategy == null) {
+                    strategy = m.getStrategy();
+                }
+            }
+        }
+
+        if (roots.isEmpty()) {
+            final List<DataTreeCandidate> ret = new ArrayList<>(mods.size());
+            for (InMemoryDataTreeModification m : mods) {
+                ret.add(new NoopDataTreeCandidate(PUBLIC_ROOT_PATH, m.getRootModification()));
+            }
+            return ret;
+        }
+
+        /*
+         * Combine the modifications into a single tree, sharing any subtrees which are touched
+         * by only one of them, and apply it in one pass. Modifications are allocated versions
+         * based on their snapshots, which may differ, hence we allocate a fresh one.
+         *
+         * The combined tree is validated as a whole before anything is applied, as constraints
+         * such as min-elements and max-elements depend on the joint effect of the modifications.
+         * Shared subtrees are still validated only once.
+         */
+        final ModifiedNode combined = ModifiedNode.combine(strategy, roots);
+        checkApplicable(strategy, combined, currentRoot);
+
+        final Optional<TreeNode> newRoot = strategy.apply(combined, Optional.<TreeNode>of(currentRoot),
+            currentRoot.getSubtreeVersion().next());
+        Preconditions.checkState(newRoot.isPresent(), "Apply strategy failed to produce root node");
+
+        final List<DataTreeCandidate> ret = new ArrayList<>(mods.size());
+        for (InMemoryDataTreeModification m : mods) {
+            final ModifiedNode root = m.getRootModification();
+            if (root.getOperation() == LogicalOperation.NONE) {
+                ret.add(new NoopDataTreeCandidate(PUBLIC_ROOT_PATH, root));
+            } else {
+                ModifiedNode.resolveCombined(combined, root);
+                ret.add(new InMemoryDataTreeCandidate(PUBLIC_ROOT_PATH, root, currentRoot, newRoot.get()));
+            }
+        }
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(newRoot.get().getData()));
+        }
+
+        DataTreeState oldState, newState;
+        do {
+            oldState = state;
+            Preconditions.checkState(oldState.getRoot() == currentRoot, "Store tree %s and batch base %s differ.",
+                oldState.getRoot(), currentRoot);
+
+            newState = oldState.withRoot(newRoot.get());
+            LOG.trace("Updated state from {} to {}", oldState, newState);
+        } while (!STATE_UPDATER.compareAndSet(this, oldState, newState));
+
+        return ret;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("object", super.toString()).add("state", state).toString();
@@ -7,9 +7,14 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ForkJoinPool;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeFactory;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
@@ -20,6 +25,7 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
  */
 public final class InMemoryDataTreeFactory implements DataTreeFactory {
     private static final InMemoryDataTreeFactory INSTANCE = new InMemoryDataTreeFactory();
+    private static final NodeIdentifier ROOT_IDENTIFIER = new NodeIdentifier(SchemaContext.NAME);
 
     private InMemoryDataTreeFactory() {
         // Never instantiated externally
@@ -27,10 +33,70 @@ public final class InMemoryDataTreeFactory implements DataTreeFactory {
 
     @Override
     public InMemoryDataTree create() {
-        final NodeIdentifier root = new NodeIdentifier(SchemaContext.NAME);
-        final NormalizedNode<?, ?> data = Builders.containerBuilder().withNodeIdentifier(root).build();
+        return new InMemoryDataTree(createRoot(), null);
+    }
+
+    /**
+     * Create a new data tree, which validates modifications using a {@link ForkJoinPool}. Modified children
+     * of any node which has at least the specified number of them are validated concurrently.
+     *
+     * @param validationPool Pool to use for validation
+     * @param validationThreshold Minimum number of modified children a node needs to have for them to be
+     *        validated concurrently
+     * @return A new data tree
+     * @throws IllegalArgumentException if validationThreshold is not positive
+     */
+    @Beta
+    public InMemoryDataTree create(final ForkJoinPool validationPool, final int validationThreshold) {
+        return new InMemoryDataTree(createRoot(), null, new ParallelValidation(validationPool, validationThreshold));
+    }
+
+    /**
+     * Create a new data tree with specified initial content. The content is not copied, subtrees which are
+     * not modified continue to be backed by it. This allows the tree to be restored from a lazily-decoded
+     * snapshot, such as one read via
+     * {@link org.opendaylight.yangtools.yang.data.impl.codec.binary.MappedNormalizedNodes#readNormalizedNode(java.io.File)},
+     * without materializing it.
+     *
+     * @param rootData Initial root node
+     * @return A new data tree
+     * @throws IllegalArgumentException if rootData is not a {@link ContainerNode} identified as the root node
+     */
+    @Beta
+    public InMemoryDataTree create(final NormalizedNode<?, ?> rootData) {
+        return new InMemoryDataTree(createRoot(rootData), null);
+    }
+
+    /**
+     * Create a new data tree with specified initial content, which validates modifications using a
+     * {@link ForkJoinPool}. See {@link #create(NormalizedNode)} and {@link #create(ForkJoinPool, int)}.
+     *
+     * @param rootData Initial root node
+     * @param validationPool Pool to use for validation
+     * @param validationThreshold Minimum number of modified children a node needs to have for them to be
+     *        validated concurrently
+     * @return A new data tree
+     * @throws IllegalArgumentException if rootData is not a {@link ContainerNode} identified as the root node,
+     *         or if validationThreshold is not positive
+     */
+    @Beta
+    public InMemoryDataTree create(final NormalizedNode<?, ?> rootData, final ForkJoinPool validationPool,
+            final int validationThreshold) {
+        return new InMemoryDataTree(createRoot(rootData), null,
+            new ParallelValidation(validationPool, validationThreshold));
+    }
+
+    private static TreeNode createRoot(final NormalizedNode<?, ?> rootData) {
+        Preconditions.checkArgument(rootData instanceof ContainerNode, "Root data %s is not a container", rootData);
+        Preconditions.checkArgument(ROOT_IDENTIFIER.equals(rootData.getIdentifier()),
+            "Root data %s is not identified as %s", rootData.getIdentifier(), ROOT_IDENTIFIER);
+        return TreeNodeFactory.createTreeNode(rootData, Version.initial());
+    }
+
+    private static TreeNode createRoot() {
+        final NormalizedNode<?, ?> data = Builders.containerBuilder().withNodeIdentifier(ROOT_IDENTIFIER).build();
 
-        return new InMemoryDataTree(TreeNodeFactory.createTreeNode(data, Version.initial()), null);
+        return TreeNodeFactory.createTreeNode(data, Version.initial());
     }
 
     /**
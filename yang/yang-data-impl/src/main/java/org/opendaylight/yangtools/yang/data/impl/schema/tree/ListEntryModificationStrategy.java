@@ -16,7 +16,7 @@ import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 
 final class ListEntryModificationStrategy extends AbstractDataNodeContainerModificationStrategy<ListSchemaNode> {
     ListEntryModificationStrategy(final ListSchemaNode schema) {
-        super(schema, MapEntryNode.class);
+        super(schema, MapEntryNode.class, ChildConstraints.forChildren(schema));
     }
 
     @Override
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 import com.google.common.base.Optional;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.StoreTreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
@@ -77,6 +78,22 @@ abstract class ModificationApplyOperation implements StoreTreeNode<ModificationA
      */
     abstract void verifyStructure(ModifiedNode modification) throws IllegalArgumentException;
 
+    /**
+     * Checks schema constraints of a subtree which replaces the current data, either because it has been written,
+     * or because it has been merged into a node which does not exist. Since validation does not descend into such
+     * subtrees, implementations are responsible for checking both the data and any child modifications applied
+     * on top of it. The default implementation does nothing.
+     *
+     * @param path Path to the node
+     * @param modification Modification applied to the node, or null if the data is not modified
+     * @param data Data replacing the current node, or null if there is none
+     * @throws DataValidationFailedException if the resulting data violates a schema constraint
+     */
+    void checkReplacedConstraints(final YangInstanceIdentifier path, final NodeModification modification,
+            final NormalizedNode<?, ?> data) throws DataValidationFailedException {
+        // No constraints by default
+    }
+
     /**
      * Return the tracking policy for this node's children.
      *
@@ -11,12 +11,15 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Verify;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -86,6 +89,7 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
      *
      * @return Currently-written value
      */
+    @Override
     public NormalizedNode<?, ?> getWrittenValue() {
         return value;
     }
@@ -318,4 +322,80 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
     public static ModifiedNode createUnmodified(final TreeNode metadataTree, final ChildTrackingPolicy childPolicy) {
         return new ModifiedNode(metadataTree.getIdentifier(), Optional.of(metadataTree), childPolicy);
     }
+
+    /**
+     * Create a node which combines a number of sealed, non-overlapping modifications of the same node. Subtrees
+     * which are modified by only one of the modifications are shared, not copied, and the combined node is
+     * a {@link LogicalOperation#TOUCH} of the union of their children.
+     *
+     * @param strategy Apply operation corresponding to the node
+     * @param nodes Modifications to combine, all of them need to have the same identifier
+     * @return Combined modification, or null if none of the modifications has any effect
+     * @throws IllegalArgumentException if the modifications overlap
+     */
+    static ModifiedNode combine(final ModificationApplyOperation strategy, final Collection<ModifiedNode> nodes) {
+        final List<ModifiedNode> effective = new ArrayList<>(nodes.size());
+        for (ModifiedNode node : nodes) {
+            if (node.operation != LogicalOperation.NONE) {
+                effective.add(node);
+            }
+        }
+
+        switch (effective.size()) {
+        case 0:
+            return null;
+        case 1:
+            return effective.get(0);
+        default:
+            break;
+        }
+
+        final ModifiedNode first = effective.get(0);
+        final Map<PathArgument, List<ModifiedNode>> children = new LinkedHashMap<>();
+        for (ModifiedNode node : effective) {
+            Preconditions.checkArgument(node.operation == LogicalOperation.TOUCH,
+                "Node %s is modified by more than one modification", node.identifier);
+
+            for (ModifiedNode child : node.children.values()) {
+                List<ModifiedNode> list = children.get(child.identifier);
+                if (list == null) {
+                    list = new ArrayList<>(2);
+                    children.put(child.identifier, list);
+                }
+                list.add(child);
+            }
+        }
+
+        final ModifiedNode ret = new ModifiedNode(first.identifier, first.original, strategy.getChildPolicy());
+        ret.operation = LogicalOperation.TOUCH;
+        for (Entry<PathArgument, List<ModifiedNode>> e : children.entrySet()) {
+            final Optional<ModificationApplyOperation> childStrategy = strategy.getChild(e.getKey());
+            Preconditions.checkArgument(childStrategy.isPresent(), "Unknown child %s of %s", e.getKey(), first.identifier);
+
+            final ModifiedNode child = combine(childStrategy.get(), e.getValue());
+            if (child != null) {
+                ret.children.put(e.getKey(), child);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Resolve modification types of nodes which have been replaced by a combined node in
+     * {@link #combine(ModificationApplyOperation, Collection)}, once the combined node has been applied.
+     *
+     * @param combined Combined node, which has been applied
+     * @param node Modification which contributed to the combined node
+     */
+    static void resolveCombined(final ModifiedNode combined, final ModifiedNode node) {
+        if (combined == node || combined == null) {
+            // Shared subtree, already resolved, or a no-op
+            return;
+        }
+
+        node.resolveModificationType(combined.modificationType());
+        for (ModifiedNode child : node.children.values()) {
+            resolveCombined(combined.children.get(child.identifier), child);
+        }
+    }
 }
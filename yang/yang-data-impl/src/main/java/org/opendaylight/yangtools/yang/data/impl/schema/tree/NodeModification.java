@@ -11,6 +11,7 @@ import com.google.common.base.Optional;
 import java.util.Collection;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 
 /**
@@ -40,4 +41,19 @@ abstract class NodeModification implements Identifiable<PathArgument> {
      * @return Collection of all children nodes.
      */
     abstract Collection<? extends NodeModification> getChildren();
+
+    /**
+     * Get the modification of a particular child.
+     *
+     * @param child Child identifier
+     * @return Child modification, or {@link Optional#absent()} if the child has not been modified.
+     */
+    abstract Optional<? extends NodeModification> getChild(PathArgument child);
+
+    /**
+     * Get the value which was written or merged into this node.
+     *
+     * @return Written value, or null if no value has been written.
+     */
+    abstract NormalizedNode<?, ?> getWrittenValue();
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * A {@link DataTreeCandidateNode} derived from the before- and after-image of data. Modified nodes do not track
+ * children of nodes which have been written or deleted, hence this class is used to expose those children, which
+ * are reported as {@link ModificationType#WRITE} or {@link ModificationType#DELETE}. Children whose before- and
+ * after-image is the same object are considered unmodified and are not reported.
+ */
+final class NormalizedNodeDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final PathArgument identifier;
+    private final NormalizedNode<?, ?> before;
+    private final NormalizedNode<?, ?> after;
+
+    private NormalizedNodeDataTreeCandidateNode(final PathArgument identifier, final NormalizedNode<?, ?> before,
+            final NormalizedNode<?, ?> after) {
+        this.identifier = Preconditions.checkNotNull(identifier);
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * Return the modified child of a node which has been written or deleted.
+     *
+     * @param parent Parent node
+     * @param identifier Child identifier
+     * @return Child node, or null if the child has not been modified
+     */
+    static DataTreeCandidateNode childOf(final DataTreeCandidateNode parent, final PathArgument identifier) {
+        return create(identifier, child(parent.getDataBefore(), identifier), child(parent.getDataAfter(), identifier));
+    }
+
+    /**
+     * Return all modified children of a node which has been written or deleted.
+     *
+     * @param parent Parent node
+     * @return Collection of child nodes
+     */
+    static Collection<DataTreeCandidateNode> childrenOf(final DataTreeCandidateNode parent) {
+        final Optional<NormalizedNode<?, ?>> dataBefore = parent.getDataBefore();
+        final Optional<NormalizedNode<?, ?>> dataAfter = parent.getDataAfter();
+        final Collection<NormalizedNode<?, ?>> childrenBefore = children(dataBefore);
+        final Collection<NormalizedNode<?, ?>> childrenAfter = children(dataAfter);
+        if (childrenBefore.isEmpty() && childrenAfter.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<DataTreeCandidateNode> ret = new ArrayList<>(Math.max(childrenBefore.size(), childrenAfter.size()));
+        for (final NormalizedNode<?, ?> childAfter : childrenAfter) {
+            final PathArgument id = childAfter.getIdentifier();
+            final DataTreeCandidateNode node = create(id, child(dataBefore, id), childAfter);
+            if (node != null) {
+                ret.add(node);
+            }
+        }
+        for (final NormalizedNode<?, ?> childBefore : childrenBefore) {
+            final PathArgument id = childBefore.getIdentifier();
+            if (child(dataAfter, id) == null) {
+                ret.add(new NormalizedNodeDataTreeCandidateNode(id, childBefore, null));
+            }
+        }
+        return ret;
+    }
+
+    private static DataTreeCandidateNode create(final PathArgument identifier, final NormalizedNode<?, ?> before,
+            final NormalizedNode<?, ?> after) {
+        if (before == after) {
+            // Either both are null or the subtree has not been touched
+            return null;
+        }
+        return new NormalizedNodeDataTreeCandidateNode(identifier, before, after);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NormalizedNode<?, ?> child(final Optional<NormalizedNode<?, ?>> parent, final PathArgument id) {
+        if (parent.isPresent() && parent.get() instanceof NormalizedNodeContainer) {
+            return ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) parent.get()).getChild(id).orNull();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<NormalizedNode<?, ?>> children(final Optional<NormalizedNode<?, ?>> parent) {
+        if (parent.isPresent() && parent.get() instanceof NormalizedNodeContainer) {
+            return ((NormalizedNodeContainer<?, ?, NormalizedNode<?, ?>>) parent.get()).getValue();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        return childrenOf(this);
+    }
+
+    @Override
+    public DataTreeCandidateNode getModifiedChild(final PathArgument identifier) {
+        return childOf(this, identifier);
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return after != null ? ModificationType.WRITE : ModificationType.DELETE;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return Optional.<NormalizedNode<?, ?>>fromNullable(after);
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return Optional.<NormalizedNode<?, ?>>fromNullable(before);
+    }
+
+    @Override
+    public String toString() {
+        return "NormalizedNodeDataTreeCandidateNode [identifier=" + identifier + ", type=" + getModificationType()
+                + "]";
+    }
+}
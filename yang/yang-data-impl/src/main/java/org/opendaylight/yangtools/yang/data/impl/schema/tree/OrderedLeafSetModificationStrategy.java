@@ -22,7 +22,7 @@ final class OrderedLeafSetModificationStrategy extends AbstractNodeContainerModi
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     OrderedLeafSetModificationStrategy(final LeafListSchemaNode schema) {
-        super((Class) LeafSetNode.class);
+        super((Class) LeafSetNode.class, ChildConstraints.forElements(schema));
         entryStrategy = Optional.<ModificationApplyOperation> of(new LeafSetEntryModificationStrategy(schema));
     }
 
@@ -13,7 +13,7 @@ final class OrderedMapModificationStrategy extends AbstractNodeContainerModifica
     private final Optional<ModificationApplyOperation> entryStrategy;
 
     OrderedMapModificationStrategy(final ListSchemaNode schema) {
-        super(OrderedMapNode.class);
+        super(OrderedMapNode.class, ChildConstraints.forElements(schema));
         entryStrategy = Optional.<ModificationApplyOperation> of(new ListEntryModificationStrategy(schema));
     }
 
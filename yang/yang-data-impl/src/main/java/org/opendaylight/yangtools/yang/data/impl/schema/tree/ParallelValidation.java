@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+
+/**
+ * Fork/join execution of {@link ModificationApplyOperation#checkApplicable(YangInstanceIdentifier, NodeModification, Optional)}.
+ * Validation runs in a {@link ForkJoinPool}, where container strategies check children of any node with at least
+ * a threshold number of modified children concurrently, in chunks of that size. Any other node is checked
+ * in the thread which encountered it.
+ *
+ * Failures are reported exactly as they would be by sequential validation, e.g. if multiple children fail, the
+ * failure of the child which comes first in iteration order is reported.
+ */
+final class ParallelValidation {
+    private static final ThreadLocal<ParallelValidation> CURRENT = new ThreadLocal<>();
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    ParallelValidation(final ForkJoinPool pool, final int threshold) {
+        Preconditions.checkArgument(threshold > 0, "Threshold has to be positive, not %s", threshold);
+        this.pool = Preconditions.checkNotNull(pool);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Validate a modification.
+     *
+     * @param strategy Operation corresponding to the modification
+     * @param path Modification path
+     * @param modification Modification to validate
+     * @param current Current metadata
+     * @throws DataValidationFailedException if the modification is not applicable
+     */
+    void checkApplicable(final ModificationApplyOperation strategy, final YangInstanceIdentifier path,
+            final NodeModification modification, final Optional<TreeNode> current) throws DataValidationFailedException {
+        final ValidationTask task = new ValidationTask(this, new SingleCheck(strategy, path, modification, current));
+        pool.invoke(task);
+        task.throwFailure();
+    }
+
+    /**
+     * Check whether children of a node should be checked through {@link #checkChildren(SchemaAwareApplyOperation,
+     * YangInstanceIdentifier, Collection, TreeNode)}.
+     *
+     * @param childCount Number of modified children
+     * @return The validation in progress in this thread, or null if children should be checked sequentially
+     */
+    static ParallelValidation forChildren(final int childCount) {
+        final ParallelValidation current = CURRENT.get();
+        if (current != null && childCount >= current.threshold && ForkJoinTask.inForkJoinPool()) {
+            return current;
+        }
+        return null;
+    }
+
+    /**
+     * Check children of a node concurrently. Must be called from within the validation.
+     *
+     * @param parent Operation corresponding to the parent node
+     * @param path Path to the parent node
+     * @param children Modified children
+     * @param currentMeta Current metadata of the parent node
+     * @throws DataValidationFailedException if any of the children is not applicable
+     */
+    void checkChildren(final SchemaAwareApplyOperation parent, final YangInstanceIdentifier path,
+            final Collection<? extends NodeModification> children, final TreeNode currentMeta)
+                    throws DataValidationFailedException {
+        final List<ValidationTask> tasks = new ArrayList<>((children.size() + threshold - 1) / threshold);
+        List<SingleCheck> chunk = new ArrayList<>(threshold);
+        for (NodeModification childMod : children) {
+            final YangInstanceIdentifier.PathArgument childId = childMod.getIdentifier();
+            chunk.add(new SingleCheck(parent.resolveChildOperation(childId), path.node(childId), childMod,
+                currentMeta.getChild(childId)));
+            if (chunk.size() == threshold) {
+                tasks.add(new ValidationTask(this, chunk));
+                chunk = new ArrayList<>(threshold);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            tasks.add(new ValidationTask(this, chunk));
+        }
+
+        ForkJoinTask.invokeAll(tasks);
+        for (ValidationTask task : tasks) {
+            task.throwFailure();
+        }
+    }
+
+    private static final class SingleCheck {
+        private final ModificationApplyOperation strategy;
+        private final YangInstanceIdentifier path;
+        private final NodeModification modification;
+        private final Optional<TreeNode> current;
+
+        SingleCheck(final ModificationApplyOperation strategy, final YangInstanceIdentifier path,
+                final NodeModification modification, final Optional<TreeNode> current) {
+            this.strategy = strategy;
+            this.path = path;
+            this.modification = modification;
+            this.current = current;
+        }
+
+        void run() throws DataValidationFailedException {
+            strategy.checkApplicable(path, modification, current);
+        }
+    }
+
+    private static final class ValidationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ParallelValidation validation;
+        private final transient List<SingleCheck> checks;
+        private DataValidationFailedException failure;
+
+        ValidationTask(final ParallelValidation validation, final List<SingleCheck> checks) {
+            this.validation = validation;
+            this.checks = checks;
+        }
+
+        ValidationTask(final ParallelValidation validation, final SingleCheck check) {
+            this(validation, Collections.singletonList(check));
+        }
+
+        @Override
+        protected void compute() {
+            // Tasks may be nested in a single thread when joining, hence we need to restore the previous value
+            final ParallelValidation prev = CURRENT.get();
+            CURRENT.set(validation);
+            try {
+                for (SingleCheck check : checks) {
+                    check.run();
+                }
+            } catch (DataValidationFailedException e) {
+                failure = e;
+            } finally {
+                CURRENT.set(prev);
+            }
+        }
+
+        void throwFailure() throws DataValidationFailedException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
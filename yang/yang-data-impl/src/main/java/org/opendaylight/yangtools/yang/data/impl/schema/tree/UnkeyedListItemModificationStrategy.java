@@ -16,7 +16,7 @@ import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 
 final class UnkeyedListItemModificationStrategy extends AbstractDataNodeContainerModificationStrategy<ListSchemaNode> {
     UnkeyedListItemModificationStrategy(final ListSchemaNode schemaNode) {
-        super(schemaNode, UnkeyedListEntryNode.class);
+        super(schemaNode, UnkeyedListEntryNode.class, ChildConstraints.forChildren(schemaNode));
     }
 
     @Override
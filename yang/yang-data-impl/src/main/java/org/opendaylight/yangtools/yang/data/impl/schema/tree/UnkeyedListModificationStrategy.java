@@ -13,6 +13,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.IncorrectDataStructureException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.MutableTreeNode;
@@ -26,9 +28,11 @@ import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 final class UnkeyedListModificationStrategy extends SchemaAwareApplyOperation {
 
     private final Optional<ModificationApplyOperation> entryStrategy;
+    private final ChildConstraints constraints;
 
     UnkeyedListModificationStrategy(final ListSchemaNode schema) {
         entryStrategy = Optional.<ModificationApplyOperation> of(new UnkeyedListItemModificationStrategy(schema));
+        constraints = ChildConstraints.forElements(schema);
     }
 
     @Override
@@ -126,6 +130,34 @@ final class UnkeyedListModificationStrategy extends SchemaAwareApplyOperation {
 
     }
 
+    @Override
+    protected void checkWriteApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current) throws DataValidationFailedException {
+        super.checkWriteApplicable(path, modification, current);
+        checkReplacedConstraints(path, modification, modification.getWrittenValue());
+    }
+
+    @Override
+    protected void checkMergeApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current) throws DataValidationFailedException {
+        super.checkMergeApplicable(path, modification, current);
+
+        // Merge replaces the entire list
+        checkReplacedConstraints(path, modification, modification.getWrittenValue());
+    }
+
+    @Override
+    void checkReplacedConstraints(final YangInstanceIdentifier path, final NodeModification modification,
+            final NormalizedNode<?, ?> data) throws DataValidationFailedException {
+        if (data instanceof UnkeyedListNode) {
+            final UnkeyedListNode list = (UnkeyedListNode) data;
+            constraints.checkElements(path, list.getSize());
+            for (UnkeyedListEntryNode entry : list.getValue()) {
+                entryStrategy.get().checkReplacedConstraints(path.node(entry.getIdentifier()), null, entry);
+            }
+        }
+    }
+
     @Override
     protected void checkSubtreeModificationApplicable(final YangInstanceIdentifier path, final NodeModification modification,
             final Optional<TreeNode> current) throws IncorrectDataStructureException {
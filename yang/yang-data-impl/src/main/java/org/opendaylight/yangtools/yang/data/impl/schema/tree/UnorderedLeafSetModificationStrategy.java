@@ -21,7 +21,7 @@ final class UnorderedLeafSetModificationStrategy extends AbstractNodeContainerMo
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     UnorderedLeafSetModificationStrategy(final LeafListSchemaNode schema) {
-        super((Class) LeafSetNode.class);
+        super((Class) LeafSetNode.class, ChildConstraints.forElements(schema));
         entryStrategy = Optional.<ModificationApplyOperation> of(new LeafSetEntryModificationStrategy(schema));
     }
 
@@ -20,7 +20,7 @@ final class UnorderedMapModificationStrategy extends AbstractNodeContainerModifi
     private final Optional<ModificationApplyOperation> entryStrategy;
 
     UnorderedMapModificationStrategy(final ListSchemaNode schema) {
-        super(MapNode.class);
+        super(MapNode.class, ChildConstraints.forElements(schema));
         entryStrategy = Optional.<ModificationApplyOperation> of(new ListEntryModificationStrategy(schema));
     }
 
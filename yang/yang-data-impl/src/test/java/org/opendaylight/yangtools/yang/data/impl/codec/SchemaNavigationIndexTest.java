@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+
+public class SchemaNavigationIndexTest {
+    private static final QName TOP = QName.create("urn:opendaylight:params:xml:ns:yang:schema-navigation-index",
+        "2015-06-01", "top");
+    private static final QName NAME = QName.create(TOP, "name");
+    private static final QName SHAPE = QName.create(TOP, "shape");
+    private static final QName CIRCLE = QName.create(TOP, "circle");
+    private static final QName RADIUS = QName.create(TOP, "radius");
+    private static final QName RECTANGLE = QName.create(TOP, "rectangle");
+    private static final QName WIDTH = QName.create(TOP, "width");
+    private static final QName CORNER = QName.create(TOP, "corner");
+    private static final QName X = QName.create(TOP, "x");
+    private static final QName GROUPED = QName.create(TOP, "grouped");
+    private static final QName GROUPED_CONTAINER = QName.create(TOP, "grouped-container");
+    private static final QName GROUPED_LEAF = QName.create(TOP, "grouped-leaf");
+    private static final QName GROUPED_CHOICE = QName.create(TOP, "grouped-choice");
+    private static final QName GROUPED_SECOND = QName.create(TOP, "grouped-second");
+    private static final QName GROUPED_SECOND_LEAF = QName.create(TOP, "grouped-second-leaf");
+    private static final QName AUGMENTED_LEAF = QName.create(TOP, "augmented-leaf");
+    private static final QName AUGMENTED_CONTAINER = QName.create(TOP, "augmented-container");
+    private static final QName NESTED = QName.create(TOP, "nested");
+    private static final QName INPUT_LEAF = QName.create(TOP, "input-leaf");
+    private static final QName NOTIFICATION_LEAF = QName.create(TOP, "notification-leaf");
+    private static final QName MISSING = QName.create(TOP, "missing");
+
+    private static SchemaContext context;
+    private static Module module;
+    private static SchemaNavigationIndex index;
+    private static ContainerSchemaNode top;
+
+    @BeforeClass
+    public static void setUp() {
+        final YangParserImpl parser = new YangParserImpl();
+        final Set<Module> modules = parser.parseYangModelsFromStreams(Collections.singletonList(
+            SchemaNavigationIndexTest.class.getResourceAsStream("/schema-navigation-index.yang")));
+        context = parser.resolveSchemaContext(modules);
+        module = context.getModules().iterator().next();
+        index = SchemaNavigationIndex.forContext(context);
+        top = (ContainerSchemaNode) context.getDataChildByName(TOP);
+    }
+
+    @Test
+    public void testForContext() {
+        assertSame(index, SchemaNavigationIndex.forContext(context));
+    }
+
+    @Test
+    public void testContainerChildren() {
+        assertSame(top, index.getChild(context, TOP));
+        assertSame(top.getDataChildByName(NAME), index.getChild(top, NAME));
+        assertTrue(index.getChild(top, SHAPE) instanceof ChoiceSchemaNode);
+    }
+
+    @Test
+    public void testChoiceChildren() {
+        final ChoiceSchemaNode shape = (ChoiceSchemaNode) top.getDataChildByName(SHAPE);
+        final DataSchemaNode radius = shape.getCaseNodeByName(CIRCLE).getDataChildByName(RADIUS);
+        final DataSchemaNode width = shape.getCaseNodeByName(RECTANGLE).getDataChildByName(WIDTH);
+        final DataSchemaNode corner = shape.getCaseNodeByName(RECTANGLE).getDataChildByName(CORNER);
+
+        // Children of all cases are visible through the choice, but not through its parent
+        assertSame(radius, index.getChild(shape, RADIUS));
+        assertSame(width, index.getChild(shape, WIDTH));
+        assertSame(corner, index.getChild(shape, CORNER));
+        assertNull(index.getChild(top, RADIUS));
+
+        assertSame(shape.getCaseNodeByName(CIRCLE), index.getCaseByChild(shape, RADIUS));
+        assertSame(shape.getCaseNodeByName(RECTANGLE), index.getCaseByChild(shape, WIDTH));
+        assertSame(shape.getCaseNodeByName(RECTANGLE), index.getCaseByChild(shape, CORNER));
+
+        // Containers in cases are indexed as well
+        assertSame(((ContainerSchemaNode) corner).getDataChildByName(X), index.getChild(corner, X));
+    }
+
+    @Test
+    public void testAugmentation() {
+        final AugmentationSchema augment = index.getAugmentation(top,
+            new AugmentationIdentifier(ImmutableSet.of(AUGMENTED_LEAF, AUGMENTED_CONTAINER)));
+        assertNotNull(augment);
+        assertEquals(2, augment.getChildNodes().size());
+
+        // The effective augmentation exposes the nodes actually present in the target
+        final DataSchemaNode leaf = top.getDataChildByName(AUGMENTED_LEAF);
+        final DataSchemaNode container = top.getDataChildByName(AUGMENTED_CONTAINER);
+        assertTrue(augment.getChildNodes().contains(leaf));
+        assertTrue(augment.getChildNodes().contains(container));
+        assertSame(leaf, index.getChild(top, AUGMENTED_LEAF));
+        assertSame(leaf, index.getChild(augment, AUGMENTED_LEAF));
+        assertSame(container, index.getChild(augment, AUGMENTED_CONTAINER));
+        assertSame(((ContainerSchemaNode) container).getDataChildByName(NESTED), index.getChild(container, NESTED));
+
+        // Lookups are stable
+        assertSame(augment, index.getAugmentation(top,
+            new AugmentationIdentifier(ImmutableSet.of(AUGMENTED_CONTAINER, AUGMENTED_LEAF))));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownAugmentation() {
+        index.getAugmentation(top, new AugmentationIdentifier(ImmutableSet.of(NAME)));
+    }
+
+    @Test
+    public void testUsedGrouping() {
+        // Nodes instantiated from a grouping are part of the index
+        final ContainerSchemaNode container = (ContainerSchemaNode) top.getDataChildByName(GROUPED_CONTAINER);
+        assertSame(container, index.getChild(top, GROUPED_CONTAINER));
+        assertSame(container.getDataChildByName(GROUPED_LEAF), index.getChild(container, GROUPED_LEAF));
+
+        final ChoiceSchemaNode choice = (ChoiceSchemaNode) top.getDataChildByName(GROUPED_CHOICE);
+        assertSame(choice.getCaseNodeByName(GROUPED_SECOND), index.getCaseByChild(choice, GROUPED_SECOND_LEAF));
+    }
+
+    @Test
+    public void testGroupingDefinition() {
+        // Groupings themselves are not indexed, lookups walk the schema
+        final GroupingDefinition grouping = module.getGroupings().iterator().next();
+        assertEquals(GROUPED, grouping.getQName());
+
+        final ContainerSchemaNode container = (ContainerSchemaNode) index.getChild(grouping, GROUPED_CONTAINER);
+        assertSame(grouping.getDataChildByName(GROUPED_CONTAINER), container);
+        assertSame(container.getDataChildByName(GROUPED_LEAF), index.getChild(container, GROUPED_LEAF));
+        assertNull(index.getChild(grouping, MISSING));
+
+        final ChoiceSchemaNode choice = (ChoiceSchemaNode) index.getChild(grouping, GROUPED_CHOICE);
+        final LeafSchemaNode leaf = (LeafSchemaNode) index.getChild(choice, GROUPED_SECOND_LEAF);
+        assertSame(choice.getCaseNodeByName(GROUPED_SECOND).getDataChildByName(GROUPED_SECOND_LEAF), leaf);
+        assertSame(choice.getCaseNodeByName(GROUPED_SECOND), index.getCaseByChild(choice, GROUPED_SECOND_LEAF));
+        assertNull(index.getChild(choice, MISSING));
+        assertNull(index.getCaseByChild(choice, MISSING));
+    }
+
+    @Test
+    public void testOperations() {
+        final RpcDefinition rpc = module.getRpcs().iterator().next();
+        assertSame(rpc.getInput().getDataChildByName(INPUT_LEAF), index.getChild(rpc.getInput(), INPUT_LEAF));
+
+        final NotificationDefinition notification = module.getNotifications().iterator().next();
+        assertSame(notification.getDataChildByName(NOTIFICATION_LEAF),
+            index.getChild(notification, NOTIFICATION_LEAF));
+    }
+
+    @Test
+    public void testMissingChild() {
+        final ChoiceSchemaNode shape = (ChoiceSchemaNode) top.getDataChildByName(SHAPE);
+
+        assertNull(index.getChild(context, MISSING));
+        assertNull(index.getChild(top, MISSING));
+        assertNull(index.getChild(shape, MISSING));
+        assertNull(index.getCaseByChild(shape, MISSING));
+
+        // Case nodes are not children of a choice
+        assertNull(index.getChild(shape, CIRCLE));
+        assertNull(index.getCaseByChild(shape, CIRCLE));
+
+        // Neither a container nor a choice
+        assertNull(index.getChild(top.getDataChildByName(NAME), NAME));
+    }
+}
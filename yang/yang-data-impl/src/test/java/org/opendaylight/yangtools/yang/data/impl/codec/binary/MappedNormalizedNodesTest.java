@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.TestModel;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class MappedNormalizedNodesTest {
+    private static final String NS = "urn:opendaylight:test:mapped";
+    private static final String REV = "2015-06-01";
+    private static final QName TOP = QName.create(NS, REV, "top");
+    private static final QName LIST = QName.create(NS, REV, "list");
+    private static final QName ORDERED_LIST = QName.create(NS, REV, "ordered-list");
+    private static final QName UNKEYED_LIST = QName.create(NS, REV, "unkeyed-list");
+    private static final QName ID = QName.create(NS, REV, "id");
+    private static final QName NAME = QName.create(NS, REV, "name");
+    private static final QName LEAF_LIST = QName.create(NS, REV, "leaf-list");
+    private static final QName CHOICE = QName.create(NS, REV, "choice");
+    private static final QName AUG_LEAF = QName.create("urn:opendaylight:test:mapped:aug", "2015-06-02", "aug-leaf");
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("mapped", ".snapshot");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final ContainerNode expected = createTestContainer();
+        MappedNormalizedNodes.writeNormalizedNode(expected, file);
+
+        final NormalizedNode<?, ?> actual = MappedNormalizedNodes.readNormalizedNode(file);
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @Test
+    public void testLazyLookup() throws IOException {
+        MappedNormalizedNodes.writeNormalizedNode(createTestContainer(), file);
+
+        final ContainerNode top = (ContainerNode) MappedNormalizedNodes.readNormalizedNode(file);
+        final MapNode list = (MapNode) top.getChild(new NodeIdentifier(LIST)).get();
+        assertEquals(100, list.getValue().size());
+        assertEquals(ImmutableNodes.leafNode(NAME, "name-42"), list.getChild(NodeIdentifierWithPredicates.create(
+            LIST, ID, 42L)).get().getChild(new NodeIdentifier(NAME)).get());
+        assertFalse(list.getChild(NodeIdentifierWithPredicates.create(LIST, ID, 100L)).isPresent());
+
+        // Entries of an ordered map retain their order
+        final OrderedMapNode ordered = (OrderedMapNode) top.getChild(new NodeIdentifier(ORDERED_LIST)).get();
+        assertEquals(NodeIdentifierWithPredicates.create(ORDERED_LIST, ID, 3L), ordered.getChild(0).getIdentifier());
+        assertEquals(NodeIdentifierWithPredicates.create(ORDERED_LIST, ID, 1L),
+            Iterables.getLast(ordered.getValue()).getIdentifier());
+    }
+
+    @Test
+    public void testModifyMappedNode() throws IOException {
+        MappedNormalizedNodes.writeNormalizedNode(createTestContainer(), file);
+
+        final ContainerNode top = (ContainerNode) MappedNormalizedNodes.readNormalizedNode(file);
+        final MapNode list = (MapNode) top.getChild(new NodeIdentifier(LIST)).get();
+        final MapNode modified = Builders.mapBuilder(list).withoutChild(NodeIdentifierWithPredicates.create(
+            LIST, ID, 0L)).build();
+        assertEquals(100, list.getValue().size());
+        assertEquals(99, modified.getValue().size());
+
+        final ContainerNode modifiedTop = Builders.containerBuilder(top).withChild(modified).build();
+        assertEquals(modified, modifiedTop.getChild(new NodeIdentifier(LIST)).get());
+    }
+
+    @Test
+    public void testDataTreeSnapshot() throws DataValidationFailedException, IOException {
+        final SchemaContext schemaContext = TestModel.createTestContext();
+        final DataTree original = InMemoryDataTreeFactory.getInstance().create();
+        original.setSchemaContext(schemaContext);
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerList = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < 100; ++i) {
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i)
+                .withChild(ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                    .withChild(ImmutableNodes.mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "name-" + i))
+                    .build())
+                .build());
+        }
+        final DataTreeModification modification = original.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME)).withChild(outerList.build()).build());
+        modification.ready();
+        original.validate(modification);
+        original.commit(original.prepare(modification));
+        MappedNormalizedNodes.exportSnapshot(original.takeSnapshot(), file);
+
+        final DataTree restored = InMemoryDataTreeFactory.getInstance().create(
+            MappedNormalizedNodes.readNormalizedNode(file));
+        restored.setSchemaContext(schemaContext);
+        final YangInstanceIdentifier entryPath = YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 7).node(TestModel.INNER_LIST_QNAME)
+                .nodeWithKey(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "name-7").build();
+        assertEquals(original.takeSnapshot().readNode(YangInstanceIdentifier.builder().build()),
+            restored.takeSnapshot().readNode(YangInstanceIdentifier.builder().build()));
+        assertTrue(restored.takeSnapshot().readNode(entryPath).isPresent());
+
+        // The restored tree can be modified like any other
+        final DataTreeModification restoredModification = restored.takeSnapshot().newModification();
+        restoredModification.delete(entryPath);
+        restoredModification.ready();
+        restored.validate(restoredModification);
+        restored.commit(restored.prepare(restoredModification));
+
+        final DataTreeSnapshot snapshot = restored.takeSnapshot();
+        assertFalse(snapshot.readNode(entryPath).isPresent());
+        final Optional<NormalizedNode<?, ?>> outer = snapshot.readNode(TestModel.OUTER_LIST_PATH);
+        assertEquals(100, ((MapNode) outer.get()).getValue().size());
+    }
+
+    @Test
+    public void testOverwriteMappedFile() throws IOException {
+        final ContainerNode expected = createTestContainer();
+        MappedNormalizedNodes.writeNormalizedNode(expected, file);
+
+        // Write a mapped node back into the file it is mapped from, decoding it while the file is being replaced
+        final NormalizedNode<?, ?> mapped = MappedNormalizedNodes.readNormalizedNode(file);
+        MappedNormalizedNodes.writeNormalizedNode(mapped, file);
+        assertEquals(expected, mapped);
+        assertEquals(expected, MappedNormalizedNodes.readNormalizedNode(file));
+
+        final File[] leftovers = file.getAbsoluteFile().getParentFile().listFiles();
+        for (final File f : leftovers) {
+            assertFalse(f.getName().startsWith(file.getName()) && f.getName().endsWith(".tmp"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRestoreNonRootContainer() throws IOException {
+        MappedNormalizedNodes.writeNormalizedNode(createTestContainer(), file);
+        InMemoryDataTreeFactory.getInstance().create(MappedNormalizedNodes.readNormalizedNode(file));
+    }
+
+    @Test(expected = InvalidNormalizedNodeStreamException.class)
+    public void testInvalidFile() throws IOException {
+        try (final FileOutputStream fos = new FileOutputStream(file)) {
+            fos.write(new byte[32]);
+        }
+        MappedNormalizedNodes.readNormalizedNode(file);
+    }
+
+    private static ContainerNode createTestContainer() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> list =
+                Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(LIST));
+        for (long i = 0; i < 100; ++i) {
+            list.withChild(ImmutableNodes.mapEntryBuilder(LIST, ID, i)
+                .withChild(ImmutableNodes.leafNode(ID, i))
+                .withChild(ImmutableNodes.leafNode(NAME, "name-" + i)).build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "string"), "foo"))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "decimal"), new BigDecimal("-12.345")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "empty"), null))
+                .withChild(Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(LEAF_LIST))
+                    .withChildValue("a").withChildValue("b").build())
+                .withChild(list.build())
+                .withChild(Builders.orderedMapBuilder().withNodeIdentifier(new NodeIdentifier(ORDERED_LIST))
+                    .withChild(ImmutableNodes.mapEntry(ORDERED_LIST, ID, 3L))
+                    .withChild(ImmutableNodes.mapEntry(ORDERED_LIST, ID, 2L))
+                    .withChild(ImmutableNodes.mapEntry(ORDERED_LIST, ID, 1L))
+                    .build())
+                .withChild(Builders.unkeyedListBuilder().withNodeIdentifier(new NodeIdentifier(UNKEYED_LIST))
+                    .withChild(Builders.unkeyedListEntryBuilder().withNodeIdentifier(new NodeIdentifier(UNKEYED_LIST))
+                        .withChild(ImmutableNodes.leafNode(NAME, "entry")).build())
+                    .build())
+                .withChild(Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(CHOICE))
+                    .withChild(ImmutableNodes.leafNode(QName.create(TOP, "case-leaf"), "case")).build())
+                .withChild(Builders.augmentationBuilder()
+                    .withNodeIdentifier(new AugmentationIdentifier(ImmutableSet.of(AUG_LEAF)))
+                    .withChild(ImmutableNodes.leafNode(AUG_LEAF, "augmented")).build())
+                .withChild(ImmutableNodes.containerNode(QName.create(TOP, "empty-container")))
+                .build();
+    }
+}
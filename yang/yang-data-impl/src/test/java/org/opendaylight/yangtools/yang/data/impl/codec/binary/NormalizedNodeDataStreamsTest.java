@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+public class NormalizedNodeDataStreamsTest {
+    private static final String NS = "urn:opendaylight:test:binary";
+    private static final String REV = "2015-06-01";
+    private static final QName TOP = QName.create(NS, REV, "top");
+    private static final QName LIST = QName.create(NS, REV, "list");
+    private static final QName ORDERED_LIST = QName.create(NS, REV, "ordered-list");
+    private static final QName UNKEYED_LIST = QName.create(NS, REV, "unkeyed-list");
+    private static final QName ID = QName.create(NS, REV, "id");
+    private static final QName NAME = QName.create(NS, REV, "name");
+    private static final QName LEAF_LIST = QName.create(NS, REV, "leaf-list");
+    private static final QName CHOICE = QName.create(NS, REV, "choice");
+    private static final QName CASE_LEAF = QName.create(NS, REV, "case-leaf");
+    private static final QName AUG_LEAF = QName.create("urn:opendaylight:test:binary:aug", "2015-06-02", "aug-leaf");
+    private static final QName ANYXML = QName.create(NS, REV, "anyxml");
+
+    @Test
+    public void testNormalizedNodeRoundTrip() throws IOException {
+        final ContainerNode expected = createTestContainer();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final NormalizedNodeDataOutput out = NormalizedNodeDataStreams.newDataOutput(new DataOutputStream(bos));
+        out.writeNormalizedNode(expected);
+        out.writeInt(42);
+        out.writeNormalizedNode(expected);
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataStreams.newDataInput(
+            new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+        assertEquals(expected, in.readNormalizedNode());
+        assertEquals(42, in.readInt());
+        assertEquals(expected, in.readNormalizedNode());
+    }
+
+    @Test
+    public void testDictionary() throws IOException {
+        final ContainerNode node = createTestContainer();
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        NormalizedNodeDataStreams.newDataOutput(new DataOutputStream(first)).writeNormalizedNode(node);
+
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        final NormalizedNodeDataOutput out = NormalizedNodeDataStreams.newDataOutput(new DataOutputStream(second));
+        out.writeNormalizedNode(node);
+        final int size = second.size();
+        out.writeNormalizedNode(node);
+
+        // Second copy refers to already-defined QNames, hence it has to be smaller
+        assertEquals(first.size(), size);
+        assertTrue(second.size() - size < size - 2);
+    }
+
+    @Test
+    public void testPathArguments() throws IOException {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder().node(TOP).node(LIST)
+                .nodeWithKey(LIST, ImmutableMap.<QName, Object>of(ID, 10L, NAME, "foo")).build()
+                .node(new AugmentationIdentifier(ImmutableSet.of(AUG_LEAF)))
+                .node(new NodeWithValue(LEAF_LIST, "bar"));
+        final YangInstanceIdentifier empty = YangInstanceIdentifier.builder().build();
+        final YangInstanceIdentifier ref = YangInstanceIdentifier.of(TOP).node(LIST).node(
+            NodeIdentifierWithPredicates.create(LIST, ID, 5L));
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final NormalizedNodeDataOutput out = NormalizedNodeDataStreams.newDataOutput(new DataOutputStream(bos));
+        out.writeYangInstanceIdentifier(path);
+        out.writeYangInstanceIdentifier(empty);
+        out.writePathArgument(new NodeWithValue(LEAF_LIST, ref));
+        out.writeNormalizedNode(ImmutableNodes.leafNode(NAME, ref));
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataStreams.newDataInput(
+            new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+        assertEquals(path, in.readYangInstanceIdentifier());
+        assertEquals(empty, in.readYangInstanceIdentifier());
+        assertEquals(new NodeWithValue(LEAF_LIST, ref), in.readPathArgument());
+        assertEquals(ImmutableNodes.leafNode(NAME, ref), in.readNormalizedNode());
+    }
+
+    @Test
+    public void testStandaloneNodes() throws Exception {
+        final LeafSetEntryNode<Object> entry = Builders.leafSetEntryBuilder()
+                .withNodeIdentifier(new NodeWithValue(LEAF_LIST, "foo")).withValue("foo").build();
+        final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(
+            new InputSource(new StringReader("<anyxml xmlns=\"" + NS + "\"><foo>bar</foo></anyxml>")));
+        final AnyXmlNode anyxml = Builders.anyXmlBuilder().withNodeIdentifier(new NodeIdentifier(ANYXML))
+                .withValue(new DOMSource(doc.getDocumentElement())).build();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final NormalizedNodeDataOutput out = NormalizedNodeDataStreams.newDataOutput(new DataOutputStream(bos));
+        out.writeNormalizedNode(entry);
+        out.writeNormalizedNode(anyxml);
+        out.writeNormalizedNode(ImmutableNodes.mapEntry(LIST, ID, 1L));
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataStreams.newDataInput(
+            new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+        assertEquals(entry, in.readNormalizedNode());
+
+        final NormalizedNode<?, ?> readAnyxml = in.readNormalizedNode();
+        assertEquals(anyxml.getIdentifier(), readAnyxml.getIdentifier());
+        assertEquals("bar", ((AnyXmlNode) readAnyxml).getValue().getNode().getTextContent());
+
+        assertEquals(ImmutableNodes.mapEntry(LIST, ID, 1L), in.readNormalizedNode());
+    }
+
+    @Test
+    public void testCachedQNames() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final NormalizedNodeDataOutput out = NormalizedNodeDataStreams.newDataOutput(new DataOutputStream(bos));
+        out.writePathArgument(new NodeIdentifier(TOP));
+        out.writePathArgument(new NodeIdentifier(TOP));
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataStreams.newDataInput(
+            new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+        assertSame(in.readPathArgument().getNodeType(), in.readPathArgument().getNodeType());
+    }
+
+    @Test(expected = InvalidNormalizedNodeStreamException.class)
+    public void testInvalidSignature() throws IOException {
+        NormalizedNodeDataStreams.newDataInput(new DataInputStream(new ByteArrayInputStream(new byte[] { 1, 1 })));
+    }
+
+    @Test(expected = InvalidNormalizedNodeStreamException.class)
+    public void testUnsupportedVersion() throws IOException {
+        NormalizedNodeDataStreams.newDataInput(new DataInputStream(new ByteArrayInputStream(
+            new byte[] { TokenTypes.SIGNATURE_MARKER, TokenTypes.VERSION + 1 })));
+    }
+
+    private static ContainerNode createTestContainer() {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "string"), "fooé"))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "boolean"), Boolean.TRUE))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "byte"), (byte) -8))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "short"), (short) 300))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "int"), Integer.MIN_VALUE))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "long"), Long.MAX_VALUE))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "biginteger"),
+                    new BigInteger("18446744073709551615")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "decimal"), new BigDecimal("-12.345")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "binary"), new byte[] { 1, 2, 3 }))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "identityref"), AUG_LEAF))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "bits"), ImmutableSet.of("one", "two")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TOP, "empty"), null))
+                .withChild(Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(LEAF_LIST))
+                    .withChildValue("a").withChildValue("b").build())
+                .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(LIST))
+                    .withChild(ImmutableNodes.mapEntryBuilder(LIST, ID, 1L)
+                        .withChild(ImmutableNodes.leafNode(ID, 1L))
+                        .withChild(ImmutableNodes.leafNode(NAME, "one")).build())
+                    .withChild(ImmutableNodes.mapEntryBuilder(LIST, ID, 2L)
+                        .withChild(ImmutableNodes.leafNode(ID, 2L)).build())
+                    .build())
+                .withChild(Builders.orderedMapBuilder().withNodeIdentifier(new NodeIdentifier(ORDERED_LIST))
+                    .withChild(Builders.mapEntryBuilder().withNodeIdentifier(new NodeIdentifierWithPredicates(
+                        ORDERED_LIST, ImmutableMap.<QName, Object>of(ID, 2L, NAME, "two"))).build())
+                    .build())
+                .withChild(Builders.unkeyedListBuilder().withNodeIdentifier(new NodeIdentifier(UNKEYED_LIST))
+                    .withChild(Builders.unkeyedListEntryBuilder().withNodeIdentifier(new NodeIdentifier(UNKEYED_LIST))
+                        .withChild(ImmutableNodes.leafNode(NAME, "entry")).build())
+                    .build())
+                .withChild(Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(CHOICE))
+                    .withChild(ImmutableNodes.leafNode(CASE_LEAF, "case")).build())
+                .withChild(Builders.augmentationBuilder()
+                    .withNodeIdentifier(new AugmentationIdentifier(ImmutableSet.of(AUG_LEAF)))
+                    .withChild(ImmutableNodes.leafNode(AUG_LEAF, "augmented")).build())
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.Collections;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedDataBuilderTest;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.DomUtils;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.parser.DomToNormalizedNodeParserFactory;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+import org.w3c.dom.Document;
+
+public class XmlParserStreamTest {
+    private static final String RESOURCES = "/org/opendaylight/yangtools/yang/data/impl/schema/";
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    @Test
+    public void testAugmentChoice() throws Exception {
+        assertSameAsDom("augment_choice_hell.yang", "augment_choice_hell_ok.xml");
+        assertSameAsDom("augment_choice_hell.yang", "augment_choice_hell_ok2.xml");
+    }
+
+    @Test
+    public void testAugmentedLists() throws Exception {
+        assertSameAsDom("test.yang", "simple2.xml");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInterleavedLeafList() throws Exception {
+        parse("test.yang", "<container xmlns=\"urn:opendaylight:params:xml:ns:yang:controller:test\">"
+                + "<leafList>a</leafList><boolean>true</boolean><leafList>b</leafList></container>");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testKeyAfterOtherChildren() throws Exception {
+        parse("test.yang", "<container xmlns=\"urn:opendaylight:params:xml:ns:yang:controller:test\">"
+                + "<list><containerInList/><uint32InList>1</uint32InList></list></container>");
+    }
+
+    private static void assertSameAsDom(final String yangPath, final String xmlPath) throws Exception {
+        final SchemaContext schema = parseSchema(yangPath);
+        final ContainerSchemaNode containerSchema =
+                (ContainerSchemaNode) NormalizedDataBuilderTest.getSchemaNode(schema, "test", "container");
+
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Document doc;
+        try (InputStream in = XmlParserStreamTest.class.getResourceAsStream(RESOURCES + xmlPath)) {
+            doc = factory.newDocumentBuilder().parse(in);
+        }
+        final ContainerNode expected = DomToNormalizedNodeParserFactory
+                .getInstance(DomUtils.defaultValueCodecProvider(), schema).getContainerNodeParser()
+                .parse(Collections.singletonList(doc.getDocumentElement()), containerSchema);
+
+        final ContainerNode actual;
+        try (InputStream in = XmlParserStreamTest.class.getResourceAsStream(RESOURCES + xmlPath)) {
+            actual = parse(schema, containerSchema, XML_INPUT_FACTORY.createXMLStreamReader(in));
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static ContainerNode parse(final String yangPath, final String xml) throws Exception {
+        final SchemaContext schema = parseSchema(yangPath);
+        final ContainerSchemaNode containerSchema =
+                (ContainerSchemaNode) NormalizedDataBuilderTest.getSchemaNode(schema, "test", "container");
+        return parse(schema, containerSchema, XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml)));
+    }
+
+    private static ContainerNode parse(final SchemaContext schema, final ContainerSchemaNode containerSchema,
+            final XMLStreamReader reader) throws Exception {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+
+        writer.startContainerNode(new NodeIdentifier(containerSchema.getQName()),
+            NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        XmlParserStream.create(writer, schema, containerSchema).parse(reader);
+        writer.endNode();
+        reader.close();
+        return (ContainerNode) result.getResult();
+    }
+
+    private static SchemaContext parseSchema(final String yangPath) {
+        final YangParserImpl parser = new YangParserImpl();
+        final InputStream in = XmlParserStreamTest.class.getResourceAsStream(RESOURCES + yangPath);
+        return parser.resolveSchemaContext(parser.parseYangModelsFromStreams(Collections.singletonList(in)));
+    }
+}
@@ -5,9 +5,12 @@ package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
 
 import static org.junit.Assert.*;
 
+import java.util.Collections;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 
 public class AbstractImmutableNormalizedValueAttrNodeTest {
@@ -326,4 +329,28 @@ public class AbstractImmutableNormalizedValueAttrNodeTest {
         assertFalse(leafNode5.equals(leafNode6));
     }
 
+    @Test
+    public void equalsAttributesTest() {
+        final LeafNode<String> leafNode = ImmutableNodes.leafNode(LEAF_QNAME, "test");
+        final LeafNode<String> attrLeafNode = Builders.<String>leafBuilder()
+                .withNodeIdentifier(new NodeIdentifier(SAME_LEAF_QNAME))
+                .withAttributes(Collections.singletonMap(OTHER_LEAF_QNAME, "attribute"))
+                .withValue("test").build();
+
+        assertTrue(leafNode.getAttributes().isEmpty());
+        assertEquals("attribute", attrLeafNode.getAttributeValue(OTHER_LEAF_QNAME));
+        assertTrue(leafNode.equals(attrLeafNode));
+        assertTrue(attrLeafNode.equals(leafNode));
+        assertEquals(leafNode.hashCode(), attrLeafNode.hashCode());
+    }
+
+    @Test
+    public void canonicalValueTest() {
+        assertSame(Boolean.TRUE, ImmutableNodes.leafNode(LEAF_QNAME, new Boolean(true)).getValue());
+        assertSame(Long.valueOf(5), ImmutableNodes.leafNode(LEAF_QNAME, new Long(5)).getValue());
+        assertSame(Integer.valueOf(-5), ImmutableNodes.leafNode(LEAF_QNAME, new Integer(-5)).getValue());
+
+        final Long big = new Long(1000);
+        assertSame(big, ImmutableNodes.leafNode(LEAF_QNAME, big).getValue());
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.MapAdaptor;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+
+public class CompactChildrenMapsTest {
+    private static final QName ROOT_QNAME = QName.create("urn:test", "2015-06-01", "root");
+
+    @Test
+    public void testEmpty() {
+        assertSame(Collections.emptyMap(), CompactChildrenMaps.optimize(
+            new HashMap<PathArgument, DataContainerChild<? extends PathArgument, ?>>()));
+    }
+
+    @Test
+    public void testLinear() {
+        assertMap(1, LinearChildrenMap.class);
+        assertMap(CompactChildrenMaps.LINEAR_MAX_SIZE, LinearChildrenMap.class);
+    }
+
+    @Test
+    public void testHashed() {
+        assertMap(CompactChildrenMaps.LINEAR_MAX_SIZE + 1, HashedChildrenMap.class);
+        assertMap(CompactChildrenMaps.HASHED_MAX_SIZE, HashedChildrenMap.class);
+    }
+
+    @Test
+    public void testHashedLoadFactor() {
+        for (int size = CompactChildrenMaps.LINEAR_MAX_SIZE + 1; size <= CompactChildrenMaps.HASHED_MAX_SIZE; ++size) {
+            final int capacity = HashedChildrenMap.create(createMap(size)).table().length / 2;
+            assertTrue("Size " + size + " capacity " + capacity, 3 * size >= capacity && 3 * size < 2 * capacity);
+        }
+    }
+
+    @Test
+    public void testHashedMaxSize() {
+        assertEquals(MapAdaptor.getDefaultInstance().getCopyMaxItems(), CompactChildrenMaps.HASHED_MAX_SIZE);
+    }
+
+    @Test
+    public void testLarge() {
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> map = assertMap(
+            CompactChildrenMaps.HASHED_MAX_SIZE + 1, null);
+        assertFalse(map instanceof AbstractCompactChildrenMap);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> map = CompactChildrenMaps.optimize(
+            createMap(3));
+        map.remove(new NodeIdentifier(QName.create(ROOT_QNAME, "leaf0")));
+    }
+
+    @Test
+    public void testBuilder() {
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(ROOT_QNAME));
+        for (final DataContainerChild<? extends PathArgument, ?> child : createMap(3).values()) {
+            builder.withChild(child);
+        }
+
+        final ContainerNode first = builder.build();
+        assertTrue(((AbstractImmutableDataContainerNode<?>) first).getChildren() instanceof LinearChildrenMap);
+
+        // Reusing the builder must not affect the node it has built
+        final ContainerNode second = builder.withChild(ImmutableNodes.leafNode(QName.create(ROOT_QNAME, "extra"),
+            "value")).build();
+        assertEquals(3, first.getValue().size());
+        assertEquals(4, second.getValue().size());
+
+        final ContainerNode third = builder.withoutChild(new NodeIdentifier(QName.create(ROOT_QNAME, "leaf0")))
+                .build();
+        assertEquals(3, first.getValue().size());
+        assertEquals(4, second.getValue().size());
+        assertEquals(3, third.getValue().size());
+        assertFalse(third.getChild(new NodeIdentifier(QName.create(ROOT_QNAME, "leaf0"))).isPresent());
+
+        // A builder initialized from a node reuses its children
+        final ContainerNode copy = Builders.containerBuilder(first).build();
+        assertSame(((AbstractImmutableDataContainerNode<?>) first).getChildren(),
+            ((AbstractImmutableDataContainerNode<?>) copy).getChildren());
+        assertEquals(first, copy);
+    }
+
+    private static Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> assertMap(final int size,
+            final Class<?> expectedClass) {
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> expected = createMap(size);
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> actual =
+                CompactChildrenMaps.optimize(new HashMap<>(expected));
+        if (expectedClass != null) {
+            assertSame(expectedClass, actual.getClass());
+            assertNull(actual.get(null));
+        }
+
+        assertEquals(size, actual.size());
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.keySet(), actual.keySet());
+        for (final Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> e : expected.entrySet()) {
+            assertSame(e.getValue(), actual.get(e.getKey()));
+            assertTrue(actual.containsKey(e.getKey()));
+            assertTrue(actual.containsValue(e.getValue()));
+        }
+        assertNull(actual.get(new NodeIdentifier(QName.create(ROOT_QNAME, "missing"))));
+        assertEquals(size, actual.values().size());
+        return actual;
+    }
+
+    private static Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> createMap(final int size) {
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> map = new HashMap<>();
+        for (int i = 0; i < size; ++i) {
+            final QName qname = QName.create(ROOT_QNAME, "leaf" + i);
+            map.put(new NodeIdentifier(qname), ImmutableNodes.leafNode(qname, i));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+
+public class BatchCommitTest {
+    private static final Short ONE_ID = 1;
+    private static final Short TWO_ID = 2;
+    private static final Short THREE_ID = 3;
+
+    private static final YangInstanceIdentifier OUTER_LIST_1_PATH = outerListPath(ONE_ID);
+    private static final YangInstanceIdentifier OUTER_LIST_2_PATH = outerListPath(TWO_ID);
+    private static final YangInstanceIdentifier OUTER_LIST_3_PATH = outerListPath(THREE_ID);
+
+    private DataTree dataTree;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        dataTree = InMemoryDataTreeFactory.getInstance().create();
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(mapNodeBuilder(TestModel.OUTER_LIST_QNAME).withChild(outerListEntry(ONE_ID)).build())
+            .build());
+        modification.ready();
+        dataTree.validate(modification);
+        dataTree.commit(dataTree.prepare(modification));
+    }
+
+    @Test
+    public void testDisjointModifications() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+
+        final DataTreeModification first = snapshot.newModification();
+        first.write(OUTER_LIST_2_PATH, outerListEntry(TWO_ID));
+        first.ready();
+        final DataTreeModification second = snapshot.newModification();
+        second.write(OUTER_LIST_3_PATH, outerListEntry(THREE_ID));
+        second.ready();
+        final DataTreeModification third = snapshot.newModification();
+        third.delete(OUTER_LIST_1_PATH);
+        third.ready();
+        final DataTreeModification empty = snapshot.newModification();
+        empty.ready();
+
+        final List<DataTreeCandidate> candidates = dataTree.commitBatch(Arrays.asList(first, second, third, empty));
+        assertEquals(4, candidates.size());
+
+        final DataTreeSnapshot after = dataTree.takeSnapshot();
+        assertFalse(after.readNode(OUTER_LIST_1_PATH).isPresent());
+        assertTrue(after.readNode(OUTER_LIST_2_PATH).isPresent());
+        assertTrue(after.readNode(OUTER_LIST_3_PATH).isPresent());
+
+        assertEquals(ModificationType.WRITE, entryCandidate(candidates.get(0), TWO_ID).getModificationType());
+        assertEquals(ModificationType.WRITE, entryCandidate(candidates.get(1), THREE_ID).getModificationType());
+        assertEquals(ModificationType.DELETE, entryCandidate(candidates.get(2), ONE_ID).getModificationType());
+        assertEquals(ModificationType.SUBTREE_MODIFIED, candidates.get(0).getRootNode().getModificationType());
+        assertEquals(ModificationType.UNMODIFIED, candidates.get(3).getRootNode().getModificationType());
+
+        // Candidates report the state after the whole batch
+        assertSame(after.readNode(TestModel.TEST_PATH).get(),
+            childNode(candidates.get(0).getRootNode(), TestModel.TEST_PATH.getLastPathArgument()).getDataAfter().get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOverlappingModifications() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+
+        final DataTreeModification first = snapshot.newModification();
+        first.write(OUTER_LIST_2_PATH, outerListEntry(TWO_ID));
+        first.ready();
+        final DataTreeModification second = snapshot.newModification();
+        second.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        second.ready();
+
+        dataTree.commitBatch(Arrays.asList(first, second));
+    }
+
+    @Test
+    public void testInvalidModification() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+
+        final DataTreeModification conflicting = snapshot.newModification();
+        conflicting.write(OUTER_LIST_2_PATH, outerListEntry(TWO_ID));
+        conflicting.ready();
+        dataTree.validate(conflicting);
+        dataTree.commit(dataTree.prepare(conflicting));
+
+        final DataTreeModification first = snapshot.newModification();
+        first.write(OUTER_LIST_3_PATH, outerListEntry(THREE_ID));
+        first.ready();
+        final DataTreeModification second = snapshot.newModification();
+        second.write(OUTER_LIST_2_PATH, outerListEntry(TWO_ID));
+        second.ready();
+
+        try {
+            dataTree.commitBatch(Arrays.asList(first, second));
+            fail("Batch should have failed to validate");
+        } catch (ConflictingModificationAppliedException e) {
+            // Expected
+        }
+
+        assertFalse("Batch should not be partially committed", dataTree.takeSnapshot().readNode(OUTER_LIST_3_PATH).isPresent());
+    }
+
+    private static DataTreeCandidateNode entryCandidate(final DataTreeCandidate candidate, final Short id) {
+        DataTreeCandidateNode node = candidate.getRootNode();
+        for (PathArgument arg : outerListPath(id).getPathArguments()) {
+            node = childNode(node, arg);
+        }
+        return node;
+    }
+
+    private static DataTreeCandidateNode childNode(final DataTreeCandidateNode parent, final PathArgument id) {
+        for (DataTreeCandidateNode child : parent.getChildNodes()) {
+            if (id.equals(child.getIdentifier())) {
+                return child;
+            }
+        }
+
+        throw new AssertionError("Child " + id + " not found in " + parent);
+    }
+
+    private static YangInstanceIdentifier outerListPath(final Short id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private static MapEntryNode outerListEntry(final Short id) {
+        return mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id)
+                .withChild(ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME).build()).build();
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConstraintViolationException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+
+public class ConstraintEnforcementTest {
+    private static final QName TOP_QNAME = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:controller:md:sal:dom:store:constraints-test", "2015-07-01", "top");
+    private static final QName ENTRY_QNAME = QName.create(TOP_QNAME, "entry");
+    private static final QName ID_QNAME = QName.create(TOP_QNAME, "id");
+    private static final QName NAME_QNAME = QName.create(TOP_QNAME, "name");
+    private static final QName TAG_QNAME = QName.create(TOP_QNAME, "tag");
+    private static final QName OTHER_QNAME = QName.create(TOP_QNAME, "other");
+    private static final QName SETTINGS_QNAME = QName.create(TOP_QNAME, "settings");
+    private static final QName MODE_QNAME = QName.create(TOP_QNAME, "mode");
+
+    private static final YangInstanceIdentifier TOP_PATH = YangInstanceIdentifier.of(TOP_QNAME);
+    private static final YangInstanceIdentifier ENTRY_PATH = TOP_PATH.node(ENTRY_QNAME);
+    private static final YangInstanceIdentifier TAG_PATH = TOP_PATH.node(TAG_QNAME);
+    private static final YangInstanceIdentifier OTHER_PATH = YangInstanceIdentifier.of(OTHER_QNAME);
+    private static final YangInstanceIdentifier SETTINGS_PATH = OTHER_PATH.node(SETTINGS_QNAME);
+
+    private DataTree dataTree;
+
+    @Before
+    public void setUp() {
+        final YangParserImpl parser = new YangParserImpl();
+        final Set<Module> modules = parser.parseYangModelsFromStreams(Collections.singletonList(
+            ConstraintEnforcementTest.class.getResourceAsStream("/constraints-test.yang")));
+        final SchemaContext schemaContext = parser.resolveSchemaContext(modules);
+
+        dataTree = InMemoryDataTreeFactory.getInstance().create();
+        dataTree.setSchemaContext(schemaContext);
+    }
+
+    private static MapEntryNode entry(final int id) {
+        return ImmutableNodes.mapEntryBuilder(ENTRY_QNAME, ID_QNAME, id)
+                .withChild(ImmutableNodes.leafNode(NAME_QNAME, "name-" + id)).build();
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return ENTRY_PATH.node(entry(id).getIdentifier());
+    }
+
+    private static MapNode entries(final MapEntryNode... entries) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(ENTRY_QNAME);
+        for (final MapEntryNode entry : entries) {
+            list.withChild(entry);
+        }
+        return list.build();
+    }
+
+    private static ContainerNode top(final MapEntryNode... entries) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP_QNAME))
+                .withChild(entries(entries)).build();
+    }
+
+    private void commit(final DataTreeModification modification) throws DataValidationFailedException {
+        modification.ready();
+        dataTree.validate(modification);
+        dataTree.commit(dataTree.prepare(modification));
+    }
+
+    private void assertViolation(final DataTreeModification modification, final YangInstanceIdentifier path)
+            throws DataValidationFailedException {
+        modification.ready();
+        try {
+            dataTree.validate(modification);
+            fail("Modification should have violated a constraint");
+        } catch (ConstraintViolationException e) {
+            assertEquals(path, e.getPath());
+        }
+    }
+
+    private DataTreeModification newModification() {
+        return dataTree.takeSnapshot().newModification();
+    }
+
+    private void writeTop(final MapEntryNode... entries) throws DataValidationFailedException {
+        final DataTreeModification modification = newModification();
+        modification.write(TOP_PATH, top(entries));
+        commit(modification);
+    }
+
+    @Test
+    public void testWriteValid() throws DataValidationFailedException {
+        writeTop(entry(1), entry(2), entry(3));
+        assertEquals(3, ((MapNode) dataTree.takeSnapshot().readNode(ENTRY_PATH).get()).getValue().size());
+    }
+
+    @Test
+    public void testWriteTooManyElements() throws DataValidationFailedException {
+        final DataTreeModification modification = newModification();
+        modification.write(TOP_PATH, top(entry(1), entry(2), entry(3), entry(4)));
+        assertViolation(modification, ENTRY_PATH);
+    }
+
+    @Test
+    public void testWriteMissingList() throws DataValidationFailedException {
+        final DataTreeModification modification = newModification();
+        modification.write(TOP_PATH, ImmutableNodes.containerNode(TOP_QNAME));
+        assertViolation(modification, TOP_PATH);
+    }
+
+    @Test
+    public void testWriteMissingMandatoryLeaf() throws DataValidationFailedException {
+        final DataTreeModification modification = newModification();
+        modification.write(TOP_PATH, top(entry(1), ImmutableNodes.mapEntry(ENTRY_QNAME, ID_QNAME, 2)));
+        assertViolation(modification, entryPath(2));
+    }
+
+    @Test
+    public void testMergeElements() throws DataValidationFailedException {
+        writeTop(entry(1), entry(2));
+
+        DataTreeModification modification = newModification();
+        modification.merge(entryPath(3), entry(3));
+        modification.merge(entryPath(4), entry(4));
+        assertViolation(modification, ENTRY_PATH);
+
+        // Replacing an entry does not change the number of elements
+        modification = newModification();
+        modification.delete(entryPath(1));
+        modification.merge(entryPath(3), entry(3));
+        modification.write(entryPath(4), entry(4));
+        commit(modification);
+        assertEquals(3, ((MapNode) dataTree.takeSnapshot().readNode(ENTRY_PATH).get()).getValue().size());
+    }
+
+    @Test
+    public void testMergeList() throws DataValidationFailedException {
+        writeTop(entry(1), entry(2));
+
+        DataTreeModification modification = newModification();
+        modification.merge(ENTRY_PATH, entries(entry(3), entry(4)));
+        assertViolation(modification, ENTRY_PATH);
+
+        modification = newModification();
+        modification.merge(ENTRY_PATH, entries(ImmutableNodes.mapEntry(ENTRY_QNAME, ID_QNAME, 3)));
+        assertViolation(modification, entryPath(3));
+
+        // Merging existing entries does not change the number of elements
+        modification = newModification();
+        modification.merge(ENTRY_PATH, entries(entry(2), entry(3)));
+        commit(modification);
+        assertEquals(3, ((MapNode) dataTree.takeSnapshot().readNode(ENTRY_PATH).get()).getValue().size());
+    }
+
+    @Test
+    public void testDeleteElements() throws DataValidationFailedException {
+        writeTop(entry(1), entry(2));
+
+        DataTreeModification modification = newModification();
+        modification.delete(entryPath(1));
+        commit(modification);
+
+        modification = newModification();
+        modification.delete(entryPath(2));
+        assertViolation(modification, ENTRY_PATH);
+
+        modification = newModification();
+        modification.delete(ENTRY_PATH);
+        assertViolation(modification, TOP_PATH);
+    }
+
+    @Test
+    public void testDeleteMandatoryLeaf() throws DataValidationFailedException {
+        writeTop(entry(1));
+
+        final DataTreeModification modification = newModification();
+        modification.delete(entryPath(1).node(NAME_QNAME));
+        assertViolation(modification, entryPath(1));
+    }
+
+    @Test
+    public void testMandatoryNonPresenceContainer() throws DataValidationFailedException {
+        DataTreeModification modification = newModification();
+        modification.write(OTHER_PATH, ImmutableNodes.containerNode(OTHER_QNAME));
+        assertViolation(modification, OTHER_PATH);
+
+        modification = newModification();
+        modification.write(OTHER_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(OTHER_QNAME))
+            .withChild(ImmutableNodes.containerNode(SETTINGS_QNAME)).build());
+        assertViolation(modification, SETTINGS_PATH);
+
+        modification = newModification();
+        modification.write(OTHER_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(OTHER_QNAME))
+            .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(SETTINGS_QNAME))
+                .withChild(ImmutableNodes.leafNode(MODE_QNAME, "auto")).build()).build());
+        commit(modification);
+
+        modification = newModification();
+        modification.delete(SETTINGS_PATH.node(MODE_QNAME));
+        assertViolation(modification, SETTINGS_PATH);
+
+        modification = newModification();
+        modification.delete(SETTINGS_PATH);
+        assertViolation(modification, OTHER_PATH);
+    }
+
+    private void assertBatchViolation(final YangInstanceIdentifier path, final DataTreeModification... modifications) {
+        for (final DataTreeModification modification : modifications) {
+            modification.ready();
+        }
+        try {
+            dataTree.commitBatch(Arrays.asList(modifications));
+            fail("Batch should have violated a constraint");
+        } catch (DataValidationFailedException e) {
+            assertTrue(e instanceof ConstraintViolationException);
+            assertEquals(path, e.getPath());
+        }
+    }
+
+    @Test
+    public void testBatchElements() throws DataValidationFailedException {
+        writeTop(entry(1), entry(2));
+
+        // Each modification is valid on its own, but not together
+        DataTreeModification first = newModification();
+        first.merge(entryPath(3), entry(3));
+        DataTreeModification second = newModification();
+        second.merge(entryPath(4), entry(4));
+        assertBatchViolation(ENTRY_PATH, first, second);
+
+        first = newModification();
+        first.delete(entryPath(1));
+        second = newModification();
+        second.delete(entryPath(2));
+        assertBatchViolation(ENTRY_PATH, first, second);
+
+        // Nothing has been committed
+        assertEquals(2, ((MapNode) dataTree.takeSnapshot().readNode(ENTRY_PATH).get()).getValue().size());
+
+        first = newModification();
+        first.delete(entryPath(1));
+        second = newModification();
+        second.merge(entryPath(3), entry(3));
+        first.ready();
+        second.ready();
+        dataTree.commitBatch(Arrays.asList(first, second));
+        assertEquals(2, ((MapNode) dataTree.takeSnapshot().readNode(ENTRY_PATH).get()).getValue().size());
+        assertTrue(dataTree.takeSnapshot().readNode(entryPath(3)).isPresent());
+    }
+
+    @Test
+    public void testLeafSetElements() throws DataValidationFailedException {
+        writeTop(entry(1));
+
+        DataTreeModification modification = newModification();
+        modification.merge(TAG_PATH, Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(TAG_QNAME))
+            .withChildValue("a").withChildValue("b").build());
+        commit(modification);
+
+        modification = newModification();
+        modification.write(TAG_PATH.node(new NodeWithValue(TAG_QNAME, "c")), Builders.leafSetEntryBuilder()
+            .withNodeIdentifier(new NodeWithValue(TAG_QNAME, "c")).withValue("c").build());
+        assertViolation(modification, TAG_PATH);
+    }
+}
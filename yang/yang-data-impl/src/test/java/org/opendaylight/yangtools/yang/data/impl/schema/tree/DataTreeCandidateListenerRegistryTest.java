@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+
+public class DataTreeCandidateListenerRegistryTest {
+    private static final Short ONE_ID = 1;
+    private static final Short TWO_ID = 2;
+
+    private static final YangInstanceIdentifier OUTER_LIST_1_PATH = YangInstanceIdentifier.builder(
+        TestModel.OUTER_LIST_PATH).nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, ONE_ID).build();
+    private static final YangInstanceIdentifier OUTER_LIST_2_PATH = YangInstanceIdentifier.builder(
+        TestModel.OUTER_LIST_PATH).nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, TWO_ID).build();
+    private static final YangInstanceIdentifier WILDCARD_INNER_LIST_PATH = YangInstanceIdentifier.builder(
+        TestModel.OUTER_LIST_PATH).node(TestModel.OUTER_LIST_QNAME).node(TestModel.INNER_LIST_QNAME).build();
+
+    private static final QName NESTED_QNAME = QName.create("urn:opendaylight:params:xml:ns:yang:listener-registry-test",
+        "2015-06-01", "nested");
+    private static final QName VALUE_QNAME = QName.create(NESTED_QNAME, "value");
+    private static final YangInstanceIdentifier NESTED_PATH = YangInstanceIdentifier.of(NESTED_QNAME);
+    private static final YangInstanceIdentifier NESTED_NESTED_PATH = NESTED_PATH.node(NESTED_QNAME);
+
+    private static final class RecordingListener implements DataTreeCandidateListener {
+        final List<DataTreeCandidate> changes = new ArrayList<>();
+
+        @Override
+        public void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+            this.changes.addAll(changes);
+        }
+    }
+
+    private DataTree dataTree;
+    private DataTreeCandidateListenerRegistry registry;
+
+    @Before
+    public void setUp() {
+        dataTree = InMemoryDataTreeFactory.getInstance().create();
+        dataTree.setSchemaContext(TestModel.createTestContext());
+        registry = DataTreeCandidateListenerRegistry.create();
+    }
+
+    private void commit(final DataTreeModification modification) throws DataValidationFailedException {
+        modification.ready();
+        dataTree.validate(modification);
+        final DataTreeCandidate candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        registry.publishCandidate(candidate);
+    }
+
+    private void writeOuterList() throws DataValidationFailedException {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+                .withChild(mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, ONE_ID)
+                    .withChild(mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                        .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "one")).build())
+                    .build())
+                .withChild(mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, TWO_ID)
+                    .withChild(mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                        .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "two")).build())
+                    .build())
+                .build())
+            .build());
+        commit(modification);
+    }
+
+    @Test
+    public void testExactPath() throws DataValidationFailedException {
+        final RecordingListener root = new RecordingListener();
+        final RecordingListener one = new RecordingListener();
+        registry.registerListener(TestModel.TEST_PATH, root);
+        registry.registerListener(OUTER_LIST_1_PATH, one);
+
+        writeOuterList();
+        assertEquals(1, root.changes.size());
+        assertEquals(TestModel.TEST_PATH, root.changes.get(0).getRootPath());
+        assertEquals(ModificationType.WRITE, root.changes.get(0).getRootNode().getModificationType());
+
+        assertEquals(1, one.changes.size());
+        final DataTreeCandidate change = one.changes.get(0);
+        assertEquals(OUTER_LIST_1_PATH, change.getRootPath());
+        assertEquals(ModificationType.WRITE, change.getRootNode().getModificationType());
+        assertEquals(dataTree.takeSnapshot().readNode(OUTER_LIST_1_PATH), change.getRootNode().getDataAfter());
+    }
+
+    @Test
+    public void testWildcardPath() throws DataValidationFailedException {
+        final RecordingListener listener = new RecordingListener();
+        registry.registerListener(WILDCARD_INNER_LIST_PATH, listener);
+
+        writeOuterList();
+        assertEquals(2, listener.changes.size());
+        final Set<YangInstanceIdentifier> paths = new HashSet<>();
+        for (final DataTreeCandidate change : listener.changes) {
+            paths.add(change.getRootPath());
+        }
+        assertEquals(ImmutableSet.of(OUTER_LIST_1_PATH.node(TestModel.INNER_LIST_QNAME),
+            OUTER_LIST_2_PATH.node(TestModel.INNER_LIST_QNAME)), paths);
+
+        // Only the modified entry is reported
+        listener.changes.clear();
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.delete(OUTER_LIST_2_PATH.node(TestModel.INNER_LIST_QNAME));
+        commit(modification);
+        assertEquals(1, listener.changes.size());
+        final DataTreeCandidate change = listener.changes.get(0);
+        assertEquals(OUTER_LIST_2_PATH.node(TestModel.INNER_LIST_QNAME), change.getRootPath());
+        assertEquals(ModificationType.DELETE, change.getRootNode().getModificationType());
+    }
+
+    @Test
+    public void testNestedSameNamePath() throws DataValidationFailedException {
+        final YangParserImpl parser = new YangParserImpl();
+        final Set<Module> modules = parser.parseYangModelsFromStreams(Collections.singletonList(
+            getClass().getResourceAsStream("/listener-registry-test.yang")));
+        dataTree.setSchemaContext(parser.resolveSchemaContext(modules));
+
+        // A container nested in a same-named container must not be mistaken for a wildcard
+        final RecordingListener listener = new RecordingListener();
+        final RecordingListener closed = new RecordingListener();
+        registry.registerListener(NESTED_NESTED_PATH, listener);
+        registry.registerListener(NESTED_NESTED_PATH, closed).close();
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(NESTED_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(NESTED_QNAME))
+            .withChild(Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(NESTED_QNAME))
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "value")).build())
+            .build());
+        commit(modification);
+
+        assertEquals(1, listener.changes.size());
+        final DataTreeCandidate change = listener.changes.get(0);
+        assertEquals(NESTED_NESTED_PATH, change.getRootPath());
+        assertEquals(ModificationType.WRITE, change.getRootNode().getModificationType());
+        assertEquals(dataTree.takeSnapshot().readNode(NESTED_NESTED_PATH), change.getRootNode().getDataAfter());
+        assertTrue(closed.changes.isEmpty());
+    }
+
+    @Test
+    public void testUnmodifiedPath() throws DataValidationFailedException {
+        writeOuterList();
+
+        final RecordingListener listener = new RecordingListener();
+        registry.registerListener(OUTER_LIST_1_PATH, listener);
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.merge(OUTER_LIST_2_PATH.node(TestModel.INNER_LIST_QNAME).node(
+            mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "three").getIdentifier()),
+            mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "three"));
+        commit(modification);
+        assertTrue(listener.changes.isEmpty());
+    }
+
+    @Test
+    public void testClosedRegistration() throws DataValidationFailedException {
+        final RecordingListener listener = new RecordingListener();
+        final ListenerRegistration<RecordingListener> reg = registry.registerListener(TestModel.TEST_PATH, listener);
+        reg.close();
+
+        writeOuterList();
+        assertTrue(listener.changes.isEmpty());
+    }
+}
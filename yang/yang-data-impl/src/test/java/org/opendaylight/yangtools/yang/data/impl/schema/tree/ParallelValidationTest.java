@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+
+public class ParallelValidationTest {
+    private static final int ENTRY_COUNT = 100;
+
+    private ForkJoinPool pool;
+    private DataTree dataTree;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        pool = new ForkJoinPool(4);
+        dataTree = InMemoryDataTreeFactory.getInstance().create(pool, 4);
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build())
+            .build());
+        commit(modification);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testLargeModification() throws DataValidationFailedException {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            modification.write(outerListPath(i), outerListEntry(i));
+        }
+        commit(modification);
+
+        assertEquals(ENTRY_COUNT, count(dataTree.takeSnapshot()));
+    }
+
+    @Test
+    public void testConflictReported() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+
+        // Concurrently create two entries which the large modification will also create
+        final DataTreeModification concurrent = snapshot.newModification();
+        concurrent.write(outerListPath(90), outerListEntry(90));
+        concurrent.write(outerListPath(50), outerListEntry(50));
+        commit(concurrent);
+
+        final DataTreeModification modification = snapshot.newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            modification.write(outerListPath(i), outerListEntry(i));
+        }
+        modification.ready();
+
+        try {
+            dataTree.validate(modification);
+            fail("Modification should have failed to validate");
+        } catch (ConflictingModificationAppliedException e) {
+            assertTrue(outerListPath(50).equals(e.getPath()) || outerListPath(90).equals(e.getPath()));
+        }
+    }
+
+    private void commit(final DataTreeModification modification) throws DataValidationFailedException {
+        modification.ready();
+        dataTree.validate(modification);
+        dataTree.commit(dataTree.prepare(modification));
+    }
+
+    private static int count(final DataTreeSnapshot snapshot) {
+        int ret = 0;
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            if (snapshot.readNode(outerListPath(i)).isPresent()) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    private static YangInstanceIdentifier outerListPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, (short) id).build();
+    }
+
+    private static MapEntryNode outerListEntry(final int id) {
+        return mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, (short) id)
+                .withChild(mapNodeBuilder(TestModel.INNER_LIST_QNAME).build()).build();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.MutableTreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapNodeBuilder;
+
+public class TreeNodeMutationTest {
+    private static final int ENTRY_COUNT = 1000;
+
+    private MapNode outerList;
+    private Version initial;
+
+    @Before
+    public void setUp() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            builder.withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+        outerList = builder.build();
+        initial = Version.initial();
+    }
+
+    @Test
+    public void testUnmodifiedChildrenRetainVersion() {
+        final TreeNode node = TreeNodeFactory.createTreeNode(outerList, initial);
+
+        final Version first = initial.next();
+        final TreeNode modified = mutate(node, 5, 7, first);
+        assertSame(initial, modified.getVersion());
+        assertSame(first, modified.getSubtreeVersion());
+        assertSame(first, modified.getChild(entryId(5)).get().getVersion());
+        assertSame(initial, modified.getChild(entryId(6)).get().getVersion());
+        assertFalse(modified.getChild(entryId(7)).isPresent());
+        assertEquals(ENTRY_COUNT - 1, ((MapNode) modified.getData()).getValue().size());
+
+        // Previous modifications need to be retained across mutations
+        final Version second = first.next();
+        final TreeNode remodified = mutate(modified, 8, 9, second);
+        assertSame(first, remodified.getChild(entryId(5)).get().getVersion());
+        assertSame(second, remodified.getChild(entryId(8)).get().getVersion());
+        assertSame(initial, remodified.getChild(entryId(6)).get().getVersion());
+        assertFalse(remodified.getChild(entryId(7)).isPresent());
+        assertFalse(remodified.getChild(entryId(9)).isPresent());
+
+        // The original node must not be affected
+        assertSame(initial, node.getChild(entryId(5)).get().getVersion());
+        assertTrue(node.getChild(entryId(7)).isPresent());
+    }
+
+    @Test
+    public void testRemovedChildNotVisible() {
+        final MutableTreeNode mutable = TreeNodeFactory.createTreeNode(outerList, initial).mutable();
+        mutable.removeChild(entryId(3));
+        assertFalse(mutable.getChild(entryId(3)).isPresent());
+
+        mutable.addChild(TreeNodeFactory.createTreeNode(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, 3), initial.next()));
+        assertTrue(mutable.getChild(entryId(3)).isPresent());
+    }
+
+    private static TreeNode mutate(final TreeNode node, final int written, final int removed, final Version version) {
+        final MutableTreeNode mutable = node.mutable();
+        mutable.setSubtreeVersion(version);
+
+        final MapEntryNode entry = ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, written)
+                .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "modified")).build();
+        mutable.addChild(TreeNodeFactory.createTreeNode(entry, version));
+        mutable.removeChild(entryId(removed));
+        mutable.setData(ImmutableMapNodeBuilder.create((MapNode) node.getData())
+            .withChild(entry).withoutChild(entryId(removed)).build());
+        return mutable.seal();
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+}
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.data.util;
 
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -48,6 +50,26 @@ public class DataSchemaContextTree {
         return currentOp;
     }
 
+    /**
+     * Find the context node corresponding to a path. Unlike {@link #getChild(YangInstanceIdentifier)}, this method
+     * does not fail if the path does not exist in the schema. Top-level nodes are resolved through the schema
+     * context's indexes, where available.
+     *
+     * @param path Path to look up
+     * @return Context node, or {@link Optional#absent()} if the path does not exist in the schema.
+     */
+    @Beta
+    public Optional<DataSchemaContextNode<?>> findChild(final YangInstanceIdentifier path) {
+        DataSchemaContextNode<?> currentOp = root;
+        for (PathArgument arg : path.getPathArguments()) {
+            currentOp = currentOp.getChild(arg);
+            if (currentOp == null) {
+                return Optional.absent();
+            }
+        }
+        return Optional.<DataSchemaContextNode<?>>of(currentOp);
+    }
+
     public DataSchemaContextNode<?> getRoot() {
         return root;
     }
@@ -161,7 +161,7 @@ class XpathStringParsingPathArgumentBuilder implements Builder<Iterable<PathArgu
             }
             keyValues.put(key, value);
         }
-        return new YangInstanceIdentifier.NodeIdentifierWithPredicates(name, keyValues.build());
+        return YangInstanceIdentifier.NodeIdentifierWithPredicates.create(name, keyValues.build());
     }
 
 
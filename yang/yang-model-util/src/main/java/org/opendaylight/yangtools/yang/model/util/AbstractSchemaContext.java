@@ -1,5 +1,6 @@
 package org.opendaylight.yangtools.yang.model.util;
 
+import com.google.common.annotations.Beta;
 import com.google.common.base.Optional;
 import com.google.common.base.Supplier;
 import com.google.common.collect.SetMultimap;
@@ -8,13 +9,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import javax.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
 import org.opendaylight.yangtools.yang.model.api.ConstraintDefinition;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
@@ -67,40 +69,84 @@ public abstract class AbstractSchemaContext implements SchemaContext {
      */
     protected abstract SetMultimap<String, Module> getNameToModules();
 
+    /**
+     * Aggregate views and lookup tables, computed from {@link #getModules()} when first needed. Subclasses
+     * are expected to be immutable, hence these never need to be recomputed.
+     */
+    private volatile SchemaContextIndexes indexes;
+
+    private SchemaContextIndexes indexes() {
+        SchemaContextIndexes ret = indexes;
+        if (ret == null) {
+            // Racy initialization is fine, as the indexes are immutable and equivalent
+            ret = new SchemaContextIndexes(getModules());
+            indexes = ret;
+        }
+        return ret;
+    }
+
     @Override
     public Set<DataSchemaNode> getDataDefinitions() {
-        final Set<DataSchemaNode> dataDefs = new HashSet<>();
-        for (Module m : getModules()) {
-            dataDefs.addAll(m.getChildNodes());
-        }
-        return dataDefs;
+        return indexes().getDataDefinitions();
     }
 
     @Override
     public Set<NotificationDefinition> getNotifications() {
-        final Set<NotificationDefinition> notifications = new HashSet<>();
-        for (Module m : getModules()) {
-            notifications.addAll(m.getNotifications());
-        }
-        return notifications;
+        return indexes().getNotifications();
     }
 
     @Override
     public Set<RpcDefinition> getOperations() {
-        final Set<RpcDefinition> rpcs = new HashSet<>();
-        for (Module m : getModules()) {
-            rpcs.addAll(m.getRpcs());
-        }
-        return rpcs;
+        return indexes().getOperations();
     }
 
     @Override
     public Set<ExtensionDefinition> getExtensions() {
-        final Set<ExtensionDefinition> extensions = new HashSet<>();
-        for (Module m : getModules()) {
-            extensions.addAll(m.getExtensionSchemaNodes());
-        }
-        return extensions;
+        return indexes().getExtensions();
+    }
+
+    /**
+     * Find a top-level data node by its QName.
+     *
+     * @param qname Node QName
+     * @return Data node, or null if not present
+     */
+    @Beta
+    public final @Nullable DataSchemaNode findDataChild(final QName qname) {
+        return indexes().getDataChild(qname);
+    }
+
+    /**
+     * Find a notification by its QName.
+     *
+     * @param qname Notification QName
+     * @return Notification definition, or null if not present
+     */
+    @Beta
+    public final @Nullable NotificationDefinition findNotification(final QName qname) {
+        return indexes().getNotification(qname);
+    }
+
+    /**
+     * Find an RPC by its QName.
+     *
+     * @param qname RPC QName
+     * @return RPC definition, or null if not present
+     */
+    @Beta
+    public final @Nullable RpcDefinition findRpc(final QName qname) {
+        return indexes().getRpc(qname);
+    }
+
+    /**
+     * Find a module by its namespace and revision.
+     *
+     * @param module Module namespace and revision
+     * @return Module, or null if not present
+     */
+    @Beta
+    public final @Nullable Module findModule(final QNameModule module) {
+        return indexes().getModule(module);
     }
 
     @Override
@@ -125,6 +171,9 @@ public abstract class AbstractSchemaContext implements SchemaContext {
         if (namespace == null) {
             return null;
         }
+        if (revision != null) {
+            return findModule(QNameModule.create(namespace, revision));
+        }
         for (Module module : findModuleByNamespace(namespace)) {
             if (revision == null || revision.equals(module.getRevision())) {
                 return module;
@@ -198,11 +247,7 @@ public abstract class AbstractSchemaContext implements SchemaContext {
 
     @Override
     public Set<DataSchemaNode> getChildNodes() {
-        final Set<DataSchemaNode> result = new LinkedHashSet<>();
-        for (Module module : getModules()) {
-            result.addAll(module.getChildNodes());
-        }
-        return Collections.unmodifiableSet(result);
+        return indexes().getDataDefinitions();
     }
 
     @Override
@@ -216,13 +261,7 @@ public abstract class AbstractSchemaContext implements SchemaContext {
 
     @Override
     public DataSchemaNode getDataChildByName(final QName name) {
-        for (Module module : getModules()) {
-            final DataSchemaNode result = module.getDataChildByName(name);
-            if (result != null) {
-                return result;
-            }
-        }
-        return null;
+        return findDataChild(name);
     }
 
     @Override
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.concurrent.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ExtensionDefinition;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+
+/**
+ * Aggregate views of a set of modules, as exposed by {@link AbstractSchemaContext}, along with QName-based
+ * lookup tables. Where multiple modules define the same node, the first module wins, which is consistent
+ * with iterating over the modules.
+ */
+@Immutable
+final class SchemaContextIndexes {
+    private final Set<DataSchemaNode> dataDefinitions;
+    private final Set<NotificationDefinition> notifications;
+    private final Set<RpcDefinition> operations;
+    private final Set<ExtensionDefinition> extensions;
+    private final Map<QName, DataSchemaNode> dataByQName;
+    private final Map<QName, NotificationDefinition> notificationsByQName;
+    private final Map<QName, RpcDefinition> rpcsByQName;
+    private final Map<QNameModule, Module> modulesByQNameModule;
+
+    SchemaContextIndexes(final Collection<Module> modules) {
+        final ImmutableSet.Builder<DataSchemaNode> dataBuilder = ImmutableSet.builder();
+        final ImmutableSet.Builder<NotificationDefinition> notificationBuilder = ImmutableSet.builder();
+        final ImmutableSet.Builder<RpcDefinition> rpcBuilder = ImmutableSet.builder();
+        final ImmutableSet.Builder<ExtensionDefinition> extensionBuilder = ImmutableSet.builder();
+        final Map<QNameModule, Module> moduleMap = new LinkedHashMap<>();
+
+        for (Module m : modules) {
+            dataBuilder.addAll(m.getChildNodes());
+            notificationBuilder.addAll(m.getNotifications());
+            rpcBuilder.addAll(m.getRpcs());
+            extensionBuilder.addAll(m.getExtensionSchemaNodes());
+
+            final QNameModule key = QNameModule.create(m.getNamespace(), m.getRevision());
+            if (!moduleMap.containsKey(key)) {
+                moduleMap.put(key, m);
+            }
+        }
+
+        dataDefinitions = dataBuilder.build();
+        notifications = notificationBuilder.build();
+        operations = rpcBuilder.build();
+        extensions = extensionBuilder.build();
+        dataByQName = index(dataDefinitions);
+        notificationsByQName = index(notifications);
+        rpcsByQName = index(operations);
+        modulesByQNameModule = ImmutableMap.copyOf(moduleMap);
+    }
+
+    private static <T extends SchemaNode> Map<QName, T> index(final Collection<T> nodes) {
+        final Map<QName, T> map = new LinkedHashMap<>();
+        for (T node : nodes) {
+            if (!map.containsKey(node.getQName())) {
+                map.put(node.getQName(), node);
+            }
+        }
+        return ImmutableMap.copyOf(map);
+    }
+
+    Set<DataSchemaNode> getDataDefinitions() {
+        return dataDefinitions;
+    }
+
+    Set<NotificationDefinition> getNotifications() {
+        return notifications;
+    }
+
+    Set<RpcDefinition> getOperations() {
+        return operations;
+    }
+
+    Set<ExtensionDefinition> getExtensions() {
+        return extensions;
+    }
+
+    DataSchemaNode getDataChild(final QName qname) {
+        return dataByQName.get(qname);
+    }
+
+    NotificationDefinition getNotification(final QName qname) {
+        return notificationsByQName.get(qname);
+    }
+
+    RpcDefinition getRpc(final QName qname) {
+        return rpcsByQName.get(qname);
+    }
+
+    Module getModule(final QNameModule module) {
+        return modulesByQNameModule.get(module);
+    }
+}
@@ -20,6 +20,7 @@ import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
@@ -249,12 +250,13 @@ public final class SchemaContextUtil {
     public static @Nullable NotificationDefinition getNotificationSchema(@Nonnull final SchemaContext schema,@Nonnull  final SchemaPath path) {
         Preconditions.checkNotNull(schema, "Schema context must not be null.");
         Preconditions.checkNotNull(path, "Schema path must not be null.");
-        for (final NotificationDefinition potential : schema.getNotifications()) {
-            if (path.equals(potential.getPath())) {
-               return potential;
-            }
+        final QName qname = path.getLastComponent();
+        if (qname == null) {
+            return null;
         }
-        return null;
+
+        final NotificationDefinition potential = findNotification(schema, qname);
+        return potential != null && path.equals(potential.getPath()) ? potential : null;
     }
 
     /**
@@ -273,14 +275,74 @@ public final class SchemaContextUtil {
         final QName rpcName = it.next();
         Preconditions.checkArgument(it.hasNext(), "input or output must be part of path.");
         final QName inOrOut = it.next();
+        final RpcDefinition potential = findRpc(schema, rpcName);
+        return potential == null ? null : SchemaNodeUtils.getRpcDataSchema(potential, inOrOut);
+    }
+
+    /**
+     * Find a notification by its QName. This lookup does not allocate for {@link AbstractSchemaContext}
+     * implementations.
+     *
+     * @param schema SchemaContext in which lookup should be performed.
+     * @param qname Notification QName
+     * @return Notification definition, or null if notification is not present in schema context.
+     */
+    @Beta
+    public static @Nullable NotificationDefinition findNotification(@Nonnull final SchemaContext schema, @Nonnull final QName qname) {
+        Preconditions.checkNotNull(qname, "QName must not be null.");
+        if (schema instanceof AbstractSchemaContext) {
+            return ((AbstractSchemaContext) schema).findNotification(qname);
+        }
+
+        for (final NotificationDefinition potential : schema.getNotifications()) {
+            if (qname.equals(potential.getQName())) {
+                return potential;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find an RPC by its QName. This lookup does not allocate for {@link AbstractSchemaContext}
+     * implementations.
+     *
+     * @param schema SchemaContext in which lookup should be performed.
+     * @param qname RPC QName
+     * @return RPC definition, or null if RPC is not present in schema context.
+     */
+    @Beta
+    public static @Nullable RpcDefinition findRpc(@Nonnull final SchemaContext schema, @Nonnull final QName qname) {
+        Preconditions.checkNotNull(qname, "QName must not be null.");
+        if (schema instanceof AbstractSchemaContext) {
+            return ((AbstractSchemaContext) schema).findRpc(qname);
+        }
+
         for (final RpcDefinition potential : schema.getOperations()) {
-            if (rpcName.equals(potential.getQName())) {
-               return SchemaNodeUtils.getRpcDataSchema(potential, inOrOut);
+            if (qname.equals(potential.getQName())) {
+                return potential;
             }
         }
         return null;
     }
 
+    /**
+     * Find a module by its namespace and revision. This lookup does not allocate for {@link AbstractSchemaContext}
+     * implementations.
+     *
+     * @param schema SchemaContext in which lookup should be performed.
+     * @param module Module namespace and revision
+     * @return Module, or null if module is not present in schema context.
+     */
+    @Beta
+    public static @Nullable Module findModule(@Nonnull final SchemaContext schema, @Nonnull final QNameModule module) {
+        Preconditions.checkNotNull(module, "Module must not be null.");
+        if (schema instanceof AbstractSchemaContext) {
+            return ((AbstractSchemaContext) schema).findModule(module);
+        }
+
+        return schema.findModuleByNamespaceAndRevision(module.getNamespace(), module.getRevision());
+    }
+
     private static SchemaNode findNodeInModule(final Module module, final Iterable<QName> path) {
 
         Preconditions.checkArgument(module != null, "Parent reference cannot be NULL");
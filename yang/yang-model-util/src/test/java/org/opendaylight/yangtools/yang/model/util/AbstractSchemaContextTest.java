@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import java.net.URI;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.ModuleIdentifier;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+
+public class AbstractSchemaContextTest {
+    private static final URI NAMESPACE = URI.create("urn:test");
+    private static final QNameModule MODULE = QNameModule.create(NAMESPACE, date("2015-01-01"));
+    private static final QName CONTAINER = QName.create(MODULE, "cont");
+    private static final QName NOTIFICATION = QName.create(MODULE, "notif");
+    private static final QName RPC = QName.create(MODULE, "rpc");
+
+    private ContainerSchemaNode container;
+    private NotificationDefinition notification;
+    private RpcDefinition rpc;
+    private Module module;
+    private AbstractSchemaContext context;
+
+    @Before
+    public void setUp() {
+        container = mock(ContainerSchemaNode.class);
+        doReturn(CONTAINER).when(container).getQName();
+        notification = mock(NotificationDefinition.class);
+        doReturn(NOTIFICATION).when(notification).getQName();
+        rpc = mock(RpcDefinition.class);
+        doReturn(RPC).when(rpc).getQName();
+
+        module = mock(Module.class);
+        doReturn(NAMESPACE).when(module).getNamespace();
+        doReturn(MODULE.getRevision()).when(module).getRevision();
+        doReturn(Collections.singleton(container)).when(module).getChildNodes();
+        doReturn(Collections.singleton(notification)).when(module).getNotifications();
+        doReturn(Collections.singleton(rpc)).when(module).getRpcs();
+
+        context = new TestSchemaContext(ImmutableSet.of(module));
+    }
+
+    @Test
+    public void testAggregateViews() {
+        assertEquals(Collections.singleton(container), context.getDataDefinitions());
+        assertEquals(Collections.singleton(notification), context.getNotifications());
+        assertEquals(Collections.singleton(rpc), context.getOperations());
+        assertEquals(Collections.emptySet(), context.getExtensions());
+
+        // Views are computed once
+        assertSame(context.getDataDefinitions(), context.getDataDefinitions());
+        assertSame(context.getNotifications(), context.getNotifications());
+    }
+
+    @Test
+    public void testLookups() {
+        assertSame(container, context.getDataChildByName(CONTAINER));
+        assertSame(container, context.findDataChild(CONTAINER));
+        assertSame(notification, context.findNotification(NOTIFICATION));
+        assertSame(rpc, context.findRpc(RPC));
+        assertSame(module, context.findModule(MODULE));
+        assertSame(module, context.findModuleByNamespaceAndRevision(NAMESPACE, MODULE.getRevision()));
+
+        assertNull(context.findDataChild(RPC));
+        assertNull(context.findRpc(CONTAINER));
+        assertNull(context.findModule(QNameModule.create(NAMESPACE, date("2015-02-02"))));
+    }
+
+    @Test
+    public void testSchemaContextUtilLookups() {
+        assertSame(notification, SchemaContextUtil.findNotification(context, NOTIFICATION));
+        assertSame(rpc, SchemaContextUtil.findRpc(context, RPC));
+        assertSame(module, SchemaContextUtil.findModule(context, MODULE));
+        assertNull(SchemaContextUtil.findRpc(context, NOTIFICATION));
+    }
+
+    private static Date date(final String str) {
+        try {
+            return SimpleDateFormatUtil.getRevisionFormat().parse(str);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static final class TestSchemaContext extends AbstractSchemaContext {
+        private final Set<Module> modules;
+
+        TestSchemaContext(final Set<Module> modules) {
+            this.modules = modules;
+        }
+
+        @Override
+        public Set<Module> getModules() {
+            return modules;
+        }
+
+        @Override
+        protected Map<ModuleIdentifier, String> getIdentifiersToSources() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        protected SetMultimap<URI, Module> getNamespaceToModules() {
+            return ImmutableSetMultimap.of(NAMESPACE, modules.iterator().next());
+        }
+
+        @Override
+        protected SetMultimap<String, Module> getNameToModules() {
+            return ImmutableSetMultimap.of();
+        }
+    }
+}
@@ -9,8 +9,9 @@ package org.opendaylight.yangtools.yang.parser.builder.impl;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -21,7 +22,13 @@ public final class IdentitySchemaNodeBuilder extends AbstractSchemaNodeBuilder {
     private IdentitySchemaNodeImpl instance;
     private IdentitySchemaNode baseIdentity;
     private IdentitySchemaNodeBuilder baseIdentityBuilder;
-    private final Set<IdentitySchemaNode> derivedIdentities = new HashSet<>();
+    /*
+     * Derived identities register themselves when they are built. Modules importing this identity's module
+     * may be built concurrently, hence the set needs to be thread-safe. It is also handed out to the product,
+     * whose users can safely iterate it while it is being populated.
+     */
+    private final Set<IdentitySchemaNode> derivedIdentities =
+            Collections.newSetFromMap(new ConcurrentHashMap<IdentitySchemaNode, Boolean>());
     private String baseIdentityName;
 
     IdentitySchemaNodeBuilder(final String moduleName, final int line, final QName qname, final SchemaPath path) {
@@ -29,12 +29,15 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import javax.annotation.concurrent.Immutable;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -84,6 +87,7 @@ import org.opendaylight.yangtools.yang.parser.util.ModuleDependencySort;
 import org.opendaylight.yangtools.yang.parser.util.NamedByteArrayInputStream;
 import org.opendaylight.yangtools.yang.parser.util.NamedFileInputStream;
 import org.opendaylight.yangtools.yang.parser.util.NamedInputStream;
+import org.opendaylight.yangtools.yang.parser.util.ParallelExecution;
 import org.opendaylight.yangtools.yang.parser.util.YangParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -339,6 +343,52 @@ public final class YangParserImpl implements YangContextParser {
         return builderToModule.values();
     }
 
+    /**
+     * Build modules, instantiating independent modules in parallel. Cross-module resolution is performed
+     * sequentially, after which modules are instantiated level by level: modules on a particular level
+     * are built concurrently on the specified executor, once all modules on previous levels have been built.
+     * The result is the same as the one of {@link #buildModules(Collection)}.
+     *
+     * @param builders Module and submodule builders
+     * @param levels Builders grouped by their level in the import dependency graph, such that a builder
+     *               depends only on builders on previous levels. Builders which are not part of any level
+     *               are instantiated sequentially after all levels have been processed.
+     * @param executor Executor to use for instantiating modules
+     * @return Built modules
+     */
+    public Collection<Module> buildModules(final Collection<ModuleBuilder> builders,
+            final List<? extends Collection<ModuleBuilder>> levels, final Executor executor) {
+        Preconditions.checkNotNull(executor);
+        Collection<ModuleBuilder> unsorted = resolveSubmodules(builders);
+        List<ModuleBuilder> sorted = ModuleDependencySort.sort(unsorted);
+        Map<URI, TreeMap<Date, ModuleBuilder>> modules = resolveModulesWithImports(sorted, null);
+        resolveModules(modules);
+
+        // Submodules have been merged into their modules, hence we ignore them
+        final Set<ModuleBuilder> pending = Collections.newSetFromMap(new IdentityHashMap<ModuleBuilder, Boolean>());
+        for (TreeMap<Date, ModuleBuilder> revisions : modules.values()) {
+            pending.addAll(revisions.values());
+        }
+
+        for (Collection<ModuleBuilder> level : levels) {
+            final List<Callable<Module>> tasks = new ArrayList<>(level.size());
+            for (final ModuleBuilder builder : level) {
+                if (pending.remove(builder)) {
+                    tasks.add(new Callable<Module>() {
+                        @Override
+                        public Module call() {
+                            return builder.build();
+                        }
+                    });
+                }
+            }
+            ParallelExecution.invokeAll(executor, tasks);
+        }
+
+        // Builders cache their product, hence this only builds modules which were not part of any level
+        return instantiateModules(modules).values();
+    }
+
     public SchemaContext assembleContext(final Collection<Module> modules) {
         final Set<Module> sorted = new LinkedHashSet<>(
                 ModuleDependencySort.sort(modules.toArray(new Module[modules.size()])));
@@ -705,6 +755,11 @@ public final class YangParserImpl implements YangContextParser {
      * @return modules mapped on their builders
      */
     private Map<ModuleBuilder, Module> build(final Map<URI, TreeMap<Date, ModuleBuilder>> modules) {
+        resolveModules(modules);
+        return instantiateModules(modules);
+    }
+
+    private void resolveModules(final Map<URI, TreeMap<Date, ModuleBuilder>> modules) {
         resolveDirtyNodes(modules);
         resolveAugmentsTargetPath(modules);
         resolveUsesTargetGrouping(modules);
@@ -713,8 +768,9 @@ public final class YangParserImpl implements YangContextParser {
         resolveAugments(modules);
         resolveIdentities(modules);
         checkChoiceCasesForDuplicityQNames(modules);
+    }
 
-        // build
+    private static Map<ModuleBuilder, Module> instantiateModules(final Map<URI, TreeMap<Date, ModuleBuilder>> modules) {
         final Map<ModuleBuilder, Module> result = new LinkedHashMap<>();
         for (Map.Entry<URI, TreeMap<Date, ModuleBuilder>> entry : modules.entrySet()) {
             for (Map.Entry<Date, ModuleBuilder> childEntry : entry.getValue().entrySet()) {
@@ -19,6 +19,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -44,12 +46,20 @@ final class DependencyResolver {
     private final Collection<SourceIdentifier> resolvedSources;
     private final Collection<SourceIdentifier> unresolvedSources;
     private final Multimap<SourceIdentifier, ModuleImport> unsatisfiedImports;
+    private final Map<SourceIdentifier, Integer> resolvedLevels;
 
     public DependencyResolver(final Collection<SourceIdentifier> resolvedSources,
             final Collection<SourceIdentifier> unresolvedSources, final Multimap<SourceIdentifier, ModuleImport> unsatisfiedImports) {
+        this(resolvedSources, unresolvedSources, unsatisfiedImports, Collections.<SourceIdentifier, Integer>emptyMap());
+    }
+
+    private DependencyResolver(final Collection<SourceIdentifier> resolvedSources,
+            final Collection<SourceIdentifier> unresolvedSources, final Multimap<SourceIdentifier, ModuleImport> unsatisfiedImports,
+            final Map<SourceIdentifier, Integer> resolvedLevels) {
         this.resolvedSources = Preconditions.checkNotNull(resolvedSources);
         this.unresolvedSources = Preconditions.checkNotNull(unresolvedSources);
         this.unsatisfiedImports = Preconditions.checkNotNull(unsatisfiedImports);
+        this.resolvedLevels = Preconditions.checkNotNull(resolvedLevels);
     }
 
     private static SourceIdentifier findWildcard(final Iterable<SourceIdentifier> haystack, final String needle) {
@@ -62,17 +72,21 @@ final class DependencyResolver {
         return null;
     }
 
-    private static boolean isKnown(final Collection<SourceIdentifier> haystack, final ModuleImport mi) {
+    private static SourceIdentifier findKnown(final Collection<SourceIdentifier> haystack, final ModuleImport mi) {
         final String rev = mi.getRevision() != null ? QName.formattedRevision(mi.getRevision()) : null;
         final SourceIdentifier msi = SourceIdentifier.create(mi.getModuleName(), Optional.fromNullable(rev));
 
         // Quick lookup
         if (haystack.contains(msi)) {
-            return true;
+            return msi;
         }
 
         // Slow revision-less walk
-        return rev == null && findWildcard(haystack, mi.getModuleName()) != null;
+        return rev == null ? findWildcard(haystack, mi.getModuleName()) : null;
+    }
+
+    private static boolean isKnown(final Collection<SourceIdentifier> haystack, final ModuleImport mi) {
+        return findKnown(haystack, mi) != null;
     }
 
 
@@ -81,6 +95,7 @@ final class DependencyResolver {
         final Collection<SourceIdentifier> resolved = new ArrayList<>(depInfo.size());
         final Collection<SourceIdentifier> pending = new ArrayList<>(depInfo.keySet());
         final Map<SourceIdentifier, BelongsToDependency> submodules = Maps.newHashMap();
+        final Map<SourceIdentifier, Integer> levels = new LinkedHashMap<>();
 
         boolean progress;
         do {
@@ -92,6 +107,7 @@ final class DependencyResolver {
                 final YangModelDependencyInfo dep = depInfo.get(id);
 
                 boolean okay = true;
+                int level = 0;
 
                 final Set<ModuleImport> dependencies = dep.getDependencies();
 
@@ -102,16 +118,19 @@ final class DependencyResolver {
                 }
 
                 for (final ModuleImport mi : dependencies) {
-                    if (!isKnown(resolved, mi)) {
+                    final SourceIdentifier known = findKnown(resolved, mi);
+                    if (known == null) {
                         LOG.debug("Source {} is missing import {}", id, mi);
                         okay = false;
                         break;
                     }
+                    level = Math.max(level, levels.get(known) + 1);
                 }
 
                 if (okay) {
-                    LOG.debug("Resolved source {}", id);
+                    LOG.debug("Resolved source {} at level {}", id, level);
                     resolved.add(id);
+                    levels.put(id, level);
                     it.remove();
                     progress = true;
                 }
@@ -126,6 +145,7 @@ final class DependencyResolver {
                 LOG.debug("Source {} is missing parent {}", sourceIdentifier, belongs);
                 pending.add(sourceIdentifier);
                 resolved.remove(sourceIdentifier);
+                levels.remove(sourceIdentifier);
             }
         }
 
@@ -140,9 +160,9 @@ final class DependencyResolver {
                 }
             }
 
-            return new DependencyResolver(resolved, pending, imports);
+            return new DependencyResolver(resolved, pending, imports, levels);
         } else {
-            return new DependencyResolver(resolved, Collections.<SourceIdentifier>emptyList(), ImmutableMultimap.<SourceIdentifier, ModuleImport>of());
+            return new DependencyResolver(resolved, Collections.<SourceIdentifier>emptyList(), ImmutableMultimap.<SourceIdentifier, ModuleImport>of(), levels);
         }
     }
 
@@ -164,6 +184,25 @@ final class DependencyResolver {
         return unresolvedSources;
     }
 
+    /**
+     * Resolved sources grouped by their level in the import dependency graph. Sources on level 0
+     * do not have any dependencies, sources on any other level depend only on sources on lower
+     * levels. Sources within a level are ordered in which they have been resolved.
+     *
+     * @return List of levels, starting with level 0
+     */
+    List<List<SourceIdentifier>> getResolvedLevels() {
+        final List<List<SourceIdentifier>> ret = new ArrayList<>();
+        for (final Entry<SourceIdentifier, Integer> e : resolvedLevels.entrySet()) {
+            final int level = e.getValue();
+            while (ret.size() <= level) {
+                ret.add(new ArrayList<SourceIdentifier>());
+            }
+            ret.get(level).add(e.getKey());
+        }
+        return ret;
+    }
+
     /**
      * Detailed information about which imports were missing. The key in the map
      * is the source identifier of module which was issuing an import, the values
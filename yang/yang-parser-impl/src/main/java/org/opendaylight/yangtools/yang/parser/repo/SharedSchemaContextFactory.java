@@ -24,15 +24,19 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
@@ -50,6 +54,7 @@ import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
 import org.opendaylight.yangtools.yang.parser.impl.YangParserListenerImpl;
 import org.opendaylight.yangtools.yang.parser.impl.util.YangModelDependencyInfo;
 import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
+import org.opendaylight.yangtools.yang.parser.util.ParallelExecution;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,25 +95,70 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
             final Map<String, TreeMap<Date, URI>> namespaceContext = BuilderUtils.createYangNamespaceContext(
                     asts.values(), Optional.<SchemaContext>absent());
 
-            final ParseTreeWalker walker = new ParseTreeWalker();
-            final Map<SourceIdentifier, ModuleBuilder> sourceToBuilder = new LinkedHashMap<>();
-
-            for (final Entry<SourceIdentifier, ParserRuleContext> entry : asts.entrySet()) {
-                final ModuleBuilder moduleBuilder = YangParserListenerImpl.create(namespaceContext, entry.getKey().getName(),
-                        walker, entry.getValue()).getModuleBuilder();
-
-                moduleBuilder.setSource(srcs.get(entry.getKey()).getYangText());
-                sourceToBuilder.put(entry.getKey(), moduleBuilder);
-            }
-            LOG.debug("Modules ready for integration");
-
             final YangParserImpl parser = YangParserImpl.getInstance();
-            final Collection<Module> modules = parser.buildModules(sourceToBuilder.values());
+            final Executor executor = repository.getAssemblyExecutor();
+            final Collection<Module> modules;
+            if (executor == null) {
+                final Map<SourceIdentifier, ModuleBuilder> sourceToBuilder = new LinkedHashMap<>();
+                for (final Entry<SourceIdentifier, ASTSchemaSource> entry : srcs.entrySet()) {
+                    sourceToBuilder.put(entry.getKey(), createModuleBuilder(namespaceContext, entry.getValue()));
+                }
+                LOG.debug("Modules ready for integration");
+
+                modules = parser.buildModules(sourceToBuilder.values());
+            } else {
+                final Map<SourceIdentifier, ModuleBuilder> sourceToBuilder =
+                        createModuleBuilders(executor, namespaceContext, srcs);
+                LOG.debug("Modules ready for integration");
+
+                final List<List<ModuleBuilder>> levels = new ArrayList<>();
+                for (final List<SourceIdentifier> level : res.getResolvedLevels()) {
+                    final List<ModuleBuilder> builders = new ArrayList<>(level.size());
+                    for (final SourceIdentifier id : level) {
+                        builders.add(sourceToBuilder.get(id));
+                    }
+                    levels.add(builders);
+                }
+                modules = parser.buildModules(sourceToBuilder.values(), levels, executor);
+            }
             LOG.debug("Integrated cross-references modules");
             return Futures.immediateCheckedFuture(parser.assembleContext(modules));
         }
     };
 
+    private static ModuleBuilder createModuleBuilder(final Map<String, TreeMap<Date, URI>> namespaceContext,
+            final ASTSchemaSource source) {
+        final ModuleBuilder moduleBuilder = YangParserListenerImpl.create(namespaceContext,
+                source.getIdentifier().getName(), new ParseTreeWalker(), source.getAST()).getModuleBuilder();
+        moduleBuilder.setSource(source.getYangText());
+        return moduleBuilder;
+    }
+
+    /**
+     * Walk the sources concurrently. Each walk produces an independent {@link ModuleBuilder}, the
+     * returned map retains the order of the sources.
+     */
+    private static Map<SourceIdentifier, ModuleBuilder> createModuleBuilders(final Executor executor,
+            final Map<String, TreeMap<Date, URI>> namespaceContext, final Map<SourceIdentifier, ASTSchemaSource> srcs) {
+        final List<Callable<ModuleBuilder>> tasks = new ArrayList<>(srcs.size());
+        for (final ASTSchemaSource source : srcs.values()) {
+            tasks.add(new Callable<ModuleBuilder>() {
+                @Override
+                public ModuleBuilder call() {
+                    return createModuleBuilder(namespaceContext, source);
+                }
+            });
+        }
+
+        final List<ModuleBuilder> builders = ParallelExecution.invokeAll(executor, tasks);
+        final Map<SourceIdentifier, ModuleBuilder> ret = new LinkedHashMap<>();
+        final Iterator<ModuleBuilder> it = builders.iterator();
+        for (final SourceIdentifier id : srcs.keySet()) {
+            ret.put(id, it.next());
+        }
+        return ret;
+    }
+
     private final SharedSchemaRepository repository;
     // FIXME: ignored right now
     private final SchemaSourceFilter filter;
@@ -12,7 +12,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
@@ -38,9 +39,24 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
                 }
             });
     private final String id;
+    private final Executor assemblyExecutor;
 
     public SharedSchemaRepository(final String id) {
         this.id = Preconditions.checkNotNull(id);
+        this.assemblyExecutor = null;
+    }
+
+    /**
+     * Create a repository which assembles schema contexts in parallel. Sources are processed and modules
+     * are built concurrently on the specified executor, with the result being the same as when sources are
+     * assembled sequentially.
+     *
+     * @param id Repository identifier
+     * @param assemblyExecutor Executor used for schema context assembly
+     */
+    public SharedSchemaRepository(final String id, final Executor assemblyExecutor) {
+        this.id = Preconditions.checkNotNull(id);
+        this.assemblyExecutor = Preconditions.checkNotNull(assemblyExecutor);
     }
 
     @Override
@@ -48,6 +64,13 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
         return id;
     }
 
+    /**
+     * @return Executor to use for parallel schema context assembly, or null if assembly should be sequential
+     */
+    @Nullable Executor getAssemblyExecutor() {
+        return assemblyExecutor;
+    }
+
     @Override
     public SchemaContextFactory createSchemaContextFactory(final SchemaSourceFilter filter) {
         return cache.getUnchecked(filter);
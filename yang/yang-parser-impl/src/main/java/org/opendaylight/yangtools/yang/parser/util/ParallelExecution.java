@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Throwables;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility for running a batch of independent tasks on an {@link Executor}. The calling thread participates
+ * in execution by running any tasks which the executor has not started yet, hence a batch completes even
+ * if the executor is saturated or is the one running the caller.
+ */
+@Beta
+public final class ParallelExecution {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelExecution.class);
+
+    private ParallelExecution() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Run all tasks and wait for them to complete.
+     *
+     * @param executor Executor to use
+     * @param tasks Tasks to run
+     * @return Task results, in the same order as the tasks
+     * @throws RuntimeException the first failure encountered, in task order, if any of the tasks fails.
+     *         Checked exceptions are wrapped in an {@link IllegalStateException}.
+     */
+    public static <T> List<T> invokeAll(final Executor executor, final List<? extends Callable<T>> tasks) {
+        final List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            final FutureTask<T> future = new FutureTask<>(task);
+            futures.add(future);
+            try {
+                executor.execute(future);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Executor {} rejected task {}, running it in caller", executor, task, e);
+            }
+        }
+
+        final List<T> ret = new ArrayList<>(futures.size());
+        boolean interrupted = false;
+        try {
+            for (FutureTask<T> future : futures) {
+                // No-op if the task has already been started
+                future.run();
+
+                while (true) {
+                    try {
+                        ret.add(future.get());
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        // Do not waste cycles on tasks which have not started yet
+                        for (FutureTask<T> f : futures) {
+                            f.cancel(false);
+                        }
+                        Throwables.propagateIfPossible(e.getCause());
+                        throw new IllegalStateException("Task failed", e.getCause());
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+/**
+ * Compact binary representation of an ANTLR parse tree. Rule contexts are recorded by their class, which is
+ * instantiated reflectively when the tree is read back, tokens are recorded by their type, text and position.
+ * The restored tree is equivalent to the original one for the purposes of tree walking, but it does not
+ * reference the original character and token streams.
+ *
+ * The layout is:
+ * <pre>
+ *   int magic, int version
+ *   int classCount, string[classCount] rule context class names
+ *   int tokenCount, token[tokenCount] (int type, int line, int charPosition, int tokenIndex, string text)
+ *   node root
+ * </pre>
+ * where a node is either {@code byte RULE, int classIndex, int invokingState, int startToken, int stopToken,
+ * int childCount, node[childCount]} or {@code byte TOKEN, int tokenIndex}. Strings are stored as their UTF-8
+ * length followed by the bytes, with a length of -1 denoting null. Missing tokens are stored as index -1.
+ */
+final class ParseTreeCodec {
+    private static final int MAGIC = 0x59415354;
+    static final int VERSION = 1;
+    private static final byte RULE = 0;
+    private static final byte TOKEN = 1;
+
+    private ParseTreeCodec() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Write a parse tree.
+     *
+     * @param out Output
+     * @param tree Parse tree
+     * @throws IOException if the output fails
+     * @throws IllegalArgumentException if the tree contains error nodes
+     */
+    static void write(final DataOutput out, final ParserRuleContext tree) throws IOException {
+        final Map<Class<?>, Integer> classes = new LinkedHashMap<>();
+        final Map<Token, Integer> tokens = new IdentityHashMap<>();
+        final List<Token> tokenList = new ArrayList<>();
+        collect(tree, classes, tokens, tokenList);
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(classes.size());
+        for (Class<?> c : classes.keySet()) {
+            writeString(out, c.getName());
+        }
+        out.writeInt(tokenList.size());
+        for (Token t : tokenList) {
+            out.writeInt(t.getType());
+            out.writeInt(t.getLine());
+            out.writeInt(t.getCharPositionInLine());
+            out.writeInt(t.getTokenIndex());
+            writeString(out, t.getText());
+        }
+
+        writeNode(out, tree, classes, tokens);
+    }
+
+    /**
+     * Read a parse tree.
+     *
+     * @param buf Buffer positioned at the start of the tree
+     * @return Restored parse tree
+     * @throws IllegalArgumentException if the buffer does not contain a tree in a supported format
+     */
+    static ParserRuleContext read(final ByteBuffer buf) {
+        Preconditions.checkArgument(buf.getInt() == MAGIC, "Unrecognized parse tree format");
+        final int version = buf.getInt();
+        Preconditions.checkArgument(version == VERSION, "Unsupported parse tree version %s", version);
+
+        final int classCount = buf.getInt();
+        final List<Constructor<? extends ParserRuleContext>> ctors = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; ++i) {
+            ctors.add(contextConstructor(readString(buf)));
+        }
+
+        final int tokenCount = buf.getInt();
+        final List<Token> tokens = new ArrayList<>(tokenCount);
+        for (int i = 0; i < tokenCount; ++i) {
+            final CommonToken t = new CommonToken(buf.getInt());
+            t.setLine(buf.getInt());
+            t.setCharPositionInLine(buf.getInt());
+            t.setTokenIndex(buf.getInt());
+            t.setText(readString(buf));
+            tokens.add(t);
+        }
+
+        Preconditions.checkArgument(buf.get() == RULE, "Parse tree does not start with a rule");
+        return readRule(buf, null, ctors, tokens);
+    }
+
+    private static void collect(final ParserRuleContext ctx, final Map<Class<?>, Integer> classes,
+            final Map<Token, Integer> tokens, final List<Token> tokenList) {
+        if (!classes.containsKey(ctx.getClass())) {
+            classes.put(ctx.getClass(), classes.size());
+        }
+        addToken(ctx.start, tokens, tokenList);
+        addToken(ctx.stop, tokens, tokenList);
+
+        for (int i = 0; i < ctx.getChildCount(); ++i) {
+            final ParseTree child = ctx.getChild(i);
+            if (child instanceof ParserRuleContext) {
+                collect((ParserRuleContext) child, classes, tokens, tokenList);
+            } else {
+                Preconditions.checkArgument(child instanceof TerminalNode && !(child instanceof ErrorNode),
+                    "Unsupported parse tree node %s", child);
+                addToken(((TerminalNode) child).getSymbol(), tokens, tokenList);
+            }
+        }
+    }
+
+    private static void addToken(final Token token, final Map<Token, Integer> tokens, final List<Token> tokenList) {
+        if (token != null && !tokens.containsKey(token)) {
+            tokens.put(token, tokenList.size());
+            tokenList.add(token);
+        }
+    }
+
+    private static void writeNode(final DataOutput out, final ParserRuleContext ctx, final Map<Class<?>, Integer> classes,
+            final Map<Token, Integer> tokens) throws IOException {
+        out.writeByte(RULE);
+        out.writeInt(classes.get(ctx.getClass()));
+        out.writeInt(ctx.invokingState);
+        out.writeInt(tokenIndex(ctx.start, tokens));
+        out.writeInt(tokenIndex(ctx.stop, tokens));
+        out.writeInt(ctx.getChildCount());
+
+        for (int i = 0; i < ctx.getChildCount(); ++i) {
+            final ParseTree child = ctx.getChild(i);
+            if (child instanceof ParserRuleContext) {
+                writeNode(out, (ParserRuleContext) child, classes, tokens);
+            } else {
+                out.writeByte(TOKEN);
+                out.writeInt(tokens.get(((TerminalNode) child).getSymbol()));
+            }
+        }
+    }
+
+    private static int tokenIndex(final Token token, final Map<Token, Integer> tokens) {
+        return token == null ? -1 : tokens.get(token);
+    }
+
+    private static ParserRuleContext readRule(final ByteBuffer buf, final ParserRuleContext parent,
+            final List<Constructor<? extends ParserRuleContext>> ctors, final List<Token> tokens) {
+        final Constructor<? extends ParserRuleContext> ctor = ctors.get(buf.getInt());
+        final int invokingState = buf.getInt();
+
+        final ParserRuleContext ctx;
+        try {
+            ctx = ctor.newInstance(parent, invokingState);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Failed to instantiate " + ctor.getDeclaringClass(), e);
+        }
+        ctx.start = token(buf.getInt(), tokens);
+        ctx.stop = token(buf.getInt(), tokens);
+
+        final int childCount = buf.getInt();
+        for (int i = 0; i < childCount; ++i) {
+            final byte kind = buf.get();
+            switch (kind) {
+            case RULE:
+                ctx.addChild(readRule(buf, ctx, ctors, tokens));
+                break;
+            case TOKEN:
+                ctx.addChild(tokens.get(buf.getInt()));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown node kind " + kind);
+            }
+        }
+        return ctx;
+    }
+
+    private static Token token(final int index, final List<Token> tokens) {
+        return index == -1 ? null : tokens.get(index);
+    }
+
+    private static Constructor<? extends ParserRuleContext> contextConstructor(final String className) {
+        final Class<?> c;
+        try {
+            c = Class.forName(className, true, ParseTreeCodec.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown rule context " + className, e);
+        }
+        Preconditions.checkArgument(ParserRuleContext.class.isAssignableFrom(c), "%s is not a rule context", c);
+
+        try {
+            return c.asSubclass(ParserRuleContext.class).getConstructor(ParserRuleContext.class, int.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Rule context " + c + " does not have a usable constructor", e);
+        }
+    }
+
+    private static void writeString(final DataOutput out, final String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = str.getBytes(Charsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final ByteBuffer buf) {
+        final int length = buf.getInt();
+        if (length == -1) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangLexer;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangParser;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.util.SchemaSourceTransformer.Transformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Transformation} of {@link YangTextSchemaSource} into {@link ASTSchemaSource}, which persists
+ * parsed sources in a directory. Entries are keyed by a hash of the source name and content, hence a byte-identical
+ * source is restored from its persisted parse tree instead of being lexed and parsed again, even across restarts.
+ * Persisted trees are memory-mapped when they are restored.
+ *
+ * The key also covers the grammar of the parser and the version of the persisted format, so trees produced by
+ * a different parser are never reused. Entries which cannot be restored, for example because they are truncated,
+ * are removed and rewritten.
+ */
+@Beta
+public final class PersistentASTTransformation implements Transformation<YangTextSchemaSource, ASTSchemaSource> {
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentASTTransformation.class);
+    private static final String SUFFIX = ".ast";
+
+    /**
+     * Fingerprint of the parser which produces the persisted trees: the format version and the serialized ATNs
+     * of the lexer and the parser, which change whenever the grammar does.
+     */
+    private static final HashCode PARSER_FINGERPRINT = Hashing.sha256().newHasher()
+            .putInt(ParseTreeCodec.VERSION)
+            .putString(YangLexer._serializedATN, Charsets.UTF_8)
+            .putString(YangParser._serializedATN, Charsets.UTF_8)
+            .hash();
+
+    private final File storageDirectory;
+
+    public PersistentASTTransformation(final File storageDirectory) {
+        this.storageDirectory = Preconditions.checkNotNull(storageDirectory);
+        if (!storageDirectory.exists()) {
+            Preconditions.checkArgument(storageDirectory.mkdirs(), "Unable to create cache directory at %s", storageDirectory);
+        }
+        Preconditions.checkArgument(storageDirectory.isDirectory(), "%s is not a directory", storageDirectory);
+    }
+
+    @Override
+    public CheckedFuture<ASTSchemaSource, SchemaSourceException> apply(final YangTextSchemaSource input)
+            throws IOException, YangSyntaxErrorException {
+        final String name = input.getIdentifier().getName();
+        final byte[] bytes = input.read();
+        final File file = entryFile(name, bytes);
+
+        if (file.isFile()) {
+            try {
+                final ParserRuleContext tree = restore(file.toPath());
+                LOG.debug("Model {} restored from {}", name, file);
+                return Futures.immediateCheckedFuture(ASTSchemaSource.create(name, tree,
+                    new String(bytes, Charsets.UTF_8)));
+            } catch (RuntimeException | IOException | YangSyntaxErrorException e) {
+                // Corrupt entries may fail in arbitrary ways, for example with a BufferUnderflowException
+                LOG.info("Failed to restore model {} from {}, parsing it again", name, file, e);
+                if (!file.delete()) {
+                    LOG.warn("Failed to remove entry {}", file);
+                }
+            }
+        }
+
+        final ASTSchemaSource ast = TextToASTTransformer.parse(name, ByteSource.wrap(bytes));
+        try {
+            store(file.toPath(), ast.getAST());
+            LOG.debug("Model {} stored in {}", name, file);
+        } catch (IllegalArgumentException | IOException e) {
+            LOG.warn("Failed to store model {} in {}", name, file, e);
+        }
+        return Futures.immediateCheckedFuture(ast);
+    }
+
+    private File entryFile(final String name, final byte[] bytes) {
+        final HashCode hash = Hashing.sha256().newHasher()
+                .putBytes(PARSER_FINGERPRINT.asBytes()).putString(name, Charsets.UTF_8).putBytes(bytes).hash();
+        return new File(storageDirectory, name + "-" + hash + SUFFIX);
+    }
+
+    private static ParserRuleContext restore(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buf = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            return ParseTreeCodec.read(buf);
+        }
+    }
+
+    private static void store(final Path path, final ParserRuleContext tree) throws IOException {
+        // Write to a temporary file first, so concurrent readers never observe partial entries
+        final Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+                ParseTreeCodec.write(out, tree);
+                out.flush();
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -11,10 +11,9 @@ import com.google.common.base.Charsets;
 import com.google.common.io.ByteSource;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
-
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.opendaylight.yangtools.antlrv4.code.gen.YangParser.YangContext;
 import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
@@ -37,36 +36,51 @@ public final class TextToASTTransformer extends SchemaSourceTransformer<YangText
     public static final class TextToASTTransformation implements Transformation<YangTextSchemaSource, ASTSchemaSource> {
         @Override
         public CheckedFuture<ASTSchemaSource, SchemaSourceException> apply(final YangTextSchemaSource input) throws IOException, YangSyntaxErrorException {
-            try (InputStream is = input.openStream()) {
-                final YangContext ctx = YangParserImpl.parseYangSource(is);
-                LOG.debug("Model {} parsed successfully", input);
-
-                final ParseTreeWalker walker = new ParseTreeWalker();
-                final YangModelBasicValidationListener validator = new YangModelBasicValidationListener();
-                walker.walk(validator, ctx);
-                LOG.debug("Model {} validated successfully", input);
-
-                // Backwards compatibility
-                final String text = new ByteSource() {
-                    @Override
-                    public InputStream openStream() throws IOException {
-                        return input.openStream();
-                    }
-                }.asCharSource(Charsets.UTF_8).read();
-
-                return Futures.immediateCheckedFuture(ASTSchemaSource.create(input.getIdentifier().getName(), ctx, text));
-            }
+            return Futures.immediateCheckedFuture(parse(input.getIdentifier().getName(), input));
         }
     };
 
     public static final TextToASTTransformation TRANSFORMATION = new TextToASTTransformation();
     private static final Logger LOG = LoggerFactory.getLogger(TextToASTTransformer.class);
 
-    private TextToASTTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
-        super(provider, YangTextSchemaSource.class, consumer, ASTSchemaSource.class, TRANSFORMATION);
+    private TextToASTTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final Transformation<YangTextSchemaSource, ASTSchemaSource> transformation) {
+        super(provider, YangTextSchemaSource.class, consumer, ASTSchemaSource.class, transformation);
     }
 
     public static final TextToASTTransformer create(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
-        return new TextToASTTransformer(provider, consumer);
+        return new TextToASTTransformer(provider, consumer, TRANSFORMATION);
+    }
+
+    /**
+     * Create a transformer which persists parsed sources in the specified directory, such that
+     * byte-identical sources are not parsed again, even across restarts.
+     *
+     * @param provider Source provider
+     * @param consumer Source consumer
+     * @param cacheDirectory Directory where parsed sources are persisted
+     * @return A new transformer
+     * @see PersistentASTTransformation
+     */
+    public static final TextToASTTransformer create(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final File cacheDirectory) {
+        return new TextToASTTransformer(provider, consumer, new PersistentASTTransformation(cacheDirectory));
+    }
+
+    static ASTSchemaSource parse(final String name, final ByteSource source) throws IOException, YangSyntaxErrorException {
+        final YangContext ctx;
+        try (InputStream is = source.openStream()) {
+            ctx = YangParserImpl.parseYangSource(is);
+        }
+        LOG.debug("Model {} parsed successfully", name);
+
+        final ParseTreeWalker walker = new ParseTreeWalker();
+        final YangModelBasicValidationListener validator = new YangModelBasicValidationListener();
+        walker.walk(validator, ctx);
+        LOG.debug("Model {} validated successfully", name);
+
+        // Backwards compatibility
+        final String text = source.asCharSource(Charsets.UTF_8).read();
+        return ASTSchemaSource.create(name, ctx, text);
     }
 }
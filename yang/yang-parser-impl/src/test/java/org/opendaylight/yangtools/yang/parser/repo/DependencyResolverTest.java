@@ -11,7 +11,9 @@ package org.opendaylight.yangtools.yang.parser.repo;
 import static org.junit.Assert.assertEquals;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Iterables;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
@@ -66,6 +68,25 @@ public class DependencyResolverTest {
         assertEquals(0, resolved.getUnsatisfiedImports().size());
     }
 
+    @Test
+    public void testResolvedLevels() throws Exception {
+        final Map<SourceIdentifier, YangModelDependencyInfo> map = new HashMap<>();
+
+        addToMap(map, YangModelDependencyInfo.ModuleDependencyInfo.fromInputStream(getClass().getResourceAsStream("/model/subfoo.yang")));
+        addToMap(map, YangModelDependencyInfo.ModuleDependencyInfo.fromInputStream(getClass().getResourceAsStream("/model/foo.yang")));
+        addToMap(map, YangModelDependencyInfo.ModuleDependencyInfo.fromInputStream(getClass().getResourceAsStream("/model/bar.yang")));
+        addToMap(map, YangModelDependencyInfo.ModuleDependencyInfo.fromInputStream(getClass().getResourceAsStream("/model/baz.yang")));
+
+        final List<List<SourceIdentifier>> levels = DependencyResolver.create(map).getResolvedLevels();
+
+        // bar <- baz <- subfoo <- foo
+        assertEquals(4, levels.size());
+        assertEquals("bar", Iterables.getOnlyElement(levels.get(0)).getName());
+        assertEquals("baz", Iterables.getOnlyElement(levels.get(1)).getName());
+        assertEquals("subfoo", Iterables.getOnlyElement(levels.get(2)).getName());
+        assertEquals("foo", Iterables.getOnlyElement(levels.get(3)).getName());
+    }
+
     private void addToMap(final Map<SourceIdentifier, YangModelDependencyInfo> map, final YangModelDependencyInfo yangModelDependencyInfo) {
         map.put(getSourceId(yangModelDependencyInfo), yangModelDependencyInfo);
     }
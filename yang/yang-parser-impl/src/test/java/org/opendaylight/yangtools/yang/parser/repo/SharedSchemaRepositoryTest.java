@@ -25,6 +25,7 @@ import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.io.Files;
 import com.google.common.util.concurrent.CheckedFuture;
@@ -35,10 +36,18 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
@@ -313,6 +322,78 @@ public class SharedSchemaRepositoryTest {
         fail("Creation of schema context should fail from non-regular sources");
     }
 
+    @Test
+    public void testParallelAssembly() throws Exception {
+        final List<String> resources = Arrays.asList("/ietf/ietf-inet-types@2010-09-24.yang",
+            "/ietf/ietf-yang-types@2010-09-24.yang", "/ietf/network-topology@2013-10-21.yang",
+            "/ietf/iana-if-type@2012-06-05.yang", "/ietf/iana-timezones@2012-07-09.yang",
+            // Two modules on the same level, deriving identities from a common base
+            "/parallel-assembly/identity-base@2015-06-01.yang", "/parallel-assembly/identity-first@2015-06-01.yang",
+            "/parallel-assembly/identity-second@2015-06-01.yang");
+
+        final SchemaContext sequential = assembleResources(new SharedSchemaRepository("sequential"), resources);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final SchemaContext parallel = assembleResources(new SharedSchemaRepository("parallel", executor),
+                resources);
+            assertSchemaContext(parallel, resources.size());
+            assertEquals(describeSchemaContext(sequential), describeSchemaContext(parallel));
+
+            final Module base = parallel.findModuleByName("identity-base", null);
+            final IdentitySchemaNode baseIdentity = Iterables.getOnlyElement(base.getIdentities());
+            final List<String> derived = Lists.newArrayList();
+            for (final IdentitySchemaNode identity : baseIdentity.getDerivedIdentities()) {
+                assertSame(baseIdentity, identity.getBaseIdentity());
+                derived.add(identity.getQName().getLocalName());
+            }
+            Collections.sort(derived);
+            assertEquals(Arrays.asList("first-identity", "first-other-identity", "second-identity",
+                "second-other-identity"), derived);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SchemaContext assembleResources(final SharedSchemaRepository repository,
+            final List<String> resources) throws Exception {
+        final List<SourceIdentifier> ids = Lists.newArrayList();
+        for (final String resource : resources) {
+            final SettableSchemaProvider<ASTSchemaSource> provider = getImmediateYangSourceProviderFromResource(resource);
+            provider.register(repository);
+            provider.setResult();
+            ids.add(provider.getId());
+        }
+
+        return repository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT).createSchemaContext(ids)
+                .checkedGet();
+    }
+
+    private static List<String> describeSchemaContext(final SchemaContext schemaContext) {
+        final List<String> ret = Lists.newArrayList();
+        for (final Module module : schemaContext.getModules()) {
+            ret.add(module.getName() + "@" + module.getRevision());
+            ret.add(module.getSource());
+            for (final DataSchemaNode child : module.getChildNodes()) {
+                ret.add(child.getPath().toString());
+            }
+            for (final TypeDefinition<?> typedef : module.getTypeDefinitions()) {
+                ret.add(typedef.getPath().toString() + " " + typedef.getBaseType());
+            }
+            for (final AugmentationSchema augment : module.getAugmentations()) {
+                ret.add(augment.getTargetPath().toString() + " " + augment.getChildNodes().size());
+            }
+            for (final IdentitySchemaNode identity : module.getIdentities()) {
+                final List<String> derived = Lists.newArrayList();
+                for (final IdentitySchemaNode child : identity.getDerivedIdentities()) {
+                    derived.add(child.getQName().toString());
+                }
+                Collections.sort(derived);
+                ret.add(identity.getQName().toString() + " " + derived);
+            }
+        }
+        return ret;
+    }
+
     private void assertSchemaContext(final SchemaContext schemaContext, final int moduleSize) {
         assertNotNull(schemaContext);
         assertEquals(moduleSize, schemaContext.getModules().size());
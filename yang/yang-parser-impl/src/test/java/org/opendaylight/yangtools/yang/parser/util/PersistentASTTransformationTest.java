@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+
+public class PersistentASTTransformationTest {
+    private static final String RESOURCE = "/ietf/network-topology@2013-10-21.yang";
+
+    private File storageDirectory;
+    private YangTextSchemaSource source;
+
+    @Before
+    public void setUp() {
+        storageDirectory = Files.createTempDir();
+        source = YangTextSchemaSource.delegateForByteSource(new SourceIdentifier("network-topology", "2013-10-21"),
+            Resources.asByteSource(getClass().getResource(RESOURCE)));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (File file : storageDirectory.listFiles()) {
+            file.delete();
+        }
+        storageDirectory.delete();
+    }
+
+    @Test
+    public void testRestoreParsedSource() throws Exception {
+        final ASTSchemaSource parsed = new PersistentASTTransformation(storageDirectory).apply(source).checkedGet();
+        assertEquals(1, storageDirectory.listFiles().length);
+
+        // A new instance does not share any state with the previous one, as if after a restart
+        final ASTSchemaSource restored = new PersistentASTTransformation(storageDirectory).apply(source).checkedGet();
+        assertNotSame(parsed.getAST(), restored.getAST());
+        assertEquals(parsed.getIdentifier(), restored.getIdentifier());
+        assertEquals(parsed.getYangText(), restored.getYangText());
+        assertTreeEquals(parsed.getAST(), restored.getAST());
+        assertEquals(1, storageDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testCorruptedEntry() throws Exception {
+        final ASTSchemaSource parsed = new PersistentASTTransformation(storageDirectory).apply(source).checkedGet();
+        final File entry = storageDirectory.listFiles()[0];
+        Files.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }, entry);
+
+        final ASTSchemaSource reparsed = new PersistentASTTransformation(storageDirectory).apply(source).checkedGet();
+        assertTreeEquals(parsed.getAST(), reparsed.getAST());
+        assertTrue("Entry should have been rewritten", entry.length() > 8);
+    }
+
+    @Test
+    public void testTruncatedEntry() throws Exception {
+        final ASTSchemaSource parsed = new PersistentASTTransformation(storageDirectory).apply(source).checkedGet();
+        final File entry = storageDirectory.listFiles()[0];
+        final byte[] content = Files.toByteArray(entry);
+        Files.write(Arrays.copyOf(content, content.length / 2), entry);
+
+        final ASTSchemaSource reparsed = new PersistentASTTransformation(storageDirectory).apply(source).checkedGet();
+        assertTreeEquals(parsed.getAST(), reparsed.getAST());
+        assertEquals("Entry should have been rewritten", content.length, entry.length());
+    }
+
+    private static void assertTreeEquals(final ParserRuleContext expected, final ParserRuleContext actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.invokingState, actual.invokingState);
+        assertTokenEquals(expected.getStart(), actual.getStart());
+        assertTokenEquals(expected.getStop(), actual.getStop());
+        assertEquals(expected.getChildCount(), actual.getChildCount());
+
+        for (int i = 0; i < expected.getChildCount(); ++i) {
+            final ParseTree expectedChild = expected.getChild(i);
+            final ParseTree actualChild = actual.getChild(i);
+            assertNotNull(actualChild.getParent());
+            if (expectedChild instanceof ParserRuleContext) {
+                assertTreeEquals((ParserRuleContext) expectedChild, (ParserRuleContext) actualChild);
+            } else {
+                assertTokenEquals(((TerminalNode) expectedChild).getSymbol(), ((TerminalNode) actualChild).getSymbol());
+            }
+        }
+    }
+
+    private static void assertTokenEquals(final Token expected, final Token actual) {
+        if (expected == null) {
+            assertEquals(null, actual);
+            return;
+        }
+
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getText(), actual.getText());
+        assertEquals(expected.getLine(), actual.getLine());
+        assertEquals(expected.getCharPositionInLine(), actual.getCharPositionInLine());
+    }
+}